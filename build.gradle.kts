@@ -2,6 +2,7 @@ import com.diffplug.gradle.spotless.SpotlessTask
 import com.github.jk1.license.filter.LicenseBundleNormalizer
 import com.github.jk1.license.render.InventoryMarkdownReportRenderer
 import com.github.jk1.license.render.TextReportRenderer
+import groovy.json.JsonSlurper
 import org.gradle.kotlin.dsl.support.unzipTo
 import org.gradle.kotlin.dsl.support.zipTo
 import org.jetbrains.kotlin.gradle.dsl.KotlinCompile
@@ -101,6 +102,18 @@ sourceSets {
     main {
         resources.srcDir(generatedResourcesDir)
     }
+    // Classes that replace their namesakes in `main` on Java 11 and later, packaged in META-INF/versions/11 of the
+    // multi-release jar. Each must have the same public API as the class it replaces.
+    create("java11") {
+        java.srcDir("src/main/java11")
+        compileClasspath += sourceSets["main"].output + sourceSets["main"].compileClasspath
+    }
+    // Tests of the Java 11 classes, which run with those classes ahead of their namesakes on the classpath.
+    create("java11Test") {
+        java.srcDir("src/test/java11")
+        compileClasspath += sourceSets["java11"].output + sourceSets["main"].output + configurations["testCompileClasspath"]
+        runtimeClasspath += compileClasspath + configurations["testRuntimeClasspath"]
+    }
 }
 
 licenseReport {
@@ -121,6 +134,18 @@ licenseReport {
     )
 }
 
+jmh {
+    // Select benchmarks with a regular expression, e.g. `./gradlew :jmh -PjmhIncludes=ReaderBenchmark`; by default the
+    // whole suite runs.
+    (project.findProperty("jmhIncludes") as String?)?.let { includes.add(it) }
+    // Report the allocation of each benchmark alongside its score, so that :jmhCompare can check both, e.g.
+    // `./gradlew :jmh -PjmhGc`. The profiler perturbs the scores slightly, so it is off by default.
+    if (project.hasProperty("jmhGc")) {
+        profilers.add("gc")
+    }
+    resultFormat.set("JSON")
+}
+
 // Spotless eagerly checks for the `rachetFrom` git ref even if there are no spotless tasks in the task
 // graph, so we're going to use a git tag to create our own lazy evaluation and setting of `rachetFrom`.
 // See https://github.com/diffplug/spotless/issues/1902
@@ -225,15 +250,19 @@ tasks {
         options.release = SUPPORTED_JRE_VERSIONS.min()
     }
 
+    named<JavaCompile>("compileJava11Java") { options.release = 11 }
+    named<JavaCompile>("compileJava11TestJava") { options.release = 11 }
+
     withType<KotlinCompile<KotlinJvmOptions>> {
         kotlinOptions {
             // Kotlin jvmTarget must match the JavaCompile release version
-            jvmTarget = "1.8"
+            jvmTarget = if (name.startsWith("compileJava11")) "11" else "1.8"
         }
     }
 
     jar {
         archiveClassifier.set("original")
+        into("META-INF/versions/11") { from(sourceSets["java11"].output) }
     }
 
     val generateManifest = create<aQute.bnd.gradle.Bundle>("generateManifest") {
@@ -247,6 +276,7 @@ tasks {
                 "Main-Class" to "com.amazon.ion.impl._Private_CommandLine",
                 "Build-Time" to "${Instant.now()}",
                 "Build-Version" to "$version",
+                "Multi-Release" to "true",
             )
         }
         // Sets OSGi bundle attributes
@@ -287,6 +317,7 @@ tasks {
         archiveClassifier.set("shaded")
         dependsOn(generateManifest, generateLicenseReport, cyclonedxBom)
         from(generateLicenseReport.get().outputFolder)
+        into("META-INF/versions/11") { from(sourceSets["java11"].output) }
         relocate("kotlin", "$newLocation.kotlin")
         relocate("org.jetbrains", "$newLocation.org.jetbrains")
         relocate("org.intellij", "$newLocation.org.intellij")
@@ -317,9 +348,20 @@ tasks {
         dependsOn(shadowJar)
         dependsOn(configurations.runtimeClasspath)
 
-        injars(inputJarPath)
+        // ProGuard would read the Java 11 classes as duplicates of their namesakes, so they are left out of its input
+        // and added to its output unchanged.
+        injars(mapOf("filter" to "!META-INF/versions/**"), inputJarPath)
         outjars(outputJarPath)
         configuration(rulesPath)
+        val java11Classes = sourceSets["java11"].output.classesDirs
+        inputs.files(java11Classes)
+        doLast {
+            ant.withGroovyBuilder {
+                "zip"("destfile" to file(outputJarPath), "update" to true) {
+                    java11Classes.forEach { "zipfileset"("dir" to it, "prefix" to "META-INF/versions/11") }
+                }
+            }
+        }
 
         val javaHome = System.getProperty("java.home")
         if (JavaVersion.current() == JavaVersion.VERSION_1_8) {
@@ -380,8 +422,101 @@ tasks {
         }
     }
 
+    /**
+     * Compares the results of the last `:jmh` run with the baseline stored in config/jmh/baseline.json, failing if the
+     * score or the allocation per operation of any benchmark regressed by more than the threshold (10% by default,
+     * e.g. `-PjmhThreshold=0.05` for 5%). Allocation is compared only when both runs used `-PjmhGc`. Benchmarks that
+     * are not in the baseline are reported but not compared.
+     *
+     * To record the results of the last run as the new baseline: `./gradlew :jmhCompare -PjmhBaseline`
+     * Baselines are only comparable with results from the same machine and JDK.
+     */
+    register("jmhCompare") {
+        group = "verification"
+        description = "Compares the JMH results with the stored baseline."
+        mustRunAfter("jmh")
+        val resultsProvider = layout.buildDirectory.file("results/jmh/results.json")
+        val baselineFile = file("$rootDir/config/jmh/baseline.json")
+        doLast {
+            val resultsFile = resultsProvider.get().asFile
+            if (!resultsFile.exists()) {
+                throw GradleException("No JMH results found at $resultsFile. Run `./gradlew :jmh` first.")
+            }
+            if (project.hasProperty("jmhBaseline")) {
+                resultsFile.copyTo(baselineFile, overwrite = true)
+                logger.quiet("Recorded $resultsFile as the JMH baseline.")
+                return@doLast
+            }
+            if (!baselineFile.exists()) {
+                throw GradleException("No JMH baseline found at $baselineFile. Record one with `./gradlew :jmhCompare -PjmhBaseline`.")
+            }
+            val threshold = (project.findProperty("jmhThreshold") as String? ?: "0.10").toDouble()
+
+            @Suppress("UNCHECKED_CAST")
+            fun load(file: File): Map<String, Map<String, Any?>> =
+                (JsonSlurper().parse(file) as List<Map<String, Any?>>).associateBy {
+                    val params = (it["params"] as Map<String, Any?>?)?.toSortedMap() ?: emptyMap<String, Any?>()
+                    "${it["benchmark"]}${if (params.isEmpty()) "" else params.toString()}"
+                }
+
+            @Suppress("UNCHECKED_CAST")
+            fun Map<String, Any?>.metric(name: String): Double? {
+                // The gc profiler's metric names are prefixed with "·" in JMH versions before 1.37.
+                val metrics = this["secondaryMetrics"] as Map<String, Map<String, Any?>>? ?: return null
+                val metric = metrics[name] ?: metrics["·$name"] ?: return null
+                return (metric["score"] as Number).toDouble()
+            }
+
+            @Suppress("UNCHECKED_CAST")
+            fun Map<String, Any?>.score(): Double = ((this["primaryMetric"] as Map<String, Any?>)["score"] as Number).toDouble()
+
+            val baseline = load(baselineFile)
+            val results = load(resultsFile)
+            val regressions = mutableListOf<String>()
+            for ((key, result) in results) {
+                val base = baseline[key]
+                if (base == null) {
+                    logger.quiet("NEW        $key")
+                    continue
+                }
+                // Throughput improves as the score increases; every other mode measures time, which improves as the
+                // score decreases.
+                val scoreChange = if (result["mode"] == "thrpt") {
+                    base.score() / result.score() - 1
+                } else {
+                    result.score() / base.score() - 1
+                }
+                val line = String.format("%+7.1f%% score", scoreChange * 100)
+                if (scoreChange > threshold) {
+                    regressions.add("$line  $key")
+                }
+                val allocation = result.metric("gc.alloc.rate.norm")
+                val baseAllocation = base.metric("gc.alloc.rate.norm")
+                var allocationLine = ""
+                if (allocation != null && baseAllocation != null) {
+                    allocationLine = String.format("  %.0f -> %.0f B/op", baseAllocation, allocation)
+                    // Ignore differences of a few bytes per operation, which are noise for allocation-free benchmarks.
+                    if (allocation > baseAllocation * (1 + threshold) && allocation - baseAllocation > 64) {
+                        regressions.add(String.format("%+7.1f%% alloc  %s", (allocation / baseAllocation - 1) * 100, key))
+                    }
+                }
+                logger.quiet("$line$allocationLine  $key")
+            }
+            for (key in baseline.keys - results.keys) {
+                logger.quiet("NOT RUN    $key")
+            }
+            if (regressions.isNotEmpty()) {
+                throw GradleException(
+                    "${regressions.size} JMH result(s) regressed by more than ${threshold * 100}%:\n" +
+                        regressions.joinToString("\n")
+                )
+            }
+        }
+    }
+
     check {
         dependsOn(checkThirdPartyLicensesFile)
+        dependsOn("java11Test")
     }
 
     javadoc {
@@ -407,6 +542,9 @@ tasks {
     // same for :spotbugsJmh, we don't need to run Spotbugs on our JMH code
     // Alternatively we *could* set the toolchain for this task as we do for :spotBugsMain, but this is easier.
     project.gradle.startParameter.excludedTaskNames.add(":spotbugsJmh")
+    // nor on the Java 11 classes and their tests
+    project.gradle.startParameter.excludedTaskNames.add(":spotbugsJava11")
+    project.gradle.startParameter.excludedTaskNames.add(":spotbugsJava11Test")
 
     spotbugsMain {
         launcher.set(
@@ -510,6 +648,12 @@ tasks {
         finalizedBy(jacocoTestReport)
     }
 
+    register<Test>("java11Test") {
+        applyCommonTestConfig()
+        testClassesDirs = sourceSets["java11Test"].output.classesDirs
+        classpath = sourceSets["java11Test"].runtimeClasspath
+    }
+
     /**
      * Runs the JUnit test on the shadow jar.
      * Potentially useful for debugging issues that are not reproducible in the standard `test` task.
@@ -3,5 +3,7 @@ package com.amazon.tools.cli;
 public enum CommandType {
     PROCESS,
     COMPARE,
+    GREP,
+    OPTIMIZE,
     VERSION
 }
@@ -1,5 +1,6 @@
 package com.amazon.tools.cli;
 
+import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonException;
 import com.amazon.ion.IonReader;
 import com.amazon.ion.IonSequence;
@@ -12,10 +13,14 @@ import com.amazon.ion.IonWriter;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SymbolToken;
 import com.amazon.ion.impl._Private_Utils;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
 import com.amazon.ion.system.IonReaderBuilder;
 import com.amazon.ion.system.IonSystemBuilder;
 import com.amazon.ion.system.IonTextWriterBuilder;
+import com.amazon.ion.system.SimpleCatalog;
+import com.amazon.ion.util.BinaryScanner;
 import com.amazon.ion.util.Equivalence;
+import com.amazon.ion.util.SymbolTableOptimizer;
 import org.kohsuke.args4j.Argument;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
@@ -39,6 +44,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 
 public class IonJavaCli {
@@ -94,6 +101,10 @@ public class IonJavaCli {
         ) {
             if (commandType == CommandType.COMPARE) {
                 compareFiles(ionWriterForOutput, ionWriterForErrorReport, parsedArgs, comparisonType);
+            } else if (commandType == CommandType.GREP) {
+                grepFiles(ionWriterForOutput, parsedArgs);
+            } else if (commandType == CommandType.OPTIMIZE) {
+                optimizeFiles(outputStream, parsedArgs);
             } else if (commandType == CommandType.PROCESS) {
                 processContext.setIonWriter(ionWriterForOutput);
                 processFiles(ionWriterForErrorReport, parsedArgs, processContext);
@@ -126,6 +137,22 @@ public class IonJavaCli {
                     throw new CmdLineException("COMPARE doesn't support option format \"-f events\"");
                 }
                 break;
+            case GREP:
+                if (parsedArgs.getOutputFormat() == OutputFormat.EVENTS) {
+                    throw new CmdLineException("GREP doesn't support option format \"-f events\"");
+                }
+                if (parsedArgs.getField() == null || parsedArgs.getValue() == null) {
+                    throw new CmdLineException("GREP requires --field and --value");
+                }
+                if (parsedArgs.getThreads() < 1) {
+                    throw new CmdLineException("--threads must be positive");
+                }
+                break;
+            case OPTIMIZE:
+                if (parsedArgs.getInputFiles().isEmpty()) {
+                    throw new CmdLineException("OPTIMIZE requires at least one input file");
+                }
+                break;
         }
     }
 
@@ -158,9 +185,107 @@ public class IonJavaCli {
                     + "pretty | binary | none)]  [--catalog <file>]... [--comparison-type (basic | equivs | \n"
                     + "non-equivs | equiv-timeline)] [-] [<input_file>]...\n");
             parser.printUsage(System.err);
+        } else if (commandType == CommandType.GREP) {
+            System.err.println(msg + "\n");
+            System.err.println("\"Grep\" writes the top-level structs of binary Ion input file(s) that have a field with \n"
+                    + "the given string or symbol value to the output. Records that do not match are skipped \n"
+                    + "without being fully parsed.\n");
+            System.err.println("Usage:\n");
+            System.err.println("ion grep --field <name> --value <text> [--threads <n>] [--output <file>] \n"
+                    + "[--output-format (text | pretty | binary | none)] [--catalog <file>]... [<input_file>]...\n");
+            parser.printUsage(System.err);
+        } else if (commandType == CommandType.OPTIMIZE) {
+            System.err.println(msg + "\n");
+            System.err.println("\"Optimize\" re-encodes the values of the input file(s) as a single binary Ion stream \n"
+                    + "whose local symbol table declares only the symbols that the values use, with the most \n"
+                    + "frequently used symbols first so that they have the smallest symbol IDs. The output is \n"
+                    + "always binary; --output-format is ignored.\n");
+            System.err.println("Usage:\n");
+            System.err.println("ion optimize [--output <file>] <input_file>...\n");
+            parser.printUsage(System.err);
+        }
+    }
+
+    //
+    //
+    // functions for optimizing
+    //
+    //
+
+    private static void optimizeFiles(OutputStream outputStream, CommandArgs args) throws IOException {
+        IonReaderBuilder readerBuilder = IonReaderBuilder.standard();
+        SymbolTableOptimizer optimizer = new SymbolTableOptimizer();
+        // The first pass counts the symbols and the second re-encodes the values, so each input is read twice.
+        for (String path : args.getInputFiles()) {
+            try (IonReader reader = readerBuilder.build(new BufferedInputStream(new FileInputStream(path), BUFFER_SIZE))) {
+                optimizer.countSymbols(reader);
+            } catch (IonException e) {
+                System.err.println(path + ": " + e.getMessage());
+                System.exit(IO_ERROR_EXIT_CODE);
+            }
+        }
+        try (IonWriter writer = optimizer.newWriter(
+                IonBinaryWriterBuilder.standard(), new NoCloseOutputStream(outputStream))) {
+            for (String path : args.getInputFiles()) {
+                try (IonReader reader = readerBuilder.build(new BufferedInputStream(new FileInputStream(path), BUFFER_SIZE))) {
+                    writer.writeValues(reader);
+                }
+            }
         }
     }
 
+    //
+    //
+    // functions for grepping
+    //
+    //
+
+    private static void grepFiles(IonWriter ionWriterForOutput, CommandArgs args) throws IOException {
+        BinaryScanner.Builder builder = new BinaryScanner.Builder()
+                .withFieldEquals(args.getField(), args.getValue())
+                .withCatalog(loadCatalog(args.getCatalogFiles()));
+        ExecutorService executor = null;
+        if (args.getThreads() > 1) {
+            executor = Executors.newFixedThreadPool(args.getThreads());
+            builder.withParallelScanning(executor, 2 * args.getThreads());
+        }
+        BinaryScanner scanner = builder.build();
+        try {
+            for (String path : args.getInputFiles()) {
+                try (InputStream inputStream = new BufferedInputStream(new FileInputStream(path), BUFFER_SIZE)) {
+                    scanner.scan(inputStream, ionWriterForOutput::writeValue);
+                } catch (IonException e) {
+                    System.err.println(path + ": " + e.getMessage());
+                    System.exit(IO_ERROR_EXIT_CODE);
+                }
+            }
+            ionWriterForOutput.finish();
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Loads the shared symbol tables in the given files into a catalog, so that input that imports them can be read.
+     */
+    private static IonCatalog loadCatalog(List<String> paths) throws IOException {
+        SimpleCatalog catalog = new SimpleCatalog();
+        for (String path : paths) {
+            try (IonReader reader = IonReaderBuilder.standard().build(
+                    new BufferedInputStream(new FileInputStream(path), BUFFER_SIZE))) {
+                while (reader.next() != null) {
+                    catalog.putTable(ION_SYSTEM.newSharedSymbolTable(reader, true));
+                }
+            } catch (IonException e) {
+                System.err.println(path + ": " + e.getMessage());
+                System.exit(IO_ERROR_EXIT_CODE);
+            }
+        }
+        return catalog;
+    }
+
     //
     //
     // functions for processing
@@ -1360,6 +1485,28 @@ public class IonJavaCli {
                         + "equivalent by the Ion data model.")
         private String comparisonType = DEFAULT_COMPARISON_TYPE;
 
+        @Option(name = "--field",
+                metaVar = "NAME",
+                usage = "Field name of the top-level structs to match, used with the grep command.")
+        private String field;
+
+        @Option(name = "--value",
+                metaVar = "TEXT",
+                usage = "Text of the string or symbol value that the field must have, used with the grep command.")
+        private String value;
+
+        @Option(name = "--threads",
+                metaVar = "COUNT",
+                usage = "Number of threads with which the grep command scans splits of each input file.")
+        private int threads = 1;
+
+        @Option(name = "--catalog",
+                aliases = {"-c"},
+                metaVar = "FILE",
+                usage = "File containing the shared symbol tables imported by the input, used with the grep command.\n"
+                        + "May be given more than once.")
+        private List<String> catalogFiles = new ArrayList<>();
+
         @Argument(required = true)
         private List<String> inputs;
 
@@ -1389,6 +1536,10 @@ public class IonJavaCli {
             int length = this.inputs.size();
             return this.inputs.subList(1, length);
         }
+        public String getField() { return field; }
+        public String getValue() { return value; }
+        public int getThreads() { return threads; }
+        public List<String> getCatalogFiles() { return catalogFiles; }
         public String getOutputFile() { return outputFile; }
         public String getErrorReport() { return errorReport; }
     }
@@ -0,0 +1,285 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonTextWriterBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic data for the benchmark suite. Each {@link Shape} generates the same values from a fixed seed on
+ * every run, so results are comparable between runs and between revisions.
+ * <p>
+ * The values are generated into plain Java objects up front, so that {@link #writeTo(IonWriter)} costs little more
+ * than the writer calls themselves: structs are {@link Map}s, lists are {@link List}s, and scalars are
+ * {@link Long}, {@link BigInteger}, {@link Double}, {@link BigDecimal}, {@link String}, {@link Timestamp},
+ * {@link Boolean}, {@link Symbol}, and {@code byte[]} (blobs).
+ */
+public final class BenchmarkCorpus {
+
+    /** The data shapes covered by the suite, each roughly one megabyte of binary Ion. */
+    public enum Shape {
+        /** Structs with a hundred fields of mixed scalar types. */
+        WIDE_STRUCTS {
+            @Override
+            void generate(Random random, List<Object> values) {
+                for (int i = 0; i < 600; i++) {
+                    Map<String, Object> struct = new LinkedHashMap<>();
+                    for (int field = 0; field < 100; field++) {
+                        String name = "field_" + field;
+                        switch (field % 5) {
+                            case 0:
+                                struct.put(name, (long) random.nextInt(100_000));
+                                break;
+                            case 1:
+                                struct.put(name, asciiString(random, 4 + random.nextInt(12)));
+                                break;
+                            case 2:
+                                struct.put(name, BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+                                break;
+                            case 3:
+                                struct.put(name, random.nextBoolean());
+                                break;
+                            default:
+                                struct.put(name, new Symbol(SYMBOLS[random.nextInt(SYMBOLS.length)]));
+                                break;
+                        }
+                    }
+                    values.add(struct);
+                }
+            }
+        },
+        /** Containers nested sixty levels deep, alternating between structs and lists. */
+        DEEP_NESTING {
+            @Override
+            void generate(Random random, List<Object> values) {
+                for (int i = 0; i < 2000; i++) {
+                    Object value = (long) random.nextInt();
+                    for (int depth = 0; depth < 60; depth++) {
+                        if (depth % 2 == 0) {
+                            Map<String, Object> struct = new LinkedHashMap<>();
+                            struct.put("id", (long) depth);
+                            struct.put("child", value);
+                            value = struct;
+                        } else {
+                            List<Object> list = new ArrayList<>(2);
+                            list.add(value);
+                            list.add(new Symbol(SYMBOLS[depth % SYMBOLS.length]));
+                            value = list;
+                        }
+                    }
+                    values.add(value);
+                }
+            }
+        },
+        /** Lists of integers of every size, floats, and decimals. */
+        NUMERIC_ARRAYS {
+            @Override
+            void generate(Random random, List<Object> values) {
+                for (int i = 0; i < 200; i++) {
+                    List<Object> list = new ArrayList<>(600);
+                    for (int element = 0; element < 600; element++) {
+                        switch (element % 6) {
+                            case 0:
+                                list.add((long) random.nextInt(128));
+                                break;
+                            case 1:
+                                list.add((long) random.nextInt());
+                                break;
+                            case 2:
+                                list.add(random.nextLong());
+                                break;
+                            case 3:
+                                list.add(new BigInteger(100, random));
+                                break;
+                            case 4:
+                                list.add(random.nextDouble() * 1e6);
+                                break;
+                            default:
+                                list.add(BigDecimal.valueOf(random.nextLong(), random.nextInt(10)));
+                                break;
+                        }
+                    }
+                    values.add(list);
+                }
+            }
+        },
+        /** Strings of varied lengths, some with non-ASCII characters. */
+        STRING_HEAVY {
+            @Override
+            void generate(Random random, List<Object> values) {
+                for (int i = 0; i < 12_000; i++) {
+                    int length = 5 + random.nextInt(150);
+                    if (i % 8 == 0) {
+                        StringBuilder text = new StringBuilder(asciiString(random, length));
+                        text.setCharAt(random.nextInt(length), 'é');
+                        text.append("日本😀");
+                        values.add(text.toString());
+                    } else {
+                        values.add(asciiString(random, length));
+                    }
+                }
+            }
+        },
+        /** Timestamps of every precision, with and without local offsets. */
+        TIMESTAMP_HEAVY {
+            @Override
+            void generate(Random random, List<Object> values) {
+                for (int i = 0; i < 60_000; i++) {
+                    int year = 1970 + random.nextInt(100);
+                    int month = 1 + random.nextInt(12);
+                    int day = 1 + random.nextInt(28);
+                    int hour = random.nextInt(24);
+                    int minute = random.nextInt(60);
+                    int second = random.nextInt(60);
+                    Integer offset = i % 3 == 0 ? null : (random.nextInt(25) - 12) * 60;
+                    switch (i % 5) {
+                        case 0:
+                            values.add(Timestamp.forDay(year, month, day));
+                            break;
+                        case 1:
+                            values.add(Timestamp.forMinute(year, month, day, hour, minute, offset));
+                            break;
+                        case 2:
+                            values.add(Timestamp.forSecond(year, month, day, hour, minute, second, offset));
+                            break;
+                        case 3:
+                            values.add(Timestamp.forSecond(
+                                year, month, day, hour, minute, BigDecimal.valueOf(second * 1000 + random.nextInt(1000), 3), offset
+                            ));
+                            break;
+                        default:
+                            values.add(Timestamp.forSecond(
+                                year, month, day, hour, minute, BigDecimal.valueOf(random.nextInt(60_000_000), 6), offset
+                            ));
+                            break;
+                    }
+                }
+            }
+        },
+        /** Blobs of 64 KB. */
+        LARGE_LOBS {
+            @Override
+            void generate(Random random, List<Object> values) {
+                for (int i = 0; i < 16; i++) {
+                    byte[] blob = new byte[64 * 1024];
+                    random.nextBytes(blob);
+                    values.add(blob);
+                }
+            }
+        };
+
+        abstract void generate(Random random, List<Object> values);
+    }
+
+    /** The text of a symbol value, as distinct from a string value. */
+    static final class Symbol {
+        final String text;
+
+        Symbol(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final String[] SYMBOLS = {"pending", "active", "suspended", "closed", "archived", "deleted"};
+
+    // The same seed for every shape and every run.
+    private static final long SEED = 0x10_4A5A_2024L;
+
+    private final List<Object> values = new ArrayList<>();
+
+    BenchmarkCorpus(Shape shape) {
+        shape.generate(new Random(SEED), values);
+    }
+
+    private static String asciiString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Writes the corpus as a sequence of top-level values.
+     */
+    void writeTo(IonWriter writer) throws IOException {
+        for (Object value : values) {
+            write(writer, value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void write(IonWriter writer, Object value) throws IOException {
+        if (value instanceof Map) {
+            writer.stepIn(IonType.STRUCT);
+            for (Map.Entry<String, Object> field : ((Map<String, Object>) value).entrySet()) {
+                writer.setFieldName(field.getKey());
+                write(writer, field.getValue());
+            }
+            writer.stepOut();
+        } else if (value instanceof List) {
+            writer.stepIn(IonType.LIST);
+            for (Object element : (List<Object>) value) {
+                write(writer, element);
+            }
+            writer.stepOut();
+        } else if (value instanceof Long) {
+            writer.writeInt((Long) value);
+        } else if (value instanceof BigInteger) {
+            writer.writeInt((BigInteger) value);
+        } else if (value instanceof Double) {
+            writer.writeFloat((Double) value);
+        } else if (value instanceof BigDecimal) {
+            writer.writeDecimal((BigDecimal) value);
+        } else if (value instanceof String) {
+            writer.writeString((String) value);
+        } else if (value instanceof Symbol) {
+            writer.writeSymbol(((Symbol) value).text);
+        } else if (value instanceof Timestamp) {
+            writer.writeTimestamp((Timestamp) value);
+        } else if (value instanceof Boolean) {
+            writer.writeBool((Boolean) value);
+        } else if (value instanceof byte[]) {
+            writer.writeBlob((byte[]) value);
+        } else {
+            throw new IllegalStateException("Unexpected corpus value: " + value);
+        }
+    }
+
+    /**
+     * @return the corpus encoded as binary Ion.
+     */
+    byte[] toBinary() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = IonBinaryWriterBuilder.standard().build(out)) {
+            writeTo(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return the corpus encoded as compact text Ion.
+     */
+    byte[] toText() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = IonTextWriterBuilder.standard().build(out)) {
+            writeTo(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,71 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import com.amazon.ion.impl.bin._Private_IonManagedBinaryWriterBuilder;
+import com.amazon.ion.impl.bin._Private_IonManagedBinaryWriterBuilder.AllocatorMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the binary writer with each container length preallocation (the number of bytes reserved for the
+ * length of each container, 0 forcing lengths to be patched in separately) and block size, writing each shape of
+ * the {@link BenchmarkCorpus}. The standard builder preallocates 1 byte and uses 32 KB blocks.
+ * <p>
+ * Run with e.g. {@code ./gradlew :jmh -PjmhIncludes=BinaryWriterConfigurationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class BinaryWriterConfigurationBenchmark {
+
+    @Param
+    private BenchmarkCorpus.Shape shape;
+
+    @Param({"0", "1", "2"})
+    private int preallocation;
+
+    @Param({"4096", "32768", "262144"})
+    private int blockSize;
+
+    private BenchmarkCorpus corpus;
+    private _Private_IonManagedBinaryWriterBuilder writerBuilder;
+    private ByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        corpus = new BenchmarkCorpus(shape);
+        writerBuilder = _Private_IonManagedBinaryWriterBuilder
+            .create(AllocatorMode.POOLED)
+            .withPaddedLengthPreallocation(preallocation)
+            .withUserBlockSize(blockSize)
+            .withSymbolsBlockSize(blockSize);
+        out = new ByteArrayOutputStream(corpus.toBinary().length * 2);
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        out.reset();
+        try (IonWriter writer = writerBuilder.newWriter(out)) {
+            corpus.writeTo(writer);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,84 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import com.amazon.ion.impl.bin._Private_IonManagedBinaryWriterBuilder;
+import com.amazon.ion.impl.bin.utf8.Utf8StringEncoderPool;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks many threads that each build short-lived binary writers, as a server encoding one response per request
+ * would. Every writer allocates its blocks and UTF-8 encoders from the shared pools, so this exercises
+ * {@code PooledBlockAllocatorProvider} and the {@code utf8} pools under contention. The pool hit and miss counts are
+ * printed after each trial.
+ *
+ * Run with e.g. {@code ./gradlew :jmh -PjmhIncludes=ConcurrentBinaryWriterBenchmark}, and vary the thread count with
+ * the JMH {@code -t} option to compare contention at different levels.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(Threads.MAX)
+@Warmup(iterations = 3, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ConcurrentBinaryWriterBenchmark {
+
+    private IonBinaryWriterBuilder builder;
+
+    @State(Scope.Thread)
+    public static class Output {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Small blocks make each writer allocate several of them.
+        builder = IonBinaryWriterBuilder.standard().withBlockSize(1024).immutable();
+    }
+
+    @TearDown(Level.Trial)
+    public void printPoolStatistics() {
+        System.out.println("Block pool: " + _Private_IonManagedBinaryWriterBuilder.getPooledBlockStatistics());
+        System.out.println("UTF-8 encoder pool: " + Utf8StringEncoderPool.getInstance().getStatistics());
+    }
+
+    /** Write a small document with its own writer. */
+    @Benchmark
+    public int writeSmallDocument(Output output) throws IOException {
+        output.out.reset();
+        try (IonWriter writer = builder.build(output.out)) {
+            for (int i = 0; i < 100; i++) {
+                writer.stepIn(IonType.STRUCT);
+                writer.setFieldName("id");
+                writer.writeInt(i);
+                writer.setFieldName("name");
+                writer.writeString("name number " + i);
+                writer.setFieldName("tags");
+                writer.stepIn(IonType.LIST);
+                writer.writeSymbol("alpha");
+                writer.writeSymbol("beta");
+                writer.stepOut();
+                writer.stepOut();
+            }
+        }
+        return output.out.size();
+    }
+}
@@ -45,6 +45,7 @@ public class IonContainerHashCodeBenchmark {
 
     private IonList monomorphicContainer;
     private IonList megamorphicContainer;
+    private IonList readOnlyContainer;
 
     @Setup
     public void setup() {
@@ -71,6 +72,10 @@ public class IonContainerHashCodeBenchmark {
         for (int i = 0; i < 120; i++) {
             monomorphicContainer.add(SYSTEM.newString("value" + i));
         }
+
+        // Read-only containers memoize their hash codes after the first computation.
+        readOnlyContainer = monomorphicContainer.clone();
+        readOnlyContainer.makeReadOnly();
     }
 
     @Benchmark
@@ -82,4 +87,9 @@ public class IonContainerHashCodeBenchmark {
     public int containerHashCode_megamorphic() {
         return megamorphicContainer.hashCode();
     }
+
+    @Benchmark
+    public int containerHashCode_readOnly() {
+        return readOnlyContainer.hashCode();
+    }
 }
@@ -0,0 +1,112 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+
+import com.amazon.ion.system.IonSystemBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mutation-heavy workloads on large lite DOM containers: adding, replacing, and removing fields of a large
+ * struct, and removing many elements of a large list. Each invocation operates on a fresh copy of the container.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class IonContainerMutationBenchmark {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private String[] fieldNames;
+    private String[] everyOtherFieldName;
+    private IonStruct templateStruct;
+    private IonList templateList;
+
+    private IonStruct struct;
+    private IonList list;
+    private List<IonValue> everyOtherElement;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        fieldNames = new String[size];
+        everyOtherFieldName = new String[size / 2];
+        templateStruct = SYSTEM.newEmptyStruct();
+        templateList = SYSTEM.newEmptyList();
+        for (int i = 0; i < size; i++) {
+            fieldNames[i] = "field" + i;
+            if (i % 2 == 0) {
+                everyOtherFieldName[i / 2] = fieldNames[i];
+            }
+            templateStruct.add(fieldNames[i], SYSTEM.newInt(i));
+            templateList.add(SYSTEM.newInt(i));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        struct = templateStruct.clone();
+        list = templateList.clone();
+        everyOtherElement = new ArrayList<>(size / 2);
+        for (int i = 0; i < size; i += 2) {
+            everyOtherElement.add(list.get(i));
+        }
+    }
+
+    @Benchmark
+    public IonStruct structAddFields() {
+        IonStruct s = SYSTEM.newEmptyStruct();
+        for (String fieldName : fieldNames) {
+            s.add(fieldName, SYSTEM.newInt(0));
+        }
+        return s;
+    }
+
+    @Benchmark
+    public IonStruct structPutExistingFields() {
+        for (int i = 0; i < 1000; i++) {
+            struct.put(fieldNames[(i * 7919) % size], SYSTEM.newInt(i));
+        }
+        return struct;
+    }
+
+    @Benchmark
+    public IonStruct structRemoveFieldsOneByOne() {
+        for (int i = 0; i < 1000; i++) {
+            struct.remove(fieldNames[(i * 7919) % size]);
+        }
+        return struct;
+    }
+
+    @Benchmark
+    public IonStruct structRemoveAllHalfTheFields() {
+        struct.removeAll(everyOtherFieldName);
+        return struct;
+    }
+
+    @Benchmark
+    public IonList listRemoveAllHalfTheElements() {
+        list.removeAll(everyOtherElement);
+        return list;
+    }
+}
@@ -0,0 +1,65 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of materializing a binary Ion stream into an {@link IonDatagram} via {@link IonLoader}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class IonLoaderBinaryBenchmark {
+
+    private static final IonReaderBuilder READER_BUILDER = IonReaderBuilder.standard();
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+
+    @Param({"1000", "20000"})
+    private int topLevelValues;
+
+    private byte[] data;
+
+    @Setup
+    public void setup() {
+        IonDatagram datagram = SYSTEM.newDatagram();
+        for (int i = 0; i < topLevelValues; i++) {
+            datagram.add(SYSTEM.singleValue(
+                "order::{id:" + i + ", name:\"item" + i + "\", tags:[red, green, blue], price:12.50, "
+                    + "created:2020-01-01T00:00:00Z, dimensions:{width:1.5e0, height:2.5e0}, active:true}"
+            ));
+        }
+        data = datagram.getBytes();
+    }
+
+    @Benchmark
+    public IonDatagram loadBytes() {
+        return SYSTEM.getLoader().load(data);
+    }
+
+    @Benchmark
+    public IonDatagram loadInputStream() throws Exception {
+        try (IonReader reader = READER_BUILDER.build(new ByteArrayInputStream(data))) {
+            return SYSTEM.getLoader().load(reader);
+        }
+    }
+}
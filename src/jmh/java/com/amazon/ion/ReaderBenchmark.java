@@ -0,0 +1,141 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading each shape of the {@link BenchmarkCorpus} in its entirety, for every combination of encoding,
+ * API, input source, and incremental reading. Streaming reads visit every value and materialize every scalar; DOM
+ * reads load the stream into an {@link IonDatagram}. Incremental reading applies only to binary Ion; text results
+ * with it enabled should match those with it disabled.
+ * <p>
+ * Run with e.g. {@code ./gradlew :jmh -PjmhIncludes=ReaderBenchmark}. The suite's results are compared with the
+ * stored baseline by {@code ./gradlew :jmhCompare}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ReaderBenchmark {
+
+    public enum Format { BINARY, TEXT }
+
+    public enum Api { STREAMING, DOM }
+
+    public enum Source { BYTES, INPUT_STREAM }
+
+    @Param
+    private BenchmarkCorpus.Shape shape;
+
+    @Param
+    private Format format;
+
+    @Param
+    private Api api;
+
+    @Param
+    private Source source;
+
+    @Param({"false", "true"})
+    private boolean incremental;
+
+    private byte[] data;
+    private IonReaderBuilder readerBuilder;
+    private IonLoader loader;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkCorpus corpus = new BenchmarkCorpus(shape);
+        data = format == Format.BINARY ? corpus.toBinary() : corpus.toText();
+        readerBuilder = IonReaderBuilder.standard().withIncrementalReadingEnabled(incremental).immutable();
+        loader = IonSystemBuilder.standard().withReaderBuilder(readerBuilder).build().getLoader();
+    }
+
+    @Benchmark
+    public void read(Blackhole blackhole) throws IOException {
+        if (api == Api.DOM && source == Source.BYTES) {
+            blackhole.consume(loader.load(data));
+            return;
+        }
+        try (IonReader reader = source == Source.BYTES
+            ? readerBuilder.build(data)
+            : readerBuilder.build(new ByteArrayInputStream(data))) {
+            if (api == Api.DOM) {
+                blackhole.consume(loader.load(reader));
+            } else {
+                consume(reader, blackhole);
+            }
+        }
+    }
+
+    private static void consume(IonReader reader, Blackhole blackhole) {
+        IonType type;
+        while ((type = reader.next()) != null) {
+            if (reader.isInStruct()) {
+                blackhole.consume(reader.getFieldName());
+            }
+            if (reader.isNullValue()) {
+                continue;
+            }
+            switch (type) {
+                case BOOL:
+                    blackhole.consume(reader.booleanValue());
+                    break;
+                case INT:
+                    if (reader.getIntegerSize() == IntegerSize.BIG_INTEGER) {
+                        blackhole.consume(reader.bigIntegerValue());
+                    } else {
+                        blackhole.consume(reader.longValue());
+                    }
+                    break;
+                case FLOAT:
+                    blackhole.consume(reader.doubleValue());
+                    break;
+                case DECIMAL:
+                    blackhole.consume(reader.decimalValue());
+                    break;
+                case TIMESTAMP:
+                    blackhole.consume(reader.timestampValue());
+                    break;
+                case SYMBOL:
+                case STRING:
+                    blackhole.consume(reader.stringValue());
+                    break;
+                case BLOB:
+                case CLOB:
+                    blackhole.consume(reader.newBytes());
+                    break;
+                case LIST:
+                case SEXP:
+                case STRUCT:
+                    reader.stepIn();
+                    consume(reader, blackhole);
+                    reader.stepOut();
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
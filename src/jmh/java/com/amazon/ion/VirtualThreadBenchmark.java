@@ -0,0 +1,113 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.SimpleCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks thousands of concurrent tasks that each write and read a small binary stream importing a shared symbol
+ * table from a shared catalog, on virtual threads when the JDK supports them (JDK 21+) and on a pool of platform
+ * threads otherwise.
+ *
+ * Run with e.g. {@code ./gradlew :jmh -PjmhIncludes=VirtualThreadBenchmark}. To report carrier-thread pinning, add
+ * JMH's JFR profiler ({@code -prof jfr}) and inspect the {@code jdk.VirtualThreadPinned} events in the resulting
+ * recording, or pass {@code -Djdk.tracePinnedThreads=full} to the forked JVM.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    @Param({"10000"})
+    public int numberOfTasks;
+
+    private SimpleCatalog catalog;
+    private SymbolTable sharedTable;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        catalog = new SimpleCatalog();
+        IonSystem system = IonSystemBuilder.standard().withCatalog(catalog).build();
+        sharedTable = system.newSharedSymbolTable("shared", 1, Arrays.asList("alpha", "beta", "gamma").iterator());
+        catalog.putTable(sharedTable);
+        try {
+            executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    private long roundTrip(int id) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = IonBinaryWriterBuilder.standard().withImports(sharedTable).build(out)) {
+            for (int i = 0; i < 20; i++) {
+                writer.stepIn(IonType.STRUCT);
+                writer.setFieldName("alpha");
+                writer.writeInt(id);
+                writer.setFieldName("beta");
+                writer.writeSymbol("gamma");
+                writer.stepOut();
+            }
+        }
+        long sum = 0;
+        try (IonReader reader = IonReaderBuilder.standard().withCatalog(catalog).build(out.toByteArray())) {
+            while (reader.next() != null) {
+                reader.stepIn();
+                reader.next();
+                sum += reader.intValue();
+                reader.stepOut();
+            }
+        }
+        return sum;
+    }
+
+    /** Run all tasks concurrently and wait for them to complete. */
+    @Benchmark
+    public long concurrentRoundTrips() throws Exception {
+        List<Future<Long>> futures = new ArrayList<>(numberOfTasks);
+        for (int i = 0; i < numberOfTasks; i++) {
+            final int id = i;
+            futures.add(executor.submit(() -> roundTrip(id)));
+        }
+        long sum = 0;
+        for (Future<Long> future : futures) {
+            sum += future.get();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,82 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.IonTextWriterBuilder;
+import com.amazon.ion.system.IonWriterBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing each shape of the {@link BenchmarkCorpus} with the standard binary and text writers, either
+ * through the streaming API or by writing an {@link IonDatagram} that holds the same values.
+ * <p>
+ * Run with e.g. {@code ./gradlew :jmh -PjmhIncludes=WriterBenchmark}. See {@link BinaryWriterConfigurationBenchmark}
+ * for the binary writer's buffer configurations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class WriterBenchmark {
+
+    public enum Format { BINARY, TEXT }
+
+    public enum Api { STREAMING, DOM }
+
+    @Param
+    private BenchmarkCorpus.Shape shape;
+
+    @Param
+    private Format format;
+
+    @Param
+    private Api api;
+
+    private BenchmarkCorpus corpus;
+    private IonDatagram datagram;
+    private IonWriterBuilder writerBuilder;
+    private ByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        corpus = new BenchmarkCorpus(shape);
+        byte[] binary = corpus.toBinary();
+        datagram = IonSystemBuilder.standard().build().getLoader().load(binary);
+        writerBuilder = format == Format.BINARY
+            ? IonBinaryWriterBuilder.standard().immutable()
+            : IonTextWriterBuilder.standard().immutable();
+        out = new ByteArrayOutputStream(binary.length * 2);
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        out.reset();
+        try (IonWriter writer = writerBuilder.build(out)) {
+            if (api == Api.DOM) {
+                datagram.writeTo(writer);
+            } else {
+                corpus.writeTo(writer);
+            }
+        }
+        return out.size();
+    }
+}
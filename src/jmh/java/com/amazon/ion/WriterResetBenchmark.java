@@ -0,0 +1,100 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks encoding one small message per stream, comparing a new writer per message with one writer that is
+ * reset onto each message's output through the {@link ResettableWriter} facet, optionally retaining its symbol
+ * table.
+ *
+ * Run with e.g. {@code ./gradlew :jmh -PjmhIncludes=WriterResetBenchmark}, with JMH's {@code gc} profiler enabled to
+ * compare the allocation per message; the {@code gc.alloc.rate.norm} of the reset variants should be close to zero.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class WriterResetBenchmark {
+
+    private static final String[] NAMES = {"alpha", "beta", "gamma", "delta"};
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    private IonBinaryWriterBuilder builder;
+    private IonWriter writer;
+    private ResettableWriter resettable;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        builder = IonBinaryWriterBuilder.standard().immutable();
+        writer = builder.build(out);
+        resettable = writer.asFacet(ResettableWriter.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        writer.close();
+    }
+
+    private static void writeMessage(IonWriter writer) throws IOException {
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName("request_id");
+        writer.writeInt(12345);
+        writer.setFieldName("operation");
+        writer.writeSymbol("GetItem");
+        writer.setFieldName("attributes");
+        writer.stepIn(IonType.LIST);
+        for (String name : NAMES) {
+            writer.writeSymbol(name);
+        }
+        writer.stepOut();
+        writer.stepOut();
+    }
+
+    /** Encode each message with its own writer. */
+    @Benchmark
+    public int newWriterPerMessage() throws IOException {
+        out.reset();
+        try (IonWriter messageWriter = builder.build(out)) {
+            writeMessage(messageWriter);
+        }
+        return out.size();
+    }
+
+    /** Encode each message with the same writer, starting a new symbol table for each. */
+    @Benchmark
+    public int resetWriter() throws IOException {
+        out.reset();
+        writeMessage(writer);
+        resettable.reset(out);
+        return out.size();
+    }
+
+    /** Encode each message with the same writer, repeating the cached serialized symbol table for each. */
+    @Benchmark
+    public int resetWriterRetainingSymbolTable() throws IOException {
+        out.reset();
+        writeMessage(writer);
+        resettable.reset(out, true);
+        return out.size();
+    }
+}
@@ -0,0 +1,100 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A limit on the total number of bytes that may be held by the buffers of
+ * many readers and writers at once, for example all of those serving the
+ * connections of a process.
+ * <p>
+ * A budget is attached to readers through
+ * {@link BufferConfiguration.Builder#withBufferBudget(BufferBudget)} and to
+ * binary writers through
+ * {@link com.amazon.ion.system.IonBinaryWriterBuilder#withBufferBudget(BufferBudget)}.
+ * A reader that would grow its buffer beyond the remaining budget treats the
+ * current value as oversized; see
+ * {@link BufferConfiguration.BudgetExhaustedHandler}. A reader returns the
+ * memory beyond its initial buffer size to the budget once the large values
+ * that required it have been consumed. Writers cannot skip values, so their
+ * buffers are always allocated, but they count against the budget. All of a
+ * reader's or writer's memory is returned to the budget when it is closed.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class BufferBudget {
+    private final long maximumSize;
+    private final AtomicLong usedSize = new AtomicLong();
+
+    private BufferBudget(final long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Creates a budget with the given limit.
+     *
+     * @param maximumSize the number of bytes that may be held at once.
+     * @return a new budget.
+     */
+    public static BufferBudget create(final long maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Buffer budget must be positive: " + maximumSize);
+        }
+        return new BufferBudget(maximumSize);
+    }
+
+    /**
+     * @return the number of bytes that may be held at once.
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the number of bytes currently held. This may exceed the maximum
+     * size because allocations made by {@link #acquire(long)} are never
+     * refused.
+     */
+    public long getUsedSize() {
+        return usedSize.get();
+    }
+
+    /**
+     * Reserves the given number of bytes if doing so would not exceed the
+     * maximum size.
+     *
+     * @param size the number of bytes.
+     * @return true if the bytes were reserved; otherwise, false.
+     */
+    public boolean tryAcquire(final long size) {
+        while (true) {
+            final long used = usedSize.get();
+            if (used + size > maximumSize) {
+                return false;
+            }
+            if (usedSize.compareAndSet(used, used + size)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Reserves the given number of bytes, even if doing so would exceed the
+     * maximum size. Used for allocations that cannot be refused.
+     *
+     * @param size the number of bytes.
+     */
+    public void acquire(final long size) {
+        usedSize.addAndGet(size);
+    }
+
+    /**
+     * Returns the given number of previously reserved bytes to the budget.
+     *
+     * @param size the number of bytes.
+     */
+    public void release(final long size) {
+        usedSize.addAndGet(-size);
+    }
+}
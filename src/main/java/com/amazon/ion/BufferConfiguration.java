@@ -25,6 +25,21 @@ public abstract class BufferConfiguration<Configuration extends BufferConfigurat
         void onOversizedValue();
     }
 
+    /**
+     * Functional interface for handling an exhausted {@link BufferBudget}.
+     */
+    @FunctionalInterface
+    public interface BudgetExhaustedHandler {
+        /**
+         * Invoked each time a user value cannot be buffered because the buffer would have to grow beyond what remains
+         * of the configured {@link BufferBudget}. Like {@link OversizedValueHandler#onOversizedValue()}, this is
+         * recoverable: if the implementation returns normally, the value will be skipped and normal processing will
+         * resume with the next value. If the implementation wishes to abort processing immediately, it may throw an
+         * exception from this method.
+         */
+        void onBudgetExhausted();
+    }
+
     /**
      * Functional interface for reporting processed data.
      */
@@ -74,6 +89,16 @@ public abstract class BufferConfiguration<Configuration extends BufferConfigurat
          */
         private DataHandler dataHandler = null;
 
+        /**
+         * The budget shared with other buffers, if any.
+         */
+        private BufferBudget bufferBudget = null;
+
+        /**
+         * The handler that will be notified when the budget is exhausted.
+         */
+        private BudgetExhaustedHandler budgetExhaustedHandler = null;
+
         /**
          * Sets the initial size of the buffer that will be used to hold the data between top-level values. Default:
          * 32KB.
@@ -124,6 +149,49 @@ public abstract class BufferConfiguration<Configuration extends BufferConfigurat
             return oversizedValueHandler;
         }
 
+        /**
+         * Sets a budget that limits the total size of this buffer together with all other buffers that share it. The
+         * buffer's initial size is always allocated. Growing the buffer beyond the initial size requires the growth
+         * to fit within the budget; when it does not, the {@link BudgetExhaustedHandler} is notified and the value is
+         * skipped. Once the values that required the buffer to grow have been consumed, the buffer is shrunk back to
+         * its initial size. The budget may be null (the default), in which case the buffer's size is limited only by
+         * the maximum buffer size and is never shrunk.
+         *
+         * @param budget the budget.
+         * @return this builder.
+         */
+        public final BuilderType withBufferBudget(final BufferBudget budget) {
+            bufferBudget = budget;
+            return (BuilderType) this;
+        }
+
+        /**
+         * @return the budget shared with other buffers, or null.
+         */
+        public final BufferBudget getBufferBudget() {
+            return bufferBudget;
+        }
+
+        /**
+         * Sets the handler that will be notified when a value cannot be buffered because the
+         * {@link #withBufferBudget(BufferBudget) budget} is exhausted. If null (the default), the
+         * {@link OversizedValueHandler} is notified instead.
+         *
+         * @param handler the handler.
+         * @return this builder.
+         */
+        public final BuilderType onBudgetExhausted(final BudgetExhaustedHandler handler) {
+            budgetExhaustedHandler = handler;
+            return (BuilderType) this;
+        }
+
+        /**
+         * @return the handler that will be notified when the budget is exhausted, or null.
+         */
+        public final BudgetExhaustedHandler getBudgetExhaustedHandler() {
+            return budgetExhaustedHandler;
+        }
+
         /**
          * @return the handler that will be notified when data is processed.
          */
@@ -200,6 +268,16 @@ public abstract class BufferConfiguration<Configuration extends BufferConfigurat
      */
     private final DataHandler dataHandler;
 
+    /**
+     * The budget shared with other buffers, or null.
+     */
+    private final BufferBudget bufferBudget;
+
+    /**
+     * The handler that will be notified when the budget is exhausted, or null to notify the oversized value handler.
+     */
+    private final BudgetExhaustedHandler budgetExhaustedHandler;
+
     /**
      * Constructs an instance from the given Builder.
      * @param builder the builder containing the settings to apply to the new configuration.
@@ -226,6 +304,8 @@ public abstract class BufferConfiguration<Configuration extends BufferConfigurat
         } else {
             dataHandler = builder.getDataHandler();
         }
+        bufferBudget = builder.getBufferBudget();
+        budgetExhaustedHandler = builder.getBudgetExhaustedHandler();
     }
 
     /**
@@ -266,4 +346,19 @@ public abstract class BufferConfiguration<Configuration extends BufferConfigurat
     public final DataHandler getDataHandler() {
         return dataHandler;
     }
+
+    /**
+     * @return the budget shared with other buffers, or null.
+     */
+    public final BufferBudget getBufferBudget() {
+        return bufferBudget;
+    }
+
+    /**
+     * @return the handler that will be notified when the budget is exhausted, or null if the
+     * {@link OversizedValueHandler} is notified instead.
+     */
+    public final BudgetExhaustedHandler getBudgetExhaustedHandler() {
+        return budgetExhaustedHandler;
+    }
 }
@@ -0,0 +1,31 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+/**
+ * Provides the ability to capture a {@link ReaderCheckpoint} from which a
+ * new reader can resume reading the same stream.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of binary {@link IonReader}s.
+ *
+ * @see com.amazon.ion.system.IonReaderBuilder#build(java.io.InputStream, ReaderCheckpoint)
+ */
+public interface CheckpointableReader
+{
+    /**
+     * Captures the reader's position at top level and the symbol table in
+     * scope there. If the reader is positioned on a value, a reader resumed
+     * from the checkpoint starts with the value that follows it; otherwise,
+     * it starts with the value that this reader's next call to
+     * {@link IonReader#next()} would return.
+     *
+     * @return a new checkpoint.
+     *
+     * @throws IllegalStateException if the reader is not at top level.
+     * @throws IonException if the stream is not Ion 1.0.
+     */
+    public ReaderCheckpoint checkpoint();
+}
@@ -0,0 +1,36 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+/**
+ * Provides the ability to resolve the current field name to an ordinal of a
+ * {@link FieldNameResolver}.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of binary and text
+ * {@link IonReader}s. Binary readers resolve each symbol ID of the current
+ * symbol table at most once per resolver, so that repeated lookups cost a
+ * single array access; text readers look up the field name's text.
+ */
+public interface FieldNameOrdinalReader
+{
+    /**
+     * Returns the ordinal of the field name of the current value.
+     * <p>
+     * Lookups are fastest when the same resolver is used repeatedly; using a
+     * different resolver discards the mappings computed for the previous one.
+     *
+     * @param resolver the field names to resolve against.
+     *
+     * @return the ordinal of the current field name, or
+     * {@link FieldNameResolver#UNKNOWN_ORDINAL} if the reader is not
+     * positioned on a field, the field name has unknown text, or the field
+     * name is not in the resolver.
+     *
+     * @throws UnknownSymbolException if the field name's symbol ID is out of
+     * the range of the current symbol table.
+     */
+    public int getFieldNameOrdinal(FieldNameResolver resolver);
+}
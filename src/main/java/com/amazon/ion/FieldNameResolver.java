@@ -0,0 +1,87 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A fixed set of field names, each identified by an ordinal: its index in
+ * the list from which the resolver was created. Deserializers that expect a
+ * known set of fields can switch on the ordinal of each field instead of
+ * comparing field name Strings.
+ * <p>
+ * Ordinals are obtained through the {@link FieldNameOrdinalReader} facet of
+ * an {@link IonReader}. Binary readers map the symbol IDs of the current
+ * symbol table to ordinals once, so that each subsequent lookup is a single
+ * array access. For readers that do not provide the facet, use
+ * {@code resolver.ordinalOf(reader.getFieldName())}.
+ * <p>
+ * Instances are immutable and may be shared by any number of readers and
+ * threads.
+ */
+public final class FieldNameResolver {
+
+    /**
+     * The ordinal of field names that are not in the resolver.
+     */
+    public static final int UNKNOWN_ORDINAL = -1;
+
+    private final String[] fieldNames;
+    private final Map<String, Integer> ordinals;
+
+    private FieldNameResolver(String[] fieldNames) {
+        this.fieldNames = fieldNames;
+        ordinals = new HashMap<>((int) (fieldNames.length / 0.75f) + 1);
+        for (int i = 0; i < fieldNames.length; i++) {
+            String fieldName = fieldNames[i];
+            if (fieldName == null) {
+                throw new IllegalArgumentException("Field names must not be null.");
+            }
+            if (ordinals.put(fieldName, i) != null) {
+                throw new IllegalArgumentException("Duplicate field name: " + fieldName);
+            }
+        }
+    }
+
+    /**
+     * Creates a resolver for the given field names.
+     *
+     * @param fieldNames the field names, which must be distinct and
+     *                   non-null. The ordinal of each is its index.
+     * @return a new resolver.
+     */
+    public static FieldNameResolver create(String... fieldNames) {
+        return new FieldNameResolver(fieldNames.clone());
+    }
+
+    /**
+     * @return the number of field names, which is one more than the largest
+     * ordinal.
+     */
+    public int size() {
+        return fieldNames.length;
+    }
+
+    /**
+     * @param ordinal an ordinal.
+     * @return the field name with the given ordinal.
+     * @throws IndexOutOfBoundsException if the ordinal is not valid.
+     */
+    public String getFieldName(int ordinal) {
+        return fieldNames[ordinal];
+    }
+
+    /**
+     * @param fieldName a field name, which may be null.
+     * @return the ordinal of the given field name, or
+     * {@link #UNKNOWN_ORDINAL} if it is null or not in this resolver.
+     */
+    public int ordinalOf(String fieldName) {
+        if (fieldName == null) {
+            return UNKNOWN_ORDINAL;
+        }
+        Integer ordinal = ordinals.get(fieldName);
+        return ordinal == null ? UNKNOWN_ORDINAL : ordinal;
+    }
+}
@@ -106,7 +106,9 @@ public final class IonBufferConfiguration extends BufferConfiguration<IonBufferC
                 .onOversizedValue(existingConfiguration.getOversizedValueHandler())
                 .onOversizedSymbolTable(existingConfiguration.getOversizedSymbolTableHandler())
                 .withInitialBufferSize(existingConfiguration.getInitialBufferSize())
-                .withMaximumBufferSize(existingConfiguration.getMaximumBufferSize());
+                .withMaximumBufferSize(existingConfiguration.getMaximumBufferSize())
+                .withBufferBudget(existingConfiguration.getBufferBudget())
+                .onBudgetExhausted(existingConfiguration.getBudgetExhaustedHandler());
         }
 
         /**
@@ -0,0 +1,143 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+/**
+ * Receives measurements of the work done by binary readers and writers, for
+ * diagnosing why a particular stream is slow to read or write.
+ * <p>
+ * A listener is attached to readers through
+ * {@link com.amazon.ion.system.IonReaderBuilder#withMetricsListener(IonMetricsListener)}
+ * and to binary writers through
+ * {@link com.amazon.ion.system.IonBinaryWriterBuilder#withMetricsListener(IonMetricsListener)}.
+ * Text readers and writers do not report measurements.
+ * <p>
+ * Every method of this class does nothing; subclasses override those for the
+ * measurements they need. Methods are invoked synchronously on the thread
+ * that is using the reader or writer, except for {@link #onFlush(long, long)}
+ * when the writer flushes asynchronously, so implementations must be fast and
+ * must be thread-safe if they are shared. See
+ * {@link com.amazon.ion.util.IonMetricsCounter} for an implementation that
+ * aggregates the measurements of any number of readers and writers.
+ * <p>
+ * Readers and writers do not invoke {@link #NO_OP}, the default, at all, so
+ * attaching no listener costs nothing beyond a null check at each point of
+ * measurement.
+ */
+public abstract class IonMetricsListener {
+
+    /**
+     * A listener that ignores all measurements. This is the default.
+     */
+    public static final IonMetricsListener NO_OP = new IonMetricsListener() {};
+
+    protected IonMetricsListener() {
+    }
+
+    /**
+     * Invoked when a reader positions itself on a user value, whether or not
+     * the value is then consumed. Nested values are reported individually, in
+     * addition to their containers. Symbol tables and values skipped for being
+     * oversized are not reported.
+     *
+     * @param type the type of the value.
+     * @param numberOfBytes the length of the value's encoding, including its
+     *                      type descriptor and length but not its field name
+     *                      or annotations, or -1 if the value is a delimited
+     *                      container whose length is not known in advance.
+     */
+    public void onValueRead(IonType type, long numberOfBytes) {
+    }
+
+    /**
+     * Invoked each time a reader receives data from its input stream. The
+     * bytes read to detect the stream's format, before the reader was created,
+     * are not reported.
+     *
+     * @param numberOfBytes the number of bytes received.
+     */
+    public void onRefill(int numberOfBytes) {
+    }
+
+    /**
+     * Invoked when a reader grows its buffer to hold a value larger than the
+     * buffer's current size.
+     *
+     * @param previousSize the size of the buffer before it grew, in bytes.
+     * @param newSize the size of the buffer after it grew, in bytes.
+     */
+    public void onBufferGrown(int previousSize, int newSize) {
+    }
+
+    /**
+     * Invoked when a reader returns its buffer to its initial size after the
+     * large values that required it to grow have been consumed. Buffers are
+     * only shrunk when a {@link BufferBudget} is in use.
+     *
+     * @param previousSize the size of the buffer before it shrank, in bytes.
+     * @param newSize the size of the buffer after it shrank, in bytes.
+     */
+    public void onBufferShrunk(int previousSize, int newSize) {
+    }
+
+    /**
+     * Invoked when a reader skips bytes of its input stream without buffering
+     * them, which happens when the user skips a value that has not been
+     * buffered and when an oversized value is skipped.
+     *
+     * @param numberOfBytes the number of bytes skipped.
+     */
+    public void onBytesSkipped(long numberOfBytes) {
+    }
+
+    /**
+     * Invoked when a reader has read a local symbol table.
+     *
+     * @param isAppend true if the symbol table appends to the symbols already
+     *                 in effect; false if it replaces them.
+     * @param numberOfSymbols the number of symbols declared by the table.
+     */
+    public void onLocalSymbolTable(boolean isAppend, int numberOfSymbols) {
+    }
+
+    /**
+     * Invoked when a writer has written a user value. Nested values are
+     * reported individually, in addition to their containers.
+     *
+     * @param type the type of the value.
+     * @param numberOfBytes the length of the value's encoding, including its
+     *                      type descriptor and length but not its field name
+     *                      or annotations.
+     */
+    public void onValueWritten(IonType type, long numberOfBytes) {
+    }
+
+    /**
+     * Invoked when a writer acquires a block of memory to extend its buffer.
+     *
+     * @param blockSize the size of the block, in bytes.
+     */
+    public void onBlockAllocated(int blockSize) {
+    }
+
+    /**
+     * Invoked when a writer finishes a container whose length did not fit in
+     * the space reserved for it, so that the length must be inserted when the
+     * buffer is written to the output. Many patch points suggest that the
+     * writer would benefit from reserving more space for container lengths.
+     */
+    public void onPatchPoint() {
+    }
+
+    /**
+     * Invoked when a writer has written its buffered values to the output.
+     *
+     * @param numberOfBytes the number of bytes written, not including any
+     *                      local symbol table written ahead of the values.
+     * @param nanoseconds the time taken to write and flush the output. When
+     *                    the writer flushes asynchronously, this is measured
+     *                    on the thread that writes the output.
+     */
+    public void onFlush(long numberOfBytes, long nanoseconds) {
+    }
+}
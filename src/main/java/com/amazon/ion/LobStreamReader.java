@@ -0,0 +1,41 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import java.io.InputStream;
+
+/**
+ * Provides the ability to read the content of a blob or clob as an
+ * {@link InputStream}, without first materializing the entire value.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of binary {@link IonReader}s.
+ * Readers that cannot stream LOB content return {@code null} when this facet
+ * is requested; {@link IonReader#newBytes()} may be used instead.
+ */
+public interface LobStreamReader
+{
+    /**
+     * Returns a stream over the content of the blob or clob on which the
+     * reader is currently positioned.
+     * <p>
+     * When the reader consumes an {@link InputStream}, any bytes of the value
+     * that have not already been buffered are read directly from the source as
+     * the returned stream is consumed, so the content never has to be resident
+     * in memory in its entirety. Once any such bytes have been consumed,
+     * {@link IonReader#newBytes()}, {@link IonReader#getBytes(byte[], int, int)}
+     * and {@link IonReader#byteSize()} may no longer be used for the current
+     * value.
+     * <p>
+     * The returned stream is valid only until the reader moves off of the
+     * current value. Closing it has no effect on the reader.
+     *
+     * @return a new stream over the current value's content.
+     *
+     * @throws IonException if the reader is not positioned on a non-null
+     * blob or clob.
+     */
+    public InputStream newLobInputStream();
+}
@@ -0,0 +1,59 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Provides the ability to write blobs and clobs whose content is read from an
+ * {@link InputStream}, without first materializing the entire value.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of binary and text
+ * {@link IonWriter}s. Writers that cannot stream LOB content return
+ * {@code null} when this facet is requested.
+ * <p>
+ * The binary writer must buffer the values within a container until the
+ * container's length is known, so the content of a LOB nested in a container
+ * is copied into the writer's buffer. At the top level, the binary writer
+ * first flushes the values written so far and then copies the content
+ * directly to its output. If the writer's local symbol table cannot be
+ * appended after it has been flushed, this is equivalent to calling
+ * {@link IonWriter#finish()} before writing the value. The text writer always
+ * copies the content directly to its output, base64-encoding blobs in chunks.
+ * <p>
+ * Like the other {@code write} methods, these methods consume the field name
+ * and annotations that have been set on the writer. They do not close the
+ * given stream.
+ */
+public interface LobStreamWriter
+{
+    /**
+     * Writes a blob whose content is the next {@code length} bytes of the
+     * given stream.
+     *
+     * @param content the source of the blob's content.
+     * @param length the number of bytes in the blob.
+     *
+     * @throws IonException if {@code content} ends before {@code length}
+     * bytes have been read. The writer's output is undefined afterward.
+     * @throws IllegalArgumentException if {@code length} is negative.
+     */
+    public void writeBlob(InputStream content, long length) throws IOException;
+
+    /**
+     * Writes a clob whose content is the next {@code length} bytes of the
+     * given stream.
+     *
+     * @param content the source of the clob's content.
+     * @param length the number of bytes in the clob.
+     *
+     * @throws IonException if {@code content} ends before {@code length}
+     * bytes have been read. The writer's output is undefined afterward.
+     * @throws IllegalArgumentException if {@code length} is negative.
+     */
+    public void writeClob(InputStream content, long length) throws IOException;
+}
@@ -0,0 +1,256 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The state needed to resume reading a binary Ion stream at a top-level
+ * value boundary without re-reading the data that precedes it: the byte
+ * offset of the boundary, the Ion version, and the imports and local
+ * symbols of the symbol table in scope.
+ * <p>
+ * Checkpoints are obtained from a {@link CheckpointableReader} and are
+ * consumed by
+ * {@link com.amazon.ion.system.IonReaderBuilder#build(java.io.InputStream, ReaderCheckpoint)}.
+ * They can be persisted either as Ion, using {@link #writeTo(IonWriter)}
+ * and {@link #readFrom(IonReader)}, or through Java serialization.
+ * <p>
+ * Instances are immutable.
+ */
+public final class ReaderCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String OFFSET = "offset";
+    private static final String ION_VERSION = "ion_version";
+    private static final String IMPORTS = "imports";
+    private static final String SYMBOLS = "symbols";
+
+    /**
+     * A shared symbol table imported by the symbol table in scope at a checkpoint.
+     */
+    public static final class Import implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final int version;
+        private final int maxId;
+
+        /**
+         * @param name the name of the shared symbol table.
+         * @param version the version of the shared symbol table.
+         * @param maxId the number of symbols that the import contributes.
+         */
+        public Import(String name, int version, int maxId) {
+            if (name == null) {
+                throw new IllegalArgumentException("Imports must have names.");
+            }
+            this.name = name;
+            this.version = version;
+            this.maxId = maxId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public int getMaxId() {
+            return maxId;
+        }
+    }
+
+    private final long offset;
+    private final String ionVersionId;
+    private final Import[] imports;
+    private final String[] localSymbols;
+
+    private ReaderCheckpoint(long offset, String ionVersionId, Import[] imports, String[] localSymbols) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Checkpoint offsets must not be negative.");
+        }
+        if (!SystemSymbols.ION_1_0.equals(ionVersionId)) {
+            throw new IonException("Checkpoints are supported only for Ion 1.0, not " + ionVersionId);
+        }
+        this.offset = offset;
+        this.ionVersionId = ionVersionId;
+        this.imports = imports;
+        this.localSymbols = localSymbols;
+    }
+
+    /**
+     * Creates a checkpoint.
+     *
+     * @param offset the number of bytes in the stream that precede the checkpoint.
+     * @param symbolTable the symbol table in scope at the checkpoint.
+     * @return a new checkpoint.
+     * @throws IonException if the symbol table is not for Ion 1.0.
+     */
+    public static ReaderCheckpoint create(long offset, SymbolTable symbolTable) {
+        if (symbolTable.isSystemTable()) {
+            return new ReaderCheckpoint(offset, symbolTable.getIonVersionId(), new Import[0], new String[0]);
+        }
+        SymbolTable[] importedTables = symbolTable.getImportedTables();
+        Import[] imports = new Import[importedTables.length];
+        for (int i = 0; i < importedTables.length; i++) {
+            SymbolTable importedTable = importedTables[i];
+            imports[i] = new Import(importedTable.getName(), importedTable.getVersion(), importedTable.getMaxId());
+        }
+        List<String> localSymbols = new ArrayList<>();
+        Iterator<String> declaredSymbols = symbolTable.iterateDeclaredSymbolNames();
+        while (declaredSymbols.hasNext()) {
+            localSymbols.add(declaredSymbols.next());
+        }
+        return new ReaderCheckpoint(
+            offset,
+            symbolTable.getIonVersionId(),
+            imports,
+            localSymbols.toArray(new String[0])
+        );
+    }
+
+    /**
+     * @return the number of bytes in the stream that precede the checkpoint.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the Ion version in effect at the checkpoint, e.g. {@code $ion_1_0}.
+     */
+    public String getIonVersionId() {
+        return ionVersionId;
+    }
+
+    /**
+     * @return the shared symbol tables imported by the symbol table in scope, in import order.
+     */
+    public List<Import> getImports() {
+        return Collections.unmodifiableList(Arrays.asList(imports));
+    }
+
+    /**
+     * @return the local symbols declared by the symbol table in scope, in symbol ID order. Symbols with unknown text
+     * are null.
+     */
+    public List<String> getLocalSymbols() {
+        return Collections.unmodifiableList(Arrays.asList(localSymbols));
+    }
+
+    /**
+     * Writes this checkpoint as an Ion struct.
+     *
+     * @param writer the writer.
+     * @throws IOException if the writer fails.
+     */
+    public void writeTo(IonWriter writer) throws IOException {
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName(OFFSET);
+        writer.writeInt(offset);
+        writer.setFieldName(ION_VERSION);
+        writer.writeString(ionVersionId);
+        writer.setFieldName(IMPORTS);
+        writer.stepIn(IonType.LIST);
+        for (Import anImport : imports) {
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName(SystemSymbols.NAME);
+            writer.writeString(anImport.name);
+            writer.setFieldName(SystemSymbols.VERSION);
+            writer.writeInt(anImport.version);
+            writer.setFieldName(SystemSymbols.MAX_ID);
+            writer.writeInt(anImport.maxId);
+            writer.stepOut();
+        }
+        writer.stepOut();
+        writer.setFieldName(SYMBOLS);
+        writer.stepIn(IonType.LIST);
+        for (String symbol : localSymbols) {
+            writer.writeString(symbol);
+        }
+        writer.stepOut();
+        writer.stepOut();
+    }
+
+    /**
+     * Reads a checkpoint written by {@link #writeTo(IonWriter)}.
+     *
+     * @param reader a reader positioned on the checkpoint's struct. On return, the reader remains positioned on
+     *               the struct.
+     * @return the checkpoint.
+     * @throws IonException if the value is not a valid checkpoint.
+     */
+    public static ReaderCheckpoint readFrom(IonReader reader) {
+        if (reader.getType() != IonType.STRUCT || reader.isNullValue()) {
+            throw new IonException("Expected a checkpoint struct.");
+        }
+        long offset = -1;
+        String ionVersionId = null;
+        List<Import> imports = new ArrayList<>();
+        List<String> localSymbols = new ArrayList<>();
+        reader.stepIn();
+        while (reader.next() != null) {
+            String fieldName = reader.getFieldName();
+            if (OFFSET.equals(fieldName)) {
+                offset = reader.longValue();
+            } else if (ION_VERSION.equals(fieldName)) {
+                ionVersionId = reader.stringValue();
+            } else if (IMPORTS.equals(fieldName)) {
+                reader.stepIn();
+                while (reader.next() != null) {
+                    imports.add(readImport(reader));
+                }
+                reader.stepOut();
+            } else if (SYMBOLS.equals(fieldName)) {
+                reader.stepIn();
+                while (reader.next() != null) {
+                    localSymbols.add(reader.stringValue());
+                }
+                reader.stepOut();
+            }
+        }
+        reader.stepOut();
+        if (offset < 0 || ionVersionId == null) {
+            throw new IonException("Checkpoints must have an offset and an Ion version.");
+        }
+        return new ReaderCheckpoint(
+            offset,
+            ionVersionId,
+            imports.toArray(new Import[0]),
+            localSymbols.toArray(new String[0])
+        );
+    }
+
+    private static Import readImport(IonReader reader) {
+        String name = null;
+        int version = -1;
+        int maxId = -1;
+        reader.stepIn();
+        while (reader.next() != null) {
+            String fieldName = reader.getFieldName();
+            if (SystemSymbols.NAME.equals(fieldName)) {
+                name = reader.stringValue();
+            } else if (SystemSymbols.VERSION.equals(fieldName)) {
+                version = reader.intValue();
+            } else if (SystemSymbols.MAX_ID.equals(fieldName)) {
+                maxId = reader.intValue();
+            }
+        }
+        reader.stepOut();
+        if (name == null || version < 1 || maxId < 0) {
+            throw new IonException("Checkpoint imports must have a name, a version, and a max_id.");
+        }
+        return new Import(name, version, maxId);
+    }
+}
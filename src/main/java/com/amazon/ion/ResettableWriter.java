@@ -0,0 +1,56 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Provides the ability to redirect a writer to a new output, so that one
+ * writer may be reused for many small, independent streams (e.g. one per
+ * message) without reallocating its buffers.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of binary {@link IonWriter}s.
+ * Writers that cannot be reset return {@code null} when this facet is
+ * requested.
+ * <p>
+ * A reset writer retains the blocks, patch lists, and container stacks that it
+ * allocated for previous streams. When it also retains its symbol table, the
+ * serialized form of that symbol table is cached, so every stream that shares
+ * it begins with the same bytes at the cost of a single copy.
+ * <p>
+ * Resetting does not close the previous output.
+ */
+public interface ResettableWriter
+{
+    /**
+     * Finishes the current stream, as if by {@link IonWriter#finish()}, and
+     * directs subsequent output to the given stream. The writer then behaves
+     * as if it had been newly built, by the same builder, for that stream.
+     *
+     * @param out the new output.
+     *
+     * @throws IllegalStateException if the writer is not at the top level
+     * or has been closed.
+     */
+    public void reset(OutputStream out) throws IOException;
+
+    /**
+     * Finishes the current stream and directs subsequent output to the given
+     * stream. If {@code retainSymbolTable} is true and the writer has a local
+     * symbol table, the new stream begins with an Ion version marker followed
+     * by that symbol table, and symbols that are new to it are declared by
+     * appending to it.
+     *
+     * @param out the new output.
+     * @param retainSymbolTable whether the new stream should begin with the
+     * current stream's symbol table.
+     *
+     * @throws IllegalStateException if the writer is not at the top level
+     * or has been closed.
+     */
+    public void reset(OutputStream out, boolean retainSymbolTable) throws IOException;
+}
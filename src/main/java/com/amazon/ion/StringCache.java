@@ -0,0 +1,225 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of canonical {@link String} instances for string values
+ * that occur repeatedly, for example status codes or region names.
+ * <p>
+ * A cache is attached to readers through
+ * {@link com.amazon.ion.system.IonReaderBuilder#withStringCache(StringCache)}.
+ * Binary readers look up string values by their UTF-8 bytes, so a hit avoids
+ * decoding entirely; text readers look up the decoded text. Either way, every
+ * occurrence of a cached value is returned as the same instance, so a DOM
+ * loaded through such a reader retains each distinct value only once.
+ * <p>
+ * The cache is direct-mapped: each value hashes to a single slot, and a new
+ * value replaces whatever occupied its slot. Values longer than the maximum
+ * length are never cached. A single cache may be shared by any number of
+ * readers; instances are thread-safe and lock-free.
+ */
+public final class StringCache {
+
+    /**
+     * The default maximum length, in UTF-8 bytes, of the values that are
+     * cached.
+     */
+    public static final int DEFAULT_MAXIMUM_STRING_LENGTH = 256;
+
+    /**
+     * An immutable entry; instances are safely published through the array
+     * without synchronization because all of their fields are final.
+     */
+    private static final class Entry {
+        private final int hash;
+        // Null if the value was added as text that is not ASCII; such entries only match text lookups.
+        private final byte[] utf8;
+        private final String value;
+
+        private Entry(int hash, byte[] utf8, String value) {
+            this.hash = hash;
+            this.utf8 = utf8;
+            this.value = value;
+        }
+    }
+
+    private final Entry[] entries;
+    private final int mask;
+    private final int maximumStringLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private StringCache(int capacity, int maximumStringLength) {
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        entries = new Entry[size];
+        mask = size - 1;
+        this.maximumStringLength = maximumStringLength;
+    }
+
+    /**
+     * Creates a cache that holds values of up to
+     * {@link #DEFAULT_MAXIMUM_STRING_LENGTH} UTF-8 bytes.
+     *
+     * @param capacity the number of slots, which is rounded up to a power
+     *                 of two.
+     * @return a new cache.
+     */
+    public static StringCache create(int capacity) {
+        return create(capacity, DEFAULT_MAXIMUM_STRING_LENGTH);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity the number of slots, which is rounded up to a power
+     *                 of two.
+     * @param maximumStringLength the maximum length, in UTF-8 bytes, of the
+     *                            values to cache.
+     * @return a new cache.
+     */
+    public static StringCache create(int capacity, int maximumStringLength) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        if (maximumStringLength < 0) {
+            throw new IllegalArgumentException("Maximum string length must not be negative: " + maximumStringLength);
+        }
+        return new StringCache(capacity, maximumStringLength);
+    }
+
+    /**
+     * @return the maximum length, in UTF-8 bytes, of the values that are
+     * cached.
+     */
+    public int getMaximumStringLength() {
+        return maximumStringLength;
+    }
+
+    /**
+     * @return the number of lookups that returned a cached instance.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups of cacheable values that did not return
+     * a cached instance.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * The hash of ASCII text equals the hash of its UTF-8 encoding, so that
+     * entries added by text readers can satisfy binary lookups and vice
+     * versa.
+     */
+    private static int hashBytes(byte[] bytes, int offset, int length) {
+        int hash = 1;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash;
+    }
+
+    private int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Looks up the value with the given UTF-8 encoding.
+     *
+     * @param utf8 the array containing the encoded value.
+     * @param offset the offset of the first byte of the value.
+     * @param length the number of bytes in the value, which must not exceed
+     *               the maximum string length.
+     * @return the canonical instance, or null if the value is not cached, in
+     * which case the caller decodes it and calls
+     * {@link #put(byte[], int, int, String)}.
+     */
+    public String get(byte[] utf8, int offset, int length) {
+        int hash = hashBytes(utf8, offset, length);
+        Entry entry = entries[slot(hash)];
+        if (entry != null
+            && entry.hash == hash
+            && entry.utf8 != null
+            && entry.utf8.length == length
+            && rangeEquals(entry.utf8, utf8, offset, length)) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches the given value, which was decoded from the given UTF-8 bytes.
+     *
+     * @param utf8 the array containing the encoded value.
+     * @param offset the offset of the first byte of the value.
+     * @param length the number of bytes in the value, which must not exceed
+     *               the maximum string length.
+     * @param value the decoded value.
+     * @return the value.
+     */
+    public String put(byte[] utf8, int offset, int length, String value) {
+        int hash = hashBytes(utf8, offset, length);
+        entries[slot(hash)] = new Entry(hash, Arrays.copyOfRange(utf8, offset, offset + length), value);
+        return value;
+    }
+
+    /**
+     * Returns the canonical instance of the given text, caching it if it is
+     * not already cached.
+     *
+     * @param text the text.
+     * @return the canonical instance, which is {@code text} itself if it was
+     * not already cached or is too long to be cached.
+     */
+    public String deduplicate(String text) {
+        int length = text.length();
+        if (length > maximumStringLength) {
+            // Text that is too long to cache in UTF-8 is at least this long in UTF-16 code units.
+            return text;
+        }
+        int hash = 1;
+        boolean isAscii = true;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            isAscii &= c < 0x80;
+            hash = 31 * hash + c;
+        }
+        int slot = slot(hash);
+        Entry entry = entries[slot];
+        if (entry != null && entry.hash == hash && entry.value.equals(text)) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        byte[] utf8 = null;
+        if (isAscii) {
+            utf8 = new byte[length];
+            for (int i = 0; i < length; i++) {
+                utf8[i] = (byte) text.charAt(i);
+            }
+        }
+        entries[slot] = new Entry(hash, utf8, text);
+        return text;
+    }
+
+    private static boolean rangeEquals(byte[] expected, byte[] actual, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (expected[i] != actual[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
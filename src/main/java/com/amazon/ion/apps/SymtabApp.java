@@ -21,10 +21,12 @@ import com.amazon.ion.IonReader;
 import com.amazon.ion.IonType;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.SymbolTable;
+import com.amazon.ion.util.SharedSymbolTableTrainer;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 
 public class SymtabApp
@@ -36,6 +38,10 @@ public class SymtabApp
     private String mySymtabName;
     private int    mySymtabVersion;
 
+    /** Ranks the symbols of the input files when training; null otherwise. */
+    private SharedSymbolTableTrainer myTrainer;
+    private int                      myTrainedSymbolCount;
+
 
     //=========================================================================
     // Static methods
@@ -103,6 +109,18 @@ public class SymtabApp
                     throw new RuntimeException("Name must not be empty");
                 }
             }
+            else if ("--train".equals(arg))
+            {
+                // Each file is a sample; the table takes the symbols that save the most bytes across them.
+                myTrainedSymbolCount = Integer.parseInt(args[++i]);
+                if (myTrainedSymbolCount < 1)
+                {
+                    throw new RuntimeException("Number of trained symbols must be at least 1");
+                }
+                myTrainer = new SharedSymbolTableTrainer.Builder()
+                    .withMaxSymbols(myTrainedSymbolCount)
+                    .build();
+            }
             else if ("--version".equals(arg))
             {
                 if (mySymtabVersion != 0)
@@ -164,6 +182,12 @@ public class SymtabApp
         SymbolTable[] importArray = new SymbolTable[myImports.size()];
         myImports.toArray(importArray);
 
+        if (myTrainer != null)
+        {
+            List<String> ranked = myTrainer.getRankedSymbols();
+            mySymbols.addAll(ranked.subList(0, Math.min(myTrainedSymbolCount, ranked.size())));
+        }
+
         SymbolTable mySymtab =
             mySystem.newSharedSymbolTable(mySymtabName,
                                           mySymtabVersion,
@@ -189,6 +213,12 @@ public class SymtabApp
     protected void process(IonReader reader)
         throws IonException
     {
+        if (myTrainer != null)
+        {
+            myTrainer.train(reader);
+            return;
+        }
+
         while (reader.hasNext())
         {
             IonType type = reader.next();
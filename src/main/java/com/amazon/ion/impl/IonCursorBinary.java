@@ -2,10 +2,12 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.amazon.ion.impl;
 
+import com.amazon.ion.BufferBudget;
 import com.amazon.ion.BufferConfiguration;
 import com.amazon.ion.IonBufferConfiguration;
 import com.amazon.ion.IonException;
 import com.amazon.ion.IonCursor;
+import com.amazon.ion.IonMetricsListener;
 import com.amazon.ion.IonType;
 import com.amazon.ion.IvmNotificationConsumer;
 import com.amazon.ion.SystemSymbols;
@@ -124,6 +126,22 @@ class IonCursorBinary implements IonCursor {
          */
         int individualBytesSkippedWithoutBuffering = 0;
 
+        /**
+         * The budget against which the buffer's capacity is reserved, or null.
+         */
+        BufferBudget budget = null;
+
+        /**
+         * The capacity to which the buffer is shrunk after large values when a budget is in use.
+         */
+        int initialCapacity;
+
+        /**
+         * Indicates whether the current value is being skipped because the budget is exhausted, rather than because
+         * it exceeds `maximumBufferSize`.
+         */
+        boolean isOverBudget = false;
+
         RefillableState(InputStream inputStream, int capacity, int maximumBufferSize, State initialState) {
             this.inputStream = inputStream;
             this.capacity = capacity;
@@ -179,6 +197,16 @@ class IonCursorBinary implements IonCursor {
      */
     private final BufferConfiguration.DataHandler dataHandler;
 
+    /**
+     * The listener that will be notified of measurements, or null if measurements are not reported.
+     */
+    IonMetricsListener metricsListener = null;
+
+    /**
+     * Emits Flight Recorder events for this stream, or null if events cannot be recorded.
+     */
+    final _Private_IonFlightRecorder flightRecorder = _Private_IonFlightRecorder.forNewStream();
+
     /**
      * Marker for the sequence of annotation symbol IDs on the current value. If there are no annotations on
      * the current value, the startIndex will be negative.
@@ -464,7 +492,16 @@ class IonCursorBinary implements IonCursor {
             configuration.getMaximumBufferSize(),
             State.READY
         );
-        registerOversizedValueHandler(configuration.getOversizedValueHandler());
+        if (configuration.getBufferBudget() == null) {
+            registerOversizedValueHandler(configuration.getOversizedValueHandler());
+        } else {
+            // The initial buffer is required in any case, so it is reserved even if the budget is exhausted.
+            refillableState.budget = configuration.getBufferBudget();
+            refillableState.budget.acquire(configuration.getInitialBufferSize());
+            refillableState.initialCapacity = configuration.getInitialBufferSize();
+            final IonBufferConfiguration budgetedConfiguration = configuration;
+            registerOversizedValueHandler(() -> notifyValueCannotBeBuffered(budgetedConfiguration));
+        }
     }
 
     /*
@@ -524,8 +561,20 @@ class IonCursorBinary implements IonCursor {
             // to grow the buffer (by doubling) as actual data is consumed from the stream. Because that growth
             // starts from this power-of-two capacity, doubling keeps the buffer a power of two.
             int newSize = (int) Math.min(nextPowerOfTwo((int) (refillableState.capacity + 1)), maximumFreeSpace);
+            if (!reserveCapacity(newSize)) {
+                return false;
+            }
+            if (flightRecorder != null) {
+                flightRecorder.beginBufferGrowth();
+            }
             byte[] newBuffer = new byte[newSize];
             moveBytesToStartOfBuffer(newBuffer, startOffset);
+            if (flightRecorder != null) {
+                flightRecorder.endBufferGrowth((int) refillableState.capacity, newSize);
+            }
+            if (metricsListener != null) {
+                metricsListener.onBufferGrown((int) refillableState.capacity, newSize);
+            }
             refillableState.capacity = newSize;
             buffer = newBuffer;
             byteBuffer = ByteBuffer.wrap(buffer, (int) offset, (int) refillableState.capacity);
@@ -537,6 +586,41 @@ class IonCursorBinary implements IonCursor {
         return true;
     }
 
+    /**
+     * Reserves the growth of the buffer to the given capacity from the budget, if any. If the budget is exhausted,
+     * the current value will be skipped.
+     * @param newCapacity the capacity to which the buffer will grow.
+     * @return true if the buffer may grow; otherwise, false.
+     */
+    private boolean reserveCapacity(int newCapacity) {
+        if (refillableState.budget == null || refillableState.budget.tryAcquire(newCapacity - refillableState.capacity)) {
+            return true;
+        }
+        refillableState.isSkippingCurrentValue = true;
+        refillableState.isOverBudget = true;
+        return false;
+    }
+
+    /**
+     * Returns the buffer to its initial capacity if it has grown to hold values that have since been consumed, and
+     * releases the excess capacity to the budget. Must only be called at the top level, before a value's header.
+     */
+    private void shrinkBuffer() {
+        int initialCapacity = refillableState.initialCapacity;
+        if (refillableState.capacity <= initialCapacity || availableAt(offset) > initialCapacity) {
+            return;
+        }
+        byte[] newBuffer = new byte[initialCapacity];
+        moveBytesToStartOfBuffer(newBuffer, (int) offset);
+        refillableState.budget.release(refillableState.capacity - initialCapacity);
+        if (metricsListener != null) {
+            metricsListener.onBufferShrunk((int) refillableState.capacity, initialCapacity);
+        }
+        refillableState.capacity = initialCapacity;
+        buffer = newBuffer;
+        byteBuffer = ByteBuffer.wrap(buffer, (int) offset, (int) refillableState.capacity);
+    }
+
     /**
      * Attempts to fill the buffer so that it contains at least `numberOfBytes` after `index`.
      * @param index the index after which to fill.
@@ -550,6 +634,10 @@ class IonCursorBinary implements IonCursor {
             if (ensureCapacity(refillableState.bytesRequested)) {
                 // Fill all the free space, not just the shortfall; this reduces I/O.
                 shortfall = refill(refillableState.bytesRequested);
+                if (refillableState.isSkippingCurrentValue) {
+                    // The buffer could not grow enough to hold the value. As below, the caller will recover.
+                    shortfall = 0;
+                }
             } else {
                 // The request cannot be satisfied, but not because data was unavailable. Return normally; it is the
                 // caller's responsibility to recover.
@@ -698,12 +786,27 @@ class IonCursorBinary implements IonCursor {
                     break;
                 }
                 int newSize = (int) Math.min(Math.max(refillableState.capacity * 2L, refillableState.capacity + 1L), refillableState.maximumBufferSize);
+                if (!reserveCapacity(newSize)) {
+                    break;
+                }
+                if (flightRecorder != null) {
+                    flightRecorder.beginBufferGrowth();
+                }
                 byte[] newBuffer = new byte[newSize];
                 System.arraycopy(buffer, 0, newBuffer, 0, (int) limit);
+                if (flightRecorder != null) {
+                    flightRecorder.endBufferGrowth((int) refillableState.capacity, newSize);
+                }
+                if (metricsListener != null) {
+                    metricsListener.onBufferGrown((int) refillableState.capacity, newSize);
+                }
                 refillableState.capacity = newSize;
                 buffer = newBuffer;
                 byteBuffer = ByteBuffer.wrap(buffer, (int) offset, (int) refillableState.capacity);
             }
+            if (flightRecorder != null) {
+                flightRecorder.beginStreamRead();
+            }
             try {
                 numberOfBytesFilled = refillableState.inputStream.read(buffer, (int) limit, (int) freeSpaceAt(limit));
             } catch (EOFException e) {
@@ -713,8 +816,14 @@ class IonCursorBinary implements IonCursor {
             } catch (IOException e) {
                 throwAsIonException(e);
             }
+            if (flightRecorder != null) {
+                flightRecorder.endStreamRead(numberOfBytesFilled);
+            }
             if (numberOfBytesFilled > 0) {
                 limit += numberOfBytesFilled;
+                if (metricsListener != null) {
+                    metricsListener.onRefill(numberOfBytesFilled);
+                }
             }
             shortfall = minimumNumberOfBytesRequired - availableAt(offset);
         } while (shortfall > 0 && numberOfBytesFilled >= 0);
@@ -750,6 +859,9 @@ class IonCursorBinary implements IonCursor {
             }
             refillableState.totalDiscardedBytes += skipped;
             shiftContainerEnds(skipped);
+            if (metricsListener != null && skipped > 0) {
+                metricsListener.onBytesSkipped(skipped);
+            }
             shortfall = unbufferedBytesToSkip - skipped;
             unbufferedBytesToSkip = shortfall;
         } while (shortfall > 0 && skipped > 0);
@@ -1657,6 +1769,9 @@ class IonCursorBinary implements IonCursor {
                     if (dataHandler != null) {
                         reportConsumedData();
                     }
+                    if (parent == null && refillableState.budget != null) {
+                        shrinkBuffer();
+                    }
                     valueTid = null;
                     hasAnnotations = false;
                     if (parent != null && parent.typeId.type == IonType.STRUCT && (minorVersion == 0 ? slowReadFieldName_1_0() : slowReadFieldName_1_1())) {
@@ -1751,7 +1866,11 @@ class IonCursorBinary implements IonCursor {
      */
     private void seekPastOversizedValue() {
         refillableState.oversizedValueHandler.onOversizedValue();
+        refillableState.isOverBudget = false;
         if (refillableState.state != State.TERMINATED) {
+            if (flightRecorder != null) {
+                flightRecorder.beginOversizedValueSkip(valueMarker.endIndex - offset);
+            }
             slowSeek(valueMarker.endIndex - offset - refillableState.individualBytesSkippedWithoutBuffering);
             refillableState.totalDiscardedBytes += refillableState.individualBytesSkippedWithoutBuffering;
             peekIndex = offset;
@@ -1761,6 +1880,12 @@ class IonCursorBinary implements IonCursor {
             // were skipped without buffering.
             shiftContainerEnds(refillableState.individualBytesSkippedWithoutBuffering);
             setCheckpointBeforeUnannotatedTypeId();
+            if (metricsListener != null && refillableState.individualBytesSkippedWithoutBuffering > 0) {
+                metricsListener.onBytesSkipped(refillableState.individualBytesSkippedWithoutBuffering);
+            }
+            if (flightRecorder != null) {
+                flightRecorder.endOversizedValueSkip();
+            }
         }
         refillableState.isSkippingCurrentValue = false;
         refillableState.individualBytesSkippedWithoutBuffering = 0;
@@ -1896,14 +2021,107 @@ class IonCursorBinary implements IonCursor {
         return valuePreHeaderIndex + (refillableState == null ? -startOffset : refillableState.totalDiscardedBytes);
     }
 
+    /**
+     * @return the total number of bytes that had been successfully processed since the stream began, or -1 if the
+     * cursor is in the middle of processing a top-level value.
+     */
+    long getTotalCheckpointOffset() {
+        if (parent != null || checkpointLocation != CheckpointLocation.BEFORE_UNANNOTATED_TYPE_ID) {
+            return -1;
+        }
+        return checkpoint + (refillableState == null ? -startOffset : refillableState.totalDiscardedBytes);
+    }
+
+    /**
+     * Causes total offsets to be reported as if the given number of bytes had been consumed before the first byte
+     * provided to the cursor. Must only be called on a refillable cursor before it has consumed any data.
+     * @param base the number of bytes, which may be negative when the cursor's input begins with bytes that were not
+     *             part of the original stream.
+     */
+    void setTotalOffsetBase(long base) {
+        refillableState.totalDiscardedBytes = base;
+        lastReportedByteTotal = base;
+    }
+
     boolean isByteBacked() {
         return refillableState == null;
     }
 
+    /**
+     * Reads bytes of the current value directly from the input stream, without buffering them. Must only be called
+     * when the cursor is backed by an input stream and all of the value's bytes that precede `limit` have already
+     * been consumed. The value's end index and the end indices of its parent containers are shifted left by the
+     * number of bytes read, as if those bytes had been shifted out of the buffer; this allows the cursor to skip only
+     * the value's remaining bytes when it advances.
+     * @param destination the array into which to read the bytes.
+     * @param destinationOffset the offset in `destination` at which to start writing.
+     * @param length the maximum number of bytes to read, which must not exceed the number of unbuffered bytes
+     *               remaining in the current value.
+     * @return the number of bytes read, or -1 if the stream is at its end.
+     */
+    int readValueBytesWithoutBuffering(byte[] destination, int destinationOffset, int length) {
+        int numberOfBytesRead = -1;
+        if (flightRecorder != null) {
+            flightRecorder.beginStreamRead();
+        }
+        try {
+            numberOfBytesRead = refillableState.inputStream.read(destination, destinationOffset, length);
+        } catch (EOFException e) {
+            // Certain InputStream implementations (e.g. GZIPInputStream) throw EOFException if more bytes are requested
+            // to read than are currently available (e.g. if a header or trailer is incomplete).
+        } catch (IOException e) {
+            throwAsIonException(e);
+        }
+        if (flightRecorder != null) {
+            flightRecorder.endStreamRead(numberOfBytesRead);
+        }
+        if (numberOfBytesRead > 0) {
+            refillableState.totalDiscardedBytes += numberOfBytesRead;
+            shiftContainerEnds(numberOfBytesRead);
+            valueMarker.endIndex -= numberOfBytesRead;
+        }
+        return numberOfBytesRead;
+    }
+
+    /**
+     * Sets the listener that will be notified of measurements.
+     * @param listener the listener, or null.
+     */
+    void setMetricsListener(IonMetricsListener listener) {
+        // As with the data handler, null enables a quick check that skips the measurements entirely.
+        metricsListener = listener == IonMetricsListener.NO_OP ? null : listener;
+    }
+
+    /**
+     * Reports the value on which the cursor is positioned to the metrics listener, which must not be null.
+     */
+    void reportValue() {
+        long numberOfBytes = -1;
+        if (valueMarker.endIndex >= 0) {
+            long headerStartIndex = hasAnnotations ? annotationSequenceMarker.endIndex : valuePreHeaderIndex;
+            numberOfBytes = valueMarker.endIndex - headerStartIndex;
+        }
+        metricsListener.onValueRead(valueTid.type, numberOfBytes);
+    }
+
     public void registerIvmNotificationConsumer(IvmNotificationConsumer ivmConsumer) {
         this.ivmConsumer = ivmConsumer;
     }
 
+    /**
+     * Notifies the given configuration's handler that corresponds to the reason the current user value cannot be
+     * buffered: either the {@link BufferConfiguration.BudgetExhaustedHandler}, if the value was refused by the
+     * budget and such a handler is configured, or the {@link BufferConfiguration.OversizedValueHandler}.
+     * @param configuration the configuration.
+     */
+    void notifyValueCannotBeBuffered(BufferConfiguration<?> configuration) {
+        if (refillableState.isOverBudget && configuration.getBudgetExhaustedHandler() != null) {
+            configuration.getBudgetExhaustedHandler().onBudgetExhausted();
+        } else {
+            configuration.getOversizedValueHandler().onOversizedValue();
+        }
+    }
+
     void registerOversizedValueHandler(BufferConfiguration.OversizedValueHandler oversizedValueHandler) {
         // Non-refillable streams cannot overflow.
         if (refillableState != null) {
@@ -1947,6 +2165,9 @@ class IonCursorBinary implements IonCursor {
      * exceeds the maximum buffer size.
      */
     void terminate() {
+        if (refillableState != null && refillableState.budget != null) {
+            refillableState.budget.release(refillableState.capacity);
+        }
         refillableState = TERMINATED_STATE;
         // Use a unified code path for all cursors after termination. This path forces a termination check before
         // accessing the input stream or buffer.
@@ -1955,17 +2176,21 @@ class IonCursorBinary implements IonCursor {
 
     @Override
     public void close() {
-        if (refillableState != null && refillableState.inputStream != null) {
-            try {
-                refillableState.inputStream.close();
-            } catch (IOException e) {
-                throwAsIonException(e);
+        try {
+            if (refillableState != null && refillableState.inputStream != null) {
+                try {
+                    refillableState.inputStream.close();
+                } catch (IOException e) {
+                    throwAsIonException(e);
+                }
             }
+        } finally {
+            // Release the buffer's reservation from the budget even if the input stream fails to close.
+            buffer = null;
+            containerStack = null;
+            byteBuffer = null;
+            terminate();
         }
-        buffer = null;
-        containerStack = null;
-        byteBuffer = null;
-        terminate();
     }
 
     /* ---- End: version-agnostic parsing, utility, and public API methods ---- */
@@ -2,6 +2,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.amazon.ion.impl;
 
+import com.amazon.ion.FieldNameResolver;
 import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonException;
 import com.amazon.ion.IonReader;
@@ -93,6 +94,16 @@ class IonReaderContinuableApplicationBinary extends IonReaderContinuableCoreBina
     // The reusable annotation iterator.
     private final AnnotationSequenceIterator annotationIterator = new AnnotationSequenceIterator();
 
+    // Marks an element of 'fieldNameOrdinals' whose symbol ID has not yet been resolved.
+    private static final int UNRESOLVED_ORDINAL = Integer.MIN_VALUE;
+
+    // The resolver against which 'fieldNameOrdinals' was computed. This is set to null whenever the symbol IDs in the
+    // current symbol table are redefined, which invalidates the ordinals. Appending symbols does not invalidate them.
+    private FieldNameResolver fieldNameResolver = null;
+
+    // The ordinals of the field names in 'fieldNameResolver', indexed by symbol ID.
+    private int[] fieldNameOrdinals = new int[0];
+
     // ------
 
     /**
@@ -105,6 +116,8 @@ class IonReaderContinuableApplicationBinary extends IonReaderContinuableCoreBina
     IonReaderContinuableApplicationBinary(IonReaderBuilder builder, byte[] bytes, int offset, int length) {
         super(builder.getBufferConfiguration(), bytes, offset, length);
         this.catalog = builder.getCatalog() == null ? EMPTY_CATALOG : builder.getCatalog();
+        setStringCache(builder.getStringCache());
+        setMetricsListener(builder.getMetricsListener());
         symbols = new String[SYMBOLS_LIST_INITIAL_CAPACITY];
         symbolTableReader = new SymbolTableReader();
         resetImports();
@@ -126,6 +139,8 @@ class IonReaderContinuableApplicationBinary extends IonReaderContinuableCoreBina
     IonReaderContinuableApplicationBinary(final IonReaderBuilder builder, final InputStream inputStream, byte[] alreadyRead, int alreadyReadOff, int alreadyReadLen) {
         super(builder.getBufferConfiguration(), inputStream, alreadyRead, alreadyReadOff, alreadyReadLen);
         this.catalog = builder.getCatalog() == null ? EMPTY_CATALOG : builder.getCatalog();
+        setStringCache(builder.getStringCache());
+        setMetricsListener(builder.getMetricsListener());
         symbols = new String[SYMBOLS_LIST_INITIAL_CAPACITY];
         symbolTableReader = new SymbolTableReader();
         resetImports();
@@ -160,7 +175,7 @@ class IonReaderContinuableApplicationBinary extends IonReaderContinuableCoreBina
                     builder.getBufferConfiguration().getOversizedSymbolTableHandler().onOversizedSymbolTable();
                     terminate();
                 } else {
-                    builder.getBufferConfiguration().getOversizedValueHandler().onOversizedValue();
+                    notifyValueCannotBeBuffered(builder.getBufferConfiguration());
                 }
             }
         );
@@ -570,6 +585,7 @@ class IonReaderContinuableApplicationBinary extends IonReaderContinuableCoreBina
         localSymbolMaxOffset = -1;
         cachedReadOnlySymbolTable = null;
         lastSupersetSymbolTable = null;
+        fieldNameResolver = null;
     }
 
     /**
@@ -603,6 +619,7 @@ class IonReaderContinuableApplicationBinary extends IonReaderContinuableCoreBina
             localSymbolMaxOffset = snapshot.maxId - firstLocalSymbolId;
             System.arraycopy(snapshot.idToText, 0, symbols, 0, snapshot.idToText.length);
             lastSupersetSymbolTable = null;
+            fieldNameResolver = null;
         } else {
             // Note: this will only happen when `symbolTable` is the system symbol table.
             resetSymbolTable();
@@ -715,6 +732,7 @@ class IonReaderContinuableApplicationBinary extends IonReaderContinuableCoreBina
 
         private boolean hasSeenImports;
         private boolean hasSeenSymbols;
+        private boolean isAppend;
         private String name = null;
         private int version = -1;
         private int maxId = -1;
@@ -724,6 +742,7 @@ class IonReaderContinuableApplicationBinary extends IonReaderContinuableCoreBina
         private void resetState() {
             hasSeenImports = false;
             hasSeenSymbols = false;
+            isAppend = false;
             newImports = null;
             newSymbols = null;
             name = null;
@@ -759,6 +778,17 @@ class IonReaderContinuableApplicationBinary extends IonReaderContinuableCoreBina
             // guarantee those symbols are reflected in the superset table.
             lastSupersetSymbolTable = null;
             state = State.READING_VALUE;
+            if (metricsListener != null) {
+                metricsListener.onLocalSymbolTable(isAppend, newSymbols == null ? 0 : newSymbols.size());
+            }
+            if (flightRecorder != null) {
+                // The first import is always the system symbol table.
+                flightRecorder.endSymbolTable(
+                    isAppend,
+                    newImports == null ? 0 : newImports.size() - 1,
+                    newSymbols == null ? 0 : newSymbols.size()
+                );
+            }
         }
 
         private void readSymbolTableStructField() {
@@ -788,6 +818,8 @@ class IonReaderContinuableApplicationBinary extends IonReaderContinuableCoreBina
         private void preparePossibleAppend() {
             if (symbolValueId() != ION_SYMBOL_TABLE_SID) {
                 resetSymbolTable();
+            } else {
+                isAppend = true;
             }
             state = State.ON_SYMBOL_TABLE_FIELD;
         }
@@ -1045,6 +1077,9 @@ class IonReaderContinuableApplicationBinary extends IonReaderContinuableCoreBina
                     cachedReadOnlySymbolTable = null;
                     symbolTableReader.resetState();
                     state = State.ON_SYMBOL_TABLE_STRUCT;
+                    if (flightRecorder != null) {
+                        flightRecorder.beginSymbolTable(valueMarker.endIndex - valueMarker.startIndex);
+                    }
                     continue;
                 }
                 break;
@@ -1052,6 +1087,9 @@ class IonReaderContinuableApplicationBinary extends IonReaderContinuableCoreBina
         } else {
             event = super.nextValue();
         }
+        if (metricsListener != null && (event == Event.START_SCALAR || event == Event.START_CONTAINER)) {
+            reportValue();
+        }
         return event;
     }
 
@@ -1176,4 +1214,34 @@ class IonReaderContinuableApplicationBinary extends IonReaderContinuableCoreBina
         return getSymbolToken(fieldSid);
     }
 
+    /**
+     * Resolves the current field name to an ordinal of the given resolver. Each symbol ID is resolved at most once
+     * until the resolver changes or the symbol IDs in the current symbol table are redefined.
+     * @param resolver the field names to resolve against.
+     * @return the ordinal, or FieldNameResolver.UNKNOWN_ORDINAL.
+     * @see com.amazon.ion.FieldNameOrdinalReader
+     */
+    int getFieldNameOrdinal(FieldNameResolver resolver) {
+        int sid = fieldSid;
+        if (sid < 0) {
+            return FieldNameResolver.UNKNOWN_ORDINAL;
+        }
+        if (resolver != fieldNameResolver) {
+            Arrays.fill(fieldNameOrdinals, UNRESOLVED_ORDINAL);
+            fieldNameResolver = resolver;
+        }
+        if (sid >= fieldNameOrdinals.length) {
+            int oldSize = fieldNameOrdinals.length;
+            fieldNameOrdinals = Arrays.copyOf(fieldNameOrdinals, nextPowerOfTwo(sid + 1));
+            Arrays.fill(fieldNameOrdinals, oldSize, fieldNameOrdinals.length, UNRESOLVED_ORDINAL);
+        }
+        int ordinal = fieldNameOrdinals[sid];
+        if (ordinal == UNRESOLVED_ORDINAL) {
+            // Throws UnknownSymbolException if the symbol ID is out of range, in which case nothing is recorded.
+            ordinal = resolver.ordinalOf(getSymbol(sid));
+            fieldNameOrdinals[sid] = ordinal;
+        }
+        return ordinal;
+    }
+
 }
@@ -7,6 +7,7 @@ import com.amazon.ion.IntegerSize;
 import com.amazon.ion.IonBufferConfiguration;
 import com.amazon.ion.IonException;
 import com.amazon.ion.IonType;
+import com.amazon.ion.StringCache;
 import com.amazon.ion.Timestamp;
 import com.amazon.ion.impl.bin.IntList;
 import com.amazon.ion.impl.bin.utf8.Utf8StringDecoder;
@@ -73,11 +74,20 @@ class IonReaderContinuableCoreBinary extends IonCursorBinary implements IonReade
 
     final Utf8StringDecoder utf8Decoder = Utf8StringDecoderPool.getInstance().getOrCreate();
 
+    // Deduplicates string values by their UTF-8 bytes, or null.
+    private StringCache stringCache = null;
+
     long peekIndex = -1;
 
     // The number of bytes of a lob value that the user has consumed, allowing for piecewise reads.
     private int lobBytesRead = 0;
 
+    // The stream over the content of the current lob, if one has been requested.
+    private LobInputStream lobInputStream = null;
+
+    // True if bytes of the current lob have been read directly from the input stream without being buffered.
+    private boolean isLobContentUnbuffered = false;
+
     // The symbol IDs for the annotations on the current value.
     private final IntList annotationSids;
 
@@ -456,9 +466,18 @@ class IonReaderContinuableCoreBinary extends IonCursorBinary implements IonReade
     @Override
     public Event nextValue() {
         lobBytesRead = 0;
+        lobInputStream = null;
+        isLobContentUnbuffered = false;
         return super.nextValue();
     }
 
+    @Override
+    public Event stepOutOfContainer() {
+        lobInputStream = null;
+        isLobContentUnbuffered = false;
+        return super.stepOutOfContainer();
+    }
+
     /**
      * Prepares the ByteBuffer to wrap a slice of the underlying buffer.
      * @param startIndex the start of the slice.
@@ -530,11 +549,21 @@ class IonReaderContinuableCoreBinary extends IonCursorBinary implements IonReade
         );
     }
 
-    @Override
-    public int byteSize() {
+    /**
+     * Verifies that the reader is positioned on a non-null blob or clob.
+     */
+    private void requireLob() {
         if (valueTid == null || !IonType.isLob(valueTid.type) || valueTid.isNull) {
             throw new IonException("Reader must be positioned on a blob or clob.");
         }
+    }
+
+    @Override
+    public int byteSize() {
+        requireLob();
+        if (isLobContentUnbuffered) {
+            throw new IllegalStateException("The lob's content has already been consumed from a stream.");
+        }
         prepareScalar();
         return (int) (valueMarker.endIndex - valueMarker.startIndex);
     }
@@ -558,6 +587,74 @@ class IonReaderContinuableCoreBinary extends IonCursorBinary implements IonReade
         return length;
     }
 
+    /**
+     * @return a new stream over the content of the blob or clob on which the reader is currently positioned.
+     * @see com.amazon.ion.LobStreamReader
+     */
+    InputStream newLobInputStream() {
+        requireLob();
+        lobInputStream = new LobInputStream();
+        return lobInputStream;
+    }
+
+    /**
+     * Reads the content of the current lob. Bytes that are already present in the buffer are copied from there;
+     * bytes beyond the end of the buffer are read directly from the input stream without being buffered, so the
+     * lob never has to fit in the buffer.
+     */
+    private class LobInputStream extends InputStream {
+
+        // The number of the lob's bytes that have been consumed from the buffer.
+        private long bufferedBytesRead = 0;
+
+        @Override
+        public int read() {
+            byte[] singleByte = new byte[1];
+            return read(singleByte, 0, 1) < 0 ? -1 : singleByte[0] & SINGLE_BYTE_MASK;
+        }
+
+        @Override
+        public int read(byte[] destination, int destinationOffset, int length) {
+            if (lobInputStream != this) {
+                throw new IllegalStateException("The reader is no longer positioned on this lob.");
+            }
+            if (length == 0) {
+                return 0;
+            }
+            // Indices are computed on each read because filling the buffer may shift the value's position.
+            long index = valueMarker.startIndex + bufferedBytesRead;
+            long remaining = valueMarker.endIndex - index;
+            if (remaining <= 0) {
+                return -1;
+            }
+            long availableInBuffer = Math.min(limit, valueMarker.endIndex) - index;
+            if (availableInBuffer > 0) {
+                int numberOfBytes = (int) Math.min(length, availableInBuffer);
+                System.arraycopy(buffer, (int) index, destination, destinationOffset, numberOfBytes);
+                bufferedBytesRead += numberOfBytes;
+                return numberOfBytes;
+            }
+            if (isByteBacked()) {
+                throw new IonException("Malformed data: declared length exceeds the number of bytes remaining in the stream.");
+            }
+            int numberOfBytes = readValueBytesWithoutBuffering(destination, destinationOffset, (int) Math.min(length, remaining));
+            if (numberOfBytes < 0) {
+                throw new IonException("Unexpected EOF.");
+            }
+            isLobContentUnbuffered = true;
+            return numberOfBytes;
+        }
+
+        @Override
+        public int available() {
+            if (lobInputStream != this) {
+                return 0;
+            }
+            long index = valueMarker.startIndex + bufferedBytesRead;
+            return (int) Math.max(0, Math.min(limit, valueMarker.endIndex) - index);
+        }
+    }
+
     /**
      * Loads the scalar converter with an integer value that fits the Ion int on which the reader is positioned.
      */
@@ -783,8 +880,25 @@ class IonReaderContinuableCoreBinary extends IonCursorBinary implements IonReade
             return null;
         }
         prepareScalar();
+        int length = (int) (valueMarker.endIndex - valueMarker.startIndex);
+        if (stringCache != null && length <= stringCache.getMaximumStringLength()) {
+            String cached = stringCache.get(buffer, (int) valueMarker.startIndex, length);
+            if (cached != null) {
+                return cached;
+            }
+            ByteBuffer utf8InputBuffer = prepareByteBuffer(valueMarker.startIndex, valueMarker.endIndex);
+            return stringCache.put(buffer, (int) valueMarker.startIndex, length, utf8Decoder.decode(utf8InputBuffer, length));
+        }
         ByteBuffer utf8InputBuffer = prepareByteBuffer(valueMarker.startIndex, valueMarker.endIndex);
-        return utf8Decoder.decode(utf8InputBuffer, (int) (valueMarker.endIndex - valueMarker.startIndex));
+        return utf8Decoder.decode(utf8InputBuffer, length);
+    }
+
+    /**
+     * Sets the cache through which string values are deduplicated.
+     * @param cache the cache, or null.
+     */
+    void setStringCache(StringCache cache) {
+        stringCache = cache;
     }
 
     @Override
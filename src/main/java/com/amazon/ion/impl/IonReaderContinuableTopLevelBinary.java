@@ -3,22 +3,36 @@
 
 package com.amazon.ion.impl;
 
+import com.amazon.ion.CheckpointableReader;
+import com.amazon.ion.FieldNameOrdinalReader;
+import com.amazon.ion.FieldNameResolver;
 import com.amazon.ion.IonBufferConfiguration;
 import com.amazon.ion.IonException;
 import com.amazon.ion.IonReader;
 import com.amazon.ion.IonCursor;
 import com.amazon.ion.IonType;
+import com.amazon.ion.LobStreamReader;
 import com.amazon.ion.OffsetSpan;
 import com.amazon.ion.OversizedValueException;
 import com.amazon.ion.RawValueSpanProvider;
+import com.amazon.ion.ReaderCheckpoint;
 import com.amazon.ion.SeekableReader;
 import com.amazon.ion.Span;
 import com.amazon.ion.SpanProvider;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.system.IonReaderBuilder;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.amazon.ion.SystemSymbols.IMPORTS_SID;
+import static com.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE_SID;
+import static com.amazon.ion.SystemSymbols.MAX_ID_SID;
+import static com.amazon.ion.SystemSymbols.NAME_SID;
+import static com.amazon.ion.SystemSymbols.SYMBOLS_SID;
+import static com.amazon.ion.SystemSymbols.VERSION_SID;
 
 /**
  * An optionally continuable (i.e., incremental) binary {@link IonReader} implementation. Continuability is enabled
@@ -89,6 +103,116 @@ final class IonReaderContinuableTopLevelBinary extends IonReaderContinuableAppli
         isFillRequired = false;
     }
 
+    /**
+     * Constructs a new reader that resumes reading the given input stream from a checkpoint. The reader first
+     * consumes an encoding of the checkpoint's symbol table, then continues with the stream, reporting offsets as if
+     * it had read the stream from its beginning.
+     * @param builder the builder containing the configuration for the new reader.
+     * @param inputStream the stream, positioned at the checkpoint's offset.
+     * @param checkpoint the checkpoint.
+     * @return a new reader.
+     */
+    static IonReaderContinuableTopLevelBinary resume(
+        IonReaderBuilder builder,
+        InputStream inputStream,
+        ReaderCheckpoint checkpoint
+    ) {
+        byte[] symbolContext = encodeSymbolContext(checkpoint);
+        IonReaderContinuableTopLevelBinary reader = new IonReaderContinuableTopLevelBinary(
+            builder,
+            inputStream,
+            symbolContext,
+            0,
+            symbolContext.length
+        );
+        reader.setTotalOffsetBase(checkpoint.getOffset() - symbolContext.length);
+        return reader;
+    }
+
+    /**
+     * Encodes an Ion version marker followed by, if necessary, a local symbol table equivalent to the one in scope at
+     * the given checkpoint.
+     */
+    private static byte[] encodeSymbolContext(ReaderCheckpoint checkpoint) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(_Private_IonConstants.BINARY_VERSION_MARKER_1_0, 0, _Private_IonConstants.BINARY_VERSION_MARKER_SIZE);
+        if (checkpoint.getImports().isEmpty() && checkpoint.getLocalSymbols().isEmpty()) {
+            return out.toByteArray();
+        }
+        ByteArrayOutputStream imports = new ByteArrayOutputStream();
+        for (ReaderCheckpoint.Import anImport : checkpoint.getImports()) {
+            ByteArrayOutputStream fields = new ByteArrayOutputStream();
+            writeVarUInt(fields, NAME_SID);
+            writeString(fields, anImport.getName());
+            writeVarUInt(fields, VERSION_SID);
+            writeInt(fields, anImport.getVersion());
+            writeVarUInt(fields, MAX_ID_SID);
+            writeInt(fields, anImport.getMaxId());
+            writeContainer(imports, 0xD, fields);
+        }
+        ByteArrayOutputStream symbols = new ByteArrayOutputStream();
+        for (String symbol : checkpoint.getLocalSymbols()) {
+            if (symbol == null) {
+                // A non-string declaration occupies a symbol ID whose text is unknown.
+                symbols.write(0x8F);
+            } else {
+                writeString(symbols, symbol);
+            }
+        }
+        ByteArrayOutputStream fields = new ByteArrayOutputStream();
+        writeVarUInt(fields, IMPORTS_SID);
+        writeContainer(fields, 0xB, imports);
+        writeVarUInt(fields, SYMBOLS_SID);
+        writeContainer(fields, 0xB, symbols);
+        ByteArrayOutputStream wrapper = new ByteArrayOutputStream();
+        writeVarUInt(wrapper, 1); // The length of the annotation SIDs.
+        writeVarUInt(wrapper, ION_SYMBOL_TABLE_SID);
+        writeContainer(wrapper, 0xD, fields);
+        writeContainer(out, 0xE, wrapper);
+        return out.toByteArray();
+    }
+
+    private static void writeVarUInt(ByteArrayOutputStream out, int value) {
+        int shift = 28;
+        while (shift > 0 && (value >>> shift) == 0) {
+            shift -= 7;
+        }
+        for (; shift > 0; shift -= 7) {
+            out.write((value >>> shift) & 0x7F);
+        }
+        out.write((value & 0x7F) | 0x80);
+    }
+
+    private static void writeHeader(ByteArrayOutputStream out, int type, int length) {
+        // Structs use length code 1 to denote sorted fields, so they are never encoded with that length code.
+        if (length < 0xE && !(type == 0xD && length == 1)) {
+            out.write((type << 4) | length);
+        } else {
+            out.write((type << 4) | 0xE);
+            writeVarUInt(out, length);
+        }
+    }
+
+    private static void writeContainer(ByteArrayOutputStream out, int type, ByteArrayOutputStream body) {
+        writeHeader(out, type, body.size());
+        byte[] bytes = body.toByteArray();
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeHeader(out, 0x8, utf8.length);
+        out.write(utf8, 0, utf8.length);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        int length = (Integer.SIZE - Integer.numberOfLeadingZeros(value) + 7) / 8;
+        writeHeader(out, 0x2, length);
+        for (int i = length - 1; i >= 0; i--) {
+            out.write(value >>> (i * 8));
+        }
+    }
+
     @Override
     public SymbolTable pop_passed_symbol_table() {
         SymbolTable currentSymbolTable = getSymbolTable();
@@ -316,6 +440,45 @@ final class IonReaderContinuableTopLevelBinary extends IonReaderContinuableAppli
         }
     }
 
+    private class FieldNameOrdinalReaderFacet implements FieldNameOrdinalReader {
+
+        @Override
+        public int getFieldNameOrdinal(FieldNameResolver resolver) {
+            return IonReaderContinuableTopLevelBinary.this.getFieldNameOrdinal(resolver);
+        }
+    }
+
+    private class CheckpointableReaderFacet implements CheckpointableReader {
+
+        @Override
+        public ReaderCheckpoint checkpoint() {
+            if (getDepth() > 0) {
+                throw new IllegalStateException("Checkpoints can only be captured at top level.");
+            }
+            long offset;
+            if (type != null) {
+                offset = getTotalOffset() + (valueMarker.endIndex - valuePreHeaderIndex);
+            } else {
+                offset = getTotalCheckpointOffset();
+                if (offset < 0) {
+                    throw new IllegalStateException("Checkpoints cannot be captured within an incomplete value.");
+                }
+            }
+            return ReaderCheckpoint.create(offset, getSymbolTable());
+        }
+    }
+
+    private class LobStreamReaderFacet implements LobStreamReader {
+
+        @Override
+        public InputStream newLobInputStream() {
+            if (type == null) {
+                throw new IonException("Reader must be positioned on a blob or clob.");
+            }
+            return IonReaderContinuableTopLevelBinary.this.newLobInputStream();
+        }
+    }
+
     @Override
     public boolean transferCurrentValue(_Private_ByteTransferSink writer) throws IOException {
         if (hasAnnotations || !isByteBacked() || isInStruct()) {
@@ -335,6 +498,15 @@ final class IonReaderContinuableTopLevelBinary extends IonReaderContinuableAppli
         if (facetType == SpanProvider.class) {
             return facetType.cast(new SpanProviderFacet());
         }
+        if (facetType == LobStreamReader.class) {
+            return facetType.cast(new LobStreamReaderFacet());
+        }
+        if (facetType == FieldNameOrdinalReader.class) {
+            return facetType.cast(new FieldNameOrdinalReaderFacet());
+        }
+        if (facetType == CheckpointableReader.class) {
+            return facetType.cast(new CheckpointableReaderFacet());
+        }
         // Note: because IonCursorBinary has an internal buffer that can grow, it is possible to relax the restriction
         // that readers must have been constructed with a byte array in order to be seekable or provide raw value spans.
         // However, it requires some considerations that do not fit well with the existing interfaces. Most importantly,
@@ -355,9 +527,13 @@ final class IonReaderContinuableTopLevelBinary extends IonReaderContinuableAppli
 
     @Override
     public void close() {
-        if (!isNonContinuable) {
-            endStream();
+        try {
+            if (!isNonContinuable) {
+                endStream();
+            }
+        } finally {
+            // endStream fails if the stream ends within a value; the input stream must be closed regardless.
+            super.close();
         }
-        super.close();
     }
 }
@@ -17,6 +17,7 @@ import com.amazon.ion.IonSystem;
 import com.amazon.ion.IonTimestamp;
 import com.amazon.ion.IonType;
 import com.amazon.ion.IonValue;
+import com.amazon.ion.StringCache;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SymbolToken;
 import com.amazon.ion.Timestamp;
@@ -48,6 +49,9 @@ class IonReaderTextSystemX
 
     SymbolTable _system_symtab;
 
+    // Deduplicates string values, or null.
+    private StringCache _string_cache;
+
     protected IonReaderTextSystemX(UnifiedInputStreamX iis)
     {
         _system_symtab = _Private_Utils.systemSymtab(1); // TODO check IVM to determine version: amazon-ion/ion-java/issues/19
@@ -600,9 +604,21 @@ class IonReaderTextSystemX
             int sid = _v.getInt();
             throw new UnknownSymbolException(sid);
         }
+        if (_string_cache != null && _value_type == IonType.STRING) {
+            text = _string_cache.deduplicate(text);
+        }
         return text;
     }
 
+    /**
+     * Sets the cache through which string values are deduplicated.
+     * @param cache the cache, or null.
+     */
+    void setStringCache(StringCache cache)
+    {
+        _string_cache = cache;
+    }
+
     /**
      * Horrible temporary hack.
      *
@@ -5,6 +5,8 @@ package com.amazon.ion.impl;
 import static com.amazon.ion.SystemSymbols.ION_1_0;
 import static com.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE;
 
+import com.amazon.ion.FieldNameOrdinalReader;
+import com.amazon.ion.FieldNameResolver;
 import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonType;
 import com.amazon.ion.OffsetSpan;
@@ -444,6 +446,11 @@ class IonReaderTextUserX
             return facetType.cast(new SeekableReaderFacet());
         }
 
+        if (facetType == FieldNameOrdinalReader.class)
+        {
+            return facetType.cast(new FieldNameOrdinalReaderFacet());
+        }
+
         return super.asFacet(facetType);
     }
 
@@ -467,4 +474,20 @@ class IonReaderTextUserX
             hoistImpl(span);
         }
     }
+
+
+    /**
+     * Text field names are not symbol IDs, so each lookup resolves the text.
+     */
+    private final class FieldNameOrdinalReaderFacet
+        implements FieldNameOrdinalReader
+    {
+        public int getFieldNameOrdinal(FieldNameResolver resolver)
+        {
+            SymbolToken fieldName = getFieldNameSymbol();
+            return fieldName == null
+                ? FieldNameResolver.UNKNOWN_ORDINAL
+                : resolver.ordinalOf(fieldName.getText());
+        }
+    }
 }
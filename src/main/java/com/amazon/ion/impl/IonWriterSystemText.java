@@ -32,6 +32,7 @@ import com.amazon.ion.util.IonTextUtils;
 import com.amazon.ion.util.IonTextUtils.SymbolVariant;
 import com.amazon.ion.util._Private_FastAppendable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -747,6 +748,40 @@ class IonWriterSystemText
         closeValue();
     }
 
+    private static void checkLobLength(long length)
+    {
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("LOB length must not be negative: " + length);
+        }
+    }
+
+    /**
+     * Writes a blob whose content is the next {@code length} bytes of the
+     * given stream, base64-encoding it directly to the output in chunks.
+     */
+    public void writeBlob(InputStream content, long length)
+        throws IOException
+    {
+        checkLobLength(length);
+        startValue();
+        _output.printBlob(_options, content, length);
+        closeValue();
+    }
+
+    /**
+     * Writes a clob whose content is the next {@code length} bytes of the
+     * given stream directly to the output.
+     */
+    public void writeClob(InputStream content, long length)
+        throws IOException
+    {
+        checkLobLength(length);
+        startValue();
+        _output.printClob(_options, content, length);
+        closeValue();
+    }
+
 
     /**
      * {@inheritDoc}
@@ -22,6 +22,7 @@ import com.amazon.ion.SymbolToken;
 import com.amazon.ion.Timestamp;
 import com.amazon.ion.util._Private_FastAppendable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
@@ -156,6 +157,15 @@ class IonWriterSystemTextMarkup extends IonWriterSystemText {
         myTypeBeingWritten = null;
     }
 
+    @Override
+    public void writeBlob(InputStream content, long length)
+        throws IOException
+    {
+        myTypeBeingWritten = IonType.BLOB;
+        super.writeBlob(content, length);
+        myTypeBeingWritten = null;
+    }
+
     @Override
     public void writeBool(boolean value)
         throws IOException
@@ -174,6 +184,15 @@ class IonWriterSystemTextMarkup extends IonWriterSystemText {
         myTypeBeingWritten = null;
     }
 
+    @Override
+    public void writeClob(InputStream content, long length)
+        throws IOException
+    {
+        myTypeBeingWritten = IonType.CLOB;
+        super.writeClob(content, length);
+        myTypeBeingWritten = null;
+    }
+
     @Override
     public void writeDecimal(BigDecimal value)
         throws IOException
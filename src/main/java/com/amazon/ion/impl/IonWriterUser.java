@@ -21,11 +21,13 @@ import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonException;
 import com.amazon.ion.IonStruct;
 import com.amazon.ion.IonType;
+import com.amazon.ion.LobStreamWriter;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SymbolToken;
 import com.amazon.ion.Timestamp;
 import com.amazon.ion.ValueFactory;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
@@ -489,4 +491,66 @@ class IonWriterUser
     {
         _current_writer.writeTimestamp(value);
     }
+
+    @Override
+    public <T> T asFacet(Class<T> facetType)
+    {
+        if (facetType == LobStreamWriter.class && _system_writer instanceof IonWriterSystemText)
+        {
+            return facetType.cast(new TextLobStreamWriter());
+        }
+        return super.asFacet(facetType);
+    }
+
+    /**
+     * Streams LOB content directly to the text output. Values diverted to a
+     * local symbol table are materialized, since they are written to a DOM.
+     */
+    private final class TextLobStreamWriter
+        implements LobStreamWriter
+    {
+        public void writeBlob(InputStream content, long length)
+            throws IOException
+        {
+            if (_current_writer == _system_writer)
+            {
+                ((IonWriterSystemText) _system_writer).writeBlob(content, length);
+            }
+            else
+            {
+                _current_writer.writeBlob(readLob(content, length));
+            }
+        }
+
+        public void writeClob(InputStream content, long length)
+            throws IOException
+        {
+            if (_current_writer == _system_writer)
+            {
+                ((IonWriterSystemText) _system_writer).writeClob(content, length);
+            }
+            else
+            {
+                _current_writer.writeClob(readLob(content, length));
+            }
+        }
+
+        private byte[] readLob(InputStream content, long length)
+            throws IOException
+        {
+            if (length < 0 || length > Integer.MAX_VALUE)
+            {
+                throw new IllegalArgumentException("Invalid LOB length: " + length);
+            }
+            byte[] bytes = new byte[(int) length];
+            int actualLength = _Private_Utils.readFully(content, bytes);
+            if (actualLength != length)
+            {
+                throw new IonException("LOB content ended after "
+                    + actualLength + " bytes, but its declared length is "
+                    + length + " bytes.");
+            }
+            return bytes;
+        }
+    }
 }
@@ -44,11 +44,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * A local symbol table.
  * <p>
- * Instances of this class are safe for use by multiple threads.
+ * Instances of this class are safe for use by multiple threads. Mutable
+ * instances are guarded by a {@link ReentrantLock} rather than a monitor so
+ * that virtual threads waiting for it do not pin their carrier threads.
+ * Read-only instances, which are the ones commonly shared between threads,
+ * are read without locking.
  */
 class LocalSymbolTable
     implements _Private_LocalSymbolTable
@@ -111,9 +116,16 @@ class LocalSymbolTable
     private final Map<String, Integer> mySymbolsMap;
 
     /**
-     * Whether this symbol table is read only, and thus, immutable.
+     * Whether this symbol table is read only, and thus, immutable. Once this
+     * is observed to be true, all of the table's state is visible without
+     * holding {@link #myLock}.
      */
-    private boolean isReadOnly;
+    private volatile boolean isReadOnly;
+
+    /**
+     * Guards the mutable state of this table until it is made read-only.
+     */
+    private final ReentrantLock myLock = new ReentrantLock();
 
     /**
      * The local symbol names declared in this symtab; never null.
@@ -330,14 +342,55 @@ class LocalSymbolTable
     }
 
     @Override
-    public synchronized _Private_LocalSymbolTable makeCopy()
+    public _Private_LocalSymbolTable makeCopy()
+    {
+        boolean locked = lockIfMutable();
+        try
+        {
+            return new LocalSymbolTable(this, getMaxId());
+        }
+        finally
+        {
+            unlockIf(locked);
+        }
+    }
+
+    LocalSymbolTable makeCopy(int maxId)
+    {
+        boolean locked = lockIfMutable();
+        try
+        {
+            return new LocalSymbolTable(this, maxId);
+        }
+        finally
+        {
+            unlockIf(locked);
+        }
+    }
+
+    /**
+     * Acquires {@link #myLock} unless this table is read-only, in which case
+     * its state can no longer change.
+     *
+     * @return true if the lock was acquired and must be released with
+     * {@link #unlockIf(boolean)}.
+     */
+    private boolean lockIfMutable()
     {
-        return new LocalSymbolTable(this, getMaxId());
+        if (isReadOnly)
+        {
+            return false;
+        }
+        myLock.lock();
+        return true;
     }
 
-    synchronized LocalSymbolTable makeCopy(int maxId)
+    private void unlockIf(boolean locked)
     {
-        return new LocalSymbolTable(this, maxId);
+        if (locked)
+        {
+            myLock.unlock();
+        }
     }
 
     public boolean isLocalTable()
@@ -360,14 +413,24 @@ class LocalSymbolTable
         return false;
     }
 
-    public synchronized boolean isReadOnly()
+    public boolean isReadOnly()
     {
         return isReadOnly;
     }
 
-    public synchronized void makeReadOnly()
+    public void makeReadOnly()
     {
-        isReadOnly = true;
+        // Waits for any in-progress mutation, which must be visible to
+        // readers that subsequently skip the lock.
+        myLock.lock();
+        try
+        {
+            isReadOnly = true;
+        }
+        finally
+        {
+            myLock.unlock();
+        }
     }
 
     public int getImportedMaxId()
@@ -375,10 +438,18 @@ class LocalSymbolTable
         return myImportsList.getMaxId();
     }
 
-    public synchronized int getMaxId()
+    public int getMaxId()
     {
-        int maxid = mySymbolsCount + myImportsList.getMaxId();
-        return maxid;
+        boolean locked = lockIfMutable();
+        try
+        {
+            int maxid = mySymbolsCount + myImportsList.getMaxId();
+            return maxid;
+        }
+        finally
+        {
+            unlockIf(locked);
+        }
     }
 
     public int getVersion()
@@ -397,9 +468,39 @@ class LocalSymbolTable
         return system_table.getIonVersionId();
     }
 
-    public synchronized Iterator<String> iterateDeclaredSymbolNames()
+    public Iterator<String> iterateDeclaredSymbolNames()
     {
-        return new SymbolIterator(mySymbolNames, mySymbolsCount);
+        boolean locked = lockIfMutable();
+        try
+        {
+            return new SymbolIterator(mySymbolNames, mySymbolsCount);
+        }
+        finally
+        {
+            unlockIf(locked);
+        }
+    }
+
+    /**
+     * Returns the max ID together with an iterator over the symbols declared
+     * up to it, both from the same snapshot of this table, which may be
+     * growing concurrently.
+     *
+     * @param maxIdOut the array into which the max ID is stored at index 0.
+     * @return the iterator.
+     */
+    Iterator<String> iterateDeclaredSymbolNames(int[] maxIdOut)
+    {
+        boolean locked = lockIfMutable();
+        try
+        {
+            maxIdOut[0] = getMaxId();
+            return iterateDeclaredSymbolNames();
+        }
+        finally
+        {
+            unlockIf(locked);
+        }
     }
 
     public String findKnownSymbol(int id)
@@ -420,10 +521,15 @@ class LocalSymbolTable
             int offset = id - myFirstLocalSid;
 
             String[] names;
-            synchronized (this)
+            boolean locked = lockIfMutable();
+            try
             {
                 names = mySymbolNames;
             }
+            finally
+            {
+                unlockIf(locked);
+            }
 
             if (offset < names.length)
             {
@@ -451,10 +557,15 @@ class LocalSymbolTable
     private int findLocalSymbol(String name)
     {
         Integer isid;
-        synchronized (this)
+        boolean locked = lockIfMutable();
+        try
         {
             isid = mySymbolsMap.get(name);
         }
+        finally
+        {
+            unlockIf(locked);
+        }
 
         if (isid != null)
         {
@@ -465,16 +576,24 @@ class LocalSymbolTable
     }
 
 
-    public synchronized SymbolToken intern(String text)
+    public SymbolToken intern(String text)
     {
-        SymbolToken is = find(text);
-        if (is == null)
+        boolean locked = lockIfMutable();
+        try
         {
-            validateSymbol(text);
-            int sid = putSymbol(text);
-            is = new SymbolTokenImpl(text, sid);
+            SymbolToken is = find(text);
+            if (is == null)
+            {
+                validateSymbol(text);
+                int sid = putSymbol(text);
+                is = new SymbolTokenImpl(text, sid);
+            }
+            return is;
+        }
+        finally
+        {
+            unlockIf(locked);
         }
-        return is;
     }
 
     public SymbolToken find(String text)
@@ -489,11 +608,16 @@ class LocalSymbolTable
         {
             Integer  sid;
             String[] names;
-            synchronized (this)
+            boolean locked = lockIfMutable();
+            try
             {
                 sid = mySymbolsMap.get(text);
                 names = mySymbolNames;
             }
+            finally
+            {
+                unlockIf(locked);
+            }
 
             if (sid != null)
             {
@@ -543,7 +667,7 @@ class LocalSymbolTable
     }
 
     /**
-     * NOT SYNCHRONIZED! Call within constructor or from synch'd method.
+     * NOT SYNCHRONIZED! Call within constructor or while holding the lock.
      */
     int putSymbol(String symbolName)
     {
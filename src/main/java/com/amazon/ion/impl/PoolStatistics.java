@@ -0,0 +1,50 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl;
+
+/**
+ * A snapshot of the number of requests that a pool satisfied with a previously returned object (hits) and the number
+ * that required a new object to be allocated (misses).
+ */
+public final class PoolStatistics {
+
+    /**
+     * Statistics of a pool that has not been used.
+     */
+    public static final PoolStatistics EMPTY = new PoolStatistics(0, 0);
+
+    private final long hitCount;
+    private final long missCount;
+
+    PoolStatistics(long hitCount, long missCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+    }
+
+    /**
+     * @return the number of requests satisfied by a pooled object.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of requests that required a new object.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @param other statistics of another pool.
+     * @return the sum of these statistics and the given statistics.
+     */
+    public PoolStatistics plus(PoolStatistics other) {
+        return new PoolStatistics(hitCount + other.hitCount, missCount + other.missCount);
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStatistics{hits=" + hitCount + ", misses=" + missCount + "}";
+    }
+}
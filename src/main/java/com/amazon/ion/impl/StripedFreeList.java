@@ -0,0 +1,121 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe list of free objects that is split into stripes in order to reduce contention between
+ * threads. Each thread has a home stripe, selected by its ID, which it uses first when both taking and returning
+ * objects; other stripes are only visited when the home stripe is empty (on take) or full (on return). Threads that
+ * repeatedly take and return objects therefore tend to reuse the same objects without touching state shared with
+ * other threads, while objects returned on a different thread than the one that took them (e.g. by an asynchronous
+ * flush) remain available to every thread.
+ * <p>
+ * Unlike thread-local caches, stripes do not retain objects on behalf of threads that have terminated, and their
+ * number does not grow with the number of threads.
+ * <p>
+ * This class is thread-safe.
+ * @param <T> the type of object.
+ */
+public final class StripedFreeList<T> {
+
+    /**
+     * A single stripe. The size is tracked externally because ConcurrentLinkedQueue.size() is not a constant-time
+     * operation.
+     */
+    private static final class Stripe<T> {
+        private final ConcurrentLinkedQueue<T> objects = new ConcurrentLinkedQueue<T>();
+        private final AtomicInteger size = new AtomicInteger(0);
+    }
+
+    // Enough stripes for each hardware thread to have its own under most thread-to-CPU assignments.
+    private static final int DEFAULT_NUMBER_OF_STRIPES =
+        Integer.highestOneBit(Math.max(1, Math.min(64, Runtime.getRuntime().availableProcessors() * 2)) * 2 - 1);
+
+    private final Stripe<T>[] stripes;
+    private final int stripeMask;
+    private final int stripeCapacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity the maximum number of free objects to retain across all stripes. The capacity is divided evenly
+     *                 between the stripes, each of which retains at least one object.
+     */
+    public StripedFreeList(int capacity) {
+        this(capacity, DEFAULT_NUMBER_OF_STRIPES);
+    }
+
+    /**
+     * @param capacity the maximum number of free objects to retain across all stripes.
+     * @param numberOfStripes the number of stripes, which must be a power of two.
+     */
+    StripedFreeList(int capacity, int numberOfStripes) {
+        if (numberOfStripes < 1 || Integer.bitCount(numberOfStripes) != 1) {
+            throw new IllegalArgumentException("The number of stripes must be a positive power of two: " + numberOfStripes);
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"}) Stripe<T>[] newStripes = (Stripe<T>[]) new Stripe[numberOfStripes];
+        stripes = newStripes;
+        for (int i = 0; i < numberOfStripes; i++) {
+            stripes[i] = new Stripe<T>();
+        }
+        stripeMask = numberOfStripes - 1;
+        stripeCapacity = Math.max(1, capacity / numberOfStripes);
+    }
+
+    private int homeStripe() {
+        return (int) Thread.currentThread().getId() & stripeMask;
+    }
+
+    /**
+     * Removes a free object, preferring the current thread's home stripe.
+     * @return the object, or null if there are no free objects, in which case the caller is expected to allocate one.
+     */
+    public T poll() {
+        int home = homeStripe();
+        for (int i = 0; i <= stripeMask; i++) {
+            Stripe<T> stripe = stripes[(home + i) & stripeMask];
+            T object = stripe.objects.poll();
+            if (object != null) {
+                stripe.size.decrementAndGet();
+                hits.increment();
+                return object;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Adds a free object, preferring the current thread's home stripe. If every stripe is full, the object is
+     * discarded.
+     * @param object the object. Callers MUST NOT use the object after adding it.
+     * @return true if the object was retained; otherwise, false.
+     */
+    public boolean offer(T object) {
+        int home = homeStripe();
+        for (int i = 0; i <= stripeMask; i++) {
+            Stripe<T> stripe = stripes[(home + i) & stripeMask];
+            // In the common case, the stripe is not full. Optimistically increment the size.
+            if (stripe.size.getAndIncrement() < stripeCapacity) {
+                stripe.objects.offer(object);
+                return true;
+            }
+            // The stripe was full. Since the size was optimistically incremented, decrement it now. As in the
+            // unstriped pools that preceded this class, concurrent callers may briefly see a stripe as full when it is
+            // not; this only causes an object to be placed in another stripe or discarded, which is harmless.
+            stripe.size.decrementAndGet();
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of hits and misses recorded by {@link #poll()} so far.
+     */
+    public PoolStatistics getStatistics() {
+        return new PoolStatistics(hits.sum(), misses.sum());
+    }
+}
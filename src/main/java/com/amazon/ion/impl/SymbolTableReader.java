@@ -473,10 +473,19 @@ final class SymbolTableReader
     {
         _symbol_table = symbol_table;
 
-        synchronized (symbol_table)
+        if (symbol_table instanceof LocalSymbolTable)
         {
-            _maxId = symbol_table.getMaxId();
-            _local_symbols = symbol_table.iterateDeclaredSymbolNames();
+            int[] maxId = new int[1];
+            _local_symbols = ((LocalSymbolTable) symbol_table).iterateDeclaredSymbolNames(maxId);
+            _maxId = maxId[0];
+        }
+        else
+        {
+            synchronized (symbol_table)
+            {
+                _maxId = symbol_table.getMaxId();
+                _local_symbols = symbol_table.iterateDeclaredSymbolNames();
+            }
         }
 
         if (symbol_table.isLocalTable() == false) {
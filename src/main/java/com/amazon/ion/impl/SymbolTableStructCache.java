@@ -8,6 +8,7 @@ import com.amazon.ion.SymbolTable;
 import com.amazon.ion.ValueFactory;
 
 import java.util.Iterator;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.amazon.ion.SystemSymbols.IMPORTS;
 import static com.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE;
@@ -31,6 +32,12 @@ class SymbolTableStructCache {
      */
     private IonStruct image;
 
+    /**
+     * Guards the lazy creation of {@link #image}. This is not a monitor, so that virtual threads waiting for it do not
+     * pin their carrier threads.
+     */
+    private final ReentrantLock imageLock = new ReentrantLock();
+
     /**
      * @param symbolTable the SymbolTable to represent as an IonStruct.
      * @param importedTables the symbol table's imported shared symbol tables.
@@ -50,11 +57,14 @@ class SymbolTableStructCache {
      * @return an IonStruct representing the symbol table.
      */
     public IonStruct getIonRepresentation(ValueFactory factory) {
-        synchronized (this) {
+        imageLock.lock();
+        try {
             if (image == null) {
                 makeIonRepresentation(factory);
             }
             return image;
+        } finally {
+            imageLock.unlock();
         }
     }
 
@@ -17,9 +17,11 @@ package com.amazon.ion.impl;
 
 import static com.amazon.ion.impl._Private_Utils.initialSymtab;
 
+import com.amazon.ion.BufferBudget;
 import com.amazon.ion.IonBinaryWriter;
 import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonException;
+import com.amazon.ion.IonMetricsListener;
 import com.amazon.ion.IonSystem;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.SubstituteSymbolTableException;
@@ -32,6 +34,7 @@ import com.amazon.ion.system.IonBinaryWriterBuilder;
 import com.amazon.ion.system.IonSystemBuilder;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.concurrent.Executor;
 
 /**
  * NOT FOR APPLICATION USE!
@@ -239,6 +242,66 @@ public class _Private_IonBinaryWriterBuilder
         return b;
     }
 
+    @Override
+    public _Private_IonBinaryWriterBuilder withContainerSpillThreshold(int threshold) {
+        _Private_IonBinaryWriterBuilder b = mutable();
+        b.setContainerSpillThreshold(threshold);
+        return b;
+    }
+
+    public void setContainerSpillThreshold(int threshold) {
+        mutationCheck();
+        myBinaryWriterBuilder.withContainerSpillThreshold(threshold);
+    }
+
+    @Override
+    public _Private_IonBinaryWriterBuilder withAsyncFlushing(Executor executor, long maxInFlightBytes) {
+        _Private_IonBinaryWriterBuilder b = mutable();
+        b.setAsyncFlushing(executor, maxInFlightBytes);
+        return b;
+    }
+
+    public void setAsyncFlushing(Executor executor, long maxInFlightBytes) {
+        mutationCheck();
+        myBinaryWriterBuilder.withAsyncFlushing(executor, maxInFlightBytes);
+    }
+
+    @Override
+    public _Private_IonBinaryWriterBuilder withParallelGzipCompression(Executor executor, int memberSize) {
+        _Private_IonBinaryWriterBuilder b = mutable();
+        b.setParallelGzipCompression(executor, memberSize);
+        return b;
+    }
+
+    public void setParallelGzipCompression(Executor executor, int memberSize) {
+        mutationCheck();
+        myBinaryWriterBuilder.withParallelGzipCompression(executor, memberSize);
+    }
+
+    @Override
+    public _Private_IonBinaryWriterBuilder withBufferBudget(BufferBudget budget) {
+        _Private_IonBinaryWriterBuilder b = mutable();
+        b.setBufferBudget(budget);
+        return b;
+    }
+
+    public void setBufferBudget(BufferBudget budget) {
+        mutationCheck();
+        myBinaryWriterBuilder.withBufferBudget(budget);
+    }
+
+    @Override
+    public _Private_IonBinaryWriterBuilder withMetricsListener(IonMetricsListener listener) {
+        _Private_IonBinaryWriterBuilder b = mutable();
+        b.setMetricsListener(listener);
+        return b;
+    }
+
+    public void setMetricsListener(IonMetricsListener listener) {
+        mutationCheck();
+        myBinaryWriterBuilder.withMetricsListener(listener);
+    }
+
     @Override
     public _Private_IonBinaryWriterBuilder withBlockSize(int size) {
         _Private_IonBinaryWriterBuilder b = mutable();
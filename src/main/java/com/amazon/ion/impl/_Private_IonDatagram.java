@@ -16,7 +16,9 @@
 package com.amazon.ion.impl;
 
 import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
 import com.amazon.ion.SymbolTable;
+import java.nio.ByteBuffer;
 
 /**
  * NOT FOR APPLICATION USE!
@@ -25,4 +27,15 @@ public interface _Private_IonDatagram
     extends _Private_IonValue, IonDatagram
 {
     void appendTrailingSymbolTable(SymbolTable symtab);
+
+    /**
+     * Encodes this datagram into Ion binary once.
+     *
+     * @return a buffer whose remaining bytes are the encoding. Its content is
+     *   never modified afterward, so it may be shared; callers must not
+     *   modify it either.
+     *
+     * @see com.amazon.ion.util.IonDatagramEncoding
+     */
+    ByteBuffer encode() throws IonException;
 }
@@ -0,0 +1,95 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl;
+
+/**
+ * Emits JDK Flight Recorder events for the work done by a single binary reader or writer. This is the implementation
+ * used on Java 8, which has no public Flight Recorder API; it emits nothing, and {@link #forNewStream()} always
+ * returns null. On Java 11 and later, the multi-release jar substitutes the implementation in
+ * {@code META-INF/versions/11}, which emits the events when a recording enables them.
+ * <p>
+ * Readers and writers hold the instance for their stream, and invoke it only when it is non-null. Each
+ * {@code begin} method is followed by its matching {@code end} method on the same thread; the time between them is
+ * the duration of the event.
+ */
+public class _Private_IonFlightRecorder {
+
+    _Private_IonFlightRecorder() {
+    }
+
+    /**
+     * @return a recorder for a new stream, or null if no events can be recorded.
+     */
+    public static _Private_IonFlightRecorder forNewStream() {
+        return null;
+    }
+
+    /**
+     * Begins a read from a reader's input stream.
+     */
+    public void beginStreamRead() {
+    }
+
+    /**
+     * @param numberOfBytes the number of bytes read, or -1 if the stream was at its end.
+     */
+    public void endStreamRead(int numberOfBytes) {
+    }
+
+    /**
+     * Begins the growth of a reader's buffer.
+     */
+    public void beginBufferGrowth() {
+    }
+
+    /**
+     * @param previousSize the size of the buffer before it grew, in bytes.
+     * @param newSize the size of the buffer after it grew, in bytes.
+     */
+    public void endBufferGrowth(int previousSize, int newSize) {
+    }
+
+    /**
+     * Begins skipping a value that is too large to buffer.
+     * @param numberOfBytes the number of bytes of the value that remain to be skipped.
+     */
+    public void beginOversizedValueSkip(long numberOfBytes) {
+    }
+
+    /**
+     * Ends skipping a value that is too large to buffer.
+     */
+    public void endOversizedValueSkip() {
+    }
+
+    /**
+     * Begins reading a local symbol table.
+     * @param numberOfBytes the length of the symbol table struct's contents.
+     */
+    public void beginSymbolTable(long numberOfBytes) {
+    }
+
+    /**
+     * @param isAppend true if the symbol table appended to the symbols in effect; false if it replaced them.
+     * @param numberOfImports the number of shared symbol tables imported, not including the system symbol table.
+     * @param numberOfSymbols the number of symbols declared.
+     */
+    public void endSymbolTable(boolean isAppend, int numberOfImports, int numberOfSymbols) {
+    }
+
+    /**
+     * Begins a writer's flush, if flushes are being recorded.
+     * @return true if the flush is being recorded, in which case {@link #endFlush(long)} must follow; otherwise,
+     *   false, in which case the caller need not count the bytes to be written.
+     */
+    public boolean beginFlush() {
+        return false;
+    }
+
+    /**
+     * Ends a writer's flush. Flushes that write nothing are not recorded.
+     * @param numberOfBytes the number of bytes written to the output.
+     */
+    public void endFlush(long numberOfBytes) {
+    }
+}
@@ -7,6 +7,8 @@ import com.amazon.ion.IonException;
 import com.amazon.ion.IonReader;
 import com.amazon.ion.IonTextReader;
 import com.amazon.ion.IonValue;
+import com.amazon.ion.ReaderCheckpoint;
+import com.amazon.ion.StringCache;
 import com.amazon.ion.util.InputStreamInterceptor;
 import com.amazon.ion.system.IonReaderBuilder;
 import com.amazon.ion.util.IonStreamUtils;
@@ -241,7 +243,23 @@ public class _Private_IonReaderBuilder extends IonReaderBuilder {
         if (IonStreamUtils.isIonBinary(ionData, offset, length)) {
             return binary.makeReader(builder, ionData, offset, length);
         }
-        return text.makeReader(builder.validateCatalog(), ionData, offset, length, builder.lstFactory);
+        return applyStringCache(
+            builder,
+            text.makeReader(builder.validateCatalog(), ionData, offset, length, builder.lstFactory)
+        );
+    }
+
+    /**
+     * Attaches the builder's string cache, if any, to the given text reader. Binary readers obtain the cache from
+     * the builder directly.
+     * @return the reader.
+     */
+    private static <T extends IonReader> T applyStringCache(_Private_IonReaderBuilder builder, T reader) {
+        StringCache cache = builder.getStringCache();
+        if (cache != null && reader instanceof IonReaderTextSystemX) {
+            ((IonReaderTextSystemX) reader).setStringCache(cache);
+        }
+        return reader;
     }
 
     @Override
@@ -376,7 +394,7 @@ public class _Private_IonReaderBuilder extends IonReaderBuilder {
         } else {
             wrapper = ionData;
         }
-        return text.makeReader(builder.validateCatalog(), wrapper, builder.lstFactory);
+        return applyStringCache(builder, text.makeReader(builder.validateCatalog(), wrapper, builder.lstFactory));
     }
 
     @Override
@@ -391,9 +409,17 @@ public class _Private_IonReaderBuilder extends IonReaderBuilder {
         );
     }
 
+    @Override
+    public IonReader build(InputStream ionData, ReaderCheckpoint checkpoint) {
+        if (ionData == null || checkpoint == null) {
+            throw new NullPointerException("Cannot resume a reader without an InputStream and a checkpoint.");
+        }
+        return IonReaderContinuableTopLevelBinary.resume(this, ionData, checkpoint);
+    }
+
     @Override
     public IonReader build(Reader ionText) {
-        return makeReaderText(validateCatalog(), ionText, lstFactory);
+        return applyStringCache(this, makeReaderText(validateCatalog(), ionText, lstFactory));
     }
 
     @Override
@@ -403,7 +429,7 @@ public class _Private_IonReaderBuilder extends IonReaderBuilder {
 
     @Override
     public IonTextReader build(String ionText) {
-        return makeReaderText(validateCatalog(), ionText, lstFactory);
+        return applyStringCache(this, makeReaderText(validateCatalog(), ionText, lstFactory));
     }
 
 }
@@ -21,6 +21,7 @@ import static com.amazon.ion.impl._Private_IonConstants.isLowSurrogate;
 import static com.amazon.ion.impl._Private_IonConstants.makeUnicodeScalar;
 
 import com.amazon.ion.Decimal;
+import com.amazon.ion.IonException;
 import com.amazon.ion.impl.Base64Encoder.TextStream;
 import com.amazon.ion.impl.schubfach.DoubleToDecimal;
 import com.amazon.ion.system.IonTextWriterBuilder;
@@ -29,6 +30,7 @@ import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -217,6 +219,9 @@ public final class _Private_IonTextAppender
     private static final String HEX_8_PREFIX = "\\U";
     private static final String TRIPLE_QUOTES = "'''";
 
+    /** The number of bytes of LOB content printed at a time when it is read from a stream. */
+    private static final int LOB_CHUNK_SIZE = 8192;
+
 
     //=========================================================================
 
@@ -873,9 +878,32 @@ public final class _Private_IonTextAppender
             return;
         }
 
+        printBase64(_options, new ByteArrayInputStream(value, start, len));
+    }
+
+
+    /**
+     * Prints a blob whose content is the next {@code length} bytes of the
+     * given stream, base64-encoding it in chunks.
+     *
+     * @throws IonException if the stream ends before {@code length} bytes
+     * have been read.
+     */
+    public void printBlob(_Private_IonTextWriterBuilder _options,
+                          InputStream content, long length)
+        throws IOException
+    {
+        printBase64(_options, new ExactLengthInputStream(content, length));
+    }
+
+
+    private void printBase64(_Private_IonTextWriterBuilder _options,
+                             InputStream content)
+        throws IOException
+    {
+        // The source must fill each read; the encoder pads any partial group.
         @SuppressWarnings("resource")
-        TextStream ts =
-            new TextStream(new ByteArrayInputStream(value, start, len));
+        TextStream ts = new TextStream(content);
 
         // base64 encoding is 6 bits per char so
         // it evens out at 3 bytes in 4 characters
@@ -944,12 +972,50 @@ public final class _Private_IonTextAppender
             return;
         }
 
+        String[] escapes = startClob(_options, value.length);
+        printClobBytes(value, start, start + len, escapes);
+        endClob(_options, escapes);
+    }
+
 
+    /**
+     * Prints a clob whose content is the next {@code length} bytes of the
+     * given stream.
+     *
+     * @throws IonException if the stream ends before {@code length} bytes
+     * have been read.
+     */
+    public void printClob(_Private_IonTextWriterBuilder _options,
+                          InputStream content, long length)
+        throws IOException
+    {
+        InputStream source = new ExactLengthInputStream(content, length);
+        String[] escapes = startClob(_options, length);
+        byte[] chunk = new byte[(int) Math.min(length, LOB_CHUNK_SIZE)];
+        for (;;)
+        {
+            int clen = source.read(chunk, 0, chunk.length);
+            if (clen < 1) break;
+            printClobBytes(chunk, 0, clen, escapes);
+        }
+        endClob(_options, escapes);
+    }
+
+
+    /**
+     * Prints the opening delimiters of a clob.
+     *
+     * @return the escape codes with which to print the clob's content.
+     */
+    private String[] startClob(_Private_IonTextWriterBuilder _options,
+                               long length)
+        throws IOException
+    {
         final boolean json =
             _options._clob_as_string && _options._string_as_json;
 
         final int threshold = _options.getLongStringThreshold();
-        final boolean longString = (0 < threshold && threshold < value.length);
+        final boolean longString = (0 < threshold && threshold < length);
 
         if (!_options._clob_as_string)
         {
@@ -963,8 +1029,7 @@ public final class _Private_IonTextAppender
         if (json)
         {
             appendAscii('"');
-            printClobBytes(value, start, start + len, JSON_ESCAPE_CODES);
-            appendAscii('"');
+            return JSON_ESCAPE_CODES;
         }
         else if (longString)
         {
@@ -974,14 +1039,24 @@ public final class _Private_IonTextAppender
 
             // TODO Account for NL versus CR+NL streams
             appendAscii(TRIPLE_QUOTES);
-            printClobBytes(value, start, start + len, LONG_STRING_ESCAPE_CODES);
+            return LONG_STRING_ESCAPE_CODES;
+        }
+        appendAscii('"');
+        return STRING_ESCAPE_CODES;
+    }
+
+
+    private void endClob(_Private_IonTextWriterBuilder _options,
+                         String[] escapes)
+        throws IOException
+    {
+        if (escapes == LONG_STRING_ESCAPE_CODES)
+        {
             appendAscii(TRIPLE_QUOTES);
         }
         else
         {
             appendAscii('"');
-            printClobBytes(value, start, start + len, STRING_ESCAPE_CODES);
-            appendAscii('"');
         }
 
         if (! _options._clob_as_string)
@@ -994,6 +1069,67 @@ public final class _Private_IonTextAppender
         }
     }
 
+
+    /**
+     * Provides exactly the declared number of bytes from a LOB's source,
+     * filling each read unless the end of the content has been reached.
+     */
+    private static final class ExactLengthInputStream
+        extends InputStream
+    {
+        private final InputStream source;
+        private final long length;
+        private long remaining;
+
+        ExactLengthInputStream(InputStream source, long length)
+        {
+            this.source = source;
+            this.length = length;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read()
+            throws IOException
+        {
+            byte[] singleByte = new byte[1];
+            return read(singleByte, 0, 1) < 0 ? -1 : singleByte[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len)
+            throws IOException
+        {
+            if (remaining == 0)
+            {
+                return -1;
+            }
+            int target = (int) Math.min(len, remaining);
+            int filled = 0;
+            while (filled < target)
+            {
+                int amount = source.read(b, off + filled, target - filled);
+                if (amount < 0)
+                {
+                    throw new IonException("LOB content ended after "
+                        + (length - remaining + filled)
+                        + " bytes, but its declared length is "
+                        + length + " bytes.");
+                }
+                filled += amount;
+            }
+            remaining -= filled;
+            return filled;
+        }
+
+        @Override
+        public void close()
+        {
+            // The caller owns the source.
+        }
+    }
+
+
     /**
      * Convert {@link BigInteger} to a {@link String}.
      * <p>
@@ -768,6 +768,19 @@ public final class _Private_Utils
     }
 
 
+    /**
+     * Creates a new, empty, mutable Ion 1.0 local symbol table that imports
+     * the given shared symbol tables.
+     *
+     * @param imports the shared symbol tables to import; may be empty.
+     */
+    public static SymbolTable newLocalSymtab(SymbolTable... imports)
+    {
+        return LocalSymbolTable.DEFAULT_LST_FACTORY.newLocalSymtab(systemSymtab(1),
+                                                                   imports);
+    }
+
+
     /**
      * Creates a mutable copy of this local symbol table. The cloned table
      * will be created in the context of the same {@link ValueFactory}.
@@ -0,0 +1,237 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl.bin;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Performs the output of finished {@link WriteBuffer}s on an {@link Executor}, so that the writer may continue
+ * encoding into fresh blocks while the I/O is in progress.
+ * <p>
+ * Tasks are written in the order they are submitted, and at most one task runs at a time regardless of the
+ * executor's parallelism. The number of bytes held by submitted tasks is bounded; {@link #submit(Task)} blocks the
+ * caller until enough of them have been written. The first failure is retained and reported by every subsequent
+ * call; the tasks that follow it are released without being written.
+ * <p>
+ * Waiting is done on a {@link ReentrantLock} rather than a monitor so that writers running on virtual threads do not
+ * pin their carrier threads while blocked on output.
+ */
+/*package*/ final class AsyncFlusher implements Closeable
+{
+    /** A unit of output. */
+    /*package*/ static abstract class Task
+    {
+        /** The number of bytes held by this task, which count against the in-flight budget until it is released. */
+        private final long size;
+
+        /*package*/ Task(final long size)
+        {
+            this.size = size;
+        }
+
+        /** Writes the data to the output. Invoked on the executor, at most once. */
+        /*package*/ abstract void write() throws IOException;
+
+        /** Releases the resources held by this task. Invoked exactly once, after any write. */
+        /*package*/ abstract void release();
+    }
+
+    private final Executor executor;
+    private final long maxInFlightBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    // signalled whenever a task completes or the flusher becomes idle
+    private final Condition progress = lock.newCondition();
+    // the following fields are guarded by lock
+    private final ArrayDeque<Task> queue;
+    private long inFlightBytes;
+    private boolean isDraining;
+    private Throwable failure;
+
+    /*package*/ AsyncFlusher(final Executor executor, final long maxInFlightBytes)
+    {
+        if (executor == null)
+        {
+            throw new NullPointerException("executor");
+        }
+        if (maxInFlightBytes < 1)
+        {
+            throw new IllegalArgumentException("In-flight budget must be positive: " + maxInFlightBytes);
+        }
+        this.executor = executor;
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.queue = new ArrayDeque<Task>();
+    }
+
+    /**
+     * Queues the given task for output, waiting while the in-flight budget is exhausted. A task larger than the
+     * budget is accepted once all previously submitted tasks have been written.
+     *
+     * @throws IOException if a previously submitted task failed.
+     */
+    /*package*/ void submit(final Task task) throws IOException
+    {
+        lock.lock();
+        try
+        {
+            while (failure == null && inFlightBytes > 0 && inFlightBytes + task.size > maxInFlightBytes)
+            {
+                awaitProgress();
+            }
+            if (failure != null)
+            {
+                task.release();
+                throw newFailureException();
+            }
+            queue.add(task);
+            inFlightBytes += task.size;
+            if (isDraining)
+            {
+                return;
+            }
+            isDraining = true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        try
+        {
+            executor.execute(this::drain);
+        }
+        catch (final RejectedExecutionException e)
+        {
+            // the executor is saturated or shut down; fall back to writing on the caller's thread
+            drain();
+        }
+    }
+
+    /**
+     * Waits until all submitted tasks have been written.
+     *
+     * @throws IOException if any task failed.
+     */
+    /*package*/ void awaitCompletion() throws IOException
+    {
+        lock.lock();
+        try
+        {
+            while (isDraining)
+            {
+                awaitProgress();
+            }
+            checkFailure();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reports the failure of any task written so far without waiting.
+     *
+     * @throws IOException if any task failed.
+     */
+    /*package*/ void checkFailure() throws IOException
+    {
+        lock.lock();
+        try
+        {
+            if (failure != null)
+            {
+                throw newFailureException();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /** Waits until all submitted tasks have been written. The executor is not shut down. */
+    public void close() throws IOException
+    {
+        awaitCompletion();
+    }
+
+    private void drain()
+    {
+        while (true)
+        {
+            final Task task;
+            final boolean hasFailed;
+            lock.lock();
+            try
+            {
+                task = queue.poll();
+                if (task == null)
+                {
+                    isDraining = false;
+                    progress.signalAll();
+                    return;
+                }
+                hasFailed = failure != null;
+            }
+            finally
+            {
+                lock.unlock();
+            }
+            Throwable taskFailure = null;
+            try
+            {
+                if (!hasFailed)
+                {
+                    task.write();
+                }
+            }
+            catch (final IOException | RuntimeException e)
+            {
+                taskFailure = e;
+            }
+            finally
+            {
+                task.release();
+            }
+            lock.lock();
+            try
+            {
+                if (taskFailure != null && failure == null)
+                {
+                    failure = taskFailure;
+                }
+                inFlightBytes -= task.size;
+                progress.signalAll();
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+    private IOException newFailureException()
+    {
+        return new IOException("Asynchronous write to the output stream failed", failure);
+    }
+
+    /** Waits for a task to be written. Must hold the lock. */
+    private void awaitProgress() throws InterruptedIOException
+    {
+        try
+        {
+            progress.await();
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for asynchronous output");
+        }
+    }
+}
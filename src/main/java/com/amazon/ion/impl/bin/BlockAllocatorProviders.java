@@ -15,6 +15,8 @@
 
 package com.amazon.ion.impl.bin;
 
+import com.amazon.ion.BufferBudget;
+
 /**
  * Utility implementations of {@link BlockAllocatorProvider}.
  */
@@ -58,4 +60,51 @@ package com.amazon.ion.impl.bin;
     public static BlockAllocatorProvider basicProvider() {
         return BASIC_PROVIDER;
     }
+
+    /**
+     * A {@link BlockAllocatorProvider} that vends blocks from the given provider and reserves their memory from the
+     * given budget until they are closed. Allocations are never refused, even if the budget is exhausted.
+     */
+    public static BlockAllocatorProvider budgetedProvider(final BlockAllocatorProvider provider,
+                                                          final BufferBudget budget)
+    {
+        return new BlockAllocatorProvider()
+        {
+            @Override
+            public BlockAllocator vendAllocator(final int blockSize)
+            {
+                final BlockAllocator allocator = provider.vendAllocator(blockSize);
+                return new BlockAllocator()
+                {
+                    @Override
+                    public Block allocateBlock()
+                    {
+                        final Block block = allocator.allocateBlock();
+                        budget.acquire(blockSize);
+                        return new Block(block.data)
+                        {
+                            @Override
+                            public void close()
+                            {
+                                budget.release(blockSize);
+                                block.close();
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int getBlockSize()
+                    {
+                        return blockSize;
+                    }
+
+                    @Override
+                    public void close()
+                    {
+                        allocator.close();
+                    }
+                };
+            }
+        };
+    }
 }
@@ -32,15 +32,22 @@ import static java.util.Collections.unmodifiableList;
 
 import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonException;
+import com.amazon.ion.IonMetricsListener;
 import com.amazon.ion.IonType;
+import com.amazon.ion.LobStreamWriter;
+import com.amazon.ion.ResettableWriter;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SymbolToken;
 import com.amazon.ion.Timestamp;
 import com.amazon.ion.UnknownSymbolException;
+import com.amazon.ion.impl._Private_IonFlightRecorder;
 import com.amazon.ion.impl._Private_LocalSymbolTable;
 import com.amazon.ion.impl.bin.IonRawBinaryWriter.StreamCloseMode;
 import com.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
+import com.amazon.ion.util.ParallelGzipOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -55,7 +62,7 @@ import java.util.List;
 import java.util.Map;
 /** Wraps {@link IonRawBinaryWriter} with symbol table management. */
 @SuppressWarnings("deprecation")
-/*package*/ final class IonManagedBinaryWriter extends AbstractIonWriter implements _Private_IonManagedWriter
+/*package*/ final class IonManagedBinaryWriter extends AbstractIonWriter implements _Private_IonManagedWriter, LobStreamWriter, ResettableWriter
 {
     private interface SymbolResolver
     {
@@ -690,6 +697,26 @@ import java.util.Map;
     private final boolean                       lstAppendEnabled;
     private boolean                             isUserLSTAppend;
 
+    // the symbol context seeded from the builder's initial symbol table, restored on reset
+    private final ImportedSymbolContext         initialImports;
+    private final Map<String, SymbolToken>      initialLocals;
+    private byte[]                              initialPreamble;
+
+    // the serialized symbol table written at the start of each stream that retains it, valid until the context changes
+    private byte[]                              retainedPreamble;
+    private ImportedSymbolContext               retainedPreambleImports;
+    private int                                 retainedPreambleLocalsSize;
+
+    // true when the symbol table was written as a preamble by reset, so new symbols must be appended to it
+    private boolean                             isPreambleAppendRequired;
+
+    // compresses the output of each stream when parallel gzip compression is enabled, otherwise null
+    private final ParallelGzipOutputStream.Builder gzipBuilder;
+    private ParallelGzipOutputStream            gzipOut;
+
+    // emits Flight Recorder events for this writer, or null if events cannot be recorded
+    private final _Private_IonFlightRecorder    flightRecorder = _Private_IonFlightRecorder.forNewStream();
+
     private boolean                             closed;
 
     /*package*/ IonManagedBinaryWriter(final _Private_IonManagedBinaryWriterBuilder builder,
@@ -697,10 +724,26 @@ import java.util.Map;
                                        throws IOException
     {
         super(builder.optimization);
+        final BlockAllocatorProvider provider = builder.bufferBudget == null
+            ? builder.provider
+            : BlockAllocatorProviders.budgetedProvider(builder.provider, builder.bufferBudget);
+        if (builder.gzipExecutor != null)
+        {
+            this.gzipBuilder = new ParallelGzipOutputStream.Builder()
+                .withExecutor(builder.gzipExecutor)
+                .withMemberSize(builder.gzipMemberSize);
+            this.gzipOut = gzipBuilder.build(out);
+        }
+        else
+        {
+            this.gzipBuilder = null;
+            this.gzipOut = null;
+        }
+        final OutputStream output = gzipOut == null ? out : gzipOut;
         this.symbols = new IonRawBinaryWriter(
-            builder.provider,
+            provider,
             builder.symbolsBlockSize,
-            out,
+            output,
             WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
             StreamCloseMode.NO_CLOSE,
             StreamFlushMode.NO_FLUSH,
@@ -710,17 +753,30 @@ import java.util.Map;
             this::flush
         );
         this.user = new IonRawBinaryWriter(
-            builder.provider,
+            provider,
             builder.userBlockSize,
-            out,
+            output,
             WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
             StreamCloseMode.CLOSE,
             StreamFlushMode.FLUSH,
             builder.preallocationMode,
             builder.isFloatBinary32Enabled,
-            builder.isAutoFlushEnabled,
+            // members of compressed output end when the writer flushes at top-level value boundaries
+            builder.isAutoFlushEnabled || gzipBuilder != null,
             this::flush
         );
+        this.user.setContainerSpillThreshold(builder.containerSpillThreshold);
+        if (builder.metricsListener != IonMetricsListener.NO_OP)
+        {
+            // only the user values are measured, not the local symbol tables written ahead of them
+            this.user.setMetricsListener(builder.metricsListener);
+        }
+        if (builder.asyncFlushExecutor != null)
+        {
+            final AsyncFlusher flusher = new AsyncFlusher(builder.asyncFlushExecutor, builder.asyncFlushMaxInFlightBytes);
+            this.symbols.setAsyncFlusher(flusher);
+            this.user.setAsyncFlusher(flusher);
+        }
 
         this.catalog = builder.catalog;
         this.bootstrapImports = builder.imports;
@@ -737,7 +793,7 @@ import java.util.Map;
         this.userImports = new ArrayList<SymbolTable>();
         this.userSymbols = new ArrayList<String>();
         this.userCurrentImport = new ImportDescriptor();
-        this.lstAppendEnabled = builder.isLocalSymbolTableAppendEnabled;
+        this.lstAppendEnabled = builder.isLocalSymbolTableAppendEnabled || gzipBuilder != null;
         this.isUserLSTAppend = false;
 
         // TODO decide if initial LST should survive finish() and seed the next LST
@@ -760,11 +816,17 @@ import java.util.Map;
 
             // TODO determine if we really need to force emitting LST if there are no imports/locals
             startLocalSymbolTableIfNeeded(/*writeIVM*/ true);
+
+            this.initialImports = lstImports;
+            this.initialLocals = new LinkedHashMap<String, SymbolToken>(locals);
         }
         else
         {
             this.imports = builder.imports;
+            this.initialImports = null;
+            this.initialLocals = null;
         }
+        this.isPreambleAppendRequired = false;
     }
 
     public _Private_IonRawWriter getRawWriter()
@@ -799,7 +861,7 @@ import java.util.Map;
 
     private void startLocalSymbolTableIfNeeded(final boolean writeIVM) throws IOException
     {
-        boolean isAppend = symbolState == SymbolState.LOCAL_SYMBOLS_FLUSHED && lstAppendEnabled;
+        boolean isAppend = symbolState == SymbolState.LOCAL_SYMBOLS_FLUSHED && isLocalSymbolTableAppendAllowed();
         if (symbolState == SymbolState.SYSTEM_SYMBOLS || isAppend)
         {
             if (writeIVM && !isAppend)
@@ -814,24 +876,9 @@ import java.util.Map;
                     symbols.setFieldNameSymbol(systemSymbol(IMPORTS_SID));
                     symbols.writeSymbolToken(systemSymbol(ION_SYMBOL_TABLE_SID));
                 }
-                else if (imports.parents.size() > 0)
+                else
                 {
-                    symbols.setFieldNameSymbol(systemSymbol(IMPORTS_SID));
-                    symbols.stepIn(LIST);
-                    for (final SymbolTable st : imports.parents)
-                    {
-                        symbols.stepIn(STRUCT);
-                        {
-                            symbols.setFieldNameSymbol(systemSymbol(NAME_SID));
-                            symbols.writeString(st.getName());
-                            symbols.setFieldNameSymbol(systemSymbol(VERSION_SID));
-                            symbols.writeInt(st.getVersion());
-                            symbols.setFieldNameSymbol(systemSymbol(MAX_ID_SID));
-                            symbols.writeInt(st.getMaxId());
-                        }
-                        symbols.stepOut();
-                    }
-                    symbols.stepOut();
+                    writeImports(imports);
                 }
             }
             // XXX no step out
@@ -839,6 +886,34 @@ import java.util.Map;
         }
     }
 
+    private void writeImports(final ImportedSymbolContext context) throws IOException
+    {
+        if (context.parents.size() > 0)
+        {
+            symbols.setFieldNameSymbol(systemSymbol(IMPORTS_SID));
+            symbols.stepIn(LIST);
+            for (final SymbolTable st : context.parents)
+            {
+                symbols.stepIn(STRUCT);
+                {
+                    symbols.setFieldNameSymbol(systemSymbol(NAME_SID));
+                    symbols.writeString(st.getName());
+                    symbols.setFieldNameSymbol(systemSymbol(VERSION_SID));
+                    symbols.writeInt(st.getVersion());
+                    symbols.setFieldNameSymbol(systemSymbol(MAX_ID_SID));
+                    symbols.writeInt(st.getMaxId());
+                }
+                symbols.stepOut();
+            }
+            symbols.stepOut();
+        }
+    }
+
+    private boolean isLocalSymbolTableAppendAllowed()
+    {
+        return lstAppendEnabled || isPreambleAppendRequired;
+    }
+
     private void startLocalSymbolTableSymbolListIfNeeded() throws IOException
     {
         if (symbolState == SymbolState.LOCAL_SYMBOLS_WITH_IMPORTS_ONLY)
@@ -1118,6 +1193,43 @@ import java.util.Map;
         user.writeBlob(data, offset, length);
     }
 
+    public void writeClob(final InputStream content, final long length) throws IOException
+    {
+        writeLob(IonType.CLOB, content, length);
+    }
+
+    public void writeBlob(final InputStream content, final long length) throws IOException
+    {
+        writeLob(IonType.BLOB, content, length);
+    }
+
+    private void writeLob(final IonType type, final InputStream content, final long length) throws IOException
+    {
+        if (!user.isLobContentCopiedToOutput(length))
+        {
+            if (type == IonType.BLOB)
+            {
+                user.writeBlob(content, length);
+            }
+            else
+            {
+                user.writeClob(content, length);
+            }
+            return;
+        }
+        user.writeLobHeader(type, length);
+        // The symbol table and the values that precede the lob's content must reach the output first.
+        if (localsLocked || isLocalSymbolTableAppendAllowed())
+        {
+            unsafeFlush();
+        }
+        else
+        {
+            finish();
+        }
+        user.writeLobContentToOutput(content, length);
+    }
+
     @Override
     public void writeString(byte[] data, int offset, int length) throws IOException
     {
@@ -1150,8 +1262,22 @@ import java.util.Map;
             symbolState = SymbolState.LOCAL_SYMBOLS_FLUSHED;
         }
         // push the data out
+        finishRawWriters();
+    }
+
+    /** Writes the buffered symbol tables and user values to the output. */
+    private void finishRawWriters() throws IOException
+    {
+        final boolean isFlushRecorded = flightRecorder != null && flightRecorder.beginFlush();
+        final long pendingBytes = isFlushRecorded
+            ? symbols.getPendingByteCount() + user.getPendingByteCount()
+            : 0;
         symbols.finish();
         user.finish();
+        if (isFlushRecorded)
+        {
+            flightRecorder.endFlush(pendingBytes);
+        }
     }
 
     public void finish() throws IOException
@@ -1167,6 +1293,128 @@ import java.util.Map;
         localsLocked = false;
         symbolState = SymbolState.SYSTEM_SYMBOLS;
         imports = bootstrapImports;
+        isPreambleAppendRequired = false;
+        retainedPreamble = null;
+    }
+
+    public void reset(final OutputStream out) throws IOException
+    {
+        reset(out, false);
+    }
+
+    public void reset(final OutputStream out, final boolean retainSymbolTable) throws IOException
+    {
+        if (out == null)
+        {
+            throw new NullPointerException();
+        }
+        if (closed)
+        {
+            throw new IllegalStateException("Cannot reset a closed writer.");
+        }
+        if (getDepth() != 0)
+        {
+            throw new IllegalStateException("IonWriter.reset() can only be called at top-level.");
+        }
+        if (gzipBuilder == null)
+        {
+            resetOutput(out, retainSymbolTable);
+            return;
+        }
+        // the data of the previous stream is complete once the raw writers have been directed to the new one
+        final ParallelGzipOutputStream previousGzipOut = gzipOut;
+        gzipOut = gzipBuilder.build(out);
+        resetOutput(gzipOut, retainSymbolTable);
+        previousGzipOut.finish();
+    }
+
+    private void resetOutput(final OutputStream out, final boolean retainSymbolTable) throws IOException
+    {
+        // Unlike finish(), this closes a symbol table that was started without any values following it, since the
+        // raw writer cannot finish within its struct.
+        if (symbolState != SymbolState.SYSTEM_SYMBOLS || user.hasWrittenValuesSinceFinished())
+        {
+            symbolState.closeTable(symbols);
+            symbolState = SymbolState.LOCAL_SYMBOLS_FLUSHED;
+        }
+        finishRawWriters();
+
+        if (retainSymbolTable && (!locals.isEmpty() || imports != bootstrapImports))
+        {
+            if (retainedPreamble == null
+                || retainedPreambleImports != imports
+                || retainedPreambleLocalsSize != locals.size())
+            {
+                retainedPreamble = serializeSymbolTable(imports, locals.keySet(), out);
+                retainedPreambleImports = imports;
+                retainedPreambleLocalsSize = locals.size();
+            }
+            startStream(out, retainedPreamble);
+            return;
+        }
+
+        finish();
+        if (initialLocals != null)
+        {
+            imports = initialImports;
+            locals.putAll(initialLocals);
+            if (initialPreamble == null)
+            {
+                initialPreamble = serializeSymbolTable(initialImports, initialLocals.keySet(), out);
+            }
+            startStream(out, initialPreamble);
+            return;
+        }
+        symbols.reset(out);
+        user.reset(out);
+    }
+
+    /**
+     * Writes an Ion version marker followed by a local symbol table with the given imports and symbols, using the
+     * symbols writer, which must be finished. Returns the encoded bytes, leaving the symbols writer directed to the
+     * given stream.
+     */
+    private byte[] serializeSymbolTable(final ImportedSymbolContext context,
+                                        final Collection<String> symbolTexts,
+                                        final OutputStream out)
+                                        throws IOException
+    {
+        final ByteArrayOutputStream preamble = new ByteArrayOutputStream();
+        symbols.reset(preamble);
+        symbols.writeIonVersionMarker();
+        if (context.parents.size() > 0 || !symbolTexts.isEmpty())
+        {
+            symbols.addTypeAnnotationSymbol(systemSymbol(ION_SYMBOL_TABLE_SID));
+            symbols.stepIn(STRUCT);
+            {
+                writeImports(context);
+                if (!symbolTexts.isEmpty())
+                {
+                    symbols.setFieldNameSymbol(systemSymbol(SYMBOLS_SID));
+                    symbols.stepIn(LIST);
+                    for (final String text : symbolTexts)
+                    {
+                        symbols.writeString(text);
+                    }
+                    symbols.stepOut();
+                }
+            }
+            symbols.stepOut();
+        }
+        symbols.finish();
+        // waits for the serialized bytes if the symbols writer flushes asynchronously
+        symbols.reset(out);
+        return preamble.toByteArray();
+    }
+
+    /** Directs both raw writers to the given stream and writes the already-serialized symbol table to it. */
+    private void startStream(final OutputStream out, final byte[] preamble) throws IOException
+    {
+        symbols.reset(out);
+        user.reset(out);
+        out.write(preamble);
+        symbolState = SymbolState.LOCAL_SYMBOLS_FLUSHED;
+        isPreambleAppendRequired = true;
     }
 
     public void close() throws IOException
@@ -1197,4 +1445,13 @@ import java.util.Map;
         }
     }
 
+    @Override
+    public <T> T asFacet(Class<T> facetType)
+    {
+        if (facetType == LobStreamWriter.class || facetType == ResettableWriter.class)
+        {
+            return facetType.cast(this);
+        }
+        return super.asFacet(facetType);
+    }
 }
@@ -28,6 +28,7 @@ import static java.lang.Float.floatToRawIntBits;
 
 import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonException;
+import com.amazon.ion.IonMetricsListener;
 import com.amazon.ion.IonType;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.SymbolTable;
@@ -36,11 +37,19 @@ import com.amazon.ion.Timestamp;
 import com.amazon.ion.impl.bin.utf8.Utf8StringEncoder;
 import com.amazon.ion.impl.bin.utf8.Utf8StringEncoderPool;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Low-level binary {@link IonWriter} that understands encoding concerns but doesn't operate with any sense of symbol table management.
@@ -237,8 +246,21 @@ import java.util.ArrayList;
         public long length;
         /**
          * The index of the patch point if present, <tt>-1</tt> otherwise.
+         * {@link #SPILLED_PATCH_INDEX} if the container's header has been spilled.
          */
         public int patchIndex;
+        /**
+         * The position in the spill file of the container's padded length, or <tt>-1</tt> if the container's
+         * header is still in the buffer.
+         */
+        public long spillPosition;
+        /** The type of the container, if it is a list, s-expression, or struct. */
+        public IonType valueType;
+        /**
+         * The length of the container's encoding, including its header. Only calculated when the container is
+         * popped while a metrics listener is attached.
+         */
+        public long encodedLength;
 
         public ContainerInfo()
         {
@@ -246,6 +268,7 @@ import java.util.ArrayList;
             position = -1;
             length = -1;
             patchIndex = -1;
+            spillPosition = -1;
         }
 
         /**
@@ -294,6 +317,7 @@ import java.util.ArrayList;
             this.position = offset;
             this.length = 0;
             this.patchIndex = -1;
+            this.spillPosition = -1;
 
             return this;
         }
@@ -348,13 +372,19 @@ import java.util.ArrayList;
 
     private static final int SID_UNASSIGNED = -1;
 
+    /** Marks a container whose header has been spilled, so that it never needs a patch point. */
+    private static final int SPILLED_PATCH_INDEX = -2;
+    /** The number of bytes reserved for the length of each container whose header is spilled. */
+    private static final int SPILLED_LENGTH_WIDTH = 8;
+    private static final byte[] SPILLED_LENGTH_PLACEHOLDER = new byte[SPILLED_LENGTH_WIDTH];
+
     private final BlockAllocator                allocator;
-    private final OutputStream                  out;
+    private OutputStream                        out;
     private final StreamCloseMode               streamCloseMode;
     private final StreamFlushMode               streamFlushMode;
     private final PreallocationMode             preallocationMode;
     private final boolean                       isFloatBinary32Enabled;
-    private final WriteBuffer                   buffer;
+    private WriteBuffer                         buffer;
     private final ArrayList<PatchPoint>         patchPoints;
     /** The length of the patch point queue. Some elements in the queue may be null or not yet have the correct data. */
     private int                                 patchPointsLength;
@@ -375,6 +405,23 @@ import java.util.ArrayList;
     private boolean                     hasTopLevelSymbolTableAnnotation;
 
     private boolean                     closed;
+
+    /** The buffer size within a container beyond which finished values are spilled, or 0 to never spill. */
+    private int                         spillThreshold;
+    /** Whether the current top-level container is a local symbol table, which the managed writer may truncate. */
+    private boolean                     isSpillSuppressed;
+    private FileChannel                 spillChannel;
+    private OutputStream                spillOut;
+    /** Performs the output of finished buffers on another thread, or null if output is synchronous. */
+    private AsyncFlusher                asyncFlusher;
+
+    /** Notified of the values written and of the work done to write them, or null. */
+    private IonMetricsListener          metricsListener;
+    /** The position in the buffer of the current value's type descriptor, when a metrics listener is attached. */
+    private long                        metricsValuePosition;
+    /** The number of length bytes that patch points add to the current value, when a metrics listener is attached. */
+    private int                         metricsValuePatchLength;
+
     boolean autoFlushEnabled;
     boolean flushAfterCurrentValue;
     ThrowingRunnable autoFlush;
@@ -536,6 +583,28 @@ import java.util.ArrayList;
         return hasWrittenValuesSinceFinished;
     }
 
+    /**
+     * Returns the number of bytes that {@link #finish()} will write to the output, including the container lengths
+     * inserted at patch points and any spilled containers.
+     */
+    /*package*/ long getPendingByteCount() throws IOException
+    {
+        long count = buffer.position();
+        for (int i = 0; i < patchPointsLength; i++)
+        {
+            final PatchPoint patch = patchPoints.get(i);
+            if (patch != null && patch.length >= 0)
+            {
+                count += WriteBuffer.varUIntLength(patch.length) - patch.oldLength;
+            }
+        }
+        if (spillChannel != null)
+        {
+            count += spillChannel.position();
+        }
+        return count;
+    }
+
     /** Returns true if a value has been written since the writer was constructed. */
     /*package*/ boolean hasWrittenValuesSinceConstructed()
     {
@@ -574,6 +643,41 @@ import java.util.ArrayList;
         return depth;
     }
 
+    /**
+     * Sets the number of buffered bytes beyond which the finished values within an open container are moved to a
+     * temporary file, so that the size of a top-level container is not limited by the memory available to the
+     * buffer. The spilled data is copied to the output when the writer is finished.
+     *
+     * @param threshold the threshold in bytes, or 0 to keep all data in memory.
+     */
+    /*package*/ void setContainerSpillThreshold(final int threshold)
+    {
+        if (threshold < 0)
+        {
+            throw new IllegalArgumentException("Spill threshold cannot be negative: " + threshold);
+        }
+        spillThreshold = threshold;
+    }
+
+    /**
+     * Hands the buffer to the given flusher on {@link #finish()} instead of writing it to the output directly.
+     * All writers that share the output stream must share the flusher so that their data is written in order.
+     */
+    /*package*/ void setAsyncFlusher(final AsyncFlusher flusher)
+    {
+        asyncFlusher = flusher;
+    }
+
+    /**
+     * Notifies the given listener of the user values written, the blocks allocated, the patch points required, and
+     * the flushes performed. A null listener disables reporting.
+     */
+    /*package*/ void setMetricsListener(final IonMetricsListener listener)
+    {
+        metricsListener = listener;
+        buffer.setMetricsListener(listener);
+    }
+
     // Low-Level Writing
 
     private void updateLength(long length)
@@ -639,9 +743,14 @@ import java.util.ArrayList;
         final int patchLength = WriteBuffer.varUIntLength(value);
         container.appendPatch(position, oldLength, value);
         updateLength(patchLength - oldLength);
+        if (metricsListener != null)
+        {
+            metricsValuePatchLength += patchLength - oldLength;
+            metricsListener.onPatchPoint();
+        }
     }
 
-    private ContainerInfo popContainer()
+    private ContainerInfo popContainer() throws IOException
     {
         final ContainerInfo currentContainer = topContainer;
         containerIndex--;
@@ -653,7 +762,16 @@ import java.util.ArrayList;
 
         // only patch for real containers and annotations -- we use VALUE for tracking only
         long length = currentContainer.length;
-        if (currentContainer.type != ContainerType.VALUE)
+        if (metricsListener != null)
+        {
+            currentContainer.encodedLength = encodedContainerLength(currentContainer);
+        }
+        if (currentContainer.spillPosition > -1)
+        {
+            // The header was moved to the spill file with room for any length; patch it there.
+            writeSpilledLength(currentContainer.spillPosition, length);
+        }
+        else if (currentContainer.type != ContainerType.VALUE)
         {
             // patch in the length
             final long positionOfFirstLengthByte = currentContainer.position;
@@ -701,6 +819,25 @@ import java.util.ArrayList;
         return currentContainer;
     }
 
+    /** Returns the length of the given container's encoding, including the header that it will have once popped. */
+    private long encodedContainerLength(final ContainerInfo container)
+    {
+        final long length = container.length;
+        if (container.spillPosition > -1)
+        {
+            return 1 + SPILLED_LENGTH_WIDTH + length;
+        }
+        if (length <= 0xD)
+        {
+            return 1 + length;
+        }
+        if (length <= preallocationMode.contentMaxLength)
+        {
+            return preallocationMode.typedLength + length;
+        }
+        return 1 + WriteBuffer.varUIntLength(length) + length;
+    }
+
     private void writeVarUInt(final long value)
     {
         if (value < 0)
@@ -773,6 +910,21 @@ import java.util.ArrayList;
             currentAnnotationSids.clear();
             hasTopLevelSymbolTableAnnotation = false;
         }
+        if (metricsListener != null)
+        {
+            metricsValuePosition = buffer.position();
+            metricsValuePatchLength = 0;
+        }
+    }
+
+    /** Reports the scalar just written to the metrics listener, if any, and closes out annotations. */
+    private void finishValue(final IonType type) throws IOException
+    {
+        if (metricsListener != null)
+        {
+            metricsListener.onValueWritten(type, buffer.position() - metricsValuePosition + metricsValuePatchLength);
+        }
+        finishValue();
     }
 
     /** Closes out annotations. */
@@ -789,6 +941,150 @@ import java.util.ArrayList;
             autoFlush.run();
             this.flushAfterCurrentValue = false;
         }
+        if (spillThreshold > 0 && containerIndex > -1 && !isSpillSuppressed && buffer.position() >= spillThreshold)
+        {
+            spill();
+        }
+        if (asyncFlusher != null)
+        {
+            asyncFlusher.checkFailure();
+        }
+    }
+
+    // Spilling
+
+    /**
+     * Moves the buffered data to the spill file, which is created on first use.
+     * <p>
+     * The patch points of closed containers are applied as in {@link #finish()}. The length of each open container
+     * is not yet known, so its preallocated length bytes are replaced with {@link #SPILLED_LENGTH_WIDTH} bytes that
+     * are patched in place in the file when the container is closed. Because no open container then needs a patch
+     * point, only the pending lengths of the open containers remain in memory.
+     */
+    private void spill() throws IOException
+    {
+        if (spillChannel == null)
+        {
+            spillChannel = FileChannel.open(
+                Files.createTempFile("ion-spill", ".10n"),
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE
+            );
+            spillOut = new BufferedOutputStream(Channels.newOutputStream(spillChannel), allocator.getBlockSize());
+        }
+        final int numberOfLengthBytes = preallocationMode.numberOfLengthBytes();
+        long bufferPosition = 0;
+        int patchIndex = 0;
+        for (int i = 0; i <= containerIndex; i++)
+        {
+            final ContainerInfo container = containers.get(i);
+            if (container.spillPosition > -1)
+            {
+                continue;
+            }
+            // write the patched data that precedes this container's header
+            while (patchIndex < patchPointsLength)
+            {
+                final PatchPoint patch = patchPoints.get(patchIndex);
+                if (patch != null && patch.length > -1)
+                {
+                    if (patch.oldPosition >= container.position)
+                    {
+                        break;
+                    }
+                    buffer.writeTo(spillOut, bufferPosition, patch.oldPosition - bufferPosition);
+                    WriteBuffer.writeVarUIntTo(spillOut, patch.length);
+                    bufferPosition = patch.oldPosition + patch.oldLength;
+                }
+                patchIndex++;
+            }
+            buffer.writeTo(spillOut, bufferPosition, container.position - bufferPosition);
+            bufferPosition = container.position + numberOfLengthBytes;
+
+            spillOut.flush();
+            container.spillPosition = spillChannel.position();
+            container.patchIndex = SPILLED_PATCH_INDEX;
+            spillOut.write(SPILLED_LENGTH_PLACEHOLDER);
+            // the parent must account for the wider header; its own ancestors receive its length when it is closed
+            if (i > 0)
+            {
+                containers.get(i - 1).length += SPILLED_LENGTH_WIDTH - numberOfLengthBytes;
+            }
+        }
+        for (; patchIndex < patchPointsLength; patchIndex++)
+        {
+            final PatchPoint patch = patchPoints.get(patchIndex);
+            if (patch == null || patch.length < 0)
+            {
+                continue;
+            }
+            buffer.writeTo(spillOut, bufferPosition, patch.oldPosition - bufferPosition);
+            WriteBuffer.writeVarUIntTo(spillOut, patch.length);
+            bufferPosition = patch.oldPosition + patch.oldLength;
+        }
+        buffer.writeTo(spillOut, bufferPosition, buffer.position() - bufferPosition);
+        spillOut.flush();
+        patchPointsLength = 0;
+        buffer.reset();
+    }
+
+    /** Writes a VarUInt padded to {@link #SPILLED_LENGTH_WIDTH} bytes at the given position in the spill file. */
+    private void writeSpilledLength(final long position, final long length) throws IOException
+    {
+        if (length >>> (7 * SPILLED_LENGTH_WIDTH) != 0)
+        {
+            throw new IonException("Container too large to spill: " + length);
+        }
+        final byte[] bytes = new byte[SPILLED_LENGTH_WIDTH];
+        long remaining = length;
+        bytes[SPILLED_LENGTH_WIDTH - 1] = (byte) (0x80 | (remaining & 0x7F));
+        for (int i = SPILLED_LENGTH_WIDTH - 2; i >= 0; i--)
+        {
+            remaining >>>= 7;
+            bytes[i] = (byte) (remaining & 0x7F);
+        }
+        final ByteBuffer source = ByteBuffer.wrap(bytes);
+        long target = position;
+        while (source.hasRemaining())
+        {
+            target += spillChannel.write(source, target);
+        }
+    }
+
+    /**
+     * Copies the spilled data, if any, to the output and empties the spill file.
+     *
+     * @return whether there was any spilled data.
+     */
+    private boolean writeSpilledDataTo(final OutputStream out) throws IOException
+    {
+        if (spillChannel == null || spillChannel.position() == 0)
+        {
+            return false;
+        }
+        if (asyncFlusher != null)
+        {
+            // the spill file is reused, so it is copied synchronously after the data that precedes it
+            asyncFlusher.awaitCompletion();
+        }
+        final long size = spillChannel.position();
+        final ByteBuffer chunk = ByteBuffer.allocate(allocator.getBlockSize());
+        long position = 0;
+        while (position < size)
+        {
+            chunk.clear();
+            final int amount = spillChannel.read(chunk, position);
+            if (amount < 0)
+            {
+                throw new IonException("Spill file ended unexpectedly.");
+            }
+            out.write(chunk.array(), 0, amount);
+            position += amount;
+        }
+        spillChannel.truncate(0);
+        spillChannel.position(0);
+        return true;
     }
 
     // Container Manipulation
@@ -799,9 +1095,14 @@ import java.util.ArrayList;
         {
             throw new IonException("Cannot step into " + containerType);
         }
+        if (depth == 0)
+        {
+            isSpillSuppressed = hasTopLevelSymbolTableAnnotation;
+        }
         prepareValue();
         updateLength(preallocationMode.typedLength);
         pushContainer(containerType == STRUCT ? ContainerType.STRUCT : ContainerType.SEQUENCE);
+        topContainer.valueType = containerType;
         depth++;
         buffer.writeBytes(preallocationMode.containerTypedPreallocatedBytes[containerType.ordinal()]);
     }
@@ -821,8 +1122,12 @@ import java.util.ArrayList;
             throw new IonException("Cannot step out when not in container");
         }
         // close out the container
-        popContainer();
+        final ContainerInfo container = popContainer();
         depth--;
+        if (metricsListener != null)
+        {
+            metricsListener.onValueWritten(container.valueType, container.encodedLength);
+        }
         // close out the annotations if any
         finishValue();
     }
@@ -839,7 +1144,7 @@ import java.util.ArrayList;
         prepareValue();
         updateLength(1);
         buffer.writeByte(NULL_NULL);
-        finishValue();
+        finishValue(NULL);
     }
 
     public void writeNull(final IonType type) throws IOException
@@ -857,7 +1162,7 @@ import java.util.ArrayList;
         prepareValue();
         updateLength(1);
         buffer.writeByte(data);
-        finishValue();
+        finishValue(type == null ? NULL : type);
     }
 
     public void writeBool(final boolean value) throws IOException
@@ -872,7 +1177,7 @@ import java.util.ArrayList;
         {
             buffer.writeByte(BOOL_FALSE);
         }
-        finishValue();
+        finishValue(BOOL);
     }
 
     /**
@@ -967,7 +1272,7 @@ import java.util.ArrayList;
                 writeTypedUInt(type, value);
             }
         }
-        finishValue();
+        finishValue(INT);
     }
 
     /** Write a raw byte array as some type. Note that this does not do {@link #prepareValue()}. */
@@ -1016,7 +1321,7 @@ import java.util.ArrayList;
         final byte[] magnitude = value.toByteArray();
         writeTypedBytes(type, magnitude, 0, magnitude.length);
 
-        finishValue();
+        finishValue(INT);
     }
 
     public void writeFloat(final double value) throws IOException
@@ -1033,7 +1338,7 @@ import java.util.ArrayList;
             buffer.writeUInt64(doubleToRawLongBits(value));
         }
 
-        finishValue();
+        finishValue(FLOAT);
     }
 
     /** Encodes a decimal, updating the current container length context (which is probably a Decimal/Timestamp). */
@@ -1173,7 +1478,7 @@ import java.util.ArrayList;
             patchSingleByteTypedOptimisticValue(DECIMAL_TYPE, info);
         }
 
-        finishValue();
+        finishValue(DECIMAL);
     }
 
     public void writeTimestamp(final Timestamp value) throws IOException
@@ -1244,7 +1549,7 @@ import java.util.ArrayList;
         final ContainerInfo info = popContainer();
         patchSingleByteTypedOptimisticValue(TIMESTAMP_TYPE, info);
 
-        finishValue();
+        finishValue(TIMESTAMP);
     }
 
     public void writeSymbol(String content) throws IOException
@@ -1281,7 +1586,7 @@ import java.util.ArrayList;
         checkSid(sid);
         prepareValue();
         writeTypedUInt(SYMBOL_TYPE, sid);
-        finishValue();
+        finishValue(SYMBOL);
     }
 
     public void writeString(final String value) throws IOException
@@ -1313,7 +1618,7 @@ import java.util.ArrayList;
         long bytesWritten = buffer.position() - previousPosition;
         updateLength(bytesWritten);
 
-        finishValue();
+        finishValue(STRING);
     }
 
     public void writeClob(byte[] data) throws IOException
@@ -1335,7 +1640,7 @@ import java.util.ArrayList;
         }
         prepareValue();
         writeTypedBytes(CLOB_TYPE, data, offset, length);
-        finishValue();
+        finishValue(CLOB);
     }
 
     public void writeBlob(byte[] data) throws IOException
@@ -1357,7 +1662,129 @@ import java.util.ArrayList;
         }
         prepareValue();
         writeTypedBytes(BLOB_TYPE, data, offset, length);
-        finishValue();
+        finishValue(BLOB);
+    }
+
+    /** Writes a clob whose content is the next {@code length} bytes of the given stream. */
+    public void writeClob(final InputStream content, final long length) throws IOException
+    {
+        writeLob(CLOB_TYPE, content, length);
+    }
+
+    /** Writes a blob whose content is the next {@code length} bytes of the given stream. */
+    public void writeBlob(final InputStream content, final long length) throws IOException
+    {
+        writeLob(BLOB_TYPE, content, length);
+    }
+
+    private void writeLob(final int type, final InputStream content, final long length) throws IOException
+    {
+        requireValidLobLength(length);
+        prepareValue();
+        writeLobTypeAndLength(type, length);
+        checkLobLength(buffer.writeBytes(content, length), length);
+        finishValue(type == BLOB_TYPE ? BLOB : CLOB);
+    }
+
+    /** Writes the type descriptor and length of a lob whose content will follow. Note that this does not do {@link #prepareValue()}. */
+    private void writeLobTypeAndLength(final int type, final long length)
+    {
+        long totalLength = 1 + length;
+        if (length < 14)
+        {
+            buffer.writeUInt8(type | (int) length);
+        }
+        else
+        {
+            buffer.writeUInt8(type | 0xE);
+            totalLength += buffer.writeVarUInt(length);
+        }
+        updateLength(totalLength);
+    }
+
+    private static void requireValidLobLength(final long length)
+    {
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("LOB length must not be negative: " + length);
+        }
+    }
+
+    private static void checkLobLength(final long actualLength, final long declaredLength)
+    {
+        if (actualLength != declaredLength)
+        {
+            throw new IonException(
+                "LOB content ended after " + actualLength + " bytes, but its declared length is " + declaredLength + " bytes."
+            );
+        }
+    }
+
+    /**
+     * Returns true if a top-level lob of the given length is large enough that its content should be copied directly
+     * to the output rather than buffered. Smaller lobs fit within a block and are not worth a flush.
+     */
+    /*package*/ boolean isLobContentCopiedToOutput(final long length)
+    {
+        return depth == 0 && length >= allocator.getBlockSize();
+    }
+
+    /**
+     * Writes the header of a top-level lob whose content will be written separately by
+     * {@link #writeLobContentToOutput(InputStream, long)} after the buffered data is flushed. Because the length of
+     * the content is known, any annotation wrapper around the lob can be closed before the content is written.
+     * This requires the content to be longer than can be expressed in an annotation wrapper's type descriptor; see
+     * {@link #isLobContentCopiedToOutput(long)}.
+     */
+    /*package*/ void writeLobHeader(final IonType type, final long length) throws IOException
+    {
+        requireValidLobLength(length);
+        prepareValue();
+        writeLobTypeAndLength(type == IonType.BLOB ? BLOB_TYPE : CLOB_TYPE, length);
+        if (metricsListener != null)
+        {
+            // The content is not buffered, but it is part of the value.
+            metricsListener.onValueWritten(type, buffer.position() - metricsValuePosition + length);
+        }
+        if (containerIndex > -1 && topContainer.type == ContainerType.ANNOTATION)
+        {
+            popContainer();
+        }
+        hasWrittenValuesSinceFinished = true;
+        hasWrittenValuesSinceConstructed = true;
+    }
+
+    /**
+     * Copies the content of the lob whose header was written by {@link #writeLobHeader(IonType, long)} directly to
+     * the output. The header must have been flushed by {@link #finish()} first.
+     */
+    /*package*/ void writeLobContentToOutput(final InputStream content, final long length) throws IOException
+    {
+        if (buffer.position() != 0)
+        {
+            throw new IllegalStateException("The LOB header must be flushed before its content is written.");
+        }
+        if (asyncFlusher != null)
+        {
+            asyncFlusher.awaitCompletion();
+        }
+        final byte[] chunk = new byte[allocator.getBlockSize()];
+        long remainingLength = length;
+        while (remainingLength > 0)
+        {
+            final int amount = content.read(chunk, 0, (int) Math.min(remainingLength, chunk.length));
+            if (amount < 0)
+            {
+                break;
+            }
+            out.write(chunk, 0, amount);
+            remainingLength -= amount;
+        }
+        checkLobLength(length - remainingLength, length);
+        if (streamFlushMode == StreamFlushMode.FLUSH)
+        {
+            out.flush();
+        }
     }
 
     @Override
@@ -1370,7 +1797,7 @@ import java.util.ArrayList;
         }
         prepareValue();
         writeTypedBytes(STRING_TYPE, data, offset, length);
-        finishValue();
+        finishValue(STRING);
     }
 
     /**
@@ -1420,6 +1847,68 @@ import java.util.ArrayList;
         {
             throw new IllegalStateException("Cannot finish within container: " + containers);
         }
+        final boolean hasSpilledData = writeSpilledDataTo(out);
+        if (asyncFlusher != null && !hasSpilledData)
+        {
+            submitBuffer();
+        }
+        else
+        {
+            final long startNanos = metricsListener == null ? 0 : System.nanoTime();
+            final long bytesWritten = writeBufferTo(out, buffer, patchPoints, patchPointsLength);
+            buffer.reset();
+            if (streamFlushMode == StreamFlushMode.FLUSH)
+            {
+                out.flush();
+            }
+            if (metricsListener != null && bytesWritten > 0)
+            {
+                metricsListener.onFlush(bytesWritten, System.nanoTime() - startNanos);
+            }
+        }
+        patchPointsLength = 0;
+
+        hasWrittenValuesSinceFinished = false;
+    }
+
+    /**
+     * Directs all subsequent output to the given stream, retaining the buffer, patch point, and container structures
+     * allocated so far. Must be called at top-level after {@link #finish()}; the previous stream is not closed, but
+     * any output still pending for it is written before this method returns.
+     */
+    /*package*/ void reset(final OutputStream out) throws IOException
+    {
+        if (out == null) { throw new NullPointerException(); }
+        if (closed)
+        {
+            throw new IllegalStateException("Cannot reset a closed writer");
+        }
+        if (containerIndex > -1 || depth > 0 || buffer.position() > 0)
+        {
+            throw new IllegalStateException("Cannot reset an unfinished writer");
+        }
+        if (asyncFlusher != null)
+        {
+            asyncFlusher.awaitCompletion();
+        }
+        this.out = out;
+        clearAnnotations();
+        currentFieldSid = SID_UNASSIGNED;
+        hasWrittenValuesSinceConstructed = false;
+    }
+
+    /**
+     * Writes the given buffer to the output, applying the given patch points.
+     *
+     * @return the number of bytes written.
+     */
+    private static long writeBufferTo(final OutputStream out,
+                                      final WriteBuffer buffer,
+                                      final List<PatchPoint> patchPoints,
+                                      final int patchPointsLength)
+                                      throws IOException
+    {
+        long bytesWritten = buffer.position();
         if (patchPointsLength == 0)
         {
             // nothing to patch--write 'em out!
@@ -1440,6 +1929,7 @@ import java.util.ArrayList;
 
                 // write out the patch
                 WriteBuffer.writeVarUIntTo(out, patch.length);
+                bytesWritten += WriteBuffer.varUIntLength(patch.length) - patch.oldLength;
 
                 // skip over the preallocated varuint field
                 bufferPosition = patch.oldPosition;
@@ -1447,15 +1937,52 @@ import java.util.ArrayList;
             }
             buffer.writeTo(out, bufferPosition, buffer.position() - bufferPosition);
         }
-        patchPointsLength = 0;
-        buffer.reset();
+        return bytesWritten;
+    }
 
-        if (streamFlushMode == StreamFlushMode.FLUSH)
+    /**
+     * Hands the buffer and a copy of its patch points to the {@link #asyncFlusher}, and continues with a new buffer.
+     * The blocks of the old buffer are returned to the allocator once they have been written.
+     */
+    private void submitBuffer() throws IOException
+    {
+        final WriteBuffer pending = buffer;
+        final List<PatchPoint> pendingPatchPoints = new ArrayList<PatchPoint>(patchPointsLength);
+        for (int i = 0; i < patchPointsLength; i++)
         {
-            out.flush();
+            final PatchPoint patch = patchPoints.get(i);
+            if (patch != null && patch.length > -1)
+            {
+                pendingPatchPoints.add(new PatchPoint().initialize(patch.oldPosition, patch.oldLength, patch.length));
+            }
         }
+        final boolean isFlushRequired = streamFlushMode == StreamFlushMode.FLUSH;
+        final OutputStream target = out;
+        final IonMetricsListener listener = metricsListener;
+        buffer = new WriteBuffer(allocator, this::endOfBlockSizeReached, metricsListener);
+        asyncFlusher.submit(new AsyncFlusher.Task(pending.position())
+        {
+            @Override
+            void write() throws IOException
+            {
+                final long startNanos = listener == null ? 0 : System.nanoTime();
+                final long bytesWritten = writeBufferTo(target, pending, pendingPatchPoints, pendingPatchPoints.size());
+                if (isFlushRequired)
+                {
+                    target.flush();
+                }
+                if (listener != null && bytesWritten > 0)
+                {
+                    listener.onFlush(bytesWritten, System.nanoTime() - startNanos);
+                }
+            }
 
-        hasWrittenValuesSinceFinished = false;
+            @Override
+            void release()
+            {
+                pending.close();
+            }
+        });
     }
 
     public void close() throws IOException
@@ -1474,6 +2001,11 @@ import java.util.ArrayList;
             {
                 // callers don't expect this...
             }
+            if (asyncFlusher != null)
+            {
+                // the output must not be closed before the pending buffers are written to it
+                asyncFlusher.awaitCompletion();
+            }
 
             // release all of our blocks -- these should never throw
             buffer.close();
@@ -1483,6 +2015,11 @@ import java.util.ArrayList;
         finally
         {
             closed = true;
+            if (spillChannel != null)
+            {
+                // deletes the spill file
+                spillChannel.close();
+            }
             if (streamCloseMode == StreamCloseMode.CLOSE)
             {
                 // release the stream
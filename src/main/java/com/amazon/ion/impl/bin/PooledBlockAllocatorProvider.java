@@ -15,14 +15,14 @@
 
 package com.amazon.ion.impl.bin;
 
+import com.amazon.ion.impl.PoolStatistics;
+import com.amazon.ion.impl.StripedFreeList;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A singleton implementation of {@link BlockAllocatorProvider} offering a thread-safe free block list
- * for each block size.
+ * for each block size. The free lists are striped by thread to avoid contention between concurrent writers.
  *
  * <p>
  * This implementation is thread-safe.
@@ -30,22 +30,20 @@ import java.util.concurrent.atomic.AtomicInteger;
 /*package*/ final class PooledBlockAllocatorProvider extends BlockAllocatorProvider
 {
     /**
-     * A {@link BlockAllocator} of for a particular size that has a single thread-safe free list.
+     * A {@link BlockAllocator} of for a particular size that has a single thread-safe, striped free list.
      * <p>
      * This implementation is thread-safe.
      */
     private static final class PooledBlockAllocator extends BlockAllocator
     {
-        private final int blockSize, blockLimit;
-        private final ConcurrentLinkedQueue<Block> freeBlocks;
-        private final AtomicInteger size = new AtomicInteger(0);
+        private final int blockSize;
+        private final StripedFreeList<Block> freeBlocks;
         static final int FREE_CAPACITY = 1024 * 1024 * 64; // 64MB
 
         public PooledBlockAllocator(final int blockSize)
         {
             this.blockSize = blockSize;
-            this.freeBlocks = new ConcurrentLinkedQueue<Block>();
-            this.blockLimit = FREE_CAPACITY / blockSize;
+            this.freeBlocks = new StripedFreeList<Block>(FREE_CAPACITY / blockSize);
         }
 
         @Override
@@ -59,31 +57,12 @@ import java.util.concurrent.atomic.AtomicInteger;
                     @Override
                     public void close()
                     {
-                        // In the common case, the pool is not full. Optimistically increment the size.
-                        if (size.getAndIncrement() < blockLimit)
-                        {
-                            reset();
-                            freeBlocks.add(this);
-                        }
-                        else
-                        {
-                            // The pool was full. Since the size was optimistically incremented, decrement it now.
-                            // Note: there is a race condition here that is deliberately allowed as an optimization.
-                            // Under high contention, multiple threads could end up here before the first one
-                            // decrements the size, causing blocks to be dropped wastefully. This is not harmful
-                            // because blocks will be re-allocated when necessary; the pool is kept as close as
-                            // possible to capacity on a best-effort basis. This race condition should not be "fixed"
-                            // without a thorough study of the performance implications.
-                            size.decrementAndGet();
-                        }
+                        // If the pool is full, the block is discarded and will be garbage collected.
+                        reset();
+                        freeBlocks.offer(this);
                     }
                 };
             }
-            else
-            {
-                // A block was retrieved from the pool; decrement the pool size.
-                size.decrementAndGet();
-            }
             return block;
         }
 
@@ -132,4 +111,18 @@ import java.util.concurrent.atomic.AtomicInteger;
         }
         return allocator;
     }
+
+    /**
+     * @return the number of block allocations satisfied by a pooled block and the number that allocated a new block,
+     * across all block sizes.
+     */
+    public PoolStatistics getStatistics()
+    {
+        PoolStatistics statistics = PoolStatistics.EMPTY;
+        for (final BlockAllocator allocator : allocators.values())
+        {
+            statistics = statistics.plus(((PooledBlockAllocator) allocator).freeBlocks.getStatistics());
+        }
+        return statistics;
+    }
 }
@@ -15,8 +15,11 @@
 
 package com.amazon.ion.impl.bin;
 
+import com.amazon.ion.IonMetricsListener;
+
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -32,12 +35,20 @@ import java.util.List;
     private Block current;
     private int index;
     private Runnable endOfBlockCallBack;
+    /** Notified of each block allocated, or null. */
+    private IonMetricsListener metricsListener;
 
 
     public WriteBuffer(final BlockAllocator allocator, Runnable endOfBlockCallBack)
+    {
+        this(allocator, endOfBlockCallBack, null);
+    }
+
+    public WriteBuffer(final BlockAllocator allocator, Runnable endOfBlockCallBack, final IonMetricsListener metricsListener)
     {
         this.allocator = allocator;
         this.blocks = new ArrayList<Block>();
+        this.metricsListener = metricsListener;
 
         // initial seed of the first block
         allocateNewBlock();
@@ -50,6 +61,16 @@ import java.util.List;
     private void allocateNewBlock()
     {
         blocks.add(allocator.allocateBlock());
+        if (metricsListener != null)
+        {
+            metricsListener.onBlockAllocated(allocator.getBlockSize());
+        }
+    }
+
+    /** Sets the listener notified of each block allocated from now on, or null. */
+    public void setMetricsListener(final IonMetricsListener listener)
+    {
+        metricsListener = listener;
     }
 
     /** Returns the block index for the given position. */
@@ -296,6 +317,38 @@ import java.util.List;
         writeBytes(bytes, 0, bytes.length);
     }
 
+    /**
+     * Reads up to {@code length} bytes from the given stream directly into the buffer, expanding if necessary.
+     *
+     * @return the number of bytes written, which is less than {@code length} only if the stream ended.
+     */
+    public long writeBytes(final InputStream in, final long length) throws IOException
+    {
+        long remainingLength = length;
+        while (remainingLength > 0)
+        {
+            if (remaining() == 0)
+            {
+                if (index == blocks.size() - 1)
+                {
+                    allocateNewBlock();
+                    endOfBlockCallBack.run();
+                }
+                index++;
+                current = blocks.get(index);
+            }
+            final Block block = current;
+            final int amount = in.read(block.data, block.limit, (int) Math.min(remainingLength, block.remaining()));
+            if (amount < 0)
+            {
+                break;
+            }
+            block.limit += amount;
+            remainingLength -= amount;
+        }
+        return length - remainingLength;
+    }
+
     // UTF-8 character writing
 
     private static final char HIGH_SURROGATE_FIRST      = 0xD800;
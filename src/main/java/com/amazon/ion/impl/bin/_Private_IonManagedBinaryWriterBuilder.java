@@ -17,6 +17,8 @@ package com.amazon.ion.impl.bin;
 
 import static com.amazon.ion.impl.bin.IonManagedBinaryWriter.ONLY_SYSTEM_IMPORTS;
 
+import com.amazon.ion.BufferBudget;
+import com.amazon.ion.IonMetricsListener;
 import com.amazon.ion.IonBinaryWriter;
 import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonException;
@@ -24,6 +26,7 @@ import com.amazon.ion.IonWriter;
 import com.amazon.ion.SubstituteSymbolTableException;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SystemSymbols;
+import com.amazon.ion.impl.PoolStatistics;
 import com.amazon.ion.impl.bin.AbstractIonWriter.WriteValueOptimization;
 import com.amazon.ion.impl.bin.IonBinaryWriterAdapter.Factory;
 import com.amazon.ion.impl.bin.IonManagedBinaryWriter.ImportedSymbolContext;
@@ -34,6 +37,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 // TODO unify this with the IonWriter builder APIs
 
@@ -80,6 +84,13 @@ public final class _Private_IonManagedBinaryWriterBuilder
     /*package*/ volatile boolean                isLocalSymbolTableAppendEnabled;
     /*package*/ volatile boolean                isFloatBinary32Enabled;
      volatile boolean                           isAutoFlushEnabled;
+    /*package*/ volatile int                    containerSpillThreshold;
+    /*package*/ volatile Executor               asyncFlushExecutor;
+    /*package*/ volatile long                   asyncFlushMaxInFlightBytes;
+    /*package*/ volatile BufferBudget           bufferBudget;
+    /*package*/ volatile Executor               gzipExecutor;
+    /*package*/ volatile int                    gzipMemberSize;
+    /*package*/ volatile IonMetricsListener     metricsListener;
 
     private _Private_IonManagedBinaryWriterBuilder(final BlockAllocatorProvider provider)
     {
@@ -93,6 +104,13 @@ public final class _Private_IonManagedBinaryWriterBuilder
         this.isLocalSymbolTableAppendEnabled = false;
         this.isFloatBinary32Enabled = false;
         this.isAutoFlushEnabled = false;
+        this.containerSpillThreshold = 0;
+        this.asyncFlushExecutor = null;
+        this.asyncFlushMaxInFlightBytes = 0;
+        this.bufferBudget = null;
+        this.gzipExecutor = null;
+        this.gzipMemberSize = 0;
+        this.metricsListener = IonMetricsListener.NO_OP;
     }
 
     private _Private_IonManagedBinaryWriterBuilder(final _Private_IonManagedBinaryWriterBuilder other)
@@ -108,6 +126,13 @@ public final class _Private_IonManagedBinaryWriterBuilder
         this.isLocalSymbolTableAppendEnabled = other.isLocalSymbolTableAppendEnabled;
         this.isFloatBinary32Enabled = other.isFloatBinary32Enabled;
         this.isAutoFlushEnabled = other.isAutoFlushEnabled;
+        this.containerSpillThreshold = other.containerSpillThreshold;
+        this.asyncFlushExecutor = other.asyncFlushExecutor;
+        this.asyncFlushMaxInFlightBytes = other.asyncFlushMaxInFlightBytes;
+        this.bufferBudget = other.bufferBudget;
+        this.gzipExecutor = other.gzipExecutor;
+        this.gzipMemberSize = other.gzipMemberSize;
+        this.metricsListener = other.metricsListener;
     }
 
     public _Private_IonManagedBinaryWriterBuilder copy()
@@ -182,6 +207,65 @@ public final class _Private_IonManagedBinaryWriterBuilder
         return this;
     }
 
+    /**
+     * Sets the number of bytes that may be buffered within a top-level container before the finished values in it
+     * are moved to a temporary file; 0 (the default) keeps all data in memory.
+     */
+    public _Private_IonManagedBinaryWriterBuilder withContainerSpillThreshold(final int threshold)
+    {
+        if (threshold < 0)
+        {
+            throw new IllegalArgumentException("Spill threshold cannot be negative: " + threshold);
+        }
+        containerSpillThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Writes finished data to the output stream on the given executor, holding at most the given number of bytes
+     * that have not yet been written. A null executor writes on the caller's thread (the default).
+     */
+    public _Private_IonManagedBinaryWriterBuilder withAsyncFlushing(final Executor executor, final long maxInFlightBytes)
+    {
+        if (executor != null && maxInFlightBytes < 1)
+        {
+            throw new IllegalArgumentException("In-flight budget must be positive: " + maxInFlightBytes);
+        }
+        asyncFlushExecutor = executor;
+        asyncFlushMaxInFlightBytes = maxInFlightBytes;
+        return this;
+    }
+
+    /**
+     * Compresses the output to gzip members of at least the given number of uncompressed bytes on the given executor,
+     * enabling auto-flush and local symbol table appends so that members end at top-level value boundaries. A null
+     * executor disables compression (the default).
+     */
+    public _Private_IonManagedBinaryWriterBuilder withParallelGzipCompression(final Executor executor, final int memberSize)
+    {
+        if (executor != null && memberSize < 1)
+        {
+            throw new IllegalArgumentException("Member size must be positive: " + memberSize);
+        }
+        gzipExecutor = executor;
+        gzipMemberSize = memberSize;
+        return this;
+    }
+
+    /** Notifies the given listener of the writer's measurements; null disables reporting (the default). */
+    public _Private_IonManagedBinaryWriterBuilder withMetricsListener(final IonMetricsListener listener)
+    {
+        metricsListener = listener == null ? IonMetricsListener.NO_OP : listener;
+        return this;
+    }
+
+    /** Reserves the memory of the writer's blocks from the given budget, which may be null. */
+    public _Private_IonManagedBinaryWriterBuilder withBufferBudget(final BufferBudget budget)
+    {
+        bufferBudget = budget;
+        return this;
+    }
+
     /*package*/ _Private_IonManagedBinaryWriterBuilder withImports(final ImportedSymbolResolverMode mode, final List<SymbolTable> tables) {
         imports = new ImportedSymbolContext(mode, tables);
         return this;
@@ -307,4 +391,12 @@ public final class _Private_IonManagedBinaryWriterBuilder
     {
         return new _Private_IonManagedBinaryWriterBuilder(allocatorMode.createAllocatorProvider());
     }
+
+    /**
+     * @return the hits and misses of the shared block pool used by writers built in {@link AllocatorMode#POOLED}.
+     */
+    public static PoolStatistics getPooledBlockStatistics()
+    {
+        return PooledBlockAllocatorProvider.getInstance().getStatistics();
+    }
 }
@@ -1,8 +1,7 @@
 package com.amazon.ion.impl.bin.utf8;
 
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicInteger;
+import com.amazon.ion.impl.PoolStatistics;
+import com.amazon.ion.impl.StripedFreeList;
 
 abstract class Pool<T extends Poolable<?>> {
 
@@ -20,23 +19,19 @@ abstract class Pool<T extends Poolable<?>> {
         T newInstance(Pool<T> pool);
     }
 
-    // The maximum number of objects that can be waiting in the queue before new ones will be discarded.
-    private static final int MAX_QUEUE_SIZE = 128;
+    // The maximum number of objects that can be waiting in the pool before new ones will be discarded.
+    private static final int MAX_POOL_SIZE = 128;
 
-    // A queue of previously initialized objects that can be loaned out.
-    private final Queue<T> objectQueue;
-
-    // The current size of the queue. Note: some implementations of Queue.size() (including ConcurrentLinkedQueue's)
-    // are not constant-time operations. Tracking the size externally is a performance optimization.
-    private final AtomicInteger size;
+    // Previously initialized objects that can be loaned out. The list is striped so that threads that use the pool
+    // concurrently rarely contend for the same memory.
+    private final StripedFreeList<T> freeObjects;
 
     // Allocator of objects to be pooled.
     private final Allocator<T> allocator;
 
     Pool(Allocator<T> allocator) {
         this.allocator = allocator;
-        objectQueue = new ConcurrentLinkedQueue<T>();
-        size = new AtomicInteger(0);
+        freeObjects = new StripedFreeList<T>(MAX_POOL_SIZE);
     }
 
     /**
@@ -46,14 +41,10 @@ abstract class Pool<T extends Poolable<?>> {
      * @return An object.
      */
     public T getOrCreate() {
-        // The `poll` method does not block. If the queue is empty it returns `null` immediately.
-        T object = objectQueue.poll();
+        T object = freeObjects.poll();
         if (object == null) {
             // No objects were available in the pool. Create a new one.
             object = allocator.newInstance(this);
-        } else {
-            // An object was retrieved from the pool; decrement the pool size.
-            size.decrementAndGet();
         }
         return object;
     }
@@ -67,19 +58,15 @@ abstract class Pool<T extends Poolable<?>> {
      * @param object   An object to add to the pool.
      */
     public void returnToPool(T object) {
-        // The `offer` method does not block. If the queue is full, it returns `false` immediately.
         // If the provided instance cannot be added to the pool, we discard it silently.
-        if (size.getAndIncrement() < MAX_QUEUE_SIZE) {
-            objectQueue.offer(object);
-        } else {
-            // The pool was full. Since the size was optimistically incremented, decrement it now.
-            // Note: there is a race condition here that is deliberately allowed as an optimization.
-            // Under high contention, multiple threads could end up here before the first one
-            // decrements the size, causing objects to be dropped wastefully. This is not harmful
-            // because objects will be re-allocated when necessary; the pool is kept as close as
-            // possible to capacity on a best-effort basis. This race condition should not be "fixed"
-            // without a thorough study of the performance implications.
-            size.decrementAndGet();
-        }
+        freeObjects.offer(object);
+    }
+
+    /**
+     * @return the number of calls to {@link #getOrCreate()} that were satisfied by a pooled object and the number
+     * that constructed a new object.
+     */
+    public PoolStatistics getStatistics() {
+        return freeObjects.getStatistics();
     }
 }
@@ -31,7 +31,6 @@ import com.amazon.ion.impl._Private_Utils;
 
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
@@ -51,6 +50,16 @@ abstract class IonContainerLite
     // implementation of getSystem(). Scalar IonValueLite implementations will continue to delegate to the parent
     // context, but the parent context will always be able to provide the IonSystem without further delegation.
     protected IonSystemLite  ionSystem;
+    // When non-null, this container is a clone of the given read-only container whose children have not yet been
+    // copied. Because read-only values can never be modified, the source's children can be shared until this clone's
+    // children are first accessed, at which point only the immediate children are copied (and any child containers
+    // become lazy clones in turn). This means that cloning a large read-only tree and then modifying a few values
+    // only copies the containers along the paths to those values.
+    private IonContainerLite lazyCloneSource;
+    // The hash code of this container's contents (i.e. excluding annotations), memoized once the container is
+    // read-only. Zero means that it has not been computed. Writes are racy, but idempotent, so this is safe for
+    // read-only values shared between threads (just as String.hashCode() is).
+    private int lockedContentHashCode;
 
     protected IonContainerLite(ContainerlessContext context, boolean isNull)
     {
@@ -124,6 +133,12 @@ abstract class IonContainerLite
         // Note: for reasons that are not clear, calculating the initial context within this method is consistently
         // 1-5% faster than requiring callers to pass it in.
         IonContext initialContext = isDatagramBeingCloned ? null : ContainerlessContext.wrap(_context.getSystem(), _context.getContextSymbolTable());
+        IonContainerLite source = getLazyCloneSourceCandidate();
+        if (source != null) {
+            IonContainerLite copy = (IonContainerLite) shallowClone(initialContext);
+            copy.shareChildrenOf(source);
+            return copy;
+        }
         if (_children == null) {
             // When the container has no children, shallowClone and deepClone have the same effect, but shallowClone
             // is more streamlined.
@@ -155,7 +170,11 @@ abstract class IonContainerLite
                     cloneContext.parentCopy._children[cloneContext.childIndex++] = copy;
                 }
                 IonContainerLite containerOriginal = (IonContainerLite) original;
-                if (containerOriginal._children != null) {
+                IonContainerLite sharedSource = containerOriginal.getLazyCloneSourceCandidate();
+                if (sharedSource != null) {
+                    // The children will be copied from the read-only source only if and when they are accessed.
+                    ((IonContainerLite) copy).shareChildrenOf(sharedSource);
+                } else if (containerOriginal._children != null) {
                     if (++stackIndex >= stack.length) {
                         stack = Arrays.copyOf(stack, stack.length * 2);
                     }
@@ -188,6 +207,105 @@ abstract class IonContainerLite
     }
 
 
+    /**
+     * @return the read-only container whose children a clone of this container may share, or null if the children
+     *  must be copied eagerly. Datagrams are always copied eagerly because their children require top-level contexts,
+     *  and values that may retain symbol IDs are copied eagerly so that unknown symbols are detected by clone().
+     */
+    private IonContainerLite getLazyCloneSourceCandidate() {
+        if (lazyCloneSource != null) {
+            // This is itself an unmaterialized clone; its clone may share the same source.
+            return lazyCloneSource;
+        }
+        if (_isLocked() && _child_count > 0 && !_isSymbolIdPresent() && !(this instanceof IonDatagramLite)) {
+            return this;
+        }
+        return null;
+    }
+
+    /**
+     * Turns this newly-created, empty shallow clone into a lazy clone of the given read-only container.
+     */
+    private void shareChildrenOf(IonContainerLite source) {
+        assert _children == null && _child_count == 0;
+        lazyCloneSource = source;
+        _isSymbolIdPresent(source._isSymbolIdPresent());
+    }
+
+    /**
+     * Copies the children of the read-only source of this lazy clone, if applicable. Must be called before accessing
+     * {@code _children} or {@code _child_count} directly from any path that could be reached by a lazy clone.
+     */
+    final void materializeLazyClone() {
+        // split to encourage the in-lining of the common case where the children are already present
+        if (lazyCloneSource != null) {
+            materializeLazyCloneHelper();
+        }
+    }
+
+    private void materializeLazyCloneHelper() {
+        IonContainerLite source = lazyCloneSource;
+        lazyCloneSource = null;
+        boolean isStruct = this instanceof IonStructLite;
+        IonValueLite[] children = new IonValueLite[source._children.length];
+        for (int i = 0; i < source._child_count; i++) {
+            IonValueLite original = source._children[i];
+            IonValueLite copy = original.shallowClone(this);
+            if (isStruct) {
+                copy.copyFieldName(original);
+            }
+            if (original instanceof IonContainerLite) {
+                IonContainerLite sharedSource = ((IonContainerLite) original).getLazyCloneSourceCandidate();
+                if (sharedSource != null) {
+                    ((IonContainerLite) copy).shareChildrenOf(sharedSource);
+                } else if (((IonContainerLite) original)._children != null) {
+                    // Only possible when the source's descendants retain symbol IDs; copy the subtree eagerly.
+                    copy = ((IonContainerLite) original).deepClone(false);
+                    copy.setContext(this);
+                    if (isStruct) {
+                        copy.copyFieldName(original);
+                    }
+                    copy._elementid(i);
+                }
+            }
+            children[i] = copy;
+        }
+        _children = children;
+        _child_count = source._child_count;
+    }
+
+    /**
+     * @return the memoized hash code of this container's contents, or 0 if it is not available. A lazy clone that
+     *  has not yet been materialized has the same contents as its read-only source, so it uses (and, if necessary,
+     *  computes) the source's memoized hash code without copying any children.
+     */
+    final int getCachedContentHashCode() {
+        IonContainerLite source = lazyCloneSource;
+        if (source == null) {
+            return lockedContentHashCode;
+        }
+        if (source.lockedContentHashCode == 0) {
+            source.hashCode();
+        }
+        return source.lockedContentHashCode;
+    }
+
+    /**
+     * Memoizes the hash code of this container's contents if the container is read-only.
+     */
+    final void cacheContentHashCode(int contentHashCode) {
+        if (_isLocked()) {
+            lockedContentHashCode = contentHashCode;
+        }
+    }
+
+    /**
+     * @return true if this container is a clone whose children have not yet been copied from its read-only source.
+     */
+    final boolean isLazyClone() {
+        return lazyCloneSource != null;
+    }
+
     @Override
     public IonContainer clone() {
         return deepClone(false);
@@ -198,7 +316,14 @@ abstract class IonContainerLite
     {
         checkForLock();
 
-        if (_isNullValue())
+        if (lazyCloneSource != null)
+        {
+            // None of the source's children have been copied yet, so there is nothing to detach.
+            lazyCloneSource = null;
+            _isSymbolIdPresent(false);
+            structuralModificationCount++;
+        }
+        else if (_isNullValue())
         {
             assert _children == null;
             assert _child_count == 0;
@@ -285,6 +410,7 @@ abstract class IonContainerLite
             if (_isLocked() && !readOnly) {
                 throw new IllegalStateException("you can't open an updatable iterator on a read only value");
             }
+            materializeLazyClone();
             if (index < 0 || index > _child_count) {
                 throw new IndexOutOfBoundsException(Integer.toString(index));
             }
@@ -296,10 +422,12 @@ abstract class IonContainerLite
         // case where we don't actually do anything
         protected final void force_position_sync()
         {
-            if (__pos <= 0 || __pos > _child_count) {
+            // after a previous() the current member is at the position, after a next() it precedes it
+            int current_idx = __lastMoveWasPrevious ? __pos : __pos - 1;
+            if (current_idx < 0 || current_idx >= _child_count) {
                 return;
             }
-            if (__current == null || __current == _children[__pos - 1]) {
+            if (__current == null || __current == _children[current_idx]) {
                 return;
             }
             force_position_sync_helper();
@@ -535,6 +663,10 @@ abstract class IonContainerLite
         if (isNullValue()) {
             return 0;
         }
+        if (lazyCloneSource != null) {
+            // Avoid copying the children just to count them.
+            return lazyCloneSource._child_count;
+        }
         return get_child_count();
     }
 
@@ -743,7 +875,7 @@ abstract class IonContainerLite
     }
 
     /**
-     * This is overridden in {@link IonStructLite} to add the {@link HashMap} of
+     * This is overridden in {@link IonStructLite} to add the {@link StructFieldIndex} of
      * field names when the struct becomes moderately large.
      *
      * @param size
@@ -761,10 +893,12 @@ abstract class IonContainerLite
     }
 
     public final int get_child_count() {
+        materializeLazyClone();
         return _child_count;
     }
 
     public final IonValueLite get_child(int idx) {
+        materializeLazyClone();
         if (idx < 0 || idx >= _child_count) {
             throw new IndexOutOfBoundsException(Integer.toString(idx));
         }
@@ -774,6 +908,7 @@ abstract class IonContainerLite
 
     final IonValueLite set_child(int idx, IonValueLite child)
     {
+        materializeLazyClone();
         if (idx < 0 || idx >= _child_count) {
             throw new IndexOutOfBoundsException(Integer.toString(idx));
         }
@@ -793,6 +928,7 @@ abstract class IonContainerLite
      */
     protected int add_child(int idx, IonValueLite child)
     {
+        materializeLazyClone();
         _isNullValue(false); // if we add children we're not null anymore
         child.setContext(this.getContextForIndex(child, idx));
         if (_children == null || _child_count >= _children.length) {
@@ -832,6 +968,7 @@ abstract class IonContainerLite
      */
     void remove_child(int idx)
     {
+        materializeLazyClone();
         assert(idx >=0);
         assert(idx < get_child_count()); // this also asserts child count > 0
         assert get_child(idx) != null : "No child at index " + idx;
@@ -846,6 +983,45 @@ abstract class IonContainerLite
         structuralModificationCount++;
     }
 
+    /**
+     * Removes, in a single pass, every child whose index is flagged in
+     * {@code removed}, shifting the remaining children down and patching their
+     * element IDs. This costs O(n) regardless of the number of children
+     * removed, whereas calling {@link #remove_child(int)} once per child costs
+     * O(n) per removal.
+     * <p>
+     * Does not check locks.
+     *
+     * @param removed flags the children to remove; its length must be at least
+     *  the child count.
+     * @return the number of children removed.
+     */
+    final int remove_children(boolean[] removed)
+    {
+        materializeLazyClone();
+        int kept = 0;
+        for (int ii=0; ii<_child_count; ii++) {
+            IonValueLite child = _children[ii];
+            if (removed[ii]) {
+                child.detachFromContainer();
+            }
+            else {
+                if (kept != ii) {
+                    _children[kept] = child;
+                    child._elementid(kept);
+                }
+                kept++;
+            }
+        }
+        int removedCount = _child_count - kept;
+        if (removedCount > 0) {
+            Arrays.fill(_children, kept, _child_count, null);
+            _child_count = kept;
+            structuralModificationCount++;
+        }
+        return removedCount;
+    }
+
     public final void patch_elements_helper(int lowest_bad_idx)
     {
         // patch the element Id's for all the children from
@@ -24,9 +24,11 @@ import com.amazon.ion.impl._Private_Utils;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  *  The datagram generally behaves as an IonSexp. A list with space
@@ -75,12 +77,24 @@ final class IonDatagramLite
     private final IonCatalog         _catalog;
     private       SymbolTable        _pending_symbol_table;
     private       int                _pending_symbol_table_idx;
-    private       IonSymbolLite      _ivm;
+    private volatile IonSymbolLite   _ivm;
+
+    private static final AtomicReferenceFieldUpdater<IonDatagramLite, IonSymbolLite> IVM_UPDATER =
+        AtomicReferenceFieldUpdater.newUpdater(IonDatagramLite.class, IonSymbolLite.class, "_ivm");
 
     // Default buffer size for ReverseBinaryEncoder - SYNC'ed with
     // BlockedBuffer._defaultBlockSizeMin (4 kb)
     private static final int REVERSE_BINARY_ENCODER_INITIAL_SIZE = 4096 * 8;
 
+    // The maximum size of the binary encoding that a read-only datagram will retain so that repeated calls to
+    // getBytes() and byteSize() do not re-encode it. Larger datagrams are re-encoded every time to keep the memory
+    // overhead of read-only datagrams bounded.
+    static final int MAX_CACHED_ENCODING_SIZE = 64 * 1024;
+
+    // The binary encoding of this datagram, retained only once it is read-only and only if it is no larger than
+    // MAX_CACHED_ENCODING_SIZE. Volatile so that it may be safely published to other threads.
+    private volatile byte[] _lockedEncoding;
+
     IonDatagramLite(IonSystemLite system, IonCatalog catalog) {
         super(ContainerlessContext.wrap(system), false);
         _system = system;
@@ -290,6 +304,10 @@ final class IonDatagramLite
 
     @Override
     public int hashCode() {
+        int cached = getCachedContentHashCode();
+        if (cached != 0) {
+            return cached;
+        }
         int prime  = 8191;
         int result = HASH_SIGNATURE;
 
@@ -298,6 +316,7 @@ final class IonDatagramLite
             // mixing at each step to make the hash code order-dependent
             result ^= (result << 29) ^ (result >> 3);
         }
+        cacheContentHashCode(result);
         return result;
     }
 
@@ -413,45 +432,115 @@ final class IonDatagramLite
     //////////////////////////////////////////////////////////////////////////////
     //////////////////////////////////////////////////////////////////////////////
 
-    public int byteSize() throws IonException
+    /**
+     * @return the retained binary encoding of this datagram, or null if it is not read-only or has not yet been
+     *  encoded (or is too large to be retained). The returned array must not be modified.
+     */
+    private byte[] getLockedEncoding()
+    {
+        return _isLocked() ? _lockedEncoding : null;
+    }
+
+    /**
+     * Encodes this datagram with an encoder borrowed from the shared pool.
+     * Callers must {@link ReverseBinaryEncoder#release() release} the encoder
+     * once they have consumed its output.
+     */
+    private ReverseBinaryEncoder encodeWithPooledEncoder()
     {
-        // TODO this is horrible, users will end up encoding multiple times!
         ReverseBinaryEncoder encoder =
-            new ReverseBinaryEncoder(REVERSE_BINARY_ENCODER_INITIAL_SIZE);
-        encoder.serialize(this);
-        return encoder.byteSize();
+            ReverseBinaryEncoder.newPooledEncoder(REVERSE_BINARY_ENCODER_INITIAL_SIZE);
+        try {
+            encoder.serialize(this);
+        }
+        catch (RuntimeException e) {
+            encoder.release();
+            throw e;
+        }
+        if (_isLocked() && encoder.byteSize() <= MAX_CACHED_ENCODING_SIZE) {
+            // The datagram can no longer change, so its encoding can be reused.
+            _lockedEncoding = encoder.toNewByteArray();
+        }
+        return encoder;
+    }
+
+    public ByteBuffer encode() throws IonException
+    {
+        byte[] encoding = getLockedEncoding();
+        if (encoding == null) {
+            ReverseBinaryEncoder encoder = encodeWithPooledEncoder();
+            encoding = getLockedEncoding();
+            if (encoding == null) {
+                return encoder.toEncodingAndRelease();
+            }
+            encoder.release();
+        }
+        // The retained encoding is never modified, so it can be shared.
+        return ByteBuffer.wrap(encoding);
+    }
+
+    public int byteSize() throws IonException
+    {
+        byte[] encoding = getLockedEncoding();
+        if (encoding != null) {
+            return encoding.length;
+        }
+        // Callers that need both the size and the bytes should use IonDatagramEncoding.
+        ReverseBinaryEncoder encoder = encodeWithPooledEncoder();
+        int size = encoder.byteSize();
+        encoder.release();
+        return size;
     }
 
     public byte[] getBytes() throws IonException
     {
-        ReverseBinaryEncoder encoder =
-            new ReverseBinaryEncoder(REVERSE_BINARY_ENCODER_INITIAL_SIZE);
-        encoder.serialize(this);
-        return encoder.toNewByteArray();
+        byte[] encoding = getLockedEncoding();
+        if (encoding != null) {
+            return encoding.clone();
+        }
+        ReverseBinaryEncoder encoder = encodeWithPooledEncoder();
+        byte[] bytes = encoder.toNewByteArray();
+        encoder.release();
+        return bytes;
     }
 
     public int getBytes(byte[] dst) throws IonException
     {
-        ReverseBinaryEncoder encoder =
-            new ReverseBinaryEncoder(REVERSE_BINARY_ENCODER_INITIAL_SIZE);
-        encoder.serialize(this);
-        return encoder.toNewByteArray(dst);
+        return getBytes(dst, 0);
     }
 
     public int getBytes(byte[] dst, int offset) throws IonException
     {
-        ReverseBinaryEncoder encoder =
-            new ReverseBinaryEncoder(REVERSE_BINARY_ENCODER_INITIAL_SIZE);
-        encoder.serialize(this);
-        return encoder.toNewByteArray(dst, offset);
+        byte[] encoding = getLockedEncoding();
+        if (encoding != null) {
+            System.arraycopy(encoding, 0, dst, offset, encoding.length);
+            return encoding.length;
+        }
+        ReverseBinaryEncoder encoder = encodeWithPooledEncoder();
+        try {
+            return encoder.toNewByteArray(dst, offset);
+        }
+        finally {
+            encoder.release();
+        }
     }
 
     public int getBytes(OutputStream out) throws IOException, IonException
     {
-        ReverseBinaryEncoder encoder =
-            new ReverseBinaryEncoder(REVERSE_BINARY_ENCODER_INITIAL_SIZE);
-        encoder.serialize(this);
-        return encoder.writeBytes(out);
+        byte[] encoding = getLockedEncoding();
+        if (encoding != null) {
+            out.write(encoding);
+            return encoding.length;
+        }
+        ReverseBinaryEncoder encoder = encodeWithPooledEncoder();
+        try {
+            // Written straight from the encoder's buffer, without an
+            // intermediate copy of the whole encoding.
+            return encoder.writeBytes(out);
+        }
+        finally {
+            encoder.release();
+        }
     }
 
     // TODO: optimize this, if there's a real use case
@@ -522,12 +611,15 @@ final class IonDatagramLite
     //////////////////////////////////////////////////////////////////////////////
     //////////////////////////////////////////////////////////////////////////////
 
-    protected synchronized IonSymbolLite get_ivm()
+    protected IonSymbolLite get_ivm()
     {
-        if (_ivm == null) {
-            _ivm = getSystem().newSymbol(ION_1_0);
+        IonSymbolLite ivm = _ivm;
+        if (ivm == null) {
+            // Lock-free lazy initialization; if threads race, all of them use the instance that was stored first.
+            IVM_UPDATER.compareAndSet(this, null, getSystem().newSymbol(ION_1_0));
+            ivm = _ivm;
         }
-        return _ivm;
+        return ivm;
     }
 
     /**
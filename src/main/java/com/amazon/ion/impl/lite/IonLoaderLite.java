@@ -23,7 +23,11 @@ import com.amazon.ion.IonLoader;
 import com.amazon.ion.IonReader;
 import com.amazon.ion.IonSystem;
 import com.amazon.ion.IonWriter;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.impl._Private_ByteTransferReader;
 import com.amazon.ion.impl._Private_IonWriterFactory;
+import com.amazon.ion.impl._Private_ReaderWriter;
+import com.amazon.ion.impl.lite.IonSystemLite.ValueLoader;
 import com.amazon.ion.system.IonReaderBuilder;
 
 import java.io.File;
@@ -82,6 +86,12 @@ final class IonLoaderLite
     private IonDatagramLite load_helper(IonReader reader)
     throws IOException
     {
+        if (reader instanceof _Private_ByteTransferReader
+            && reader instanceof _Private_ReaderWriter
+            && reader.getDepth() == 0)
+        {
+            return load_binary_helper(reader);
+        }
         IonDatagramLite datagram = new IonDatagramLite(_system, _catalog);
         IonWriter writer = _Private_IonWriterFactory.makeWriter(datagram);
         writer.writeValues(reader);
@@ -96,6 +106,51 @@ final class IonLoaderLite
         return datagram;
     }
 
+    /**
+     * Builds the datagram from a binary reader without routing each value
+     * through an {@link IonWriter} over the datagram. The values are
+     * materialized directly from the reader, and consecutive values share the
+     * context that holds their symbol table, which is copied only when the
+     * stream changes it.
+     *
+     * @return a new datagram; not null.
+     */
+    private IonDatagramLite load_binary_helper(IonReader reader)
+    throws IOException
+    {
+        IonDatagramLite datagram = new IonDatagramLite(_system, _catalog);
+        ValueLoader loader = _system.newValueLoader(false);
+        _Private_ReaderWriter symbolTableSource = (_Private_ReaderWriter) reader;
+
+        if (reader.getType() == null) reader.next();
+        while (reader.getType() != null) {
+            load_top_level_value(datagram, loader, symbolTableSource);
+            reader.next();
+        }
+        if (_readerBuilder.isIncrementalReadingEnabled() && reader instanceof IonCursor) {
+            // Force incremental readers to raise an error if the stream ends
+            // with an incomplete value. Binary values are never ambiguous, so
+            // no value can be completed here.
+            ((IonCursor) reader).endStream();
+        }
+        return datagram;
+    }
+
+    private static void load_top_level_value(IonDatagramLite datagram,
+                                             ValueLoader loader,
+                                             _Private_ReaderWriter symbolTableSource)
+    {
+        // The reader passes each symbol table once, as a mutable copy that the
+        // datagram may extend. The datagram retains only local symbol tables;
+        // values following an IVM keep the preceding context, as they do when
+        // the datagram is written by an IonWriter.
+        SymbolTable symbols = symbolTableSource.pop_passed_symbol_table();
+        if (symbols != null && symbols.isLocalTable()) {
+            datagram.appendTrailingSymbolTable(symbols);
+        }
+        datagram.add(loader.load((IonReader) symbolTableSource));
+    }
+
     public IonDatagram load(File ionFile) throws IonException, IOException
     {
         InputStream ionData = new FileInputStream(ionFile);
@@ -25,6 +25,7 @@ import com.amazon.ion.impl._Private_IonValue;
 import java.lang.reflect.Array;
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
 import java.util.IdentityHashMap;
@@ -235,55 +236,43 @@ abstract class IonSequenceLite
 
     public boolean removeAll(Collection<?> c)
     {
-        boolean changed = false;
-
         checkForLock();
 
-        // remove the collection member if it is a
-        // member of our child array keep track of
-        // the lowest array index for later patching
+        // flag each collection member that is a member of our child
+        // array, then remove them all in a single pass so that removing
+        // many children is linear rather than quadratic
+        boolean[] removed = null;
         for (Object o : c) {
             int idx = lastIndexOf(o);
             if (idx >= 0) {
                 assert(o == get_child(idx));
-                remove_child(idx);
-                patch_elements_helper(idx);
-                changed = true;
+                if (removed == null) {
+                    removed = new boolean[get_child_count()];
+                }
+                removed[idx] = true;
             }
         }
-        return changed;
+        return removed != null && remove_children(removed) > 0;
     }
 
     public boolean retainAll(Collection<?> c)
     {
         checkForLock();
 
-        if (get_child_count() < 1) return false;
-
-        // TODO this method (and probably several others) needs optimization.
-        IdentityHashMap<IonValue, IonValue> keepers =
-            new IdentityHashMap<IonValue, IonValue>();
+        int size = get_child_count();
+        if (size < 1) return false;
 
+        // start by flagging every child, then clear the flags of the
+        // children that are members of the collection
+        boolean[] removed = new boolean[size];
+        Arrays.fill(removed, true);
         for (Object o : c)
         {
             IonValue v = (IonValue) o;
-            if (this == v.getContainer()) keepers.put(v, v);
+            if (this == v.getContainer()) removed[((IonValueLite) v)._elementid()] = false;
         }
 
-        boolean changed = false;
-        for (int ii = get_child_count(); ii > 0; )
-        {
-            ii--;
-            IonValue v = get_child(ii);
-            if (! keepers.containsKey(v))
-            {
-                remove(v);
-                patch_elements_helper(ii);
-                changed = true;
-            }
-        }
-
-        return changed;
+        return remove_children(removed) > 0;
     }
 
     public boolean contains(Object o)
@@ -14,9 +14,7 @@ import com.amazon.ion.UnknownSymbolException;
 
 import java.io.PrintWriter;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -46,7 +44,7 @@ final class IonStructLite
         this.hasNullFieldName = existing.hasNullFieldName;
     }
 
-    private Map<String, Integer> _field_map;
+    private StructFieldIndex _field_map;
     private boolean hasNullFieldName = false;
 
     public int                      _field_map_duplicate_count;
@@ -73,16 +71,16 @@ final class IonStructLite
     {
         int size = (_children == null) ? 0 : _children.length;
 
-        _field_map = new HashMap<>((int) Math.ceil(size / 0.75f), 0.75f); // avoids unconditional growth
+        _field_map = new StructFieldIndex(size);
         _field_map_duplicate_count = 0;
 
         int count = get_child_count();
         for (int ii=0; ii<count; ii++) {
             IonValueLite v = get_child(ii);
-            if (_field_map.get(v._fieldName) != null) {
+            if (_field_map.get(v._fieldName) != StructFieldIndex.NOT_FOUND) {
                 _field_map_duplicate_count++;
             }
-            _field_map.put(v._fieldName, ii); // this causes the map to have the largest index value stored
+            _field_map.put(v._fieldName, v); // this causes the map to have the largest index value stored
         }
     }
 
@@ -91,16 +89,16 @@ final class IonStructLite
         fieldMapIsActive(_child_count);
     }
 
-    private void add_field(String fieldName, int newFieldIdx)
+    private void add_field(String fieldName, IonValueLite child)
     {
-        Integer idx = _field_map.get(fieldName);
-        if (idx != null) {
+        int idx = _field_map.get(fieldName);
+        if (idx != StructFieldIndex.NOT_FOUND) {
             _field_map_duplicate_count++;
-            if (idx > newFieldIdx) {
-                newFieldIdx = idx;
+            if (idx > child._elementid()) {
+                return;
             }
         }
-        _field_map.put(fieldName, newFieldIdx);
+        _field_map.put(fieldName, child);
     }
     private void remove_field(String fieldName, int lowest_idx, int copies)
     {
@@ -114,8 +112,8 @@ final class IonStructLite
 
     private void remove_field_from_field_map(String fieldName, int idx)
     {
-        Integer field_idx = _field_map.get(fieldName);
-        assert(field_idx != null);
+        int field_idx = _field_map.get(fieldName);
+        assert(field_idx != StructFieldIndex.NOT_FOUND);
 
         if (field_idx != idx) {
             // if the map has a different index, this must
@@ -137,7 +135,7 @@ final class IonStructLite
                 // replaces this fields (the one being
                 // removed) array idx in the map with
                 // the preceding duplicates index
-                _field_map.put(fieldName, ii);
+                _field_map.put(fieldName, get_child(ii));
                 _field_map_duplicate_count--;
             }
         }
@@ -148,31 +146,6 @@ final class IonStructLite
         }
     }
 
-    private void patch_map_elements_helper(int removed_idx)
-    {
-        if (_field_map == null) {
-            return;
-        }
-
-        if (removed_idx >= get_child_count()) {
-            // if this was the at the end of the list
-            // there's nothing to change
-            return;
-        }
-
-        for (int ii=removed_idx; ii<get_child_count(); ii++) {
-            IonValueLite value = get_child(ii);
-            String  field_name = value.getFieldName();
-            Integer map_idx = _field_map.get(field_name);
-            if (map_idx != ii) {
-                // if this is a field that to the right of
-                // the removed (in process of removing) value
-                // we need to patch the index value
-                _field_map.put(field_name, ii);
-            }
-        }
-    }
-
     @Override
     public void dump(PrintWriter out)
     {
@@ -183,18 +156,16 @@ final class IonStructLite
         }
 
         out.println("   dups: "+_field_map_duplicate_count);
-        Iterator<Entry<String, Integer>> it = _field_map.entrySet().iterator();
-        out.print("   map: [");
-        boolean first = true;
-        while (it.hasNext()) {
-            Entry<String, Integer> e = it.next();
-            if (!first) {
-                out.print(",");
+        final StringBuilder entries = new StringBuilder();
+        _field_map.forEach(new StructFieldIndex.EntryVisitor() {
+            public void visit(String fieldName, IonValueLite child) {
+                if (entries.length() > 0) {
+                    entries.append(",");
+                }
+                entries.append(fieldName).append(":").append(child._elementid());
             }
-            out.print(e.getKey()+":"+e.getValue());
-            first = false;
-        }
-        out.println("]");
+        });
+        out.println("   map: [" + entries + "]");
     }
 
     @Override
@@ -203,18 +174,18 @@ final class IonStructLite
         if (_field_map == null) {
             return null;
         }
-        String error = "";
-        Iterator<Entry<String, Integer>> it = _field_map.entrySet().iterator();
-        while (it.hasNext()) {
-            Entry<String, Integer> e = it.next();
-            int idx = e.getValue();
-            IonValueLite v = (idx >= 0 && idx < get_child_count()) ? get_child(idx) : null;
-            if (v == null || idx != v._elementid() || (e.getKey().equals(v.getFieldName()) == false)) {
-                error += "map entry ["+e+"] doesn't match list value ["+v+"]\n";
+        final StringBuilder error = new StringBuilder();
+        _field_map.forEach(new StructFieldIndex.EntryVisitor() {
+            public void visit(String fieldName, IonValueLite child) {
+                int idx = child._elementid();
+                IonValueLite v = (idx >= 0 && idx < get_child_count()) ? get_child(idx) : null;
+                if (v != child || (fieldName == null ? v.getFieldName() != null : !fieldName.equals(v.getFieldName()))) {
+                    error.append("map entry [" + fieldName + "=" + idx + "] doesn't match list value [" + v + "]\n");
+                }
             }
-        }
+        });
 
-        return (error == "") ? null : error;
+        return (error.length() == 0) ? null : error.toString();
     }
 
     private int find_last_duplicate(String fieldName, int existing_idx)
@@ -283,6 +254,7 @@ final class IonStructLite
 
     private IonStruct doClone(boolean keep, String... fieldNames)
     {
+        materializeLazyClone();
         IonStructLite clone;
         if (isNullValue())
         {
@@ -376,15 +348,13 @@ final class IonStructLite
     private int find_field_helper(String fieldName)
     {
         validateFieldName(fieldName);
+        materializeLazyClone();
 
         if (isNullValue()) {
             // nothing to see here, move along
         }
         else if (fieldMapIsActive(_child_count)) {
-            Integer idx = _field_map.get(fieldName);
-            if (idx != null) {
-                return idx;
-            }
+            return _field_map.get(fieldName);
         }
         else {
             int ii, size = get_child_count();
@@ -439,6 +409,7 @@ final class IonStructLite
      */
     private void _add(String fieldName, IonValueLite child)
     {
+        materializeLazyClone();
         hasNullFieldName |= fieldName == null;
 
         // add this to the Container child collection
@@ -446,7 +417,7 @@ final class IonStructLite
 
         // if we have a hash map we need to update it now
         if (fieldMapIsActive(_child_count)) {
-            add_field(fieldName, child._elementid());
+            add_field(fieldName, child);
         }
     }
 
@@ -522,9 +493,9 @@ final class IonStructLite
 
         validateFieldName(fieldName);
         if (value != null) validateNewChild(value);
+        materializeLazyClone();
 
         int lowestRemovedIndex = _child_count;
-        boolean any_removed = false;
 
         // first we remove the any existing fields
         // associated with fieldName (which may be none)
@@ -533,42 +504,49 @@ final class IonStructLite
             // we have a map and no duplicates so the index
             // (aka map) is all we need to find the only
             // value associated with fieldName, if there is one
-            Integer idx = _field_map.get(fieldName);
-            if (idx != null) {
+            int idx = _field_map.get(fieldName);
+            if (idx != StructFieldIndex.NOT_FOUND) {
                 lowestRemovedIndex = idx;
                 remove_field_from_field_map(fieldName, lowestRemovedIndex);
                 remove_child(lowestRemovedIndex);
-                any_removed = true;
+                patch_elements_helper(lowestRemovedIndex);
             }
         }
         else {
             // either we don't have a map (index) or there
             // are duplicates in both cases we have to
             // scan the child list directly.
-            // Walk backwards to minimize array movement
-            // as we remove fields as we encounter them.
+            int size = get_child_count();
             int copies_removed = 0;
-            for (int ii = get_child_count(); ii > 0; )
+            for (int ii = 0; ii < size; ii++)
             {
-                ii--;
-                IonValueLite child = get_child(ii);
-                if (fieldName.equals(child._fieldName))
+                if (fieldName.equals(_children[ii]._fieldName))
                 {
-                    // done by remove_child: child.detachFromContainer();
-                    remove_child(ii);
-                    lowestRemovedIndex = ii;
+                    if (copies_removed == 0) {
+                        lowestRemovedIndex = ii;
+                    }
                     copies_removed++;
-                    any_removed = true;
                 }
             }
-            if (any_removed) {
+            if (copies_removed == 1) {
+                // done by remove_child: child.detachFromContainer();
+                remove_child(lowestRemovedIndex);
+                patch_elements_helper(lowestRemovedIndex);
+            }
+            else if (copies_removed > 1) {
+                // Remove all the copies in one pass rather than shifting
+                // the following children once per copy. This also patches
+                // the element IDs of the remaining children.
+                boolean[] removed = new boolean[size];
+                for (int ii = lowestRemovedIndex; ii < size; ii++) {
+                    removed[ii] = fieldName.equals(_children[ii]._fieldName);
+                }
+                remove_children(removed);
+            }
+            if (copies_removed > 0) {
                 remove_field(fieldName, lowestRemovedIndex, copies_removed);
             }
         }
-        if (any_removed) {
-            patch_map_elements_helper(lowestRemovedIndex);
-            patch_elements_helper(lowestRemovedIndex);
-        }
 
         // once we've removed any existing copy we now add,
         // this (delete + add == put) turns out be be the
@@ -594,13 +572,6 @@ final class IonStructLite
         }
     }
 
-    @Override
-    void afterIteratorRemove(IonValueLite value, int idx) {
-        if (_field_map != null) {
-            patch_map_elements_helper(idx);
-        }
-    }
-
     public IonValue remove(String fieldName)
     {
         checkForLock();
@@ -623,10 +594,6 @@ final class IonStructLite
 
         super.remove(field);
 
-        if (_field_map != null) {
-            patch_map_elements_helper(idx);
-        }
-
         return field;
     }
 
@@ -657,64 +624,70 @@ final class IonStructLite
 
         super.remove(concrete);
 
-        if (_field_map != null) {
-            patch_map_elements_helper(idx);
-        }
-
         return true;
     }
 
     public boolean removeAll(String... fieldNames)
     {
-        boolean removedAny = false;
-
         checkForLock();
 
-        int size = get_child_count();
-        for (int ii=size; ii>0; ) {
-            ii--;
-            IonValue field = get_child(ii);
-            if (isListedField(field, fieldNames)) {
-                field.removeFromContainer();
-                removedAny = true;
-            }
-        }
-
-        return removedAny;
+        return removeFields(fieldNames, true);
     }
 
     public boolean retainAll(String... fieldNames)
     {
         checkForLock();
 
-        boolean removedAny = false;
-        int size = get_child_count();
-        for (int ii=size; ii>0; ) {
-            ii--;
-            IonValue field = get_child(ii);
-            if (! isListedField(field, fieldNames))
-            {
-                field.removeFromContainer();
-                removedAny = true;
-            }
-        }
-        return removedAny;
+        return removeFields(fieldNames, false);
     }
 
     /**
+     * Removes either the listed or the unlisted fields in a single pass over
+     * the children, so that removing many fields from a large struct is linear
+     * rather than quadratic in the size of the struct.
      *
-     * @param field must not be null.  It is not required to have a field name.
      * @param fields must not be null, and must not contain and nulls.
-     * @return true if {@code field.getFieldName()} is in {@code fields}.
+     * @param removeListed if true, removes the listed fields; otherwise,
+     *  removes the fields that are not listed.
+     * @return true if any field was removed.
      */
-    private static boolean isListedField(IonValue field, String[] fields)
+    private boolean removeFields(String[] fields, boolean removeListed)
     {
-        String fieldName = field.getFieldName();
+        int size = get_child_count();
+        if (size == 0) {
+            return false;
+        }
+
+        Set<String> fieldSet = new HashSet<String>(fields.length);
         for (String key : fields)
         {
-            if (key.equals(fieldName)) return true;
+            if (key == null) throw new NullPointerException("fieldName is null");
+            fieldSet.add(key);
         }
-        return false;
+
+        boolean[] removed = null;
+        for (int ii = 0; ii < size; ii++)
+        {
+            String fieldName = _children[ii].getFieldName();
+            boolean isListed = fieldName != null && fieldSet.contains(fieldName);
+            if (isListed == removeListed)
+            {
+                if (removed == null) {
+                    removed = new boolean[size];
+                }
+                removed[ii] = true;
+            }
+        }
+        if (removed == null) {
+            return false;
+        }
+
+        remove_children(removed);
+        if (_field_map != null) {
+            // Cheaper than patching the index once per removed field.
+            build_field_map();
+        }
+        return true;
     }
 
 
@@ -317,7 +317,21 @@ final class IonSystemLite
         // Note: this method constructs a new `ValueLoader` on each call to preserve thread safety.
         // If this causes excessive GC pressure, we should consider making a thread-local ValueLoader member field
         // on the IonSystemLite class.
-        return new ValueLoader().load(reader);
+        return new ValueLoader(true).load(reader);
+    }
+
+    /**
+     * @param retainSymbolIds whether the loaded values should retain the
+     *  symbol IDs of symbols whose text is known. Datagrams loaded from a
+     *  stream discard them, matching the values written by an
+     *  {@link IonWriter} over the datagram.
+     *
+     * @return a new loader that materializes values from a reader; not
+     *  thread safe.
+     */
+    ValueLoader newValueLoader(boolean retainSymbolIds)
+    {
+        return new ValueLoader(retainSymbolIds);
     }
 
     IonValueLite newValue(IonType valueType)
@@ -673,15 +687,17 @@ final class IonSystemLite
         return false;
     }
 
-    private class ValueLoader {
+    final class ValueLoader {
         // This value was chosen somewhat arbitrarily; it can/should be changed if it is found to be insufficient.
         private static final int CONTAINER_STACK_INITIAL_CAPACITY = 16;
         private final ArrayList<IonContainerLite> containerStack;
+        private final boolean retainSymbolIds;
 
         private IonReader reader;
 
-        public ValueLoader() {
+        private ValueLoader(boolean retainSymbolIds) {
             this.containerStack = new ArrayList<>(CONTAINER_STACK_INITIAL_CAPACITY);
+            this.retainSymbolIds = retainSymbolIds;
             // The reader is specified in each call to `load(IonReader)`.
             this.reader = null;
         }
@@ -711,7 +727,11 @@ final class IonSystemLite
                 case TIMESTAMP:
                     return newTimestamp(reader.timestampValue());
                 case SYMBOL:
-                    return newSymbol(reader.symbolValue());
+                    SymbolToken symbol = reader.symbolValue();
+                    if (!retainSymbolIds && symbol.getText() != null) {
+                        return newSymbol(symbol.getText());
+                    }
+                    return newSymbol(symbol);
                 case STRING:
                     return newString(reader.stringValue());
                 case CLOB:
@@ -749,6 +769,10 @@ final class IonSystemLite
                 return false;
             }
             SymbolToken token = reader.getFieldNameSymbol();
+            if (!retainSymbolIds && token.getText() != null) {
+                // Note: setFieldName cannot be used because the value has not yet been added to its struct.
+                token = newSymbolToken(token.getText(), UNKNOWN_SYMBOL_ID);
+            }
             value.setFieldNameSymbol(token);
             return true;
         }
@@ -762,6 +786,14 @@ final class IonSystemLite
             if (annotations.length == 0) {
                 return false;
             }
+            if (!retainSymbolIds) {
+                for (int i = 0; i < annotations.length; i++) {
+                    String text = annotations[i].getText();
+                    if (text != null) {
+                        annotations[i] = newSymbolToken(text, UNKNOWN_SYMBOL_ID);
+                    }
+                }
+            }
             value.setTypeAnnotationSymbolsNoCopy(annotations);
             return true;
         }
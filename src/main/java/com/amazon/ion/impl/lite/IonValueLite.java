@@ -475,6 +475,10 @@ abstract class IonValueLite
         if ((_flags & IS_NULL_VALUE) != 0) {
             return hashTypeAnnotations(hashSignature());
         } else if (this instanceof IonContainerLite) {
+            int contentHash = ((IonContainerLite) this).getCachedContentHashCode();
+            if (contentHash != 0) {
+                return hashTypeAnnotations(contentHash);
+            }
             return containerHashCode();
         }
         return scalarHashCode();
@@ -490,6 +494,10 @@ abstract class IonValueLite
      * The explicit {@code getClass()} checks on scalar values are intentional: they give the JIT a monomorphic
      * receiver at each call site, enabling inlining of {@code scalarHashCode()} regardless of global call-site
      * pollution from other Ion types (see <a href="https://bugs.openjdk.org/browse/JDK-8368292">JDK-8368292</a>).
+     * <p>
+     * The content hash of each read-only container is memoized as it is popped, and read-only descendants whose
+     * hashes are already memoized are not stepped into. Repeatedly hashing a frozen tree (e.g. when using it as a
+     * cache key) therefore costs O(1) after the first computation.
      */
     private int containerHashCode() {
         int[] valueHashes = new int[CONTAINER_STACK_INITIAL_CAPACITY];
@@ -499,6 +507,7 @@ abstract class IonValueLite
         IonContainerLite parent = null;
         IonContainerLite.SequenceContentIterator iterator = null;
         int valueHash = 0;
+        int contentHash;
         IonValueLite value = this;
         do {
             if ((value._flags & IS_NULL_VALUE) != 0) {
@@ -512,6 +521,9 @@ abstract class IonValueLite
                 } else {
                     valueHash = updateHash(valueHash, value.scalarHashCode(), value, parent);
                 }
+            } else if ((contentHash = ((IonContainerLite) value).getCachedContentHashCode()) != 0) {
+                // Read-only containers memoize their hash codes, so there is no need to step in.
+                valueHash = updateHash(valueHash, value.hashTypeAnnotations(contentHash), value, parent);
             } else {
                 // Step into the container by pushing state onto the stack.
                 if (++stackIndex >= valueHashes.length) {
@@ -533,7 +545,8 @@ abstract class IonValueLite
                 value = iterator.nextOrNull();
                 if (value == null) {
                     // The end of the container has been reached. Pop from the stack and update the parent's hash.
-                    IonValueLite container = parent;
+                    IonContainerLite container = parent;
+                    container.cacheContentHashCode(valueHash);
                     int containerHash = container.hashTypeAnnotations(valueHash);
                     valueHash = valueHashes[stackIndex];
                     parent = parents[stackIndex];
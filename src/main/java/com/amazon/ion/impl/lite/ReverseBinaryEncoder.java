@@ -68,8 +68,12 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.ListIterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -131,16 +135,101 @@ class ReverseBinaryEncoder
 
     private IonSystem myIonSystem;
 
+    /**
+     * The maximum number of idle buffers retained by the shared pool, and the
+     * size of the largest buffer that may be retained. Together they bound the
+     * memory held by the pool.
+     */
+    private static final int MAX_POOLED_BUFFERS = 8;
+    static final int MAX_POOLED_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * Buffers released by encoders whose output has been consumed. Stale
+     * contents are harmless, as an encoder only reads back what it wrote.
+     */
+    private static final Queue<byte[]> BUFFER_POOL =
+        new ConcurrentLinkedQueue<byte[]>();
+
+    // Tracked separately since ConcurrentLinkedQueue.size() is not constant-time.
+    private static final AtomicInteger BUFFER_POOL_SIZE = new AtomicInteger();
+
     ReverseBinaryEncoder(int initialSize)
     {
-        myBuffer = new byte[initialSize];
-        myOffset = initialSize;
+        this(new byte[initialSize]);
+    }
+
+    private ReverseBinaryEncoder(byte[] buffer)
+    {
+        myBuffer = buffer;
+        myOffset = buffer.length;
+    }
+
+    /**
+     * Returns an encoder whose buffer is taken from a shared pool when one is
+     * available. Callers should {@link #release()} the encoder once its
+     * output has been consumed.
+     *
+     * @param initialSize the size of the buffer to allocate if the pool is
+     *          empty
+     */
+    static ReverseBinaryEncoder newPooledEncoder(int initialSize)
+    {
+        byte[] buffer = BUFFER_POOL.poll();
+        if (buffer == null) {
+            buffer = new byte[initialSize];
+        }
+        else {
+            BUFFER_POOL_SIZE.decrementAndGet();
+        }
+        return new ReverseBinaryEncoder(buffer);
+    }
+
+    /**
+     * Returns this encoder's buffer to the shared pool, unless the buffer is
+     * too large or the pool is full. The encoder must not be used afterward.
+     */
+    void release()
+    {
+        byte[] buffer = myBuffer;
+        myBuffer = null;
+        if (buffer == null || buffer.length > MAX_POOLED_BUFFER_SIZE) {
+            return;
+        }
+        if (BUFFER_POOL_SIZE.getAndIncrement() < MAX_POOLED_BUFFERS) {
+            BUFFER_POOL.offer(buffer);
+        }
+        else {
+            // The pool is full; undo the optimistic increment and drop the buffer.
+            BUFFER_POOL_SIZE.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the encoded bytes in a buffer that owns them. Small
+     * encodings are copied so that this encoder's buffer can be released to
+     * the pool; larger ones take over the buffer without copying it.
+     * <p>
+     * This makes an unchecked assumption that {@link #serialize(IonDatagram)}
+     * is already called. The encoder must not be used afterward.
+     */
+    ByteBuffer toEncodingAndRelease()
+    {
+        ByteBuffer encoding;
+        if (myBuffer.length <= MAX_POOLED_BUFFER_SIZE) {
+            encoding = ByteBuffer.wrap(toNewByteArray());
+            release();
+        }
+        else {
+            encoding = ByteBuffer.wrap(myBuffer, myOffset, byteSize()).slice();
+            myBuffer = null;
+        }
+        return encoding;
     }
 
     /**
      * Returns the size of the Ion binary-encoded byte array.
      * <p>
-     * This makes an unchecked assumption that {{@link #serialize(IonDatagram)}
+     * This makes an unchecked assumption that {@link #serialize(IonDatagram)}
      * is already called.
      *
      * @return the number of bytes of the byte array
@@ -155,7 +244,7 @@ class ReverseBinaryEncoder
      * new byte array. The allocates an array of the size needed to exactly hold
      * the output and copies the entire byte array to it.
      * <p>
-     * This makes an unchecked assumption that {{@link #serialize(IonDatagram)}
+     * This makes an unchecked assumption that {@link #serialize(IonDatagram)}
      * is already called.
      *
      * @return the newly allocated byte array
@@ -175,7 +264,7 @@ class ReverseBinaryEncoder
      * The given array must be large enough to contain all the bytes of the
      * Ion binary-encoded byte array.
      * <p>
-     * This makes an unchecked assumption that {{@link #serialize(IonDatagram)}
+     * This makes an unchecked assumption that {@link #serialize(IonDatagram)}
      * is already called.
      * <p>
      * TODO To be deprecated along with {@link IonDatagram#getBytes(byte[])}
@@ -198,7 +287,7 @@ class ReverseBinaryEncoder
      * The given sub-array must be large enough to contain all the bytes of the
      * Ion binary-encoded byte array.
      * <p>
-     * This makes an unchecked assumption that {{@link #serialize(IonDatagram)}
+     * This makes an unchecked assumption that {@link #serialize(IonDatagram)}
      * is already called.
      * <p>
      * TODO To be deprecated along with {@link IonDatagram#getBytes(byte[], int)}
@@ -221,7 +310,7 @@ class ReverseBinaryEncoder
      * Copies the current contents of the Ion binary-encoded byte array to a
      * specified stream.
      * <p>
-     * This makes an unchecked assumption that {{@link #serialize(IonDatagram)}
+     * This makes an unchecked assumption that {@link #serialize(IonDatagram)}
      * is already called.
      *
      * @return the number of bytes written into {@code out}
@@ -232,9 +321,7 @@ class ReverseBinaryEncoder
         throws IOException
     {
         int length = myBuffer.length - myOffset;
-        byte[] bytes = new byte[length];
-        System.arraycopy(myBuffer, myOffset, bytes, 0, length);
-        out.write(bytes);
+        out.write(myBuffer, myOffset, length);
         return length;
     }
 
@@ -0,0 +1,175 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl.lite;
+
+/**
+ * Maps the field names of a large {@link IonStructLite} to the last child with
+ * that name.
+ * <p>
+ * This is an open-addressed hash table with linear probing. It stores the
+ * children themselves rather than their indices, and reads each child's index
+ * from its element ID, which the container keeps current as children shift.
+ * Removing a child therefore costs one map removal, no matter how many
+ * children follow it.
+ * <p>
+ * {@code null} is a valid key; it represents field names with unknown text.
+ */
+final class StructFieldIndex
+{
+    static final int NOT_FOUND = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    // Stands in for the null key, since null denotes an empty slot.
+    private static final Object NULL_KEY = new Object();
+
+    private Object[]       keys;
+    private IonValueLite[] values;
+    private int            size;
+
+    StructFieldIndex(int expectedSize)
+    {
+        int capacity = MIN_CAPACITY;
+        // Keep the load factor at or below 0.5 to keep probe sequences short.
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        keys = new Object[capacity];
+        values = new IonValueLite[capacity];
+    }
+
+    private static Object maskNull(String key)
+    {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static int hash(Object key)
+    {
+        int h = key.hashCode();
+        // Spread the high bits so that they affect the slot.
+        return h ^ (h >>> 16);
+    }
+
+    private int slotOf(Object key)
+    {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        Object k;
+        while ((k = keys[slot]) != null) {
+            if (k == key || k.equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ~slot;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return the index of the child associated with the given field name, or
+     *  {@link #NOT_FOUND}.
+     */
+    int get(String fieldName)
+    {
+        int slot = slotOf(maskNull(fieldName));
+        return slot < 0 ? NOT_FOUND : values[slot]._elementid();
+    }
+
+    /**
+     * Associates the given field name with the given child, replacing any
+     * existing association.
+     */
+    void put(String fieldName, IonValueLite child)
+    {
+        Object key = maskNull(fieldName);
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            values[slot] = child;
+            return;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+            slot = slotOf(key);
+        }
+        slot = ~slot;
+        keys[slot] = key;
+        values[slot] = child;
+        size++;
+    }
+
+    /**
+     * Removes the given field name, if present.
+     */
+    void remove(String fieldName)
+    {
+        int slot = slotOf(maskNull(fieldName));
+        if (slot < 0) {
+            return;
+        }
+        // Backward-shift deletion: move any displaced entries that follow the
+        // removed slot in its probe sequence so that no tombstones are needed.
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        Object k;
+        while ((k = keys[next]) != null) {
+            int home = hash(k) & mask;
+            // Move the entry into the hole unless its home slot lies cyclically
+            // within (hole, next].
+            boolean homeIsBetween = (hole <= next)
+                ? (hole < home && home <= next)
+                : (hole < home || home <= next);
+            if (!homeIsBetween) {
+                keys[hole] = k;
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = null;
+        values[hole] = null;
+        size--;
+    }
+
+    private void grow()
+    {
+        Object[] oldKeys = keys;
+        IonValueLite[] oldValues = values;
+        keys = new Object[oldKeys.length * 2];
+        values = new IonValueLite[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object key = oldKeys[i];
+            if (key != null) {
+                int slot = hash(key) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Calls the given visitor once for each entry, in no particular order.
+     */
+    void forEach(EntryVisitor visitor)
+    {
+        for (int i = 0; i < keys.length; i++) {
+            Object key = keys[i];
+            if (key != null) {
+                visitor.visit(key == NULL_KEY ? null : (String) key, values[i]);
+            }
+        }
+    }
+
+    interface EntryVisitor
+    {
+        void visit(String fieldName, IonValueLite child);
+    }
+}
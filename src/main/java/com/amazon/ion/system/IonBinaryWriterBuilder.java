@@ -15,12 +15,15 @@
 
 package com.amazon.ion.system;
 
+import com.amazon.ion.BufferBudget;
 import com.amazon.ion.IonCatalog;
+import com.amazon.ion.IonMetricsListener;
 import com.amazon.ion.IonReader;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.SubstituteSymbolTableException;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.impl._Private_IonBinaryWriterBuilder;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -211,6 +214,103 @@ public abstract class IonBinaryWriterBuilder
      */
     public abstract IonBinaryWriterBuilder withBlockSize(int size);
 
+    /**
+     * Bounds the memory used to write large top-level containers.
+     * <p>
+     * The binary encoding prefixes each container with its length, so by
+     * default the writer holds a top-level container in memory until it is
+     * complete. When a threshold is set and more than that many bytes are
+     * buffered within a container, the finished values are moved to a
+     * temporary file, leaving only the pending lengths of the open containers
+     * in memory. The file is copied to the output stream when the writer is
+     * flushed or finished, and is deleted when the writer is closed.
+     * Scalar values are always buffered in their entirety.
+     * <p>
+     * Local symbol tables written by the user are never spilled.
+     *
+     * @param threshold the number of buffered bytes that triggers a spill, or
+     * 0 (the default) to keep all data in memory.
+     */
+    public abstract IonBinaryWriterBuilder withContainerSpillThreshold(int threshold);
+
+    /**
+     * Moves the writes to the output stream off of the thread that encodes
+     * the data.
+     * <p>
+     * When enabled, {@link IonWriter#flush()}, {@link IonWriter#finish()} and
+     * auto-flush hand the encoded data to the given executor and return,
+     * while the writer continues encoding into new buffers. The data is
+     * written in order, one flush at a time, even if the executor runs tasks
+     * concurrently; an executor that creates a virtual thread per task is a
+     * good fit. When more than {@code maxInFlightBytes} have been handed off
+     * and not yet written, the writer waits for the output to catch up.
+     * <p>
+     * An {@link java.io.IOException} thrown by the output stream is reported by the
+     * next write, flush, finish or close. {@link IonWriter#close()} waits for
+     * all data to be written before closing the stream. The executor is not
+     * shut down by the writer.
+     *
+     * @param executor runs the writes, or null to write on the caller's
+     * thread (the default).
+     * @param maxInFlightBytes the number of bytes that may be waiting to be
+     * written; must be positive if {@code executor} is non-null.
+     */
+    public abstract IonBinaryWriterBuilder withAsyncFlushing(Executor executor, long maxInFlightBytes);
+
+    /**
+     * Compresses the output to gzip format as a series of independently
+     * compressed members, which are compressed concurrently.
+     * <p>
+     * When enabled, the writer wraps its output stream in a
+     * {@link com.amazon.ion.util.ParallelGzipOutputStream} and enables
+     * auto-flush and local symbol table appends, so that it writes its data
+     * at top-level value boundaries as it goes. Each member ends at the first
+     * such boundary after {@code memberSize} bytes, so every member begins
+     * with a top-level value, and up to twice as many members as there are
+     * available processors are compressed at once. The output is standard
+     * gzip that any gzip decompressor accepts;
+     * {@link IonReaderBuilder#withParallelGzipDecompression(Executor, int)}
+     * decompresses it in parallel.
+     * <p>
+     * Data reaches the output stream in whole members, so a flush may leave
+     * up to {@code memberSize} bytes buffered; {@link IonWriter#finish()}
+     * and {@link IonWriter#close()} write all of it. A writer that is reset
+     * onto a new output stream with {@link com.amazon.ion.ResettableWriter}
+     * finishes the gzip data of the previous stream and compresses the new
+     * one. The executor is not shut down by the writer.
+     *
+     * @param executor compresses the members, or null to disable compression
+     * (the default).
+     * @param memberSize the minimum number of uncompressed bytes in each
+     * member; must be positive if {@code executor} is non-null.
+     */
+    public abstract IonBinaryWriterBuilder withParallelGzipCompression(Executor executor, int memberSize);
+
+    /**
+     * Counts the memory of the writer's buffers against a budget shared with
+     * other readers and writers. A writer cannot skip values, so its buffers
+     * are allocated even when the budget is exhausted; their use makes the
+     * budget's readers skip large values sooner. The memory is returned to
+     * the budget as the writer flushes and when it is closed.
+     *
+     * @param budget the budget, or null (the default) for none.
+     *
+     * @see BufferBudget
+     */
+    public abstract IonBinaryWriterBuilder withBufferBudget(BufferBudget budget);
+
+    /**
+     * Declares the listener that built writers notify of the values they
+     * write and of the work they do to buffer and flush them. The listener
+     * may be shared between builders and the writers they build.
+     *
+     * @param listener the listener; {@link IonMetricsListener#NO_OP} (the
+     * default) or null disables reporting.
+     *
+     * @see IonMetricsListener
+     */
+    public abstract IonBinaryWriterBuilder withMetricsListener(IonMetricsListener listener);
+
     /**
      * Enables or disables writing Binary32 (4-byte, single precision,
      * IEEE-754) values for floats when there would be no loss in precision.
@@ -11,17 +11,24 @@ import com.amazon.ion.IonStruct;
 import com.amazon.ion.IonSystem;
 import com.amazon.ion.IonTextReader;
 import com.amazon.ion.IonValue;
+import com.amazon.ion.ReaderCheckpoint;
+import com.amazon.ion.IonMetricsListener;
+import com.amazon.ion.StringCache;
 import com.amazon.ion.util.InputStreamInterceptor;
+import com.amazon.ion.util.ParallelGzipStreamInterceptor;
 import com.amazon.ion.impl._Private_IonReaderBuilder;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ServiceLoader;
+import java.util.concurrent.Executor;
 
 /**
  * Build a new {@link IonReader} from the given {@link IonCatalog} and data
@@ -102,6 +109,9 @@ public abstract class IonReaderBuilder
     private IonBufferConfiguration bufferConfiguration = IonBufferConfiguration.DEFAULT;
     private List<InputStreamInterceptor> streamInterceptors = null;
     private boolean gzipDecompressionEnabled = true;
+    private ParallelGzipStreamInterceptor parallelGzipStreamInterceptor = null;
+    private StringCache stringCache = null;
+    private IonMetricsListener metricsListener = IonMetricsListener.NO_OP;
 
     protected IonReaderBuilder()
     {
@@ -114,6 +124,9 @@ public abstract class IonReaderBuilder
         this.bufferConfiguration = that.bufferConfiguration;
         this.streamInterceptors = that.streamInterceptors == null ? null : new ArrayList<>(that.streamInterceptors);
         this.gzipDecompressionEnabled = that.gzipDecompressionEnabled;
+        this.parallelGzipStreamInterceptor = that.parallelGzipStreamInterceptor;
+        this.stringCache = that.stringCache;
+        this.metricsListener = that.metricsListener;
     }
 
     /**
@@ -322,6 +335,76 @@ public abstract class IonReaderBuilder
         return bufferConfiguration;
     }
 
+    /**
+     * Declares the cache through which built readers deduplicate string values, so that repeated occurrences of a
+     * value are returned as the same {@link String} instance. Binary readers look up values by their UTF-8 bytes
+     * and therefore skip decoding on a hit. The cache may be shared between builders and the readers they build.
+     * By default, no cache is used and every call to {@link IonReader#stringValue()} on a string value returns a new
+     * instance. Symbol values are unaffected; their text is already shared through the symbol table.
+     *
+     * @param cache the cache, or null to disable deduplication.
+     *
+     * @return this builder instance, if mutable;
+     * otherwise a mutable copy of this builder.
+     *
+     * @see #setStringCache(StringCache)
+     */
+    public IonReaderBuilder withStringCache(StringCache cache) {
+        IonReaderBuilder b = mutable();
+        b.setStringCache(cache);
+        return b;
+    }
+
+    /**
+     * @see #withStringCache(StringCache)
+     */
+    public void setStringCache(StringCache cache) {
+        mutationCheck();
+        stringCache = cache;
+    }
+
+    /**
+     * @see #withStringCache(StringCache)
+     * @return the current cache, or null.
+     */
+    public StringCache getStringCache() {
+        return stringCache;
+    }
+
+    /**
+     * Declares the listener that built binary readers notify of the values they read and of the work they do to
+     * buffer them, for example refilling and growing the buffer. The listener may be shared between builders and the
+     * readers they build. Text readers do not report measurements.
+     *
+     * @param listener the listener; {@link IonMetricsListener#NO_OP} (the default) or null disables reporting.
+     *
+     * @return this builder instance, if mutable;
+     * otherwise a mutable copy of this builder.
+     *
+     * @see #setMetricsListener(IonMetricsListener)
+     */
+    public IonReaderBuilder withMetricsListener(IonMetricsListener listener) {
+        IonReaderBuilder b = mutable();
+        b.setMetricsListener(listener);
+        return b;
+    }
+
+    /**
+     * @see #withMetricsListener(IonMetricsListener)
+     */
+    public void setMetricsListener(IonMetricsListener listener) {
+        mutationCheck();
+        metricsListener = listener == null ? IonMetricsListener.NO_OP : listener;
+    }
+
+    /**
+     * @see #withMetricsListener(IonMetricsListener)
+     * @return the current listener, which is {@link IonMetricsListener#NO_OP} if none has been declared.
+     */
+    public IonMetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
     /**
      * Adds an {@link InputStreamInterceptor} to the end of the list that the builder will attempt
      * to apply to a stream before creating {@link IonReader} instances over that stream.
@@ -389,7 +472,8 @@ public abstract class IonReaderBuilder
      * detected on the classpath by {@link ServiceLoader#load(Class)} will immediately follow. Any stream
      * interceptor(s) manually added using {@link #addInputStreamInterceptor(InputStreamInterceptor)} will occur
      * at the end of the list. If GZIP auto-decompression has been disabled, {@link GzipStreamInterceptor} is
-     * omitted from the returned list.
+     * omitted from the returned list. Otherwise, if parallel GZIP decompression has been enabled via
+     * {@link #withParallelGzipDecompression(Executor, int)}, a {@link ParallelGzipStreamInterceptor} takes its place.
      * @return an unmodifiable view of the stream interceptors currently configured.
      */
     public List<InputStreamInterceptor> getInputStreamInterceptors() {
@@ -405,6 +489,14 @@ public abstract class IonReaderBuilder
             }
             return Collections.unmodifiableList(filtered);
         }
+        if (parallelGzipStreamInterceptor != null) {
+            // Decompress GZIP in parallel in place of GzipStreamInterceptor.
+            List<InputStreamInterceptor> replaced = new ArrayList<>(interceptors.size());
+            for (InputStreamInterceptor interceptor : interceptors) {
+                replaced.add(interceptor instanceof GzipStreamInterceptor ? parallelGzipStreamInterceptor : interceptor);
+            }
+            return Collections.unmodifiableList(replaced);
+        }
         if (streamInterceptors == null) {
             return DETECTED_STREAM_INTERCEPTORS;
         }
@@ -448,6 +540,40 @@ public abstract class IonReaderBuilder
         return gzipDecompressionEnabled;
     }
 
+    /**
+     * Declares whether GZIP-compressed data is decompressed by a {@link com.amazon.ion.util.ParallelGzipInputStream},
+     * returning a new mutable builder if the current one is immutable.
+     * <p>
+     * When enabled, the readers decompress the members written by
+     * {@link com.amazon.ion.util.ParallelGzipOutputStream} on the given executor, reading ahead up to
+     * {@code readAhead} members while the data of earlier members is parsed. Other GZIP data is decompressed on the
+     * reader's thread, as it is by default. This has no effect if GZIP auto-decompression has been disabled via
+     * {@link #withGzipDecompressionEnabled(boolean)}.
+     *
+     * @param executor decompresses the members, or null to decompress on the reader's thread through
+     * {@link GzipStreamInterceptor} (the default). The executor is not shut down by the readers.
+     * @param readAhead the number of members to decompress ahead of the reader; must be positive if
+     * {@code executor} is non-null.
+     * @return this builder instance, if mutable; otherwise a mutable copy of this builder.
+     *
+     * @see #setParallelGzipDecompression(Executor, int)
+     */
+    public IonReaderBuilder withParallelGzipDecompression(Executor executor, int readAhead) {
+        IonReaderBuilder b = mutable();
+        b.setParallelGzipDecompression(executor, readAhead);
+        return b;
+    }
+
+    /**
+     * @see #withParallelGzipDecompression(Executor, int)
+     *
+     * @throws UnsupportedOperationException if this builder is immutable.
+     */
+    public void setParallelGzipDecompression(Executor executor, int readAhead) {
+        mutationCheck();
+        parallelGzipStreamInterceptor = executor == null ? null : new ParallelGzipStreamInterceptor(executor, readAhead);
+    }
+
     /**
      * Based on the builder's configuration properties, creates a new IonReader
      * instance over the given block of Ion data, detecting whether it's text or
@@ -514,6 +640,54 @@ public abstract class IonReaderBuilder
      */
     public abstract IonReader build(InputStream ionData);
 
+    /**
+     * Based on the builder's configuration properties, creates a new binary
+     * IonReader that resumes reading a stream from a {@link ReaderCheckpoint}
+     * captured by a {@link com.amazon.ion.CheckpointableReader}. The symbol
+     * table in scope at the checkpoint is restored without re-reading the
+     * data that precedes it, and offsets reported by the new reader, e.g. via
+     * its spans and checkpoints, are relative to the beginning of the stream.
+     * <p>
+     * The stream must contain uncompressed binary Ion; input stream
+     * interceptors such as GZIP decompression are not applied.
+     *
+     * @param ionData the stream, positioned at {@link ReaderCheckpoint#getOffset()}.
+     * Must not be null.
+     * @param checkpoint the checkpoint. Must not be null.
+     *
+     * @return a new reader instance.
+     * Callers must call {@link IonReader#close()} when finished with it.
+     *
+     * @see #build(SeekableByteChannel, ReaderCheckpoint)
+     */
+    public abstract IonReader build(InputStream ionData, ReaderCheckpoint checkpoint);
+
+    /**
+     * Based on the builder's configuration properties, creates a new binary
+     * IonReader that resumes reading a seekable source from a
+     * {@link ReaderCheckpoint}.
+     *
+     * @param ionData the source, which is positioned at the checkpoint's
+     * offset before reading begins, and which is closed when the reader is
+     * closed. Must not be null.
+     * @param checkpoint the checkpoint. Must not be null.
+     *
+     * @return a new reader instance.
+     * Callers must call {@link IonReader#close()} when finished with it.
+     *
+     * @throws IonException if the source throws {@link IOException}.
+     *
+     * @see #build(InputStream, ReaderCheckpoint)
+     */
+    public IonReader build(SeekableByteChannel ionData, ReaderCheckpoint checkpoint) {
+        try {
+            ionData.position(checkpoint.getOffset());
+        } catch (IOException e) {
+            throw new IonException(e);
+        }
+        return build(Channels.newInputStream(ionData), checkpoint);
+    }
+
     /**
      * Based on the builder's configuration properties, creates a new
      * {@link IonReader} instance over Ion text data.
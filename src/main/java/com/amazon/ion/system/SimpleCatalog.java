@@ -24,6 +24,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 
 /**
@@ -37,12 +39,18 @@ public class SimpleCatalog
      *
      *  - When getTable can't find an exact match, it does a linear scan of
      *    all tables with the same name to find the best match.
-     *  - Synchonization could probably be tighter using read/write locks
-     *    instead of simple monitors.
+     *  - All tables are guarded by a single read/write lock. Lookups, which
+     *    are far more common than mutations, proceed concurrently. The lock
+     *    is not a monitor, so virtual threads waiting for it do not pin
+     *    their carrier threads.
      */
     private Map<String,TreeMap<Integer,SymbolTable>> myTablesByName =
         new HashMap<String,TreeMap<Integer,SymbolTable>>();
 
+    private final ReentrantReadWriteLock myLock = new ReentrantReadWriteLock();
+    private final Lock myReadLock = myLock.readLock();
+    private final Lock myWriteLock = myLock.writeLock();
+
 
     public SymbolTable getTable(String name)
     {
@@ -55,19 +63,20 @@ public class SimpleCatalog
             throw new IllegalArgumentException("name is empty");
         }
 
-        TreeMap<Integer,SymbolTable> versions;
-        synchronized (myTablesByName)
+        myReadLock.lock();
+        try
         {
-            versions = myTablesByName.get(name);
-        }
+            TreeMap<Integer,SymbolTable> versions = myTablesByName.get(name);
 
-        if (versions == null) return null;
+            if (versions == null) return null;
 
-        synchronized (versions)
-        {
             Integer highestVersion = versions.lastKey();
             return versions.get(highestVersion);
         }
+        finally
+        {
+            myReadLock.unlock();
+        }
     }
 
     public SymbolTable getTable(String name, int version)
@@ -85,16 +94,13 @@ public class SimpleCatalog
             throw new IllegalArgumentException("version is < 1");
         }
 
-        TreeMap<Integer,SymbolTable> versions;
-        synchronized (myTablesByName)
+        myReadLock.lock();
+        try
         {
-            versions = myTablesByName.get(name);
-        }
+            TreeMap<Integer,SymbolTable> versions = myTablesByName.get(name);
 
-        if (versions == null) return null;
+            if (versions == null) return null;
 
-        synchronized (versions)
-        {
             SymbolTable st = versions.get(version);
             if (st == null)
             {
@@ -111,6 +117,10 @@ public class SimpleCatalog
 
             return st;
         }
+        finally
+        {
+            myReadLock.unlock();
+        }
     }
 
     static Integer bestMatch(int requestedVersion,
@@ -155,7 +165,8 @@ public class SimpleCatalog
         int version = table.getVersion();
         assert version >= 0;
 
-        synchronized (myTablesByName)
+        myWriteLock.lock();
+        try
         {
             TreeMap<Integer,SymbolTable> versions =
                 myTablesByName.get(name);
@@ -164,10 +175,11 @@ public class SimpleCatalog
                 versions = new TreeMap<Integer,SymbolTable>();
                 myTablesByName.put(name, versions);
             }
-            synchronized (versions)
-            {
-                versions.put(version, table);
-            }
+            versions.put(version, table);
+        }
+        finally
+        {
+            myWriteLock.unlock();
         }
     }
 
@@ -182,24 +194,26 @@ public class SimpleCatalog
     {
         SymbolTable removed = null;
 
-        synchronized (myTablesByName)
+        myWriteLock.lock();
+        try
         {
             TreeMap<Integer,SymbolTable> versions =
                 myTablesByName.get(name);
             if (versions != null)
             {
-                synchronized (versions)
-                {
-                    removed = versions.remove(version);
+                removed = versions.remove(version);
 
-                    // Remove empty intermediate table
-                    if (versions.isEmpty())
-                    {
-                        myTablesByName.remove(name);
-                    }
+                // Remove empty intermediate table
+                if (versions.isEmpty())
+                {
+                    myTablesByName.remove(name);
                 }
             }
         }
+        finally
+        {
+            myWriteLock.unlock();
+        }
 
         return removed;
     }
@@ -216,23 +230,25 @@ public class SimpleCatalog
     {
         ArrayList<SymbolTable> tables;
 
-        synchronized (myTablesByName)
+        myReadLock.lock();
+        try
         {
             tables = new ArrayList<SymbolTable>(myTablesByName.size());
 
-            // I don't think we can shorten the synchronization block
+            // I don't think we can shorten the locked block
             // because HashMap.values() result is a live view (not a copy) and
-            // thus needs to be synched too.
+            // thus needs to be guarded too.
             Collection<TreeMap<Integer, SymbolTable>> symtabNames =
                 myTablesByName.values();
             for (TreeMap<Integer,SymbolTable> versions : symtabNames)
             {
-                synchronized (versions)
-                {
-                    tables.addAll(versions.values());
-                }
+                tables.addAll(versions.values());
             }
         }
+        finally
+        {
+            myReadLock.unlock();
+        }
 
         return tables.iterator();
     }
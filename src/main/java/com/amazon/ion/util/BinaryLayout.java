@@ -0,0 +1,268 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Helpers for examining the encoding of binary Ion 1.0 top-level values without a reader, used to divide and index
+ * streams by their top-level value boundaries.
+ */
+final class BinaryLayout {
+
+    private BinaryLayout() {
+        // Not instantiable.
+    }
+
+    /**
+     * The Ion 1.0 binary version marker.
+     */
+    static final byte[] IVM = {(byte) 0xE0, 0x01, 0x00, (byte) 0xEA};
+
+    // The system symbol IDs needed to recognize local symbol tables and appends.
+    private static final int ION_SYMBOL_TABLE_SID = 3;
+    private static final int IMPORTS_SID = 6;
+    private static final int SYMBOLS_SID = 7;
+
+    /**
+     * Returned by {@link #symbolTableStructIndex(byte[], int, int)} when more bytes are needed.
+     */
+    static final int UNDECIDED = -2;
+
+    /**
+     * Returned by {@link #symbolTableStructIndex(byte[], int, int)} when the value is not a symbol table.
+     */
+    static final int NOT_A_SYMBOL_TABLE = -1;
+
+    /**
+     * @param typeDescriptor a top-level type descriptor other than the first byte of a version marker.
+     * @return true if the length of the value's body follows the type descriptor as a VarUInt.
+     */
+    static boolean hasVarUIntLength(int typeDescriptor) {
+        int type = typeDescriptor >> 4;
+        int lengthCode = typeDescriptor & 0x0F;
+        return !hasNoBody(typeDescriptor) && (lengthCode == 0x0E || (type == 0xD && lengthCode == 0x01));
+    }
+
+    /**
+     * @param typeDescriptor a top-level type descriptor other than the first byte of a version marker.
+     * @return true if the value is a boolean or a null, which have no body.
+     */
+    static boolean hasNoBody(int typeDescriptor) {
+        return (typeDescriptor >> 4) == 0x1 || (typeDescriptor & 0x0F) == 0x0F;
+    }
+
+    /**
+     * @param typeDescriptor a top-level type descriptor other than the first byte of a version marker.
+     * @return true if the value is a NOP pad, which is not part of the data model.
+     */
+    static boolean isNopPad(int typeDescriptor) {
+        return (typeDescriptor >> 4) == 0x0 && (typeDescriptor & 0x0F) != 0x0F;
+    }
+
+    /**
+     * Reads the VarUInt at the given index.
+     * @return the value and the index that follows it, packed as (value << 32) | index, or -1 if the VarUInt does not
+     * end before the limit.
+     */
+    private static long varUInt(byte[] bytes, int index, int limit) {
+        long value = 0;
+        int b;
+        do {
+            if (index >= limit) {
+                return -1;
+            }
+            b = bytes[index++];
+            value = (value << 7) | (b & 0x7F);
+        } while ((b & 0x80) == 0);
+        return (value << 32) | index;
+    }
+
+    /**
+     * @param bytes the buffer.
+     * @param index the index of the body of an annotation wrapper.
+     * @param limit the index after the last available byte of the wrapper's body.
+     * @return the index of the wrapped value's type descriptor if the wrapper's first annotation is $ion_symbol_table
+     * and the wrapped value is a struct; {@link #NOT_A_SYMBOL_TABLE} if not; or {@link #UNDECIDED} if this cannot be
+     * determined from the available bytes.
+     */
+    static int symbolTableStructIndex(byte[] bytes, int index, int limit) {
+        long annotationsLength = varUInt(bytes, index, limit);
+        if (annotationsLength < 0) {
+            return UNDECIDED;
+        }
+        int annotationsIndex = (int) annotationsLength;
+        long firstAnnotation = varUInt(bytes, annotationsIndex, limit);
+        if (firstAnnotation < 0) {
+            return UNDECIDED;
+        }
+        if ((firstAnnotation >>> 32) != ION_SYMBOL_TABLE_SID) {
+            return NOT_A_SYMBOL_TABLE;
+        }
+        int valueIndex = annotationsIndex + (int) (annotationsLength >>> 32);
+        if (valueIndex >= limit) {
+            return UNDECIDED;
+        }
+        return (bytes[valueIndex] & 0xF0) == 0xD0 ? valueIndex : NOT_A_SYMBOL_TABLE;
+    }
+
+    /**
+     * @param bytes the buffer.
+     * @param index the index of the body of an annotation wrapper that holds a local symbol table.
+     * @param limit the index after the wrapper's last byte.
+     * @return true if the symbol table appends to the previous one, i.e. imports $ion_symbol_table.
+     */
+    static boolean isAppend(byte[] bytes, int index, int limit) {
+        int structIndex = symbolTableStructIndex(bytes, index, limit);
+        int lengthCode = bytes[structIndex] & 0x0F;
+        int fieldIndex = structIndex + 1;
+        int end;
+        if (lengthCode == 0x0F) {
+            return false;
+        } else if (lengthCode == 0x0E || lengthCode == 0x01) {
+            long length = varUInt(bytes, fieldIndex, limit);
+            fieldIndex = (int) length;
+            end = fieldIndex + (int) (length >>> 32);
+        } else {
+            end = fieldIndex + lengthCode;
+        }
+        while (fieldIndex < end) {
+            long fieldSid = varUInt(bytes, fieldIndex, end);
+            int typeDescriptorIndex = (int) fieldSid;
+            int typeDescriptor = bytes[typeDescriptorIndex] & 0xFF;
+            if ((fieldSid >>> 32) == IMPORTS_SID) {
+                // An append is encoded as the symbol $ion_symbol_table, whose one-byte symbol ID follows.
+                return typeDescriptor == 0x71 && bytes[typeDescriptorIndex + 1] == ION_SYMBOL_TABLE_SID;
+            }
+            fieldIndex = typeDescriptorIndex + 1;
+            if (hasNoBody(typeDescriptor)) {
+                continue;
+            }
+            if ((typeDescriptor & 0x0F) == 0x0E) {
+                long length = varUInt(bytes, fieldIndex, end);
+                fieldIndex = (int) length + (int) (length >>> 32);
+            } else {
+                fieldIndex += typeDescriptor & 0x0F;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param bytes the buffer.
+     * @param index the index of a value's type descriptor.
+     * @param limit the index after the last available byte.
+     * @return the index of the value's body.
+     */
+    private static int bodyIndex(byte[] bytes, int index, int limit) {
+        return hasVarUIntLength(bytes[index] & 0xFF) ? (int) varUInt(bytes, index + 1, limit) : index + 1;
+    }
+
+    /**
+     * @param bytes the buffer.
+     * @param index the index of a value's type descriptor.
+     * @param limit the index after the last available byte.
+     * @return the index after the value's last byte.
+     */
+    private static int valueEnd(byte[] bytes, int index, int limit) {
+        int typeDescriptor = bytes[index] & 0xFF;
+        if (hasNoBody(typeDescriptor)) {
+            return index + 1;
+        }
+        if (hasVarUIntLength(typeDescriptor)) {
+            long length = varUInt(bytes, index + 1, limit);
+            return (int) length + (int) (length >>> 32);
+        }
+        return index + 1 + (typeDescriptor & 0x0F);
+    }
+
+    private static void writeVarUInt(ByteArrayOutputStream out, int value) {
+        int shift = 28;
+        while (shift > 0 && (value >>> shift) == 0) {
+            shift -= 7;
+        }
+        for (; shift > 0; shift -= 7) {
+            out.write((value >>> shift) & 0x7F);
+        }
+        out.write((value & 0x7F) | 0x80);
+    }
+
+    private static void writeHeader(ByteArrayOutputStream out, int type, int length) {
+        // A struct with length code 1 is sorted and has a VarUInt length, so that code cannot hold a length of 1.
+        if (length < 0x0E && !(type == 0xD && length == 1)) {
+            out.write((type << 4) | length);
+        } else {
+            out.write((type << 4) | 0x0E);
+            writeVarUInt(out, length);
+        }
+    }
+
+    private static byte[] concatenate(ByteArrayOutputStream first, ByteArrayOutputStream second) {
+        byte[] bytes = new byte[first.size() + second.size()];
+        System.arraycopy(first.toByteArray(), 0, bytes, 0, first.size());
+        System.arraycopy(second.toByteArray(), 0, bytes, first.size(), second.size());
+        return bytes;
+    }
+
+    /**
+     * Copies the fields of a local symbol table other than its symbols to {@code fields}, unless it is null, and the
+     * contents of its symbols list to {@code symbols}.
+     */
+    private static void copyFields(byte[] symbolTable, ByteArrayOutputStream fields, ByteArrayOutputStream symbols) {
+        int limit = symbolTable.length;
+        int structIndex = symbolTableStructIndex(symbolTable, bodyIndex(symbolTable, 0, limit), limit);
+        if ((symbolTable[structIndex] & 0x0F) == 0x0F) {
+            return;
+        }
+        int fieldIndex = bodyIndex(symbolTable, structIndex, limit);
+        int end = valueEnd(symbolTable, structIndex, limit);
+        while (fieldIndex < end) {
+            long fieldSid = varUInt(symbolTable, fieldIndex, end);
+            int typeDescriptorIndex = (int) fieldSid;
+            int typeDescriptor = symbolTable[typeDescriptorIndex] & 0xFF;
+            int valueEnd = valueEnd(symbolTable, typeDescriptorIndex, end);
+            if ((fieldSid >>> 32) == SYMBOLS_SID) {
+                // Symbols that are not declared in a list are ignored.
+                if ((typeDescriptor >> 4) == 0xB && typeDescriptor != 0xBF) {
+                    int listBodyIndex = bodyIndex(symbolTable, typeDescriptorIndex, end);
+                    symbols.write(symbolTable, listBodyIndex, valueEnd - listBodyIndex);
+                }
+            } else if (fields != null) {
+                fields.write(symbolTable, fieldIndex, valueEnd - fieldIndex);
+            }
+            fieldIndex = valueEnd;
+        }
+    }
+
+    /**
+     * Combines a local symbol table and a local symbol table that appends to it into one local symbol table that
+     * declares the same symbols, so that the symbols in effect after any number of appends can be restored by a
+     * single symbol table.
+     *
+     * @param symbolTable the encoding of a local symbol table, including its annotation wrapper.
+     * @param append the encoding of a local symbol table that appends to the first.
+     * @return the encoding of a local symbol table with the imports and other fields of the first, and the symbols of
+     * the first followed by the symbols of the append.
+     */
+    static byte[] appendSymbols(byte[] symbolTable, byte[] append) {
+        ByteArrayOutputStream fields = new ByteArrayOutputStream();
+        ByteArrayOutputStream symbols = new ByteArrayOutputStream();
+        copyFields(symbolTable, fields, symbols);
+        copyFields(append, null, symbols);
+        writeVarUInt(fields, SYMBOLS_SID);
+        writeHeader(fields, 0xB, symbols.size());
+        byte[] structBody = concatenate(fields, symbols);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(structBody.length + 16);
+        ByteArrayOutputStream structHeader = new ByteArrayOutputStream();
+        writeHeader(structHeader, 0xD, structBody.length);
+        // The wrapper's body is the length of the annotations, the $ion_symbol_table annotation, and the struct.
+        writeHeader(out, 0xE, 2 + structHeader.size() + structBody.length);
+        writeVarUInt(out, 1);
+        writeVarUInt(out, ION_SYMBOL_TABLE_SID);
+        byte[] header = structHeader.toByteArray();
+        out.write(header, 0, header.length);
+        out.write(structBody, 0, structBody.length);
+        return out.toByteArray();
+    }
+}
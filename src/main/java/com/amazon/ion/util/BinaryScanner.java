@@ -0,0 +1,541 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.FieldNameOrdinalReader;
+import com.amazon.ion.FieldNameResolver;
+import com.amazon.ion.IonCatalog;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.OffsetSpan;
+import com.amazon.ion.SeekableReader;
+import com.amazon.ion.Span;
+import com.amazon.ion.SpanProvider;
+import com.amazon.ion.system.IonReaderBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import static com.amazon.ion.util.BinaryLayout.IVM;
+
+/**
+ * Finds the top-level structs of a binary Ion stream whose fields have
+ * given text values, without fully parsing the records that do not match.
+ * <p>
+ * For each top-level struct, the scanner steps through the field headers
+ * and compares field names by symbol ID, resolving the predicates' field
+ * names once per local symbol table through the
+ * {@link FieldNameOrdinalReader} facet. Only fields with matching names are
+ * examined: string values are compared to the expected UTF-8 bytes without
+ * being decoded, and symbol values are compared through the symbol table.
+ * All other values are skipped using their length prefixes. Only matching
+ * records are passed to the callback, which may read them in full.
+ * <p>
+ * The stream is divided into splits at top-level value boundaries. Each
+ * split is prefixed with the Ion version marker and the local symbol tables
+ * in effect at its start, so it can be scanned independently. By default,
+ * splits are scanned on the calling thread; with
+ * {@link Builder#withParallelScanning(Executor, int)}, they are scanned
+ * concurrently. Either way, callbacks are invoked on the calling thread in
+ * stream order.
+ * <p>
+ * Instances are immutable and may be shared by any number of threads.
+ */
+public final class BinaryScanner {
+
+    /**
+     * Receives the records that satisfy all predicates.
+     */
+    public interface Callback {
+
+        /**
+         * Invoked for each matching record.
+         *
+         * @param reader a reader positioned on the matching top-level struct.
+         * The reader is valid only for the duration of the call, and must
+         * not be advanced past the record.
+         * @throws IOException if the callback fails to process the record.
+         */
+        void onMatch(IonReader reader) throws IOException;
+    }
+
+    /**
+     * The default number of bytes of top-level values in each split.
+     */
+    public static final int DEFAULT_SPLIT_SIZE = 1024 * 1024;
+
+    private static final int MAXIMUM_NUMBER_OF_PREDICATES = Long.SIZE;
+
+    /**
+     * Builds {@link BinaryScanner}s.
+     */
+    public static final class Builder {
+
+        private final List<String> fieldNames = new ArrayList<>();
+        private final List<String> values = new ArrayList<>();
+        private IonCatalog catalog = null;
+        private int splitSize = DEFAULT_SPLIT_SIZE;
+        private Executor executor = null;
+        private int maxSplitsInFlight = 0;
+
+        /**
+         * Adds a predicate that is satisfied when the top-level struct has a
+         * field with the given name whose value is a string or symbol with
+         * the given text. A record matches when it satisfies all predicates.
+         *
+         * @param fieldName the field name.
+         * @param text the text of the value.
+         * @return this builder.
+         */
+        public Builder withFieldEquals(String fieldName, String text) {
+            if (fieldName == null || text == null) {
+                throw new IllegalArgumentException("Field name and text must not be null.");
+            }
+            if (fieldNames.size() == MAXIMUM_NUMBER_OF_PREDICATES) {
+                throw new IllegalArgumentException("At most " + MAXIMUM_NUMBER_OF_PREDICATES + " predicates are supported.");
+            }
+            fieldNames.add(fieldName);
+            values.add(text);
+            return this;
+        }
+
+        /**
+         * Sets the catalog used to resolve the shared symbol tables imported
+         * by the stream.
+         *
+         * @param catalog the catalog, or null.
+         * @return this builder.
+         */
+        public Builder withCatalog(IonCatalog catalog) {
+            this.catalog = catalog;
+            return this;
+        }
+
+        /**
+         * Sets the number of bytes of top-level values after which a split
+         * ends. A single value larger than this occupies a split of its own.
+         *
+         * @param splitSize the split size.
+         * @return this builder.
+         */
+        public Builder withSplitSize(int splitSize) {
+            if (splitSize < 1) {
+                throw new IllegalArgumentException("Split size must be positive.");
+            }
+            this.splitSize = splitSize;
+            return this;
+        }
+
+        /**
+         * Scans splits concurrently on the given executor. While the splits
+         * are being scanned, the calling thread reads ahead to divide the
+         * stream into further splits.
+         *
+         * @param executor the executor on which to scan splits.
+         * @param maxSplitsInFlight the maximum number of splits that may be
+         *                          read but not yet reported, which bounds
+         *                          memory use to roughly this many times the
+         *                          split size.
+         * @return this builder.
+         */
+        public Builder withParallelScanning(Executor executor, int maxSplitsInFlight) {
+            if (executor == null) {
+                throw new IllegalArgumentException("Executor must not be null.");
+            }
+            if (maxSplitsInFlight < 1) {
+                throw new IllegalArgumentException("The maximum number of splits in flight must be positive.");
+            }
+            this.executor = executor;
+            this.maxSplitsInFlight = maxSplitsInFlight;
+            return this;
+        }
+
+        /**
+         * @return a new scanner.
+         */
+        public BinaryScanner build() {
+            if (fieldNames.isEmpty()) {
+                throw new IllegalStateException("At least one predicate is required.");
+            }
+            return new BinaryScanner(this);
+        }
+    }
+
+    private final FieldNameResolver resolver;
+    // The indexes of the predicates on each field name, indexed by the field name's ordinal.
+    private final int[][] predicatesByOrdinal;
+    private final String[] values;
+    private final byte[][] utf8Values;
+    private final long allPredicates;
+    private final IonReaderBuilder readerBuilder;
+    private final int splitSize;
+    private final Executor executor;
+    private final int maxSplitsInFlight;
+
+    private BinaryScanner(Builder builder) {
+        List<String> distinctFieldNames = new ArrayList<>();
+        for (String fieldName : builder.fieldNames) {
+            if (!distinctFieldNames.contains(fieldName)) {
+                distinctFieldNames.add(fieldName);
+            }
+        }
+        resolver = FieldNameResolver.create(distinctFieldNames.toArray(new String[0]));
+        int numberOfPredicates = builder.fieldNames.size();
+        predicatesByOrdinal = new int[distinctFieldNames.size()][0];
+        values = builder.values.toArray(new String[0]);
+        utf8Values = new byte[numberOfPredicates][];
+        for (int i = 0; i < numberOfPredicates; i++) {
+            int ordinal = resolver.ordinalOf(builder.fieldNames.get(i));
+            int[] predicates = Arrays.copyOf(predicatesByOrdinal[ordinal], predicatesByOrdinal[ordinal].length + 1);
+            predicates[predicates.length - 1] = i;
+            predicatesByOrdinal[ordinal] = predicates;
+            utf8Values[i] = values[i].getBytes(StandardCharsets.UTF_8);
+        }
+        allPredicates = numberOfPredicates == Long.SIZE ? -1L : (1L << numberOfPredicates) - 1;
+        readerBuilder = IonReaderBuilder.standard().withCatalog(builder.catalog).immutable();
+        splitSize = builder.splitSize;
+        executor = builder.executor;
+        maxSplitsInFlight = builder.maxSplitsInFlight;
+    }
+
+    /**
+     * Scans the given binary Ion stream, invoking the callback for each
+     * matching record.
+     *
+     * @param input the stream, which is not closed.
+     * @param callback the callback.
+     * @return the number of matching records.
+     * @throws IonException if the stream is not valid binary Ion 1.0.
+     * @throws IOException if reading the stream or the callback fails.
+     */
+    public long scan(InputStream input, Callback callback) throws IOException {
+        SplitReader splitReader = new SplitReader(input);
+        long numberOfMatches = 0;
+        if (executor == null) {
+            Split split;
+            while ((split = splitReader.next()) != null) {
+                numberOfMatches += report(split, findMatches(split), callback);
+            }
+            return numberOfMatches;
+        }
+        Deque<PendingSplit> inFlight = new ArrayDeque<>(maxSplitsInFlight);
+        try {
+            boolean isExhausted = false;
+            while (true) {
+                while (!isExhausted && inFlight.size() < maxSplitsInFlight) {
+                    Split split = splitReader.next();
+                    if (split == null) {
+                        isExhausted = true;
+                    } else {
+                        PendingSplit pending = new PendingSplit(split);
+                        executor.execute(pending);
+                        inFlight.add(pending);
+                    }
+                }
+                PendingSplit pending = inFlight.poll();
+                if (pending == null) {
+                    return numberOfMatches;
+                }
+                numberOfMatches += report(pending.split, pending.await(), callback);
+            }
+        } finally {
+            for (PendingSplit pending : inFlight) {
+                pending.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * A contiguous sequence of top-level values that can be read independently.
+     */
+    private static final class Split {
+        private byte[] bytes;
+        private int length = 0;
+
+        private Split(int initialCapacity) {
+            bytes = new byte[initialCapacity];
+        }
+
+        private void write(int b) {
+            ensureCapacity(1);
+            bytes[length++] = (byte) b;
+        }
+
+        private void write(byte[] source, int offset, int count) {
+            ensureCapacity(count);
+            System.arraycopy(source, offset, bytes, length, count);
+            length += count;
+        }
+
+        private void ensureCapacity(int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+            }
+        }
+    }
+
+    private final class PendingSplit extends FutureTask<List<Span>> {
+        private final Split split;
+
+        private PendingSplit(final Split split) {
+            super(new Callable<List<Span>>() {
+                @Override
+                public List<Span> call() {
+                    return findMatches(split);
+                }
+            });
+            this.split = split;
+        }
+
+        private List<Span> await() throws IOException {
+            try {
+                return get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while scanning.");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IonException(cause);
+            }
+        }
+    }
+
+    /**
+     * Invokes the callback for each of the given matches in the split.
+     * @return the number of matches.
+     */
+    private int report(Split split, List<Span> matches, Callback callback) throws IOException {
+        if (matches.isEmpty()) {
+            return 0;
+        }
+        try (IonReader reader = readerBuilder.build(split.bytes, 0, split.length)) {
+            SeekableReader seekableReader = reader.asFacet(SeekableReader.class);
+            for (Span match : matches) {
+                seekableReader.hoist(match);
+                reader.next();
+                callback.onMatch(reader);
+            }
+        }
+        return matches.size();
+    }
+
+    /**
+     * @return the spans of the top-level values in the split that satisfy all predicates.
+     */
+    private List<Span> findMatches(Split split) {
+        List<Span> matches = Collections.emptyList();
+        try (IonReader reader = readerBuilder.build(split.bytes, 0, split.length)) {
+            SpanProvider spanProvider = reader.asFacet(SpanProvider.class);
+            FieldNameOrdinalReader ordinals = reader.asFacet(FieldNameOrdinalReader.class);
+            while (reader.next() != null) {
+                if (reader.getType() != IonType.STRUCT || reader.isNullValue()) {
+                    continue;
+                }
+                Span span = spanProvider.currentSpan();
+                if (isMatch(reader, ordinals, spanProvider, split.bytes)) {
+                    if (matches.isEmpty()) {
+                        matches = new ArrayList<>();
+                    }
+                    matches.add(span);
+                }
+            }
+        } catch (IOException e) {
+            // Readers over byte arrays do not perform I/O.
+            throw new IonException(e);
+        }
+        return matches;
+    }
+
+    /**
+     * Steps through the fields of the current struct, stopping as soon as all predicates are satisfied.
+     */
+    private boolean isMatch(IonReader reader, FieldNameOrdinalReader ordinals, SpanProvider spanProvider, byte[] bytes) {
+        long satisfied = 0;
+        reader.stepIn();
+        while (satisfied != allPredicates && reader.next() != null) {
+            int ordinal = ordinals.getFieldNameOrdinal(resolver);
+            if (ordinal == FieldNameResolver.UNKNOWN_ORDINAL || reader.isNullValue()) {
+                continue;
+            }
+            for (int predicate : predicatesByOrdinal[ordinal]) {
+                if ((satisfied & (1L << predicate)) == 0 && isTextEqual(reader, predicate, spanProvider, bytes)) {
+                    satisfied |= 1L << predicate;
+                }
+            }
+        }
+        reader.stepOut();
+        return satisfied == allPredicates;
+    }
+
+    private boolean isTextEqual(IonReader reader, int predicate, SpanProvider spanProvider, byte[] bytes) {
+        IonType type = reader.getType();
+        if (type == IonType.STRING) {
+            OffsetSpan span = (OffsetSpan) spanProvider.currentSpan();
+            int start = (int) span.getStartOffset();
+            int end = (int) span.getFinishOffset();
+            int typeDescriptor = bytes[start] & 0xFF;
+            if ((typeDescriptor >> 4) == 0x8) {
+                return isUtf8Equal(bytes, start, end, utf8Values[predicate]);
+            }
+            // The span begins with an annotation wrapper; fall through and compare the decoded text.
+        } else if (type != IonType.SYMBOL) {
+            return false;
+        }
+        // The text of a symbol is looked up in the symbol table, so this does not decode UTF-8.
+        return values[predicate].equals(reader.stringValue());
+    }
+
+    /**
+     * Compares the body of the string whose encoding, including its header, occupies the given range to the
+     * expected UTF-8 bytes.
+     */
+    private static boolean isUtf8Equal(byte[] bytes, int start, int end, byte[] expected) {
+        int index = start + 1;
+        int length = bytes[start] & 0x0F;
+        if (length == 0x0E) {
+            length = 0;
+            int b;
+            do {
+                b = bytes[index++];
+                length = (length << 7) | (b & 0x7F);
+            } while ((b & 0x80) == 0);
+        }
+        if (length != expected.length || index + length != end) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (bytes[index + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Divides a binary Ion stream into splits by reading only the headers of its top-level values.
+     */
+    private final class SplitReader {
+
+        private final InputStream input;
+        // The encoded local symbol table in effect at the current position, with any appends to it combined into it
+        // so that each split is prefixed by one symbol table however many appends preceded it. Null if none.
+        private byte[] symbolTable = null;
+        private boolean isStarted = false;
+
+        private SplitReader(InputStream input) {
+            this.input = input;
+        }
+
+        private int read() throws IOException {
+            int b = input.read();
+            if (b < 0) {
+                throw new IonException("Unexpected EOF.");
+            }
+            return b;
+        }
+
+        private void readFully(Split split, int length) throws IOException {
+            split.ensureCapacity(length);
+            int remaining = length;
+            while (remaining > 0) {
+                int numberOfBytesRead = input.read(split.bytes, split.length, remaining);
+                if (numberOfBytesRead < 0) {
+                    throw new IonException("Unexpected EOF.");
+                }
+                split.length += numberOfBytesRead;
+                remaining -= numberOfBytesRead;
+            }
+        }
+
+        /**
+         * Reads a VarUInt, copying its bytes to the split.
+         */
+        private int readVarUInt(Split split) throws IOException {
+            int value = 0;
+            int b;
+            do {
+                b = read();
+                split.write(b);
+                value = (value << 7) | (b & 0x7F);
+                if (value < 0) {
+                    throw new IonException("Value length exceeds the supported maximum.");
+                }
+            } while ((b & 0x80) == 0);
+            return value;
+        }
+
+        private void readVersionMarker(int firstByte) throws IOException {
+            if (firstByte != (IVM[0] & 0xFF) || read() != IVM[1] || read() != IVM[2] || read() != (IVM[3] & 0xFF)) {
+                throw new IonException("Only binary Ion 1.0 streams may be scanned.");
+            }
+        }
+
+        /**
+         * @return the next split, or null if there are no more top-level values.
+         */
+        private Split next() throws IOException {
+            Split split = new Split(splitSize + IVM.length);
+            split.write(IVM, 0, IVM.length);
+            if (symbolTable != null) {
+                split.write(symbolTable, 0, symbolTable.length);
+            }
+            int prefixLength = split.length;
+            while (split.length - prefixLength < splitSize) {
+                int typeDescriptor = input.read();
+                if (typeDescriptor < 0) {
+                    break;
+                }
+                if (!isStarted || typeDescriptor == (IVM[0] & 0xFF)) {
+                    readVersionMarker(typeDescriptor);
+                    isStarted = true;
+                    symbolTable = null;
+                    split.write(IVM, 0, IVM.length);
+                    continue;
+                }
+                int valueStart = split.length;
+                split.write(typeDescriptor);
+                int type = typeDescriptor >> 4;
+                int length;
+                if (type == 0xF) {
+                    throw new IonException("Invalid type descriptor: " + typeDescriptor);
+                } else if (BinaryLayout.hasNoBody(typeDescriptor)) {
+                    length = 0;
+                } else if (BinaryLayout.hasVarUIntLength(typeDescriptor)) {
+                    length = readVarUInt(split);
+                } else {
+                    length = typeDescriptor & 0x0F;
+                }
+                int bodyStart = split.length;
+                readFully(split, length);
+                if (type == 0xE && BinaryLayout.symbolTableStructIndex(split.bytes, bodyStart, split.length) >= 0) {
+                    byte[] encoded = Arrays.copyOfRange(split.bytes, valueStart, split.length);
+                    if (symbolTable != null && BinaryLayout.isAppend(split.bytes, bodyStart, split.length)) {
+                        symbolTable = BinaryLayout.appendSymbols(symbolTable, encoded);
+                    } else {
+                        symbolTable = encoded;
+                    }
+                }
+            }
+            return split.length > prefixLength ? split : null;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipException;
+
+/**
+ * The layout of the gzip members (RFC 1952) written by {@link ParallelGzipOutputStream}.
+ * <p>
+ * Each member is a standard gzip member whose header carries an extra field with the subfield "IM", which holds
+ * the total length of the member as a little-endian unsigned 32-bit integer. Decompressors that do not recognize
+ * the subfield ignore it; {@link ParallelGzipInputStream} uses it to find the next member without inflating the
+ * current one.
+ */
+final class GzipMemberFormat {
+
+    private static final int ID1 = 0x1F;
+    private static final int ID2 = 0x8B;
+    private static final int DEFLATE = 8;
+
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private static final int SUBFIELD_ID1 = 'I';
+    private static final int SUBFIELD_ID2 = 'M';
+    private static final int SUBFIELD_LENGTH = 4;
+
+    // Unknown operating system, as recommended for output that does not depend on the platform.
+    private static final int OS_UNKNOWN = 0xFF;
+
+    /**
+     * The length of the headers written by {@link #writeHeader(byte[], int)}.
+     */
+    static final int HEADER_LENGTH = 20;
+
+    /**
+     * The length of the CRC-32 and ISIZE fields that end every member.
+     */
+    static final int TRAILER_LENGTH = 8;
+
+    /**
+     * Indicates that a member's header does not record the member's length.
+     */
+    static final long UNKNOWN_LENGTH = -1;
+
+    /**
+     * The fields of a header read by {@link #readHeader(InputStream)}.
+     */
+    static final class Header {
+        int headerLength;
+        long memberLength = UNKNOWN_LENGTH;
+    }
+
+    private GzipMemberFormat() {
+        // Not to be instantiated.
+    }
+
+    /**
+     * Writes a header to the first {@link #HEADER_LENGTH} bytes of the given member.
+     * @param member the member.
+     * @param memberLength the length of the member, including its header and trailer.
+     */
+    static void writeHeader(byte[] member, int memberLength) {
+        member[0] = (byte) ID1;
+        member[1] = (byte) ID2;
+        member[2] = DEFLATE;
+        member[3] = FEXTRA;
+        // MTIME (4 bytes) is zero, meaning no time stamp is available, and XFL is zero.
+        for (int i = 4; i < 9; i++) {
+            member[i] = 0;
+        }
+        member[9] = (byte) OS_UNKNOWN;
+        writeShort(member, 10, 4 + SUBFIELD_LENGTH);
+        member[12] = SUBFIELD_ID1;
+        member[13] = SUBFIELD_ID2;
+        writeShort(member, 14, SUBFIELD_LENGTH);
+        writeInt(member, 16, memberLength);
+    }
+
+    /**
+     * Writes the trailer to the last {@link #TRAILER_LENGTH} bytes of the given member.
+     */
+    static void writeTrailer(byte[] member, int memberLength, long crc, int uncompressedLength) {
+        writeInt(member, memberLength - TRAILER_LENGTH, (int) crc);
+        writeInt(member, memberLength - 4, uncompressedLength);
+    }
+
+    /**
+     * Reads a member header.
+     * @param in the stream, positioned at the start of a member or at the end of the data.
+     * @return the header, or null if the stream is at its end.
+     * @throws ZipException if the stream is not positioned at a gzip member.
+     * @throws IOException if the stream cannot be read.
+     */
+    static Header readHeader(InputStream in) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(first);
+        if (first != ID1 || readByte(in, crc) != ID2) {
+            throw new ZipException("Not in GZIP format");
+        }
+        if (readByte(in, crc) != DEFLATE) {
+            throw new ZipException("Unsupported compression method");
+        }
+        int flags = readByte(in, crc);
+        // MTIME, XFL, and OS.
+        for (int i = 0; i < 6; i++) {
+            readByte(in, crc);
+        }
+        Header header = new Header();
+        header.headerLength = 10;
+        if ((flags & FEXTRA) != 0) {
+            int extraLength = readShort(in, crc);
+            header.headerLength += 2 + extraLength;
+            while (extraLength >= 4) {
+                int id1 = readByte(in, crc);
+                int id2 = readByte(in, crc);
+                int length = readShort(in, crc);
+                extraLength -= 4;
+                if (length > extraLength) {
+                    throw new ZipException("Corrupt GZIP extra field");
+                }
+                extraLength -= length;
+                if (id1 == SUBFIELD_ID1 && id2 == SUBFIELD_ID2 && length == SUBFIELD_LENGTH) {
+                    header.memberLength = readShort(in, crc) | ((long) readShort(in, crc) << 16);
+                } else {
+                    skipBytes(in, crc, length);
+                }
+            }
+            skipBytes(in, crc, extraLength);
+        }
+        if ((flags & FNAME) != 0) {
+            header.headerLength += skipString(in, crc);
+        }
+        if ((flags & FCOMMENT) != 0) {
+            header.headerLength += skipString(in, crc);
+        }
+        if ((flags & FHCRC) != 0) {
+            int expected = (int) crc.getValue() & 0xFFFF;
+            if (readShort(in, crc) != expected) {
+                throw new ZipException("Corrupt GZIP header");
+            }
+            header.headerLength += 2;
+        }
+        if (header.memberLength != UNKNOWN_LENGTH
+            && header.memberLength < header.headerLength + TRAILER_LENGTH) {
+            throw new ZipException("Corrupt GZIP member length");
+        }
+        return header;
+    }
+
+    /**
+     * @return the little-endian unsigned 32-bit integer at the given offset.
+     */
+    static long readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFFL)
+            | (bytes[offset + 1] & 0xFFL) << 8
+            | (bytes[offset + 2] & 0xFFL) << 16
+            | (bytes[offset + 3] & 0xFFL) << 24;
+    }
+
+    private static void writeShort(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >>> 8);
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        writeShort(bytes, offset, value);
+        writeShort(bytes, offset + 2, value >>> 16);
+    }
+
+    private static int readByte(InputStream in, CRC32 crc) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Unexpected end of GZIP header");
+        }
+        crc.update(b);
+        return b;
+    }
+
+    private static int readShort(InputStream in, CRC32 crc) throws IOException {
+        return readByte(in, crc) | readByte(in, crc) << 8;
+    }
+
+    private static void skipBytes(InputStream in, CRC32 crc, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            readByte(in, crc);
+        }
+    }
+
+    /**
+     * Skips a zero-terminated string.
+     * @return the number of bytes skipped, including the terminator.
+     */
+    private static int skipString(InputStream in, CRC32 crc) throws IOException {
+        int length = 1;
+        while (readByte(in, crc) != 0) {
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,161 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.ZipException;
+
+/**
+ * The positions of the members of a gzip file written by {@link ParallelGzipOutputStream}, which allow reading to
+ * start at any member with {@link ParallelGzipInputStream.Builder#build(java.nio.channels.SeekableByteChannel, GzipMemberIndex, long)}.
+ * <p>
+ * The index is available from the stream that wrote the file, and may be recovered from the file itself by
+ * {@link #scan(Path)}, which reads only the headers and trailers of the members.
+ * <p>
+ * Instances are immutable and may be shared by any number of threads.
+ */
+public final class GzipMemberIndex {
+
+    private final long[] compressedOffsets;
+    private final long[] uncompressedOffsets;
+    private final long compressedLength;
+    private final long uncompressedLength;
+
+    GzipMemberIndex(long[] compressedOffsets,
+                    long[] uncompressedOffsets,
+                    int numberOfMembers,
+                    long compressedLength,
+                    long uncompressedLength) {
+        this.compressedOffsets = Arrays.copyOf(compressedOffsets, numberOfMembers);
+        this.uncompressedOffsets = Arrays.copyOf(uncompressedOffsets, numberOfMembers);
+        this.compressedLength = compressedLength;
+        this.uncompressedLength = uncompressedLength;
+    }
+
+    /**
+     * Indexes a gzip file by reading the header and trailer of each member.
+     *
+     * @param gzipFile a file written by {@link ParallelGzipOutputStream}.
+     * @return the index.
+     * @throws ZipException if the file is not in gzip format, or contains a member that does not record its length.
+     * @throws IOException if the file cannot be read.
+     */
+    public static GzipMemberIndex scan(Path gzipFile) throws IOException {
+        long[] compressedOffsets = new long[16];
+        long[] uncompressedOffsets = new long[16];
+        int numberOfMembers = 0;
+        long compressedOffset = 0;
+        long uncompressedOffset = 0;
+        byte[] size = new byte[4];
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(gzipFile))) {
+            GzipMemberFormat.Header header;
+            while ((header = GzipMemberFormat.readHeader(in)) != null) {
+                if (header.memberLength == GzipMemberFormat.UNKNOWN_LENGTH) {
+                    throw new ZipException("GZIP member at offset " + compressedOffset + " does not record its length");
+                }
+                if (numberOfMembers == compressedOffsets.length) {
+                    compressedOffsets = Arrays.copyOf(compressedOffsets, numberOfMembers * 2);
+                    uncompressedOffsets = Arrays.copyOf(uncompressedOffsets, numberOfMembers * 2);
+                }
+                compressedOffsets[numberOfMembers] = compressedOffset;
+                uncompressedOffsets[numberOfMembers] = uncompressedOffset;
+                numberOfMembers++;
+                // Skip to ISIZE, the last field of the trailer.
+                skipFully(in, header.memberLength - header.headerLength - 4);
+                readFully(in, size);
+                compressedOffset += header.memberLength;
+                uncompressedOffset += GzipMemberFormat.readInt(size, 0);
+            }
+        }
+        return new GzipMemberIndex(
+            compressedOffsets, uncompressedOffsets, numberOfMembers, compressedOffset, uncompressedOffset
+        );
+    }
+
+    /**
+     * @return the number of members.
+     */
+    public int size() {
+        return compressedOffsets.length;
+    }
+
+    /**
+     * @param member the zero-based position of a member.
+     * @return the offset of the member's first byte in the compressed data.
+     */
+    public long getCompressedOffset(int member) {
+        return compressedOffsets[member];
+    }
+
+    /**
+     * @param member the zero-based position of a member.
+     * @return the offset of the member's first byte in the uncompressed data.
+     */
+    public long getUncompressedOffset(int member) {
+        return uncompressedOffsets[member];
+    }
+
+    /**
+     * @return the length of the compressed data.
+     */
+    public long getCompressedLength() {
+        return compressedLength;
+    }
+
+    /**
+     * @return the length of the uncompressed data.
+     */
+    public long getUncompressedLength() {
+        return uncompressedLength;
+    }
+
+    /**
+     * @param uncompressedOffset an offset in the uncompressed data.
+     * @return the zero-based position of the member that contains the given offset.
+     * @throws IndexOutOfBoundsException if the offset is negative or not less than the uncompressed length.
+     */
+    public int findMember(long uncompressedOffset) {
+        if (uncompressedOffset < 0 || uncompressedOffset >= uncompressedLength) {
+            throw new IndexOutOfBoundsException("No member contains offset " + uncompressedOffset);
+        }
+        int index = Arrays.binarySearch(uncompressedOffsets, uncompressedOffset);
+        if (index < 0) {
+            return -index - 2;
+        }
+        // Empty members share their offset with the next member; use the last one, which holds the data.
+        while (index + 1 < uncompressedOffsets.length && uncompressedOffsets[index + 1] == uncompressedOffset) {
+            index++;
+        }
+        return index;
+    }
+
+    private static void skipFully(InputStream in, long length) throws IOException {
+        while (length > 0) {
+            long skipped = in.skip(length);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException("Unexpected end of GZIP member");
+                }
+                skipped = 1;
+            }
+            length -= skipped;
+        }
+    }
+
+    private static void readFully(InputStream in, byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            int numberOfBytesRead = in.read(bytes, offset, bytes.length - offset);
+            if (numberOfBytesRead < 0) {
+                throw new EOFException("Unexpected end of GZIP member");
+            }
+            offset += numberOfBytesRead;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.system.IonReaderBuilder;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Random access to the top-level values of a binary Ion file described by an {@link OffsetIndex}.
+ * <p>
+ * Each value is read with a single positional read of exactly its bytes. The local symbol table in effect at the
+ * value is restored from the checkpoints recorded in the index; the encoded symbol tables are read once and cached,
+ * so the cost of a lookup does not depend on the size of the file or on the position of the value within it.
+ * <p>
+ * Instances are safe for use by multiple threads. Each reader returned is independent of the others.
+ */
+public final class IndexedIonFile implements Closeable {
+
+    private final FileChannel channel;
+    private final OffsetIndex index;
+    private final IonReaderBuilder builder;
+    // Version marker followed by the encoded local symbol tables in effect at values, by symbol table ID.
+    private final ConcurrentMap<Integer, byte[]> prefixes = new ConcurrentHashMap<>();
+
+    private IndexedIonFile(FileChannel channel, OffsetIndex index, IonReaderBuilder builder) {
+        this.channel = channel;
+        this.index = index;
+        this.builder = builder;
+    }
+
+    /**
+     * @param ionFile the binary Ion file.
+     * @param index the file's index.
+     * @param builder the builder for readers over the file's values; its catalog must contain any shared symbol
+     *                tables imported by the file.
+     * @return a new IndexedIonFile, which must be closed to release the file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public static IndexedIonFile open(Path ionFile, OffsetIndex index, IonReaderBuilder builder) throws IOException {
+        return new IndexedIonFile(FileChannel.open(ionFile, StandardOpenOption.READ), index, builder);
+    }
+
+    /**
+     * @return the index of this file.
+     */
+    public OffsetIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Reads a top-level value.
+     * @param ordinal the zero-based position of the value among the file's top-level values.
+     * @return a reader positioned on the value, which the caller must close.
+     * @throws IndexOutOfBoundsException if the ordinal is out of range.
+     * @throws IOException if the file cannot be read.
+     */
+    public IonReader newReader(int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= index.size()) {
+            throw new IndexOutOfBoundsException("No value at ordinal " + ordinal);
+        }
+        byte[] prefix = prefix(index.getSymbolTable(ordinal));
+        byte[] bytes = new byte[prefix.length + index.getLength(ordinal)];
+        System.arraycopy(prefix, 0, bytes, 0, prefix.length);
+        read(index.getOffset(ordinal), bytes, prefix.length, index.getLength(ordinal));
+        IonReader reader = builder.build(bytes);
+        if (reader.next() == null) {
+            reader.close();
+            throw new IonException("The index does not match the file at ordinal " + ordinal);
+        }
+        return reader;
+    }
+
+    /**
+     * Reads the first top-level value with the given key.
+     * @param key the key.
+     * @return a reader positioned on the value, which the caller must close, or null if no value has the key.
+     * @throws IOException if the file cannot be read.
+     */
+    public IonReader newReader(String key) throws IOException {
+        int ordinal = index.findKey(key);
+        return ordinal < 0 ? null : newReader(ordinal);
+    }
+
+    private byte[] prefix(int symbolTable) throws IOException {
+        byte[] prefix = prefixes.get(symbolTable);
+        if (prefix != null) {
+            return prefix;
+        }
+        // The symbol tables in effect are the checkpoint and every table it transitively appends to.
+        List<Integer> chain = new ArrayList<>();
+        int length = BinaryLayout.IVM.length;
+        for (int id = symbolTable; id != OffsetIndex.NO_SYMBOL_TABLE; id = index.getSymbolTableParent(id)) {
+            chain.add(id);
+            length += index.getSymbolTableLength(id);
+        }
+        prefix = new byte[length];
+        System.arraycopy(BinaryLayout.IVM, 0, prefix, 0, BinaryLayout.IVM.length);
+        int position = BinaryLayout.IVM.length;
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            int id = chain.get(i);
+            read(index.getSymbolTableOffset(id), prefix, position, index.getSymbolTableLength(id));
+            position += index.getSymbolTableLength(id);
+        }
+        byte[] existing = prefixes.putIfAbsent(symbolTable, prefix);
+        return existing == null ? prefix : existing;
+    }
+
+    private void read(long offset, byte[] destination, int destinationOffset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(destination, destinationOffset, length);
+        while (buffer.hasRemaining()) {
+            // Positional reads do not modify the channel's position, so they may be issued concurrently.
+            int numberOfBytesRead = channel.read(buffer, offset + buffer.position() - destinationOffset);
+            if (numberOfBytesRead < 0) {
+                throw new EOFException("The index refers past the end of the file.");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
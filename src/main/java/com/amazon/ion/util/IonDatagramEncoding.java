@@ -0,0 +1,108 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
+import com.amazon.ion.impl._Private_IonDatagram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * The Ion binary encoding of a datagram, made once so that it can be sized, copied, and written any number of times
+ * without encoding the datagram again. For example, instead of calling {@link IonDatagram#byteSize()} followed by
+ * {@link IonDatagram#getBytes()}, which encodes the datagram twice:
+ * <pre>{@code
+ * IonDatagramEncoding encoding = IonDatagramEncoding.of(datagram);
+ * out.writeInt(encoding.size());
+ * encoding.writeTo(out);
+ * }</pre>
+ * The encoding is a snapshot: later modifications of the datagram are not reflected in it. Instances are immutable
+ * and may be used concurrently.
+ */
+public final class IonDatagramEncoding {
+
+    // Never modified; each operation reads through its own view.
+    private final ByteBuffer bytes;
+
+    private IonDatagramEncoding(ByteBuffer bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Encodes the given datagram. The datagrams of the systems built by
+     * {@link com.amazon.ion.system.IonSystemBuilder} are encoded without an intermediate copy, and the retained
+     * encoding of a read-only datagram is shared rather than copied; other datagrams are encoded with
+     * {@link IonDatagram#getBytes()}.
+     *
+     * @param datagram the datagram to encode.
+     * @return the binary encoding of the datagram; not null.
+     * @throws IonException if there's an error encoding the data.
+     */
+    public static IonDatagramEncoding of(IonDatagram datagram) {
+        if (datagram instanceof _Private_IonDatagram) {
+            return new IonDatagramEncoding(((_Private_IonDatagram) datagram).encode());
+        }
+        return new IonDatagramEncoding(ByteBuffer.wrap(datagram.getBytes()));
+    }
+
+    /**
+     * @return the number of bytes in the encoding.
+     */
+    public int size() {
+        return bytes.remaining();
+    }
+
+    /**
+     * Copies the encoding into a new byte array.
+     *
+     * @return a new, non-empty byte array containing the encoded datagram.
+     */
+    public byte[] getBytes() {
+        byte[] copy = new byte[size()];
+        bytes.duplicate().get(copy);
+        return copy;
+    }
+
+    /**
+     * Copies the encoding into a given sub-array.
+     *
+     * @param dst the array into which bytes are to be written.
+     * @param offset the offset within the array of the first byte to be written.
+     * @return the number of bytes copied into {@code dst}.
+     * @throws IndexOutOfBoundsException if {@code (dst.length - offset)} is smaller than {@link #size()}.
+     */
+    public int getBytes(byte[] dst, int offset) {
+        int length = size();
+        bytes.duplicate().get(dst, offset, length);
+        return length;
+    }
+
+    /**
+     * Writes the encoding to a stream.
+     *
+     * @param out the output stream to which to write the data.
+     * @return the number of bytes written.
+     * @throws IOException if an error occurs writing the data to the stream.
+     */
+    public int writeTo(OutputStream out) throws IOException {
+        int length = size();
+        out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), length);
+        return length;
+    }
+
+    /**
+     * Writes the encoding into a buffer, starting at its current position.
+     *
+     * @param out the buffer into which to write the data.
+     * @return the number of bytes written.
+     * @throws java.nio.BufferOverflowException if the buffer has fewer than {@link #size()} bytes remaining.
+     */
+    public int writeTo(ByteBuffer out) {
+        int length = size();
+        out.put(bytes.duplicate());
+        return length;
+    }
+}
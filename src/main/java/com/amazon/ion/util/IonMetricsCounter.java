@@ -0,0 +1,413 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonMetricsListener;
+import com.amazon.ion.IonType;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link IonMetricsListener} that totals the measurements of any number
+ * of readers and writers. Take a {@link #snapshot()} to inspect the totals,
+ * or use a {@link PeriodicMetricsLogger} to report them at a fixed rate.
+ * <p>
+ * Instances are thread-safe and lock-free; the counters are striped, so a
+ * single instance may be shared by many threads with little contention.
+ */
+public final class IonMetricsCounter extends IonMetricsListener {
+
+    private static final int NUMBER_OF_TYPES = IonType.values().length;
+
+    private final LongAdder[] valuesRead = newAdders(NUMBER_OF_TYPES);
+    private final LongAdder[] bytesRead = newAdders(NUMBER_OF_TYPES);
+    private final LongAdder[] valuesWritten = newAdders(NUMBER_OF_TYPES);
+    private final LongAdder[] bytesWritten = newAdders(NUMBER_OF_TYPES);
+    private final LongAdder refills = new LongAdder();
+    private final LongAdder bytesRefilled = new LongAdder();
+    private final LongAdder bufferGrowths = new LongAdder();
+    private final LongAdder bufferShrinks = new LongAdder();
+    private final LongAccumulator maximumBufferSize = new LongAccumulator(Math::max, 0);
+    private final LongAdder bytesSkipped = new LongAdder();
+    private final LongAdder symbolTableResets = new LongAdder();
+    private final LongAdder symbolTableAppends = new LongAdder();
+    private final LongAdder symbolsDeclared = new LongAdder();
+    private final LongAdder blocksAllocated = new LongAdder();
+    private final LongAdder bytesAllocated = new LongAdder();
+    private final LongAdder patchPoints = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder bytesFlushed = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+
+    private static LongAdder[] newAdders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    @Override
+    public void onValueRead(IonType type, long numberOfBytes) {
+        valuesRead[type.ordinal()].increment();
+        if (numberOfBytes > 0) {
+            bytesRead[type.ordinal()].add(numberOfBytes);
+        }
+    }
+
+    @Override
+    public void onRefill(int numberOfBytes) {
+        refills.increment();
+        bytesRefilled.add(numberOfBytes);
+    }
+
+    @Override
+    public void onBufferGrown(int previousSize, int newSize) {
+        bufferGrowths.increment();
+        maximumBufferSize.accumulate(newSize);
+    }
+
+    @Override
+    public void onBufferShrunk(int previousSize, int newSize) {
+        bufferShrinks.increment();
+    }
+
+    @Override
+    public void onBytesSkipped(long numberOfBytes) {
+        bytesSkipped.add(numberOfBytes);
+    }
+
+    @Override
+    public void onLocalSymbolTable(boolean isAppend, int numberOfSymbols) {
+        if (isAppend) {
+            symbolTableAppends.increment();
+        } else {
+            symbolTableResets.increment();
+        }
+        symbolsDeclared.add(numberOfSymbols);
+    }
+
+    @Override
+    public void onValueWritten(IonType type, long numberOfBytes) {
+        valuesWritten[type.ordinal()].increment();
+        bytesWritten[type.ordinal()].add(numberOfBytes);
+    }
+
+    @Override
+    public void onBlockAllocated(int blockSize) {
+        blocksAllocated.increment();
+        bytesAllocated.add(blockSize);
+    }
+
+    @Override
+    public void onPatchPoint() {
+        patchPoints.increment();
+    }
+
+    @Override
+    public void onFlush(long numberOfBytes, long nanoseconds) {
+        flushes.increment();
+        bytesFlushed.add(numberOfBytes);
+        flushNanos.add(nanoseconds);
+    }
+
+    /**
+     * Captures the current totals. Measurements that are reported while the
+     * snapshot is being taken may be only partly reflected in it.
+     *
+     * @return a new snapshot.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[Snapshot.LENGTH];
+        for (int i = 0; i < NUMBER_OF_TYPES; i++) {
+            counts[Snapshot.VALUES_READ + i] = valuesRead[i].sum();
+            counts[Snapshot.BYTES_READ + i] = bytesRead[i].sum();
+            counts[Snapshot.VALUES_WRITTEN + i] = valuesWritten[i].sum();
+            counts[Snapshot.BYTES_WRITTEN + i] = bytesWritten[i].sum();
+        }
+        counts[Snapshot.REFILLS] = refills.sum();
+        counts[Snapshot.BYTES_REFILLED] = bytesRefilled.sum();
+        counts[Snapshot.BUFFER_GROWTHS] = bufferGrowths.sum();
+        counts[Snapshot.BUFFER_SHRINKS] = bufferShrinks.sum();
+        counts[Snapshot.BYTES_SKIPPED] = bytesSkipped.sum();
+        counts[Snapshot.SYMBOL_TABLE_RESETS] = symbolTableResets.sum();
+        counts[Snapshot.SYMBOL_TABLE_APPENDS] = symbolTableAppends.sum();
+        counts[Snapshot.SYMBOLS_DECLARED] = symbolsDeclared.sum();
+        counts[Snapshot.BLOCKS_ALLOCATED] = blocksAllocated.sum();
+        counts[Snapshot.BYTES_ALLOCATED] = bytesAllocated.sum();
+        counts[Snapshot.PATCH_POINTS] = patchPoints.sum();
+        counts[Snapshot.FLUSHES] = flushes.sum();
+        counts[Snapshot.BYTES_FLUSHED] = bytesFlushed.sum();
+        counts[Snapshot.FLUSH_NANOS] = flushNanos.sum();
+        return new Snapshot(counts, maximumBufferSize.get());
+    }
+
+    /**
+     * The totals of an {@link IonMetricsCounter} at a point in time, or the
+     * difference between two such points (see {@link #minus(Snapshot)}).
+     * Instances are immutable.
+     */
+    public static final class Snapshot {
+
+        private static final int VALUES_READ = 0;
+        private static final int BYTES_READ = VALUES_READ + NUMBER_OF_TYPES;
+        private static final int VALUES_WRITTEN = BYTES_READ + NUMBER_OF_TYPES;
+        private static final int BYTES_WRITTEN = VALUES_WRITTEN + NUMBER_OF_TYPES;
+        private static final int REFILLS = BYTES_WRITTEN + NUMBER_OF_TYPES;
+        private static final int BYTES_REFILLED = REFILLS + 1;
+        private static final int BUFFER_GROWTHS = BYTES_REFILLED + 1;
+        private static final int BUFFER_SHRINKS = BUFFER_GROWTHS + 1;
+        private static final int BYTES_SKIPPED = BUFFER_SHRINKS + 1;
+        private static final int SYMBOL_TABLE_RESETS = BYTES_SKIPPED + 1;
+        private static final int SYMBOL_TABLE_APPENDS = SYMBOL_TABLE_RESETS + 1;
+        private static final int SYMBOLS_DECLARED = SYMBOL_TABLE_APPENDS + 1;
+        private static final int BLOCKS_ALLOCATED = SYMBOLS_DECLARED + 1;
+        private static final int BYTES_ALLOCATED = BLOCKS_ALLOCATED + 1;
+        private static final int PATCH_POINTS = BYTES_ALLOCATED + 1;
+        private static final int FLUSHES = PATCH_POINTS + 1;
+        private static final int BYTES_FLUSHED = FLUSHES + 1;
+        private static final int FLUSH_NANOS = BYTES_FLUSHED + 1;
+        private static final int LENGTH = FLUSH_NANOS + 1;
+
+        private final long[] counts;
+        private final long maximumBufferSize;
+
+        private Snapshot(long[] counts, long maximumBufferSize) {
+            this.counts = counts;
+            this.maximumBufferSize = maximumBufferSize;
+        }
+
+        /**
+         * Computes the measurements made between an earlier snapshot of the
+         * same counter and this one.
+         *
+         * @param earlier the earlier snapshot.
+         * @return a new snapshot holding the differences. Its maximum buffer
+         * size is this snapshot's.
+         */
+        public Snapshot minus(Snapshot earlier) {
+            long[] differences = new long[LENGTH];
+            for (int i = 0; i < LENGTH; i++) {
+                differences[i] = counts[i] - earlier.counts[i];
+            }
+            return new Snapshot(differences, maximumBufferSize);
+        }
+
+        /**
+         * @return true if no measurements are reflected in this snapshot.
+         */
+        public boolean isEmpty() {
+            for (long count : counts) {
+                if (count != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @param type a type.
+         * @return the number of values of the given type that were read.
+         */
+        public long getValuesRead(IonType type) {
+            return counts[VALUES_READ + type.ordinal()];
+        }
+
+        /**
+         * @param type a type.
+         * @return the number of bytes in the encodings of the values of the
+         * given type that were read, not including delimited containers.
+         */
+        public long getBytesRead(IonType type) {
+            return counts[BYTES_READ + type.ordinal()];
+        }
+
+        /**
+         * @param type a type.
+         * @return the number of values of the given type that were written.
+         */
+        public long getValuesWritten(IonType type) {
+            return counts[VALUES_WRITTEN + type.ordinal()];
+        }
+
+        /**
+         * @param type a type.
+         * @return the number of bytes in the encodings of the values of the
+         * given type that were written.
+         */
+        public long getBytesWritten(IonType type) {
+            return counts[BYTES_WRITTEN + type.ordinal()];
+        }
+
+        /**
+         * @return the number of times readers received data from their
+         * input streams.
+         */
+        public long getRefills() {
+            return counts[REFILLS];
+        }
+
+        /**
+         * @return the number of bytes that readers received from their
+         * input streams.
+         */
+        public long getBytesRefilled() {
+            return counts[BYTES_REFILLED];
+        }
+
+        /**
+         * @return the number of times readers grew their buffers.
+         */
+        public long getBufferGrowths() {
+            return counts[BUFFER_GROWTHS];
+        }
+
+        /**
+         * @return the number of times readers shrank their buffers.
+         */
+        public long getBufferShrinks() {
+            return counts[BUFFER_SHRINKS];
+        }
+
+        /**
+         * @return the largest size, in bytes, to which any reader has grown
+         * its buffer since the counter was created, or 0 if none has grown.
+         */
+        public long getMaximumBufferSize() {
+            return maximumBufferSize;
+        }
+
+        /**
+         * @return the number of bytes that readers skipped without
+         * buffering them.
+         */
+        public long getBytesSkipped() {
+            return counts[BYTES_SKIPPED];
+        }
+
+        /**
+         * @return the number of local symbol tables read that replaced the
+         * symbols in effect.
+         */
+        public long getSymbolTableResets() {
+            return counts[SYMBOL_TABLE_RESETS];
+        }
+
+        /**
+         * @return the number of local symbol tables read that appended to
+         * the symbols in effect.
+         */
+        public long getSymbolTableAppends() {
+            return counts[SYMBOL_TABLE_APPENDS];
+        }
+
+        /**
+         * @return the number of symbols declared by the local symbol tables
+         * read.
+         */
+        public long getSymbolsDeclared() {
+            return counts[SYMBOLS_DECLARED];
+        }
+
+        /**
+         * @return the number of blocks that writers allocated.
+         */
+        public long getBlocksAllocated() {
+            return counts[BLOCKS_ALLOCATED];
+        }
+
+        /**
+         * @return the total size, in bytes, of the blocks that writers
+         * allocated.
+         */
+        public long getBytesAllocated() {
+            return counts[BYTES_ALLOCATED];
+        }
+
+        /**
+         * @return the number of patch points that writers required.
+         */
+        public long getPatchPoints() {
+            return counts[PATCH_POINTS];
+        }
+
+        /**
+         * @return the number of times writers wrote their buffers to the
+         * output.
+         */
+        public long getFlushes() {
+            return counts[FLUSHES];
+        }
+
+        /**
+         * @return the number of bytes that writers wrote to the output.
+         */
+        public long getBytesFlushed() {
+            return counts[BYTES_FLUSHED];
+        }
+
+        /**
+         * @return the total time, in nanoseconds, that writers spent writing
+         * to and flushing the output.
+         */
+        public long getFlushNanos() {
+            return counts[FLUSH_NANOS];
+        }
+
+        /**
+         * @return a single-line summary of the non-zero measurements.
+         */
+        @Override
+        public String toString() {
+            StringBuilder summary = new StringBuilder("IonMetrics{");
+            appendByType(summary, "read", VALUES_READ, BYTES_READ);
+            appendByType(summary, "written", VALUES_WRITTEN, BYTES_WRITTEN);
+            append(summary, "refills", counts[REFILLS]);
+            append(summary, "bytesRefilled", counts[BYTES_REFILLED]);
+            append(summary, "bufferGrowths", counts[BUFFER_GROWTHS]);
+            append(summary, "bufferShrinks", counts[BUFFER_SHRINKS]);
+            append(summary, "maximumBufferSize", maximumBufferSize);
+            append(summary, "bytesSkipped", counts[BYTES_SKIPPED]);
+            append(summary, "symbolTableResets", counts[SYMBOL_TABLE_RESETS]);
+            append(summary, "symbolTableAppends", counts[SYMBOL_TABLE_APPENDS]);
+            append(summary, "symbolsDeclared", counts[SYMBOLS_DECLARED]);
+            append(summary, "blocksAllocated", counts[BLOCKS_ALLOCATED]);
+            append(summary, "bytesAllocated", counts[BYTES_ALLOCATED]);
+            append(summary, "patchPoints", counts[PATCH_POINTS]);
+            append(summary, "flushes", counts[FLUSHES]);
+            append(summary, "bytesFlushed", counts[BYTES_FLUSHED]);
+            if (counts[FLUSHES] > 0) {
+                append(summary, "meanFlushMicros", counts[FLUSH_NANOS] / counts[FLUSHES] / 1000);
+            }
+            if (summary.charAt(summary.length() - 1) == ' ') {
+                summary.setLength(summary.length() - 2);
+            }
+            return summary.append('}').toString();
+        }
+
+        private void appendByType(StringBuilder summary, String name, int valuesIndex, int bytesIndex) {
+            boolean isEmpty = true;
+            for (IonType type : IonType.values()) {
+                long values = counts[valuesIndex + type.ordinal()];
+                if (values == 0) {
+                    continue;
+                }
+                summary.append(isEmpty ? name + "=[" : ", ")
+                    .append(type).append(": ")
+                    .append(values).append(" values/")
+                    .append(counts[bytesIndex + type.ordinal()]).append(" bytes");
+                isEmpty = false;
+            }
+            if (!isEmpty) {
+                summary.append("], ");
+            }
+        }
+
+        private static void append(StringBuilder summary, String name, long count) {
+            if (count != 0) {
+                summary.append(name).append('=').append(count).append(", ");
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.impl.ResizingPipedInputStream;
+import com.amazon.ion.system.IonReaderBuilder;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the frames written by an {@link IonSessionWriter}, keeping the symbol table accumulated from earlier frames
+ * so that each frame needs to carry only the symbols that it adds.
+ * <pre>
+ *     IonSessionReader session = new IonSessionReader(IonReaderBuilder.standard());
+ *     IonReader reader = session.readFrame(connection.receive());
+ *     while (reader.next() != null) {
+ *         ...
+ *     }
+ * </pre>
+ * Frames must be provided in the order in which they were written, without gaps.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class IonSessionReader implements Closeable {
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private final IonReaderBuilder builder;
+    private final ResizingPipedInputStream pipe = new ResizingPipedInputStream(INITIAL_BUFFER_SIZE);
+    private IonReader reader = null;
+
+    /**
+     * @param builder the builder for the session's reader. Incremental reading is enabled regardless of its
+     *                configuration.
+     */
+    public IonSessionReader(IonReaderBuilder builder) {
+        this.builder = builder.copy().withIncrementalReadingEnabled(true);
+    }
+
+    /**
+     * Provides the next frame. Any values of the previous frame that have not been read are skipped.
+     * @param frame the frame.
+     * @return the session's reader, positioned before the frame's first value. The same reader is returned for every
+     * frame; it is closed when the session is closed.
+     * @throws IonException if the first frame is not binary Ion.
+     */
+    public IonReader readFrame(byte[] frame) {
+        return readFrame(frame, 0, frame.length);
+    }
+
+    /**
+     * Provides the next frame. Any values of the previous frame that have not been read are skipped.
+     * @param frame an array that contains the frame.
+     * @param offset the offset of the frame's first byte.
+     * @param length the number of bytes in the frame.
+     * @return the session's reader, positioned before the frame's first value. The same reader is returned for every
+     * frame; it is closed when the session is closed.
+     * @throws IonException if the first frame is not binary Ion.
+     */
+    public IonReader readFrame(byte[] frame, int offset, int length) {
+        if (reader == null) {
+            if (!IonStreamUtils.isIonBinary(frame, offset, length)) {
+                throw new IonException("Session frames must be binary Ion.");
+            }
+            pipe.receive(frame, offset, length);
+            reader = builder.build(pipe);
+            return reader;
+        }
+        while (reader.getDepth() > 0) {
+            reader.stepOut();
+        }
+        while (reader.next() != null) {
+            // Skip the unread values.
+        }
+        pipe.receive(frame, offset, length);
+        return reader;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.impl._Private_IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a sequence of binary Ion frames, such as the messages of a long-lived connection, that share one local
+ * symbol table. Frames must be read, in order, by an {@link IonSessionReader}.
+ * <p>
+ * Only the first frame begins with an Ion version marker and a full local symbol table. Each later frame contains
+ * its values, preceded by a local symbol table append only if the values use symbols that no earlier frame declared.
+ * This removes the per-message symbol table overhead that independent streams would incur.
+ * <pre>
+ *     IonSessionWriter session = new IonSessionWriter(IonBinaryWriterBuilder.standard());
+ *     session.getWriter().writeString("hello");
+ *     connection.send(session.finishFrame());
+ * </pre>
+ * Because the symbol table only grows, a session that encounters many distinct symbols may limit the number of local
+ * symbols; the frame that follows the one in which the limit is exceeded starts a new symbol table.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class IonSessionWriter implements Closeable {
+
+    private final ByteArrayOutputStream frame = new ByteArrayOutputStream();
+    private final IonWriter writer;
+    private final int maxLocalSymbols;
+
+    /**
+     * Creates a session whose symbol table is never reset.
+     * @param builder the builder for the session's writer. Local symbol table appends are enabled regardless of its
+     *                configuration.
+     */
+    public IonSessionWriter(IonBinaryWriterBuilder builder) {
+        this(builder, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param builder the builder for the session's writer. Local symbol table appends are enabled regardless of its
+     *                configuration.
+     * @param maxLocalSymbols the number of local symbols above which the symbol table is reset at the end of a frame.
+     */
+    public IonSessionWriter(IonBinaryWriterBuilder builder, int maxLocalSymbols) {
+        if (maxLocalSymbols < 0) {
+            throw new IllegalArgumentException("maxLocalSymbols must not be negative.");
+        }
+        writer = builder.copy().withLocalSymbolTableAppendEnabled().build(frame);
+        this.maxLocalSymbols = maxLocalSymbols;
+    }
+
+    /**
+     * @return the writer for the values of the current frame. It must not be flushed, finished, or closed directly.
+     */
+    public IonWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * Ends the current frame, which must not be within a container.
+     * @return the encoded frame, which is empty if no values were written since the previous frame.
+     * @throws IOException if the writer fails.
+     */
+    public byte[] finishFrame() throws IOException {
+        completeFrame();
+        byte[] bytes = frame.toByteArray();
+        startFrame();
+        return bytes;
+    }
+
+    /**
+     * Ends the current frame, which must not be within a container, and writes it to the given stream.
+     * @param destination the stream.
+     * @throws IOException if the writer or the stream fails.
+     */
+    public void finishFrame(OutputStream destination) throws IOException {
+        completeFrame();
+        frame.writeTo(destination);
+        startFrame();
+    }
+
+    private void completeFrame() throws IOException {
+        // Note: binary writers silently ignore flushes within containers.
+        if (((_Private_IonWriter) writer).getDepth() > 0) {
+            throw new IllegalStateException("Frames must end at top level.");
+        }
+        writer.flush();
+    }
+
+    private void startFrame() throws IOException {
+        frame.reset();
+        SymbolTable symbolTable = writer.getSymbolTable();
+        if (symbolTable.getMaxId() - symbolTable.getImportedMaxId() > maxLocalSymbols) {
+            // The frame was already flushed, so this emits nothing; the next frame will begin with a version marker
+            // followed by a new symbol table.
+            writer.finish();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,274 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonException;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An index of the top-level values of a binary Ion stream, read from the
+ * sidecar written by an {@link OffsetIndexingOutputStream}.
+ * <p>
+ * For each top-level value, the index holds the value's offset and length,
+ * the local symbol table in effect at the value, and optionally a key. Local
+ * symbol tables are recorded as checkpoints: the offset and length of the
+ * symbol table, plus the checkpoint it appends to, if any. Together with
+ * {@link IndexedIonFile}, this allows any value to be read with a single
+ * read of its bytes.
+ * <p>
+ * Instances are immutable and may be shared by any number of threads.
+ */
+public final class OffsetIndex {
+
+    // The first bytes of every sidecar: "IonX" followed by the format version.
+    static final int MAGIC = 0x496F6E58;
+    static final int VERSION = 1;
+
+    // Tags that begin each entry in the sidecar.
+    static final int END_TAG = 0;
+    static final int SYMBOL_TABLE_TAG = 1;
+    static final int VALUE_TAG = 2;
+
+    /**
+     * The symbol table ID of values that occur where only the system symbol table is in effect.
+     */
+    static final int NO_SYMBOL_TABLE = -1;
+
+    private final long[] valueOffsets;
+    private final int[] valueLengths;
+    private final int[] valueSymbolTables;
+    private final String[] keys;
+    private final Map<String, Integer> ordinalsByKey;
+    private final long[] symbolTableOffsets;
+    private final int[] symbolTableLengths;
+    private final int[] symbolTableParents;
+
+    private OffsetIndex(
+        long[] valueOffsets,
+        int[] valueLengths,
+        int[] valueSymbolTables,
+        String[] keys,
+        long[] symbolTableOffsets,
+        int[] symbolTableLengths,
+        int[] symbolTableParents
+    ) {
+        this.valueOffsets = valueOffsets;
+        this.valueLengths = valueLengths;
+        this.valueSymbolTables = valueSymbolTables;
+        this.keys = keys;
+        this.symbolTableOffsets = symbolTableOffsets;
+        this.symbolTableLengths = symbolTableLengths;
+        this.symbolTableParents = symbolTableParents;
+        ordinalsByKey = new HashMap<>();
+        for (int i = keys.length - 1; i >= 0; i--) {
+            if (keys[i] != null) {
+                // Iterating backward means the first value with a given key wins.
+                ordinalsByKey.put(keys[i], i);
+            }
+        }
+    }
+
+    /**
+     * Reads an index from the given sidecar file.
+     *
+     * @param indexFile the sidecar.
+     * @return the index.
+     * @throws IonException if the file is not a valid sidecar.
+     * @throws IOException if the file cannot be read.
+     */
+    public static OffsetIndex read(Path indexFile) throws IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(indexFile))) {
+            return read(input);
+        }
+    }
+
+    /**
+     * Reads an index from the given sidecar stream.
+     *
+     * @param input the sidecar, which is not closed.
+     * @return the index.
+     * @throws IonException if the stream is not a valid sidecar.
+     * @throws IOException if the stream cannot be read.
+     */
+    public static OffsetIndex read(InputStream input) throws IOException {
+        if (readVarLong(input) != MAGIC || readVarLong(input) != VERSION) {
+            throw new IonException("Not an offset index, or an unsupported version.");
+        }
+        int numberOfValues = 0;
+        long[] valueOffsets = new long[16];
+        int[] valueLengths = new int[16];
+        int[] valueSymbolTables = new int[16];
+        String[] keys = new String[16];
+        int numberOfSymbolTables = 0;
+        long[] symbolTableOffsets = new long[4];
+        int[] symbolTableLengths = new int[4];
+        int[] symbolTableParents = new int[4];
+        long previousValueEnd = 0;
+        while (true) {
+            int tag = (int) readVarLong(input);
+            if (tag == END_TAG) {
+                break;
+            } else if (tag == SYMBOL_TABLE_TAG) {
+                if (numberOfSymbolTables == symbolTableOffsets.length) {
+                    int newLength = numberOfSymbolTables * 2;
+                    symbolTableOffsets = Arrays.copyOf(symbolTableOffsets, newLength);
+                    symbolTableLengths = Arrays.copyOf(symbolTableLengths, newLength);
+                    symbolTableParents = Arrays.copyOf(symbolTableParents, newLength);
+                }
+                symbolTableParents[numberOfSymbolTables] = (int) readVarLong(input) - 1;
+                symbolTableOffsets[numberOfSymbolTables] = readVarLong(input);
+                symbolTableLengths[numberOfSymbolTables] = toLength(readVarLong(input));
+                numberOfSymbolTables++;
+            } else if (tag == VALUE_TAG) {
+                if (numberOfValues == valueOffsets.length) {
+                    int newLength = numberOfValues * 2;
+                    valueOffsets = Arrays.copyOf(valueOffsets, newLength);
+                    valueLengths = Arrays.copyOf(valueLengths, newLength);
+                    valueSymbolTables = Arrays.copyOf(valueSymbolTables, newLength);
+                    keys = Arrays.copyOf(keys, newLength);
+                }
+                long offset = previousValueEnd + readVarLong(input);
+                int length = toLength(readVarLong(input));
+                int symbolTable = (int) readVarLong(input) - 1;
+                if (symbolTable >= numberOfSymbolTables) {
+                    throw new IonException("Offset index refers to an undeclared symbol table.");
+                }
+                int keyLength = (int) readVarLong(input) - 1;
+                if (keyLength >= 0) {
+                    byte[] key = new byte[keyLength];
+                    readFully(input, key);
+                    keys[numberOfValues] = new String(key, StandardCharsets.UTF_8);
+                }
+                valueOffsets[numberOfValues] = offset;
+                valueLengths[numberOfValues] = length;
+                valueSymbolTables[numberOfValues] = symbolTable;
+                numberOfValues++;
+                previousValueEnd = offset + length;
+            } else {
+                throw new IonException("Invalid offset index entry: " + tag);
+            }
+        }
+        return new OffsetIndex(
+            Arrays.copyOf(valueOffsets, numberOfValues),
+            Arrays.copyOf(valueLengths, numberOfValues),
+            Arrays.copyOf(valueSymbolTables, numberOfValues),
+            Arrays.copyOf(keys, numberOfValues),
+            Arrays.copyOf(symbolTableOffsets, numberOfSymbolTables),
+            Arrays.copyOf(symbolTableLengths, numberOfSymbolTables),
+            Arrays.copyOf(symbolTableParents, numberOfSymbolTables)
+        );
+    }
+
+    private static int toLength(long length) {
+        if (length > Integer.MAX_VALUE) {
+            throw new IonException("Indexed values and symbol tables must be smaller than 2 GB.");
+        }
+        return (int) length;
+    }
+
+    /**
+     * @return the number of top-level values.
+     */
+    public int size() {
+        return valueOffsets.length;
+    }
+
+    /**
+     * @param ordinal the zero-based position of a top-level value in the stream.
+     * @return the offset of the value's first byte.
+     */
+    public long getOffset(int ordinal) {
+        return valueOffsets[ordinal];
+    }
+
+    /**
+     * @param ordinal the zero-based position of a top-level value in the stream.
+     * @return the number of bytes in the value's encoding.
+     */
+    public int getLength(int ordinal) {
+        return valueLengths[ordinal];
+    }
+
+    /**
+     * @param ordinal the zero-based position of a top-level value in the stream.
+     * @return the value's key, or null if it has none.
+     */
+    public String getKey(int ordinal) {
+        return keys[ordinal];
+    }
+
+    /**
+     * @param key a key.
+     * @return the ordinal of the first value with the given key, or -1 if no value has the key.
+     */
+    public int findKey(String key) {
+        Integer ordinal = ordinalsByKey.get(key);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * @return the ID of the symbol table in effect at the given value, or {@link #NO_SYMBOL_TABLE}.
+     */
+    int getSymbolTable(int ordinal) {
+        return valueSymbolTables[ordinal];
+    }
+
+    long getSymbolTableOffset(int symbolTable) {
+        return symbolTableOffsets[symbolTable];
+    }
+
+    int getSymbolTableLength(int symbolTable) {
+        return symbolTableLengths[symbolTable];
+    }
+
+    /**
+     * @return the ID of the symbol table that the given one appends to, or {@link #NO_SYMBOL_TABLE}.
+     */
+    int getSymbolTableParent(int symbolTable) {
+        return symbolTableParents[symbolTable];
+    }
+
+    static void writeVarLong(OutputStream output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    private static long readVarLong(InputStream input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = input.read();
+            if (b < 0) {
+                throw new IonException("Unexpected EOF in offset index.");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IonException("Malformed offset index.");
+    }
+
+    private static void readFully(InputStream input, byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            int numberOfBytesRead = input.read(bytes, offset, bytes.length - offset);
+            if (numberOfBytesRead < 0) {
+                throw new IonException("Unexpected EOF in offset index.");
+            }
+            offset += numberOfBytesRead;
+        }
+    }
+}
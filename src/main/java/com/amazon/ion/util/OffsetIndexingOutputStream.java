@@ -0,0 +1,292 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * An {@link OutputStream} that passes binary Ion 1.0 through to another stream while writing an
+ * {@link OffsetIndex} sidecar that locates each top-level value.
+ * <p>
+ * Wrap the destination of a binary {@link com.amazon.ion.IonWriter} with this stream:
+ * <pre>
+ *     try (OffsetIndexingOutputStream out = new OffsetIndexingOutputStream(dataOut, indexOut);
+ *          IonWriter writer = IonBinaryWriterBuilder.standard().build(out)) {
+ *         out.addKey("order-1");
+ *         writer.writeString("...");
+ *     }
+ * </pre>
+ * The stream recognizes top-level value boundaries from the encoding itself, so it works with any binary writer,
+ * including writers that buffer values and emit them on flush, and with concatenated streams. Local symbol tables
+ * are recorded as checkpoints from which an {@link IndexedIonFile} restores the symbols for any value.
+ * <p>
+ * Keys supplied by {@link #addKey(String)} are assigned, in order, to top-level values as their bytes reach this
+ * stream. Because writers buffer, it is sufficient to add a value's key before the writer is flushed.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class OffsetIndexingOutputStream extends OutputStream {
+
+    // Stands in for a null key, which ArrayDeque does not accept.
+    private static final String NO_KEY = new String();
+
+    // While undecided about whether an annotation wrapper is a local symbol table, examine at most this many
+    // additional bytes at a time so that large annotated user values are not captured.
+    private static final int MAX_UNDECIDED_CAPTURE = 16;
+
+    private enum State {
+        TYPE_DESCRIPTOR,
+        VERSION_MARKER,
+        LENGTH,
+        BODY
+    }
+
+    private final OutputStream ionOutput;
+    private final OutputStream indexOutput;
+    private final Queue<String> keys = new ArrayDeque<>();
+
+    private State state = State.TYPE_DESCRIPTOR;
+    private long position = 0;
+    private long valueStart = 0;
+    private int typeDescriptor = 0;
+    private long remaining = 0;
+
+    // The body of the current annotation wrapper, captured until it is known not to be a local symbol table.
+    private boolean isCapturing = false;
+    private int symbolTableIndex = BinaryLayout.NOT_A_SYMBOL_TABLE;
+    private byte[] capture = new byte[64];
+    private int captureLength = 0;
+
+    private int numberOfSymbolTables = 0;
+    private int currentSymbolTable = OffsetIndex.NO_SYMBOL_TABLE;
+    private long previousValueEnd = 0;
+    private boolean isClosed = false;
+
+    /**
+     * @param ionOutput the destination of the binary Ion.
+     * @param indexOutput the destination of the sidecar.
+     * @throws IOException if the sidecar header cannot be written.
+     */
+    public OffsetIndexingOutputStream(OutputStream ionOutput, OutputStream indexOutput) throws IOException {
+        this.ionOutput = ionOutput;
+        this.indexOutput = new BufferedOutputStream(indexOutput);
+        OffsetIndex.writeVarLong(this.indexOutput, OffsetIndex.MAGIC);
+        OffsetIndex.writeVarLong(this.indexOutput, OffsetIndex.VERSION);
+    }
+
+    /**
+     * Writes the sidecar for an existing binary Ion stream.
+     * @param ionInput the binary Ion, which is not closed.
+     * @param indexOutput the destination of the sidecar, which is not closed.
+     * @throws IonException if the stream is not binary Ion 1.0.
+     * @throws IOException if either stream fails.
+     */
+    public static void index(InputStream ionInput, OutputStream indexOutput) throws IOException {
+        OutputStream discard = new OutputStream() {
+            @Override
+            public void write(int b) {
+                // Discarded.
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                // Discarded.
+            }
+        };
+        OffsetIndexingOutputStream indexer = new OffsetIndexingOutputStream(discard, indexOutput);
+        byte[] buffer = new byte[64 * 1024];
+        int numberOfBytesRead;
+        while ((numberOfBytesRead = ionInput.read(buffer)) >= 0) {
+            indexer.write(buffer, 0, numberOfBytesRead);
+        }
+        indexer.finish();
+        indexer.indexOutput.flush();
+    }
+
+    /**
+     * Supplies the key of the next top-level value that has not yet been assigned one.
+     * @param key the key, or null if the value has no key.
+     */
+    public void addKey(String key) {
+        keys.add(key == null ? NO_KEY : key);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ionOutput.write(b);
+        consume(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ionOutput.write(b, off, len);
+        consume(b, off, len);
+    }
+
+    private void consume(byte[] bytes, int offset, int length) throws IOException {
+        int end = offset + length;
+        while (offset < end) {
+            switch (state) {
+                case TYPE_DESCRIPTOR:
+                    position++;
+                    startValue(bytes[offset++] & 0xFF);
+                    break;
+                case VERSION_MARKER:
+                    int expected = BinaryLayout.IVM[(int) (position - valueStart)];
+                    if (bytes[offset++] != expected) {
+                        throw new IonException("Only Ion 1.0 binary data can be indexed.");
+                    }
+                    position++;
+                    if (position - valueStart == BinaryLayout.IVM.length) {
+                        // A version marker resets the symbol table to the system symbol table.
+                        currentSymbolTable = OffsetIndex.NO_SYMBOL_TABLE;
+                        state = State.TYPE_DESCRIPTOR;
+                    }
+                    break;
+                case LENGTH:
+                    int b = bytes[offset++];
+                    position++;
+                    remaining = (remaining << 7) | (b & 0x7F);
+                    if ((b & 0x80) != 0) {
+                        startBody();
+                    }
+                    break;
+                case BODY:
+                    int numberOfBytes = (int) Math.min(remaining, end - offset);
+                    if (isCapturing) {
+                        if (symbolTableIndex == BinaryLayout.UNDECIDED) {
+                            numberOfBytes = Math.min(numberOfBytes, MAX_UNDECIDED_CAPTURE);
+                        }
+                        capture(bytes, offset, numberOfBytes);
+                    }
+                    offset += numberOfBytes;
+                    position += numberOfBytes;
+                    remaining -= numberOfBytes;
+                    if (remaining == 0) {
+                        endValue();
+                    }
+                    break;
+            }
+        }
+    }
+
+    private void startValue(int typeDescriptor) throws IOException {
+        valueStart = position - 1;
+        this.typeDescriptor = typeDescriptor;
+        if (typeDescriptor == (BinaryLayout.IVM[0] & 0xFF)) {
+            state = State.VERSION_MARKER;
+        } else if ((typeDescriptor >> 4) == 0xF) {
+            throw new IonException("Invalid top-level type descriptor: " + typeDescriptor);
+        } else if (BinaryLayout.hasNoBody(typeDescriptor)) {
+            remaining = 0;
+            endValue();
+        } else if (BinaryLayout.hasVarUIntLength(typeDescriptor)) {
+            remaining = 0;
+            state = State.LENGTH;
+        } else {
+            remaining = typeDescriptor & 0x0F;
+            startBody();
+        }
+    }
+
+    private void startBody() throws IOException {
+        isCapturing = (typeDescriptor >> 4) == 0xE;
+        symbolTableIndex = isCapturing ? BinaryLayout.UNDECIDED : BinaryLayout.NOT_A_SYMBOL_TABLE;
+        captureLength = 0;
+        if (remaining == 0) {
+            endValue();
+        } else {
+            state = State.BODY;
+        }
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        if (captureLength + length > capture.length) {
+            capture = Arrays.copyOf(capture, Math.max(capture.length * 2, captureLength + length));
+        }
+        System.arraycopy(bytes, offset, capture, captureLength, length);
+        captureLength += length;
+        if (symbolTableIndex == BinaryLayout.UNDECIDED) {
+            symbolTableIndex = BinaryLayout.symbolTableStructIndex(capture, 0, captureLength);
+            // Only local symbol tables need to be captured in full.
+            isCapturing = symbolTableIndex != BinaryLayout.NOT_A_SYMBOL_TABLE;
+        }
+    }
+
+    private void endValue() throws IOException {
+        state = State.TYPE_DESCRIPTOR;
+        long valueLength = position - valueStart;
+        if (BinaryLayout.isNopPad(typeDescriptor)) {
+            return;
+        }
+        if (symbolTableIndex >= 0) {
+            int parent = BinaryLayout.isAppend(capture, 0, captureLength)
+                ? currentSymbolTable
+                : OffsetIndex.NO_SYMBOL_TABLE;
+            OffsetIndex.writeVarLong(indexOutput, OffsetIndex.SYMBOL_TABLE_TAG);
+            OffsetIndex.writeVarLong(indexOutput, parent + 1);
+            OffsetIndex.writeVarLong(indexOutput, valueStart);
+            OffsetIndex.writeVarLong(indexOutput, valueLength);
+            currentSymbolTable = numberOfSymbolTables++;
+            symbolTableIndex = BinaryLayout.NOT_A_SYMBOL_TABLE;
+            isCapturing = false;
+            return;
+        }
+        OffsetIndex.writeVarLong(indexOutput, OffsetIndex.VALUE_TAG);
+        OffsetIndex.writeVarLong(indexOutput, valueStart - previousValueEnd);
+        OffsetIndex.writeVarLong(indexOutput, valueLength);
+        OffsetIndex.writeVarLong(indexOutput, currentSymbolTable + 1);
+        String key = keys.poll();
+        if (key == null || key == NO_KEY) {
+            OffsetIndex.writeVarLong(indexOutput, 0);
+        } else {
+            byte[] utf8 = key.getBytes(StandardCharsets.UTF_8);
+            OffsetIndex.writeVarLong(indexOutput, utf8.length + 1);
+            indexOutput.write(utf8);
+        }
+        previousValueEnd = valueStart + valueLength;
+    }
+
+    private void finish() throws IOException {
+        if (state != State.TYPE_DESCRIPTOR) {
+            throw new IonException("The binary Ion ended in the middle of a top-level value.");
+        }
+        OffsetIndex.writeVarLong(indexOutput, OffsetIndex.END_TAG);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ionOutput.flush();
+        indexOutput.flush();
+    }
+
+    /**
+     * Completes the sidecar and closes both underlying streams.
+     * @throws IonException if the binary Ion ended in the middle of a top-level value.
+     */
+    @Override
+    public void close() throws IOException {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        try {
+            finish();
+        } finally {
+            try {
+                ionOutput.close();
+            } finally {
+                indexOutput.close();
+            }
+        }
+    }
+}
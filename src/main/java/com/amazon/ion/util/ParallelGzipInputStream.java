@@ -0,0 +1,409 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * An {@link InputStream} that decompresses gzip data, decompressing the members written by
+ * {@link ParallelGzipOutputStream} concurrently.
+ * <p>
+ * The stream reads ahead a configurable number of members whose headers record their lengths and decompresses
+ * them on an executor while the caller consumes earlier members. Members that do not record their lengths, such as
+ * those written by other gzip implementations, are decompressed on the caller's thread as they are read, so any
+ * gzip stream may be read. Data that follows the last member must itself be a gzip member.
+ * <p>
+ * With a {@link GzipMemberIndex}, reading may start at any offset of the uncompressed data; see
+ * {@link Builder#build(SeekableByteChannel, GzipMemberIndex, long)}. To read Ion with this stream, configure
+ * readers with {@link com.amazon.ion.system.IonReaderBuilder#withParallelGzipDecompression(Executor, int)}.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class ParallelGzipInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte[] EMPTY = new byte[0];
+    // Deflate cannot expand its input by more than this factor, so no more memory is reserved for a member than its
+    // compressed data can produce, whatever its trailer declares.
+    private static final int MAXIMUM_COMPRESSION_RATIO = 1032;
+
+    /**
+     * Builds {@link ParallelGzipInputStream} instances.
+     */
+    public static final class Builder {
+
+        private Executor executor = ForkJoinPool.commonPool();
+        private int readAhead = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Sets the executor that decompresses the members. Default: {@link ForkJoinPool#commonPool()}.
+         *
+         * @param executor the executor, which is not shut down by the stream.
+         * @return this builder.
+         */
+        public Builder withExecutor(Executor executor) {
+            if (executor == null) {
+                throw new NullPointerException("The executor must not be null.");
+            }
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the number of members that are read and decompressed ahead of the member being consumed. Default:
+         * the number of available processors.
+         *
+         * @param readAhead the number of members, which must be positive.
+         * @return this builder.
+         */
+        public Builder withReadAhead(int readAhead) {
+            if (readAhead < 1) {
+                throw new IllegalArgumentException("The read-ahead must be positive.");
+            }
+            this.readAhead = readAhead;
+            return this;
+        }
+
+        /**
+         * @param in gzip data, which is closed when the new stream is closed.
+         * @return a new stream.
+         */
+        public ParallelGzipInputStream build(InputStream in) {
+            if (in == null) {
+                throw new NullPointerException("The input stream must not be null.");
+            }
+            return new ParallelGzipInputStream(this, in);
+        }
+
+        /**
+         * Creates a stream that starts at the given offset of the uncompressed data, reading only the members from
+         * the one that contains the offset.
+         *
+         * @param channel the gzip data, which is closed when the new stream is closed. Its position is changed.
+         * @param index the index of the data's members.
+         * @param uncompressedOffset the offset of the first byte to read.
+         * @return a new stream.
+         * @throws IndexOutOfBoundsException if the offset is not within the uncompressed data.
+         * @throws IOException if the data cannot be read.
+         */
+        public ParallelGzipInputStream build(SeekableByteChannel channel,
+                                             GzipMemberIndex index,
+                                             long uncompressedOffset) throws IOException {
+            int member = index.findMember(uncompressedOffset);
+            channel.position(index.getCompressedOffset(member));
+            ParallelGzipInputStream in = build(Channels.newInputStream(channel));
+            long remaining = uncompressedOffset - index.getUncompressedOffset(member);
+            while (remaining > 0) {
+                long skipped = in.skip(remaining);
+                if (skipped <= 0) {
+                    in.close();
+                    throw new EOFException("The gzip data is shorter than its index.");
+                }
+                remaining -= skipped;
+            }
+            return in;
+        }
+    }
+
+    private final PushbackInputStream in;
+    private final Executor executor;
+    private final int readAhead;
+    private final Queue<CompletableFuture<byte[]>> members = new ArrayDeque<>();
+
+    // The decompressed member being consumed.
+    private byte[] current = EMPTY;
+    private int position = 0;
+
+    // True when the header of a member of unknown length has been read, after those of the queued members.
+    private boolean isSequentialMemberPending = false;
+    private boolean isEndOfInput = false;
+
+    // State of the member of unknown length being decompressed on the caller's thread, if any.
+    private Inflater inflater = null;
+    private final CRC32 crc = new CRC32();
+    private long sequentialLength = 0;
+    private final byte[] input = new byte[BUFFER_SIZE];
+    private int inputLength = 0;
+
+    private final byte[] singleByte = new byte[1];
+    private boolean isClosed = false;
+
+    private ParallelGzipInputStream(Builder builder, InputStream in) {
+        // The pushback buffer returns the input that the inflater reads past the end of a member.
+        this.in = new PushbackInputStream(new BufferedInputStream(in, BUFFER_SIZE), BUFFER_SIZE);
+        executor = builder.executor;
+        readAhead = builder.readAhead;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(singleByte, 0, 1) < 0 ? -1 : singleByte[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (true) {
+            if (position < current.length) {
+                int numberOfBytes = Math.min(len, current.length - position);
+                System.arraycopy(current, position, b, off, numberOfBytes);
+                position += numberOfBytes;
+                return numberOfBytes;
+            }
+            if (inflater != null) {
+                int numberOfBytes = inflateSequentially(b, off, len);
+                if (numberOfBytes > 0) {
+                    return numberOfBytes;
+                }
+                continue;
+            }
+            readAhead();
+            CompletableFuture<byte[]> next = members.poll();
+            if (next != null) {
+                current = join(next);
+                position = 0;
+            } else if (isSequentialMemberPending) {
+                isSequentialMemberPending = false;
+                inflater = new Inflater(true);
+                crc.reset();
+                sequentialLength = 0;
+            } else {
+                return -1;
+            }
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        ensureOpen();
+        if (n <= 0) {
+            return 0;
+        }
+        if (position == current.length) {
+            // Load the next member, or decompress the next bytes of a sequential member, without copying.
+            byte[] skipped = new byte[(int) Math.min(n, BUFFER_SIZE)];
+            int numberOfBytes = read(skipped, 0, skipped.length);
+            return numberOfBytes < 0 ? 0 : numberOfBytes;
+        }
+        int numberOfBytes = (int) Math.min(n, current.length - position);
+        position += numberOfBytes;
+        return numberOfBytes;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return current.length - position;
+    }
+
+    /**
+     * Reads member headers until the read-ahead is full, the input ends, or a member of unknown length is found,
+     * submitting each member of known length for decompression.
+     */
+    private void readAhead() throws IOException {
+        while (!isEndOfInput && !isSequentialMemberPending && members.size() < readAhead) {
+            GzipMemberFormat.Header header = GzipMemberFormat.readHeader(in);
+            if (header == null) {
+                isEndOfInput = true;
+            } else if (header.memberLength == GzipMemberFormat.UNKNOWN_LENGTH) {
+                isSequentialMemberPending = true;
+            } else {
+                long bodyLength = header.memberLength - header.headerLength;
+                if (bodyLength > Integer.MAX_VALUE - 8) {
+                    throw new ZipException("GZIP member too large");
+                }
+                final byte[] body = readBody((int) bodyLength);
+                members.add(CompletableFuture.supplyAsync(() -> inflate(body), executor));
+            }
+        }
+    }
+
+    /**
+     * Decompresses the deflate data and trailer of a member.
+     */
+    private static byte[] inflate(byte[] body) {
+        int compressedLength = body.length - GzipMemberFormat.TRAILER_LENGTH;
+        long expectedCrc = GzipMemberFormat.readInt(body, compressedLength);
+        long expectedLength = GzipMemberFormat.readInt(body, compressedLength + 4);
+        if (expectedLength > Integer.MAX_VALUE - 8) {
+            throw new CompletionException(new ZipException("GZIP member too large"));
+        }
+        // The trailer is not trusted until the data has been inflated, so the buffer grows only as the data does.
+        byte[] data = new byte[(int) Math.min(expectedLength, (long) compressedLength * MAXIMUM_COMPRESSION_RATIO)];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(body, 0, compressedLength);
+            int length = 0;
+            byte[] probe = new byte[1];
+            while (!inflater.finished()) {
+                int numberOfBytes;
+                if (length < data.length) {
+                    numberOfBytes = inflater.inflate(data, length, data.length - length);
+                } else if (length < expectedLength) {
+                    data = Arrays.copyOf(data, (int) Math.min(expectedLength, Math.max(2L * length, BUFFER_SIZE)));
+                    continue;
+                } else {
+                    // Once the declared length has been produced, inflating further may only consume the end of the
+                    // final block.
+                    numberOfBytes = inflater.inflate(probe);
+                    if (numberOfBytes > 0) {
+                        throw new ZipException("GZIP member longer than its trailer declares");
+                    }
+                }
+                if (numberOfBytes == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new ZipException("Unexpected end of GZIP member");
+                }
+                length += numberOfBytes;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, length);
+            if (length != expectedLength || inflater.getRemaining() != 0 || crc.getValue() != expectedCrc) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+            return data;
+        } catch (DataFormatException e) {
+            throw new CompletionException(new ZipException(e.getMessage()));
+        } catch (ZipException e) {
+            throw new CompletionException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Decompresses the next bytes of a member of unknown length.
+     * @return the number of bytes decompressed, or 0 if the member has ended.
+     */
+    private int inflateSequentially(byte[] b, int off, int len) throws IOException {
+        try {
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    inputLength = in.read(input, 0, input.length);
+                    if (inputLength < 0) {
+                        throw new EOFException("Unexpected end of ZLIB input stream");
+                    }
+                    inflater.setInput(input, 0, inputLength);
+                }
+                int numberOfBytes = inflater.inflate(b, off, len);
+                if (numberOfBytes > 0) {
+                    crc.update(b, off, numberOfBytes);
+                    sequentialLength += numberOfBytes;
+                    return numberOfBytes;
+                }
+                if (inflater.needsDictionary()) {
+                    throw new ZipException("Corrupt GZIP member");
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        }
+        int remaining = inflater.getRemaining();
+        if (remaining > 0) {
+            in.unread(input, inputLength - remaining, remaining);
+        }
+        inflater.end();
+        inflater = null;
+        byte[] trailer = new byte[GzipMemberFormat.TRAILER_LENGTH];
+        readFully(trailer);
+        if (GzipMemberFormat.readInt(trailer, 0) != crc.getValue()
+            || GzipMemberFormat.readInt(trailer, 4) != (sequentialLength & 0xFFFFFFFFL)) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+        return 0;
+    }
+
+    private static byte[] join(CompletableFuture<byte[]> member) throws IOException {
+        try {
+            return member.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the body of a member whose header declares its length. The header is not trusted until the body has
+     * arrived, so the buffer grows only as the bytes do.
+     */
+    private byte[] readBody(int length) throws IOException {
+        byte[] body = new byte[Math.min(length, BUFFER_SIZE)];
+        int offset = 0;
+        while (offset < length) {
+            if (offset == body.length) {
+                body = Arrays.copyOf(body, (int) Math.min(length, 2L * body.length));
+            }
+            int numberOfBytesRead = in.read(body, offset, body.length - offset);
+            if (numberOfBytesRead < 0) {
+                throw new EOFException("Unexpected end of GZIP member");
+            }
+            offset += numberOfBytesRead;
+        }
+        return body;
+    }
+
+    private void readFully(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            int numberOfBytesRead = in.read(bytes, offset, bytes.length - offset);
+            if (numberOfBytesRead < 0) {
+                throw new EOFException("Unexpected end of GZIP member");
+            }
+            offset += numberOfBytesRead;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (isClosed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        for (CompletableFuture<byte[]> member : members) {
+            member.cancel(false);
+        }
+        members.clear();
+        if (inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+        in.close();
+    }
+}
@@ -0,0 +1,341 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An {@link OutputStream} that compresses data to gzip format as a series of independently compressed members,
+ * which are compressed concurrently.
+ * <p>
+ * A member ends only when the stream is flushed with at least the member size buffered, or when it is finished or
+ * closed. Binary Ion writers with auto-flush and local symbol table appends enabled flush at top-level value
+ * boundaries, so each member begins with a top-level value; see
+ * {@link com.amazon.ion.system.IonBinaryWriterBuilder#withParallelGzipCompression(Executor, int)}, which
+ * configures a writer this way. Because a flush does not end a smaller member, data reaches the underlying stream
+ * in whole members; all of it has been written when {@link #finish()} or {@link #close()} returns.
+ * <p>
+ * The output is a standard multi-member gzip stream that any gzip decompressor accepts, including
+ * {@link java.util.zip.GZIPInputStream}. Each member's header also records the member's length, which allows
+ * {@link ParallelGzipInputStream} to decompress members concurrently and {@link GzipMemberIndex} to locate them.
+ * <pre>
+ *     try (IonWriter writer = IonBinaryWriterBuilder.standard()
+ *             .withAutoFlushEnabled(true)
+ *             .withLocalSymbolTableAppendEnabled()
+ *             .build(new ParallelGzipOutputStream.Builder().build(out))) {
+ *         ...
+ *     }
+ * </pre>
+ * Instances are not thread-safe.
+ */
+public final class ParallelGzipOutputStream extends OutputStream {
+
+    /**
+     * The default minimum number of uncompressed bytes in a member.
+     */
+    public static final int DEFAULT_MEMBER_SIZE = 256 * 1024;
+
+    /**
+     * Builds {@link ParallelGzipOutputStream} instances.
+     */
+    public static final class Builder {
+
+        private Executor executor = ForkJoinPool.commonPool();
+        private int memberSize = DEFAULT_MEMBER_SIZE;
+        private int maxMembersInFlight = 2 * Runtime.getRuntime().availableProcessors();
+        private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+        /**
+         * Sets the executor that compresses the members. Default: {@link ForkJoinPool#commonPool()}.
+         *
+         * @param executor the executor, which is not shut down by the stream.
+         * @return this builder.
+         */
+        public Builder withExecutor(Executor executor) {
+            if (executor == null) {
+                throw new NullPointerException("The executor must not be null.");
+            }
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the number of uncompressed bytes that must be buffered before a flush ends a member. Larger
+         * members compress better; smaller members allow more concurrency and finer-grained random access.
+         * Default: {@link #DEFAULT_MEMBER_SIZE}.
+         *
+         * @param memberSize the member size, which must be positive.
+         * @return this builder.
+         */
+        public Builder withMemberSize(int memberSize) {
+            if (memberSize < 1) {
+                throw new IllegalArgumentException("The member size must be positive.");
+            }
+            this.memberSize = memberSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of members that may be compressing or waiting to be written before the stream waits
+         * for the oldest one. Default: twice the number of available processors.
+         *
+         * @param maxMembersInFlight the number of members, which must be positive.
+         * @return this builder.
+         */
+        public Builder withMaxMembersInFlight(int maxMembersInFlight) {
+            if (maxMembersInFlight < 1) {
+                throw new IllegalArgumentException("The maximum number of members in flight must be positive.");
+            }
+            this.maxMembersInFlight = maxMembersInFlight;
+            return this;
+        }
+
+        /**
+         * Sets the compression level. Default: {@link Deflater#DEFAULT_COMPRESSION}.
+         *
+         * @param compressionLevel a level from {@link Deflater#NO_COMPRESSION} to {@link Deflater#BEST_COMPRESSION},
+         *                         or {@link Deflater#DEFAULT_COMPRESSION}.
+         * @return this builder.
+         */
+        public Builder withCompressionLevel(int compressionLevel) {
+            if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+                throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+            }
+            this.compressionLevel = compressionLevel;
+            return this;
+        }
+
+        /**
+         * @param out the destination of the compressed data, which is closed when the new stream is closed.
+         * @return a new stream.
+         */
+        public ParallelGzipOutputStream build(OutputStream out) {
+            if (out == null) {
+                throw new NullPointerException("The output stream must not be null.");
+            }
+            return new ParallelGzipOutputStream(this, out);
+        }
+    }
+
+    /** A member that has been handed to the executor. */
+    private static final class Member {
+        final long uncompressedOffset;
+        final CompletableFuture<byte[]> compressed;
+
+        Member(long uncompressedOffset, CompletableFuture<byte[]> compressed) {
+            this.uncompressedOffset = uncompressedOffset;
+            this.compressed = compressed;
+        }
+    }
+
+    private final OutputStream out;
+    private final Executor executor;
+    private final int memberSize;
+    private final int maxMembersInFlight;
+    private final int compressionLevel;
+    private final Queue<Member> inFlight = new ArrayDeque<>();
+
+    private byte[] buffer;
+    private int length = 0;
+    private long uncompressedOffset = 0;
+    private long compressedOffset = 0;
+
+    // The members written to the underlying stream.
+    private long[] compressedOffsets = new long[16];
+    private long[] uncompressedOffsets = new long[16];
+    private int numberOfMembers = 0;
+    private long lastMemberLength = 0;
+
+    private boolean isClosed = false;
+
+    private ParallelGzipOutputStream(Builder builder, OutputStream out) {
+        this.out = out;
+        executor = builder.executor;
+        memberSize = builder.memberSize;
+        maxMembersInFlight = builder.maxMembersInFlight;
+        compressionLevel = builder.compressionLevel;
+        buffer = new byte[memberSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (length == buffer.length) {
+            grow(1);
+        }
+        buffer[length++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len > buffer.length - length) {
+            grow(len);
+        }
+        System.arraycopy(b, off, buffer, length, len);
+        length += len;
+    }
+
+    private void grow(int minimumAdditionalLength) {
+        int minimumLength = length + minimumAdditionalLength;
+        if (minimumLength < 0) {
+            throw new OutOfMemoryError("A GZIP member cannot exceed 2 GB.");
+        }
+        buffer = Arrays.copyOf(buffer, Math.max(minimumLength, (int) Math.min(buffer.length * 2L, Integer.MAX_VALUE - 8)));
+    }
+
+    /**
+     * Ends the current member if at least the member size is buffered, writes the members that have finished
+     * compressing, and flushes the underlying stream.
+     *
+     * @throws IOException if the underlying stream fails.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (length >= memberSize) {
+            endMember();
+        }
+        while (!inFlight.isEmpty() && inFlight.peek().compressed.isDone()) {
+            writeMember(inFlight.poll());
+        }
+        out.flush();
+    }
+
+    /**
+     * Ends the current member, waits for all members to be compressed and written, and flushes the underlying
+     * stream without closing it. If no data has been written, writes an empty member so that the output is valid
+     * gzip. Writing may continue afterward, starting a new member.
+     *
+     * @throws IOException if the underlying stream fails.
+     */
+    public void finish() throws IOException {
+        ensureOpen();
+        if (length > 0 || (numberOfMembers == 0 && inFlight.isEmpty())) {
+            endMember();
+        }
+        while (!inFlight.isEmpty()) {
+            writeMember(inFlight.poll());
+        }
+        out.flush();
+    }
+
+    /**
+     * @return the index of the members written to the underlying stream so far, which covers all of the data once
+     * the stream has been finished or closed.
+     */
+    public GzipMemberIndex getMemberIndex() {
+        return new GzipMemberIndex(
+            compressedOffsets, uncompressedOffsets, numberOfMembers, compressedOffset,
+            numberOfMembers == 0 ? 0 : uncompressedOffsets[numberOfMembers - 1] + lastMemberLength
+        );
+    }
+
+    private void endMember() throws IOException {
+        final byte[] data = buffer;
+        final int dataLength = length;
+        final int level = compressionLevel;
+        inFlight.add(new Member(
+            uncompressedOffset,
+            CompletableFuture.supplyAsync(() -> compress(data, dataLength, level), executor)
+        ));
+        uncompressedOffset += dataLength;
+        buffer = new byte[memberSize];
+        length = 0;
+        if (inFlight.size() > maxMembersInFlight) {
+            writeMember(inFlight.poll());
+        }
+    }
+
+    private void writeMember(Member member) throws IOException {
+        byte[] compressed;
+        try {
+            compressed = member.compressed.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+        out.write(compressed);
+        if (numberOfMembers == compressedOffsets.length) {
+            compressedOffsets = Arrays.copyOf(compressedOffsets, numberOfMembers * 2);
+            uncompressedOffsets = Arrays.copyOf(uncompressedOffsets, numberOfMembers * 2);
+        }
+        compressedOffsets[numberOfMembers] = compressedOffset;
+        uncompressedOffsets[numberOfMembers] = member.uncompressedOffset;
+        numberOfMembers++;
+        compressedOffset += compressed.length;
+        lastMemberLength = GzipMemberFormat.readInt(compressed, compressed.length - 4);
+    }
+
+    /**
+     * Compresses the given data into a complete gzip member.
+     */
+    private static byte[] compress(byte[] data, int length, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            // Deflate rarely expands data by more than a few bytes per 16 KB block.
+            byte[] member = new byte[GzipMemberFormat.HEADER_LENGTH + length + (length >>> 12) + 64];
+            int position = GzipMemberFormat.HEADER_LENGTH;
+            while (!deflater.finished()) {
+                if (position == member.length) {
+                    member = Arrays.copyOf(member, member.length * 2);
+                }
+                position += deflater.deflate(member, position, member.length - position);
+            }
+            int memberLength = position + GzipMemberFormat.TRAILER_LENGTH;
+            member = Arrays.copyOf(member, memberLength);
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, length);
+            GzipMemberFormat.writeHeader(member, memberLength);
+            GzipMemberFormat.writeTrailer(member, memberLength, crc.getValue(), length);
+            return member;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (isClosed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * Finishes the stream and closes the underlying stream.
+     *
+     * @throws IOException if the underlying stream fails.
+     */
+    @Override
+    public void close() throws IOException {
+        if (isClosed) {
+            return;
+        }
+        try {
+            finish();
+        } finally {
+            isClosed = true;
+            out.close();
+        }
+    }
+}
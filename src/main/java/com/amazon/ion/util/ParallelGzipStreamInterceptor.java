@@ -0,0 +1,55 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+
+/**
+ * The interceptor for GZIP streams that decompresses them with a {@link ParallelGzipInputStream}. Readers use it
+ * in place of {@link GzipStreamInterceptor} when configured with
+ * {@link com.amazon.ion.system.IonReaderBuilder#withParallelGzipDecompression(Executor, int)}.
+ * <p>
+ * Instances are immutable and may be shared by any number of threads.
+ */
+public final class ParallelGzipStreamInterceptor implements InputStreamInterceptor {
+
+    private final Executor executor;
+    private final int readAhead;
+
+    /**
+     * @param executor the executor that decompresses the members, which is not shut down by the streams.
+     * @param readAhead the number of members that each stream reads and decompresses ahead of the member being
+     *                  consumed, which must be positive.
+     */
+    public ParallelGzipStreamInterceptor(Executor executor, int readAhead) {
+        // Validate eagerly rather than when the first stream is intercepted.
+        new ParallelGzipInputStream.Builder().withExecutor(executor).withReadAhead(readAhead);
+        this.executor = executor;
+        this.readAhead = readAhead;
+    }
+
+    @Override
+    public String formatName() {
+        return GzipStreamInterceptor.INSTANCE.formatName();
+    }
+
+    @Override
+    public int numberOfBytesNeededToDetermineMatch() {
+        return GzipStreamInterceptor.INSTANCE.numberOfBytesNeededToDetermineMatch();
+    }
+
+    @Override
+    public boolean isMatch(byte[] candidate, int offset, int length) {
+        return GzipStreamInterceptor.INSTANCE.isMatch(candidate, offset, length);
+    }
+
+    @Override
+    public InputStream newInputStream(InputStream interceptedStream) throws IOException {
+        return new ParallelGzipInputStream.Builder()
+            .withExecutor(executor)
+            .withReadAhead(readAhead)
+            .build(interceptedStream);
+    }
+}
@@ -0,0 +1,388 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.FieldNameOrdinalReader;
+import com.amazon.ion.FieldNameResolver;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extracts the values at a set of paths from a stream, invoking a callback
+ * for each match.
+ * <p>
+ * The paths are compiled once into a tree of steps. While the extractor
+ * drives an {@link IonReader}, it steps into a container only if some path
+ * continues below it; every other value is skipped without being read,
+ * which binary readers do using the value's length prefix. Field names are
+ * matched through the reader's {@link FieldNameOrdinalReader} facet, so
+ * binary readers compare symbol IDs rather than text.
+ * <p>
+ * A path begins with {@code $}, which denotes a top-level value, followed by
+ * any number of steps:
+ * <ul>
+ *   <li>{@code .name} or {@code ['name']} matches the struct field with the
+ *   given name;</li>
+ *   <li>{@code .*} matches every struct field;</li>
+ *   <li>{@code [n]} matches the list or sexp element at index {@code n};</li>
+ *   <li>{@code [*]} matches every list or sexp element.</li>
+ * </ul>
+ * For example, {@code $.order.items[*].sku} matches the {@code sku} field of
+ * every element of the {@code items} list of the {@code order} struct.
+ * <p>
+ * Instances are immutable and may be shared by any number of threads.
+ */
+public final class PathExtractor {
+
+    /**
+     * Receives the values matched by a path.
+     */
+    public interface Callback {
+
+        /**
+         * Invoked when the reader is positioned on a matching value. The
+         * callback may read the value, and may step into it provided it
+         * steps back out, but must not otherwise move the reader. If the
+         * value also matches a longer path, the callback must not step
+         * into it.
+         *
+         * @param reader the reader, positioned on the matching value.
+         */
+        void onMatch(IonReader reader);
+    }
+
+    /**
+     * A step in the compiled tree of paths. The root step matches top-level values.
+     */
+    private static final class Step {
+        private final List<Callback> callbacks = new ArrayList<>(1);
+        // Children of this step that match struct fields, indexed by the ordinal of the field name.
+        private Step[] fieldChildren = new Step[0];
+        private Step anyFieldChild = null;
+        // Children of this step that match sequence elements, and their element indexes in ascending order. These are
+        // sparse because paths may name arbitrarily large indexes.
+        private int[] childIndexes = new int[0];
+        private Step[] indexChildren = new Step[0];
+        private Step anyIndexChild = null;
+
+        private boolean hasChildren() {
+            return fieldChildren.length > 0 || anyFieldChild != null || indexChildren.length > 0 || anyIndexChild != null;
+        }
+
+        /**
+         * @return the child that matches the sequence element at the given index, or null.
+         */
+        private Step indexChild(int index) {
+            int i = Arrays.binarySearch(childIndexes, index);
+            return i < 0 ? null : indexChildren[i];
+        }
+    }
+
+    /**
+     * Builds {@link PathExtractor}s.
+     */
+    public static final class Builder {
+
+        private final Map<String, List<Callback>> callbacksByPath = new LinkedHashMap<>();
+
+        /**
+         * Registers a path.
+         *
+         * @param path the path.
+         * @param callback invoked for each value that matches the path.
+         * @return this builder.
+         * @throws IllegalArgumentException if the path is not valid.
+         */
+        public Builder withSearchPath(String path, Callback callback) {
+            if (callback == null) {
+                throw new IllegalArgumentException("Callback must not be null.");
+            }
+            parse(path);
+            List<Callback> callbacks = callbacksByPath.get(path);
+            if (callbacks == null) {
+                callbacks = new ArrayList<>(1);
+                callbacksByPath.put(path, callbacks);
+            }
+            callbacks.add(callback);
+            return this;
+        }
+
+        /**
+         * @return a new extractor for the registered paths.
+         */
+        public PathExtractor build() {
+            List<String> fieldNames = new ArrayList<>();
+            List<List<Object>> parsedPaths = new ArrayList<>(callbacksByPath.size());
+            for (String path : callbacksByPath.keySet()) {
+                List<Object> steps = parse(path);
+                for (Object step : steps) {
+                    if (step instanceof String && !fieldNames.contains(step)) {
+                        fieldNames.add((String) step);
+                    }
+                }
+                parsedPaths.add(steps);
+            }
+            FieldNameResolver resolver = FieldNameResolver.create(fieldNames.toArray(new String[0]));
+            Step root = new Step();
+            int i = 0;
+            for (List<Callback> callbacks : callbacksByPath.values()) {
+                Step step = root;
+                for (Object pathStep : parsedPaths.get(i++)) {
+                    step = child(step, pathStep, resolver);
+                }
+                step.callbacks.addAll(callbacks);
+            }
+            return new PathExtractor(root, resolver);
+        }
+
+        private static Step child(Step parent, Object pathStep, FieldNameResolver resolver) {
+            if (pathStep == ANY_FIELD) {
+                if (parent.anyFieldChild == null) {
+                    parent.anyFieldChild = new Step();
+                }
+                return parent.anyFieldChild;
+            }
+            if (pathStep == ANY_INDEX) {
+                if (parent.anyIndexChild == null) {
+                    parent.anyIndexChild = new Step();
+                }
+                return parent.anyIndexChild;
+            }
+            if (pathStep instanceof String) {
+                int ordinal = resolver.ordinalOf((String) pathStep);
+                if (ordinal >= parent.fieldChildren.length) {
+                    parent.fieldChildren = Arrays.copyOf(parent.fieldChildren, ordinal + 1);
+                }
+                if (parent.fieldChildren[ordinal] == null) {
+                    parent.fieldChildren[ordinal] = new Step();
+                }
+                return parent.fieldChildren[ordinal];
+            }
+            int index = (Integer) pathStep;
+            int i = Arrays.binarySearch(parent.childIndexes, index);
+            if (i >= 0) {
+                return parent.indexChildren[i];
+            }
+            i = ~i;
+            int size = parent.childIndexes.length;
+            int[] childIndexes = new int[size + 1];
+            Step[] indexChildren = new Step[size + 1];
+            System.arraycopy(parent.childIndexes, 0, childIndexes, 0, i);
+            System.arraycopy(parent.indexChildren, 0, indexChildren, 0, i);
+            System.arraycopy(parent.childIndexes, i, childIndexes, i + 1, size - i);
+            System.arraycopy(parent.indexChildren, i, indexChildren, i + 1, size - i);
+            childIndexes[i] = index;
+            indexChildren[i] = new Step();
+            parent.childIndexes = childIndexes;
+            parent.indexChildren = indexChildren;
+            return indexChildren[i];
+        }
+    }
+
+    // Parsed path steps other than these are field names (String) or element indexes (Integer).
+    private static final Object ANY_FIELD = new Object();
+    private static final Object ANY_INDEX = new Object();
+
+    /**
+     * Parses the given path into a list of steps.
+     */
+    private static List<Object> parse(String path) {
+        if (path == null || !path.startsWith("$")) {
+            throw new IllegalArgumentException("Path must begin with '$': " + path);
+        }
+        List<Object> steps = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int start = ++i;
+                while (i < path.length() && path.charAt(i) != '.' && path.charAt(i) != '[') {
+                    i++;
+                }
+                String name = path.substring(start, i);
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Empty field name at offset " + start + " of path: " + path);
+                }
+                steps.add(name.equals("*") ? ANY_FIELD : name);
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unterminated '[' at offset " + i + " of path: " + path);
+                }
+                String selector = path.substring(i + 1, end);
+                if (selector.equals("*")) {
+                    steps.add(ANY_INDEX);
+                } else if (selector.length() >= 2 && selector.startsWith("'") && selector.endsWith("'")) {
+                    steps.add(selector.substring(1, selector.length() - 1));
+                } else {
+                    try {
+                        int index = Integer.parseInt(selector);
+                        if (index < 0) {
+                            throw new NumberFormatException();
+                        }
+                        steps.add(index);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid index at offset " + i + " of path: " + path);
+                    }
+                }
+                i = end + 1;
+            } else {
+                throw new IllegalArgumentException("Unexpected '" + c + "' at offset " + i + " of path: " + path);
+            }
+        }
+        return steps;
+    }
+
+    private final Step root;
+    private final FieldNameResolver resolver;
+
+    private PathExtractor(Step root, FieldNameResolver resolver) {
+        this.root = root;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Matches the paths against every remaining top-level value of the
+     * given reader, which must be positioned at the top level.
+     *
+     * @param reader the reader.
+     */
+    public void match(IonReader reader) {
+        Matcher matcher = new Matcher(reader);
+        while (reader.next() != null) {
+            matcher.matchValue(root);
+        }
+    }
+
+    /**
+     * Matches the paths against the value on which the given reader is
+     * currently positioned, treating it as a top-level value. Afterward,
+     * {@link IonReader#next()} advances the reader to the following value.
+     *
+     * @param reader the reader.
+     */
+    public void matchCurrentValue(IonReader reader) {
+        if (reader.getType() == null) {
+            throw new IllegalStateException("Reader must be positioned on a value.");
+        }
+        new Matcher(reader).matchValue(root);
+    }
+
+    /**
+     * Drives a single reader.
+     */
+    private final class Matcher {
+
+        private final IonReader reader;
+        private final FieldNameOrdinalReader ordinals;
+        // Reusable lists of the steps that match the current value, indexed by depth below the starting value.
+        private final List<List<Step>> stepsByDepth = new ArrayList<>();
+
+        private Matcher(IonReader reader) {
+            this.reader = reader;
+            ordinals = reader.asFacet(FieldNameOrdinalReader.class);
+        }
+
+        private int fieldNameOrdinal() {
+            if (ordinals != null) {
+                return ordinals.getFieldNameOrdinal(resolver);
+            }
+            return resolver.ordinalOf(reader.getFieldName());
+        }
+
+        private List<Step> stepsAtDepth(int depth) {
+            while (stepsByDepth.size() <= depth) {
+                stepsByDepth.add(new ArrayList<Step>(2));
+            }
+            List<Step> steps = stepsByDepth.get(depth);
+            steps.clear();
+            return steps;
+        }
+
+        private void matchValue(Step step) {
+            List<Step> steps = stepsAtDepth(0);
+            steps.add(step);
+            matchValue(steps, 0);
+        }
+
+        /**
+         * Invokes the callbacks of the given steps, which all match the current value, then descends into the value
+         * if any of the steps have children.
+         */
+        private void matchValue(List<Step> steps, int depth) {
+            boolean hasChildren = false;
+            for (int i = 0; i < steps.size(); i++) {
+                Step step = steps.get(i);
+                for (Callback callback : step.callbacks) {
+                    int readerDepth = reader.getDepth();
+                    callback.onMatch(reader);
+                    if (reader.getDepth() != readerDepth) {
+                        throw new IllegalStateException("Callback must leave the reader at the depth of the match.");
+                    }
+                }
+                hasChildren |= step.hasChildren();
+            }
+            if (!hasChildren || reader.isNullValue()) {
+                return;
+            }
+            IonType type = reader.getType();
+            if (type == IonType.STRUCT) {
+                reader.stepIn();
+                while (reader.next() != null) {
+                    List<Step> children = stepsAtDepth(depth + 1);
+                    int ordinal = FieldNameResolver.UNKNOWN_ORDINAL;
+                    boolean isOrdinalResolved = false;
+                    for (int i = 0; i < steps.size(); i++) {
+                        Step step = steps.get(i);
+                        if (step.fieldChildren.length > 0) {
+                            if (!isOrdinalResolved) {
+                                ordinal = fieldNameOrdinal();
+                                isOrdinalResolved = true;
+                            }
+                            if (ordinal >= 0 && ordinal < step.fieldChildren.length && step.fieldChildren[ordinal] != null) {
+                                children.add(step.fieldChildren[ordinal]);
+                            }
+                        }
+                        if (step.anyFieldChild != null) {
+                            children.add(step.anyFieldChild);
+                        }
+                    }
+                    // Values that match no step are skipped by the next call to next().
+                    if (!children.isEmpty()) {
+                        matchValue(children, depth + 1);
+                    }
+                }
+                reader.stepOut();
+            } else if (type == IonType.LIST || type == IonType.SEXP) {
+                reader.stepIn();
+                int index = 0;
+                while (reader.next() != null) {
+                    List<Step> children = stepsAtDepth(depth + 1);
+                    for (int i = 0; i < steps.size(); i++) {
+                        Step step = steps.get(i);
+                        if (step.indexChildren.length > 0) {
+                            Step child = step.indexChild(index);
+                            if (child != null) {
+                                children.add(child);
+                            }
+                        }
+                        if (step.anyIndexChild != null) {
+                            children.add(step.anyIndexChild);
+                        }
+                    }
+                    if (!children.isEmpty()) {
+                        matchValue(children, depth + 1);
+                    }
+                    index++;
+                }
+                reader.stepOut();
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import java.io.Closeable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reports the measurements that an {@link IonMetricsCounter} received during
+ * each period of a fixed length, for example:
+ * <pre>{@code
+ * IonMetricsCounter counter = new IonMetricsCounter();
+ * IonReaderBuilder readerBuilder = IonReaderBuilder.standard().withMetricsListener(counter);
+ * PeriodicMetricsLogger logger = PeriodicMetricsLogger.start(
+ *     counter, scheduler, 1, TimeUnit.MINUTES, Logger.getLogger("ion.metrics"), Level.INFO
+ * );
+ * ...
+ * logger.close();
+ * }</pre>
+ * Periods in which nothing was measured are not reported. Closing the logger
+ * stops the reports and reports the measurements made since the last one.
+ */
+public final class PeriodicMetricsLogger implements Closeable {
+
+    private final IonMetricsCounter counter;
+    private final Consumer<IonMetricsCounter.Snapshot> sink;
+    private final ScheduledFuture<?> task;
+    private IonMetricsCounter.Snapshot previous;
+    private boolean isClosed = false;
+
+    private PeriodicMetricsLogger(
+        IonMetricsCounter counter,
+        Consumer<IonMetricsCounter.Snapshot> sink,
+        ScheduledExecutorService scheduler,
+        long period,
+        TimeUnit unit
+    ) {
+        this.counter = counter;
+        this.sink = sink;
+        this.previous = counter.snapshot();
+        this.task = scheduler.scheduleAtFixedRate(this::reportPeriod, period, period, unit);
+    }
+
+    /**
+     * Starts reporting the measurements received by the given counter.
+     *
+     * @param counter the counter to report.
+     * @param scheduler the scheduler on which to report. It is not shut down
+     *                  when the logger is closed.
+     * @param period the time between reports.
+     * @param unit the unit of the period.
+     * @param sink receives the measurements made during each period.
+     * @return the new logger.
+     */
+    public static PeriodicMetricsLogger start(
+        IonMetricsCounter counter,
+        ScheduledExecutorService scheduler,
+        long period,
+        TimeUnit unit,
+        Consumer<IonMetricsCounter.Snapshot> sink
+    ) {
+        if (counter == null || scheduler == null || unit == null || sink == null) {
+            throw new NullPointerException();
+        }
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return new PeriodicMetricsLogger(counter, sink, scheduler, period, unit);
+    }
+
+    /**
+     * Starts writing the measurements received by the given counter to a
+     * {@link Logger}, one line per period.
+     *
+     * @param counter the counter to report.
+     * @param scheduler the scheduler on which to report. It is not shut down
+     *                  when the logger is closed.
+     * @param period the time between reports.
+     * @param unit the unit of the period.
+     * @param logger the logger to which to write.
+     * @param level the level at which to write.
+     * @return the new logger.
+     */
+    public static PeriodicMetricsLogger start(
+        IonMetricsCounter counter,
+        ScheduledExecutorService scheduler,
+        long period,
+        TimeUnit unit,
+        Logger logger,
+        Level level
+    ) {
+        if (logger == null || level == null) {
+            throw new NullPointerException();
+        }
+        return start(counter, scheduler, period, unit, snapshot -> {
+            if (logger.isLoggable(level)) {
+                logger.log(level, snapshot.toString());
+            }
+        });
+    }
+
+    private synchronized void reportPeriod() {
+        if (!isClosed) {
+            report();
+        }
+    }
+
+    private void report() {
+        IonMetricsCounter.Snapshot current = counter.snapshot();
+        IonMetricsCounter.Snapshot interval = current.minus(previous);
+        previous = current;
+        if (!interval.isEmpty()) {
+            sink.accept(interval);
+        }
+    }
+
+    /**
+     * Stops reporting, after reporting the measurements made since the last
+     * report. Subsequent calls have no effect.
+     */
+    @Override
+    public synchronized void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        task.cancel(false);
+        report();
+    }
+}
@@ -56,6 +56,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
 import java.util.Iterator;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 /**
@@ -120,6 +121,13 @@ public class Printer
 
     protected Options myOptions = new Options();
 
+    /**
+     * Guards {@link #myOptions}. This is not a monitor, so that virtual
+     * threads printing with a shared printer do not pin their carrier
+     * threads while waiting for it.
+     */
+    private final ReentrantLock myOptionsLock = new ReentrantLock();
+
     public Printer()
     {
         myOptions = new Options();
@@ -148,9 +156,17 @@ public class Printer
      * system IDs and local symbol tables.
      * By default, this property is <code>false</code>.
      */
-    public synchronized boolean getSkipSystemValues()
+    public boolean getSkipSystemValues()
     {
-        return myOptions.skipSystemValues;
+        myOptionsLock.lock();
+        try
+        {
+            return myOptions.skipSystemValues;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
     /**
@@ -158,9 +174,17 @@ public class Printer
      * system IDs and local symbol tables.
      * By default, this property is <code>false</code>.
      */
-    public synchronized void setSkipSystemValues(boolean skip)
+    public void setSkipSystemValues(boolean skip)
     {
-        myOptions.skipSystemValues = skip;
+        myOptionsLock.lock();
+        try
+        {
+            myOptions.skipSystemValues = skip;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
 
@@ -169,9 +193,17 @@ public class Printer
      * annotations.
      * By default, this property is <code>false</code>.
      */
-    public synchronized boolean getSkipAnnotations()
+    public boolean getSkipAnnotations()
     {
-        return myOptions.skipAnnotations;
+        myOptionsLock.lock();
+        try
+        {
+            return myOptions.skipAnnotations;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
     /**
@@ -179,9 +211,17 @@ public class Printer
      * annotations.
      * By default, this property is <code>false</code>.
      */
-    public synchronized void setSkipAnnotations(boolean skip)
+    public void setSkipAnnotations(boolean skip)
     {
-        myOptions.skipAnnotations = skip;
+        myOptionsLock.lock();
+        try
+        {
+            myOptions.skipAnnotations = skip;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
 
@@ -189,18 +229,34 @@ public class Printer
      * Indicates whether this printer renders blobs as Base64 strings.
      * By default, this is <code>false</code>.
      */
-    public synchronized boolean getPrintBlobAsString()
+    public boolean getPrintBlobAsString()
     {
-        return myOptions.blobAsString;
+        myOptionsLock.lock();
+        try
+        {
+            return myOptions.blobAsString;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
     /**
      * Sets whether this printer renders blobs as Base64 strings.
      * By default, this is <code>false</code>.
      */
-    public synchronized void setPrintBlobAsString(boolean blobAsString)
+    public void setPrintBlobAsString(boolean blobAsString)
     {
-        myOptions.blobAsString = blobAsString;
+        myOptionsLock.lock();
+        try
+        {
+            myOptions.blobAsString = blobAsString;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
 
@@ -208,18 +264,34 @@ public class Printer
      * Indicates whether this printer renders clobs as ASCII strings.
      * By default, this is <code>false</code>.
      */
-    public synchronized boolean getPrintClobAsString()
+    public boolean getPrintClobAsString()
     {
-        return myOptions.clobAsString;
+        myOptionsLock.lock();
+        try
+        {
+            return myOptions.clobAsString;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
     /**
      * Sets whether this printer renders clobs as ASCII strings.
      * By default, this is <code>false</code>.
      */
-    public synchronized void setPrintClobAsString(boolean clobAsString)
+    public void setPrintClobAsString(boolean clobAsString)
     {
-        myOptions.clobAsString = clobAsString;
+        myOptionsLock.lock();
+        try
+        {
+            myOptions.clobAsString = clobAsString;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
 
@@ -227,18 +299,34 @@ public class Printer
      * Indicates whether this printer renders datagrams as lists.
      * By default, this property is <code>false</code>.
      */
-    public synchronized boolean getPrintDatagramAsList()
+    public boolean getPrintDatagramAsList()
     {
-        return myOptions.datagramAsList;
+        myOptionsLock.lock();
+        try
+        {
+            return myOptions.datagramAsList;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
     /**
      * Sets whether this printer renders datagrams as lists.
      * By default, this property is <code>false</code>.
      */
-    public synchronized void setPrintDatagramAsList(boolean datagramAsList)
+    public void setPrintDatagramAsList(boolean datagramAsList)
     {
-        myOptions.datagramAsList = datagramAsList;
+        myOptionsLock.lock();
+        try
+        {
+            myOptions.datagramAsList = datagramAsList;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
 
@@ -247,9 +335,17 @@ public class Printer
      * notation for all real values.
      * By default, this is <code>false</code>.
      */
-    public synchronized boolean getPrintDecimalAsFloat()
+    public boolean getPrintDecimalAsFloat()
     {
-        return myOptions.decimalAsFloat;
+        myOptionsLock.lock();
+        try
+        {
+            return myOptions.decimalAsFloat;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
     /**
@@ -257,9 +353,17 @@ public class Printer
      * notation for all real values.
      * By default, this is <code>false</code>.
      */
-    public synchronized void setPrintDecimalAsFloat(boolean decimalAsFloat)
+    public void setPrintDecimalAsFloat(boolean decimalAsFloat)
     {
-        myOptions.decimalAsFloat = decimalAsFloat;
+        myOptionsLock.lock();
+        try
+        {
+            myOptions.decimalAsFloat = decimalAsFloat;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
 
@@ -267,18 +371,34 @@ public class Printer
      * Indicates whether this printer renders sexps as lists.
      * By default, this is <code>false</code>.
      */
-    public synchronized boolean getPrintSexpAsList()
+    public boolean getPrintSexpAsList()
     {
-        return myOptions.sexpAsList;
+        myOptionsLock.lock();
+        try
+        {
+            return myOptions.sexpAsList;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
     /**
      * Sets whether this printer renders sexps as lists.
      * By default, this is <code>false</code>.
      */
-    public synchronized void setPrintSexpAsList(boolean sexpAsList)
+    public void setPrintSexpAsList(boolean sexpAsList)
     {
-        myOptions.sexpAsList = sexpAsList;
+        myOptionsLock.lock();
+        try
+        {
+            myOptions.sexpAsList = sexpAsList;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
 
@@ -286,18 +406,34 @@ public class Printer
      * Indicates whether this printer renders strings using JSON escapes.
      * By default, this is <code>false</code>.
      */
-    public synchronized boolean getPrintStringAsJson()
+    public boolean getPrintStringAsJson()
     {
-        return myOptions.stringAsJson;
+        myOptionsLock.lock();
+        try
+        {
+            return myOptions.stringAsJson;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
     /**
      * Sets whether this printer renders strings using JSON escapes.
      * By default, this is <code>false</code>.
      */
-    public synchronized void setPrintStringAsJson(boolean stringAsJson)
+    public void setPrintStringAsJson(boolean stringAsJson)
     {
-        myOptions.stringAsJson = stringAsJson;
+        myOptionsLock.lock();
+        try
+        {
+            myOptions.stringAsJson = stringAsJson;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
 
@@ -305,18 +441,34 @@ public class Printer
      * Indicates whether this printer renders symbols as strings.
      * By default, this is <code>false</code>.
      */
-    public synchronized boolean getPrintSymbolAsString()
+    public boolean getPrintSymbolAsString()
     {
-        return myOptions.symbolAsString;
+        myOptionsLock.lock();
+        try
+        {
+            return myOptions.symbolAsString;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
     /**
      * Sets whether this printer renders symbols as strings.
      * By default, this is <code>false</code>.
      */
-    public synchronized void setPrintSymbolAsString(boolean symbolAsString)
+    public void setPrintSymbolAsString(boolean symbolAsString)
     {
-        myOptions.symbolAsString = symbolAsString;
+        myOptionsLock.lock();
+        try
+        {
+            myOptions.symbolAsString = symbolAsString;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
 
@@ -324,18 +476,34 @@ public class Printer
      * Indicates whether this printer renders timestamps as millisecond values.
      * By default, this is <code>false</code>.
      */
-    public synchronized boolean getPrintTimestampAsMillis()
+    public boolean getPrintTimestampAsMillis()
     {
-        return myOptions.timestampAsMillis;
+        myOptionsLock.lock();
+        try
+        {
+            return myOptions.timestampAsMillis;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
     /**
      * Sets whether this printer renders timestamps as millisecond values.
      * By default, this is <code>false</code>.
      */
-    public synchronized void setPrintTimestampAsMillis(boolean timestampAsMillis)
+    public void setPrintTimestampAsMillis(boolean timestampAsMillis)
     {
-        myOptions.timestampAsMillis = timestampAsMillis;
+        myOptionsLock.lock();
+        try
+        {
+            myOptions.timestampAsMillis = timestampAsMillis;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
 
@@ -343,18 +511,34 @@ public class Printer
      * Indicates whether this printer renders timestamps as strings.
      * By default, this is <code>false</code>.
      */
-    public synchronized boolean getPrintTimestampAsString()
+    public boolean getPrintTimestampAsString()
     {
-        return myOptions.timestampAsString;
+        myOptionsLock.lock();
+        try
+        {
+            return myOptions.timestampAsString;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
     /**
      * Sets whether this printer renders timestamps as strings.
      * By default, this is <code>false</code>.
      */
-    public synchronized void setPrintTimestampAsString(boolean timestampAsString)
+    public void setPrintTimestampAsString(boolean timestampAsString)
     {
-        myOptions.timestampAsString = timestampAsString;
+        myOptionsLock.lock();
+        try
+        {
+            myOptions.timestampAsString = timestampAsString;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
 
@@ -363,9 +547,17 @@ public class Printer
      * (<em>i.e.</em>, the same as an {@link IonNull}).
      * By default, this is <code>false</code>.
      */
-    public synchronized boolean getPrintUntypedNulls()
+    public boolean getPrintUntypedNulls()
     {
-        return myOptions.untypedNulls;
+        myOptionsLock.lock();
+        try
+        {
+            return myOptions.untypedNulls;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
     /**
@@ -373,9 +565,17 @@ public class Printer
      * (<em>i.e.</em>, the same as an {@link IonNull}).
      * By default, this is <code>false</code>.
      */
-    public synchronized void setPrintUntypedNulls(boolean untypedNulls)
+    public void setPrintUntypedNulls(boolean untypedNulls)
     {
-        myOptions.untypedNulls = untypedNulls;
+        myOptionsLock.lock();
+        try
+        {
+            myOptions.untypedNulls = untypedNulls;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
 
@@ -398,20 +598,28 @@ public class Printer
      * </ul>
      * All other options are left as is.
      */
-    public synchronized void setJsonMode()
+    public void setJsonMode()
     {
-        myOptions.blobAsString      = true;
-        myOptions.clobAsString      = true;
-        myOptions.datagramAsList    = true;
-        myOptions.decimalAsFloat    = true;
-        myOptions.sexpAsList        = true;
-        myOptions.skipAnnotations   = true;
-        myOptions.skipSystemValues  = true;
-        myOptions.stringAsJson      = true;
-        myOptions.symbolAsString    = true;
-        myOptions.timestampAsString = false;
-        myOptions.timestampAsMillis = true;
-        myOptions.untypedNulls      = true;
+        myOptionsLock.lock();
+        try
+        {
+            myOptions.blobAsString      = true;
+            myOptions.clobAsString      = true;
+            myOptions.datagramAsList    = true;
+            myOptions.decimalAsFloat    = true;
+            myOptions.sexpAsList        = true;
+            myOptions.skipAnnotations   = true;
+            myOptions.skipSystemValues  = true;
+            myOptions.stringAsJson      = true;
+            myOptions.symbolAsString    = true;
+            myOptions.timestampAsString = false;
+            myOptions.timestampAsMillis = true;
+            myOptions.untypedNulls      = true;
+        }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
     }
 
 
@@ -424,10 +632,15 @@ public class Printer
     {
         // Copy the options so visitor won't see changes made while printing.
         Options options;
-        synchronized (this)  // So we don't clone in the midst of changes
+        myOptionsLock.lock();  // So we don't clone in the midst of changes
+        try
         {
             options = myOptions.clone();
         }
+        finally
+        {
+            myOptionsLock.unlock();
+        }
 
         if (true)
         {
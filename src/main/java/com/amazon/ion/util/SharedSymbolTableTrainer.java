@@ -0,0 +1,346 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonCatalog;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.SymbolToken;
+import com.amazon.ion.impl._Private_Utils;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Derives a shared symbol table from a sample corpus, for use with
+ * {@link IonBinaryWriterBuilder#withImports(SymbolTable...)}.
+ * <p>
+ * Every binary Ion stream must declare the text of the local symbols that it
+ * uses, so a symbol that occurs in many streams is repeated in each of their
+ * local symbol tables unless it is imported from a shared table. The trainer
+ * reads sample streams and ranks the field names, annotations, and symbol
+ * values they use by the bytes that importing each symbol would save: the
+ * encoded size of the symbol's declaration, once for every sample that uses
+ * it. The table declares the highest-ranked symbols in rank order, so the
+ * most valuable symbols receive the smallest symbol IDs.
+ * <p>
+ * The symbols are ranked with a heavy-hitters sketch (weighted Space-Saving)
+ * that tracks a fixed number of candidates, so training over a corpus of
+ * any size needs memory proportional to that number only. The savings of a
+ * symbol may be overestimated by at most the smallest savings tracked when
+ * it entered the sketch; symbols whose true savings exceed the total savings
+ * of the corpus divided by the number of candidates are always tracked.
+ * <pre>
+ *     SharedSymbolTableTrainer trainer = new SharedSymbolTableTrainer.Builder().withMaxSymbols(500).build();
+ *     for (Path sample : samples) {
+ *         try (IonReader reader = IonReaderBuilder.standard().build(Files.newInputStream(sample))) {
+ *             trainer.train(reader);
+ *         }
+ *     }
+ *     SymbolTable shared = trainer.newSharedSymbolTable("com.example.events");
+ *     catalog.putTable(shared);
+ * </pre>
+ * Instances are not thread-safe.
+ */
+public final class SharedSymbolTableTrainer {
+
+    /**
+     * The default number of candidate symbols tracked by the sketch.
+     */
+    public static final int DEFAULT_CAPACITY = 16 * 1024;
+
+    /**
+     * The default maximum number of symbols declared by the trained table.
+     */
+    public static final int DEFAULT_MAX_SYMBOLS = 1024;
+
+    private static final SymbolTable SYSTEM_SYMBOL_TABLE = _Private_Utils.systemSymtab(1);
+
+    /**
+     * Builds {@link SharedSymbolTableTrainer} instances.
+     */
+    public static final class Builder {
+
+        private int capacity = DEFAULT_CAPACITY;
+        private int maxSymbols = DEFAULT_MAX_SYMBOLS;
+
+        /**
+         * Sets the number of candidate symbols tracked while training, which
+         * bounds the trainer's memory. Larger values improve the accuracy of
+         * the ranking. Default: {@link #DEFAULT_CAPACITY}.
+         *
+         * @param capacity the number of candidates, which must be positive.
+         * @return this builder.
+         */
+        public Builder withCapacity(int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("Capacity must be positive.");
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of symbols that a trained table declares,
+         * or adds to the previous version of the table. Default:
+         * {@link #DEFAULT_MAX_SYMBOLS}.
+         *
+         * @param maxSymbols the maximum number of symbols, which must not be
+         *                   negative.
+         * @return this builder.
+         */
+        public Builder withMaxSymbols(int maxSymbols) {
+            if (maxSymbols < 0) {
+                throw new IllegalArgumentException("The maximum number of symbols must not be negative.");
+            }
+            this.maxSymbols = maxSymbols;
+            return this;
+        }
+
+        /**
+         * @return a new trainer.
+         */
+        public SharedSymbolTableTrainer build() {
+            return new SharedSymbolTableTrainer(this);
+        }
+    }
+
+    /** A candidate symbol, which is an element of the min-heap ordered by estimated savings. */
+    private static final class Candidate {
+        String text;
+        long savings;
+        long error;
+        long lastSample;
+        int heapIndex;
+    }
+
+    private final int capacity;
+    private final int maxSymbols;
+    private final Map<String, Candidate> candidates;
+    private final Candidate[] heap;
+    private int size = 0;
+    private long sample = 0;
+
+    private SharedSymbolTableTrainer(Builder builder) {
+        capacity = builder.capacity;
+        maxSymbols = builder.maxSymbols;
+        candidates = new HashMap<>(Math.min(capacity, 1024));
+        heap = new Candidate[capacity];
+    }
+
+    /**
+     * Counts the symbols used by the values from the reader's current
+     * position to the end of the stream, as one sample.
+     *
+     * @param reader the reader.
+     */
+    public void train(IonReader reader) {
+        sample++;
+        visit(reader);
+    }
+
+    private void visit(IonReader reader) {
+        IonType type;
+        while ((type = reader.next()) != null) {
+            if (reader.isInStruct()) {
+                add(reader.getFieldNameSymbol());
+            }
+            for (SymbolToken annotation : reader.getTypeAnnotationSymbols()) {
+                add(annotation);
+            }
+            if (reader.isNullValue()) {
+                continue;
+            }
+            if (type == IonType.SYMBOL) {
+                add(reader.symbolValue());
+            } else if (IonType.isContainer(type)) {
+                reader.stepIn();
+                visit(reader);
+                reader.stepOut();
+            }
+        }
+    }
+
+    private void add(SymbolToken symbol) {
+        String text = symbol.getText();
+        if (text == null) {
+            return;
+        }
+        Candidate candidate = candidates.get(text);
+        if (candidate != null) {
+            if (candidate.lastSample != sample) {
+                candidate.lastSample = sample;
+                candidate.savings += declarationSize(text);
+                siftDown(candidate.heapIndex);
+            }
+            return;
+        }
+        if (isSystemSymbol(text)) {
+            return;
+        }
+        if (size < capacity) {
+            candidate = new Candidate();
+            candidate.heapIndex = size;
+            heap[size++] = candidate;
+        } else {
+            // Replace the candidate with the smallest savings, inheriting them as the possible overestimate.
+            candidate = heap[0];
+            candidates.remove(candidate.text);
+            candidate.error = candidate.savings;
+        }
+        candidate.text = text;
+        candidate.savings = candidate.error + declarationSize(text);
+        candidate.lastSample = sample;
+        candidates.put(text, candidate);
+        siftUp(candidate.heapIndex);
+        siftDown(candidate.heapIndex);
+    }
+
+    private static boolean isSystemSymbol(String text) {
+        return text.startsWith("$ion") || SYSTEM_SYMBOL_TABLE.findSymbol(text) != -1;
+    }
+
+    /**
+     * @return the number of bytes that a string with the given text occupies in a local symbol table.
+     */
+    private static int declarationSize(String text) {
+        int length = text.getBytes(StandardCharsets.UTF_8).length;
+        if (length < 14) {
+            return 1 + length;
+        }
+        int lengthSize = 1;
+        for (int remaining = length >>> 7; remaining > 0; remaining >>>= 7) {
+            lengthSize++;
+        }
+        return 1 + lengthSize + length;
+    }
+
+    private void siftUp(int index) {
+        Candidate candidate = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].savings <= candidate.savings) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(candidate, index);
+    }
+
+    private void siftDown(int index) {
+        Candidate candidate = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].savings < heap[child].savings) {
+                child++;
+            }
+            if (candidate.savings <= heap[child].savings) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(candidate, index);
+    }
+
+    private void place(Candidate candidate, int index) {
+        heap[index] = candidate;
+        candidate.heapIndex = index;
+    }
+
+    /**
+     * @return the number of samples trained so far.
+     */
+    public long getNumberOfSamples() {
+        return sample;
+    }
+
+    /**
+     * @return the tracked symbols, ranked by decreasing estimated savings.
+     */
+    public List<String> getRankedSymbols() {
+        Candidate[] ranked = Arrays.copyOf(heap, size);
+        // Ties are broken by the smaller overestimate, then by text, so that the ranking is deterministic.
+        Arrays.sort(ranked, (a, b) -> {
+            int comparison = Long.compare(b.savings, a.savings);
+            if (comparison == 0) {
+                comparison = Long.compare(a.error, b.error);
+            }
+            return comparison == 0 ? a.text.compareTo(b.text) : comparison;
+        });
+        List<String> symbols = new ArrayList<>(size);
+        for (Candidate candidate : ranked) {
+            symbols.add(candidate.text);
+        }
+        return Collections.unmodifiableList(symbols);
+    }
+
+    /**
+     * @param text the text of a symbol.
+     * @return the estimated number of bytes that importing the symbol would
+     * have saved across the samples, or zero if the symbol is not tracked.
+     */
+    public long getEstimatedSavings(String text) {
+        Candidate candidate = candidates.get(text);
+        return candidate == null ? 0 : candidate.savings;
+    }
+
+    /**
+     * Creates the first version of a shared symbol table that declares the
+     * highest-ranked symbols.
+     *
+     * @param name the name of the table.
+     * @return a new shared symbol table with version 1, which may be added
+     * to an {@link IonCatalog} and imported by writers.
+     */
+    public SymbolTable newSharedSymbolTable(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("The name must not be empty.");
+        }
+        List<String> ranked = getRankedSymbols();
+        Iterator<String> symbols = ranked.subList(0, Math.min(maxSymbols, ranked.size())).iterator();
+        return _Private_Utils.newSharedSymtab(name, 1, null, symbols);
+    }
+
+    /**
+     * Creates the next version of the given shared symbol table. The new
+     * version declares the symbols of the given one, with the same symbol
+     * IDs, followed by the highest-ranked symbols that it does not declare,
+     * so that data encoded with the given version remains valid.
+     *
+     * @param previousVersion the shared symbol table to extend.
+     * @return a new shared symbol table with the same name and the next
+     * version.
+     */
+    public SymbolTable newSharedSymbolTable(SymbolTable previousVersion) {
+        if (!previousVersion.isSharedTable() || previousVersion.isSystemTable()) {
+            throw new IllegalArgumentException("The previous version must be a non-system shared symbol table.");
+        }
+        Set<String> added = new LinkedHashSet<>();
+        for (String symbol : getRankedSymbols()) {
+            if (added.size() == maxSymbols) {
+                break;
+            }
+            if (previousVersion.findSymbol(symbol) == -1) {
+                added.add(symbol);
+            }
+        }
+        return _Private_Utils.newSharedSymtab(
+            previousVersion.getName(), previousVersion.getVersion() + 1, previousVersion, added.iterator()
+        );
+    }
+}
@@ -0,0 +1,157 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.SymbolToken;
+import com.amazon.ion.impl._Private_Utils;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Re-encodes Ion data as binary with a local symbol table whose symbol IDs
+ * are assigned in order of decreasing use.
+ * <p>
+ * The binary writer assigns local symbol IDs in the order in which symbols
+ * are first written, so the most frequently used field names, annotations,
+ * and symbol values may receive IDs that need more than one byte, and
+ * symbol tables carried over from the source may declare symbols that the
+ * data never uses. Optimization takes two passes over the data:
+ * <ol>
+ *   <li>{@link #countSymbols(IonReader)} counts the uses of each symbol,
+ *   and may be called for any number of readers;</li>
+ *   <li>the writer returned by {@link #newWriter(IonBinaryWriterBuilder, OutputStream)}
+ *   starts with a single local symbol table that declares the counted
+ *   symbols, most frequently used first, into which the same data is then
+ *   written.</li>
+ * </ol>
+ * Symbols that are not used are not declared, and the output does not
+ * import any shared symbol tables. The data must not contain symbols with
+ * unknown text.
+ * <pre>
+ *     byte[] optimized = SymbolTableOptimizer.optimize(IonReaderBuilder.standard(), data, IonBinaryWriterBuilder.standard());
+ * </pre>
+ * Instances are not thread-safe.
+ */
+public final class SymbolTableOptimizer {
+
+    // Ordered by first use, so symbols that are used equally often keep their relative order.
+    private final Map<String, int[]> counts = new LinkedHashMap<>();
+
+    /**
+     * Counts the uses of the symbols in the values from the reader's current
+     * position to the end of its current container, or of the stream at the
+     * top level.
+     * @param reader the reader.
+     */
+    public void countSymbols(IonReader reader) {
+        IonType type;
+        while ((type = reader.next()) != null) {
+            if (reader.isInStruct()) {
+                count(reader.getFieldNameSymbol());
+            }
+            for (SymbolToken annotation : reader.getTypeAnnotationSymbols()) {
+                count(annotation);
+            }
+            if (reader.isNullValue()) {
+                continue;
+            }
+            if (type == IonType.SYMBOL) {
+                count(reader.symbolValue());
+            } else if (IonType.isContainer(type)) {
+                reader.stepIn();
+                countSymbols(reader);
+                reader.stepOut();
+            }
+        }
+    }
+
+    private void count(SymbolToken symbol) {
+        String text = symbol.getText();
+        if (text == null) {
+            return;
+        }
+        int[] count = counts.get(text);
+        if (count == null) {
+            counts.put(text, new int[] {1});
+        } else {
+            count[0]++;
+        }
+    }
+
+    /**
+     * @return the counted symbols, most frequently used first.
+     */
+    public List<String> getSymbolsByFrequency() {
+        List<Map.Entry<String, int[]>> entries = new ArrayList<>(counts.entrySet());
+        // The sort is stable, so ties remain in order of first use.
+        entries.sort((a, b) -> Integer.compare(b.getValue()[0], a.getValue()[0]));
+        List<String> symbols = new ArrayList<>(entries.size());
+        for (Map.Entry<String, int[]> entry : entries) {
+            symbols.add(entry.getKey());
+        }
+        return Collections.unmodifiableList(symbols);
+    }
+
+    /**
+     * @return a new local symbol table that declares the counted symbols, most
+     * frequently used first. Symbols from the system symbol table are not
+     * declared.
+     */
+    public SymbolTable newSymbolTable() {
+        SymbolTable symbolTable = _Private_Utils.newLocalSymtab();
+        for (String symbol : getSymbolsByFrequency()) {
+            symbolTable.intern(symbol);
+        }
+        return symbolTable;
+    }
+
+    /**
+     * Creates a writer whose local symbol table is the one returned by
+     * {@link #newSymbolTable()}. Finishing the writer resets its symbol
+     * table, so the optimized data should be written before the writer is
+     * finished or closed.
+     * @param builder the builder for the writer. Its initial symbol table is
+     *                replaced.
+     * @param out the output.
+     * @return a new writer.
+     */
+    public IonWriter newWriter(IonBinaryWriterBuilder builder, OutputStream out) {
+        return builder.copy().withInitialSymbolTable(newSymbolTable()).build(out);
+    }
+
+    /**
+     * Re-encodes the given data with an optimized symbol table.
+     * @param readerBuilder the builder for the readers of both passes.
+     * @param data text or binary Ion data.
+     * @param writerBuilder the builder for the writer of the second pass.
+     * @return the re-encoded data.
+     * @throws IOException if the writer fails.
+     */
+    public static byte[] optimize(IonReaderBuilder readerBuilder,
+                                  byte[] data,
+                                  IonBinaryWriterBuilder writerBuilder) throws IOException {
+        SymbolTableOptimizer optimizer = new SymbolTableOptimizer();
+        try (IonReader reader = readerBuilder.build(data)) {
+            optimizer.countSymbols(reader);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+        try (IonReader reader = readerBuilder.build(data);
+             IonWriter writer = optimizer.newWriter(writerBuilder, out)) {
+            writer.writeValues(reader);
+        }
+        return out.toByteArray();
+    }
+}
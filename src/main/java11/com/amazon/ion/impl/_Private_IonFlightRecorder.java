@@ -0,0 +1,317 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Emits JDK Flight Recorder events for the work done by a single binary reader or writer. This is the implementation
+ * used on Java 11 and later; see the Java 8 implementation in the base of the multi-release jar, which has the same
+ * public API and emits nothing.
+ * <p>
+ * The events are disabled by default, and are emitted only when a recording enables them, e.g. with
+ * {@code jcmd <pid> JFR.start settings=ion.jfc}, where {@code ion.jfc} sets {@code enabled} to {@code true} for any of
+ * {@code com.amazon.ion.IonStreamRead}, {@code com.amazon.ion.IonSymbolTableResolved},
+ * {@code com.amazon.ion.IonBufferGrown}, {@code com.amazon.ion.IonOversizedValueSkipped}, and
+ * {@code com.amazon.ion.IonWriterFlush}. Each event carries the ID of the stream that emitted it, so that the events
+ * of one reader or writer can be correlated. When a writer flushes asynchronously, the duration of its flush events
+ * covers only the handoff of its buffer to the executor.
+ * <p>
+ * Streams created before the first recording in the JVM began have no recorder and never emit events, so that
+ * applications that do not use Flight Recorder pay nothing beyond a null check for it.
+ */
+public class _Private_IonFlightRecorder {
+
+    private static final boolean IS_AVAILABLE = isFlightRecorderAvailable();
+
+    private static final AtomicLong NEXT_STREAM_ID = new AtomicLong();
+
+    private final long streamId;
+
+    // The events that have begun but not yet ended. Each stream is used by one thread at a time.
+    private StreamReadEvent streamRead;
+    private BufferGrownEvent bufferGrown;
+    private OversizedValueSkippedEvent oversizedValueSkipped;
+    private SymbolTableResolvedEvent symbolTableResolved;
+    private WriterFlushEvent writerFlush;
+
+    _Private_IonFlightRecorder() {
+        this(0);
+    }
+
+    private _Private_IonFlightRecorder(long streamId) {
+        this.streamId = streamId;
+    }
+
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            return FlightRecorder.isAvailable();
+        } catch (LinkageError e) {
+            // The jdk.jfr module is not present in this runtime.
+            return false;
+        }
+    }
+
+    /**
+     * @return a recorder for a new stream, or null if no events can be recorded.
+     */
+    public static _Private_IonFlightRecorder forNewStream() {
+        if (IS_AVAILABLE && FlightRecorder.isInitialized()) {
+            return new _Private_IonFlightRecorder(NEXT_STREAM_ID.incrementAndGet());
+        }
+        return null;
+    }
+
+    /**
+     * Begins a read from a reader's input stream.
+     */
+    public void beginStreamRead() {
+        StreamReadEvent event = new StreamReadEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            streamRead = event;
+        }
+    }
+
+    /**
+     * @param numberOfBytes the number of bytes read, or -1 if the stream was at its end.
+     */
+    public void endStreamRead(int numberOfBytes) {
+        StreamReadEvent event = streamRead;
+        if (event == null) {
+            return;
+        }
+        streamRead = null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.streamId = streamId;
+            event.bytesRead = Math.max(numberOfBytes, 0);
+            event.endOfStream = numberOfBytes < 0;
+            event.commit();
+        }
+    }
+
+    /**
+     * Begins the growth of a reader's buffer.
+     */
+    public void beginBufferGrowth() {
+        BufferGrownEvent event = new BufferGrownEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            bufferGrown = event;
+        }
+    }
+
+    /**
+     * @param previousSize the size of the buffer before it grew, in bytes.
+     * @param newSize the size of the buffer after it grew, in bytes.
+     */
+    public void endBufferGrowth(int previousSize, int newSize) {
+        BufferGrownEvent event = bufferGrown;
+        if (event == null) {
+            return;
+        }
+        bufferGrown = null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.streamId = streamId;
+            event.previousSize = previousSize;
+            event.newSize = newSize;
+            event.commit();
+        }
+    }
+
+    /**
+     * Begins skipping a value that is too large to buffer.
+     * @param numberOfBytes the number of bytes of the value that remain to be skipped.
+     */
+    public void beginOversizedValueSkip(long numberOfBytes) {
+        OversizedValueSkippedEvent event = new OversizedValueSkippedEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            event.bytesSkipped = numberOfBytes;
+            oversizedValueSkipped = event;
+        }
+    }
+
+    /**
+     * Ends skipping a value that is too large to buffer.
+     */
+    public void endOversizedValueSkip() {
+        OversizedValueSkippedEvent event = oversizedValueSkipped;
+        if (event == null) {
+            return;
+        }
+        oversizedValueSkipped = null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.streamId = streamId;
+            event.commit();
+        }
+    }
+
+    /**
+     * Begins reading a local symbol table.
+     * @param numberOfBytes the length of the symbol table struct's contents.
+     */
+    public void beginSymbolTable(long numberOfBytes) {
+        SymbolTableResolvedEvent event = new SymbolTableResolvedEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            event.bytes = numberOfBytes;
+            symbolTableResolved = event;
+        }
+    }
+
+    /**
+     * @param isAppend true if the symbol table appended to the symbols in effect; false if it replaced them.
+     * @param numberOfImports the number of shared symbol tables imported, not including the system symbol table.
+     * @param numberOfSymbols the number of symbols declared.
+     */
+    public void endSymbolTable(boolean isAppend, int numberOfImports, int numberOfSymbols) {
+        SymbolTableResolvedEvent event = symbolTableResolved;
+        if (event == null) {
+            return;
+        }
+        symbolTableResolved = null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.streamId = streamId;
+            event.append = isAppend;
+            event.imports = numberOfImports;
+            event.symbols = numberOfSymbols;
+            event.commit();
+        }
+    }
+
+    /**
+     * Begins a writer's flush, if flushes are being recorded.
+     * @return true if the flush is being recorded, in which case {@link #endFlush(long)} must follow; otherwise,
+     *   false, in which case the caller need not count the bytes to be written.
+     */
+    public boolean beginFlush() {
+        WriterFlushEvent event = new WriterFlushEvent();
+        if (!event.isEnabled()) {
+            return false;
+        }
+        event.begin();
+        writerFlush = event;
+        return true;
+    }
+
+    /**
+     * Ends a writer's flush. Flushes that write nothing are not recorded.
+     * @param numberOfBytes the number of bytes written to the output.
+     */
+    public void endFlush(long numberOfBytes) {
+        WriterFlushEvent event = writerFlush;
+        if (event == null) {
+            return;
+        }
+        writerFlush = null;
+        event.end();
+        if (numberOfBytes > 0 && event.shouldCommit()) {
+            event.streamId = streamId;
+            event.bytesWritten = numberOfBytes;
+            event.commit();
+        }
+    }
+
+    @Name("com.amazon.ion.IonStreamRead")
+    @Label("Ion Stream Read")
+    @Category({"Amazon Ion", "Reader"})
+    @Description("A read from the input stream of a binary Ion reader")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class StreamReadEvent extends Event {
+        @Label("Stream ID")
+        long streamId;
+
+        @Label("Bytes Read")
+        @DataAmount
+        long bytesRead;
+
+        @Label("End of Stream")
+        boolean endOfStream;
+    }
+
+    @Name("com.amazon.ion.IonBufferGrown")
+    @Label("Ion Buffer Grown")
+    @Category({"Amazon Ion", "Reader"})
+    @Description("The growth of a binary Ion reader's buffer to hold a value larger than the buffer")
+    @Enabled(false)
+    static final class BufferGrownEvent extends Event {
+        @Label("Stream ID")
+        long streamId;
+
+        @Label("Previous Size")
+        @DataAmount
+        long previousSize;
+
+        @Label("New Size")
+        @DataAmount
+        long newSize;
+    }
+
+    @Name("com.amazon.ion.IonOversizedValueSkipped")
+    @Label("Ion Oversized Value Skipped")
+    @Category({"Amazon Ion", "Reader"})
+    @Description("A value skipped by a binary Ion reader because it exceeded the maximum buffer size")
+    @Enabled(false)
+    static final class OversizedValueSkippedEvent extends Event {
+        @Label("Stream ID")
+        long streamId;
+
+        @Label("Bytes Skipped")
+        @DataAmount
+        long bytesSkipped;
+    }
+
+    @Name("com.amazon.ion.IonSymbolTableResolved")
+    @Label("Ion Symbol Table Resolved")
+    @Category({"Amazon Ion", "Reader"})
+    @Description("A local symbol table read by a binary Ion reader")
+    @Enabled(false)
+    static final class SymbolTableResolvedEvent extends Event {
+        @Label("Stream ID")
+        long streamId;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+
+        @Label("Append")
+        @Description("Whether the symbol table appended to the symbols in effect, rather than replacing them")
+        boolean append;
+
+        @Label("Imports")
+        int imports;
+
+        @Label("Symbols")
+        int symbols;
+    }
+
+    @Name("com.amazon.ion.IonWriterFlush")
+    @Label("Ion Writer Flush")
+    @Category({"Amazon Ion", "Writer"})
+    @Description("A binary Ion writer's flush of its buffered values and symbol tables to the output")
+    @Enabled(false)
+    static final class WriterFlushEvent extends Event {
+        @Label("Stream ID")
+        long streamId;
+
+        @Label("Bytes Written")
+        @DataAmount
+        long bytesWritten;
+    }
+}
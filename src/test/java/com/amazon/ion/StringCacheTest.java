@@ -0,0 +1,139 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StringCacheTest {
+
+    private static final String TEXT = "\"us-east-1\" \"us-east-1\" 'us-east-1' \"héllo\" \"héllo\" \"" + repeat('x', 300) + "\" \"" + repeat('x', 300) + "\"";
+
+    private static String repeat(char c, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static byte[] toBinary(String text) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonReader reader = IonReaderBuilder.standard().build(text);
+             IonWriter writer = IonBinaryWriterBuilder.standard().build(out)) {
+            writer.writeValues(reader);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads the values of TEXT from the given reader and verifies that repeated string values are the same instance,
+     * and that values that are too long are not cached.
+     */
+    private static void assertDeduplicated(IonReader reader) {
+        String[] values = new String[7];
+        for (int i = 0; i < values.length; i++) {
+            reader.next();
+            values[i] = reader.stringValue();
+        }
+        assertNull(reader.next());
+        assertEquals("us-east-1", values[0]);
+        assertSame(values[0], values[1]);
+        assertEquals(values[0], values[2]);
+        assertEquals("héllo", values[3]);
+        assertSame(values[3], values[4]);
+        assertEquals(values[5], values[6]);
+        assertNotSame(values[5], values[6]);
+    }
+
+    @Test
+    public void binaryReaderDeduplicatesStrings() throws IOException {
+        StringCache cache = StringCache.create(64);
+        try (IonReader reader = IonReaderBuilder.standard().withStringCache(cache).build(toBinary(TEXT))) {
+            assertDeduplicated(reader);
+        }
+        // The symbol's text is read from the local symbol table, which is itself a string value.
+        assertEquals(3, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void incrementalBinaryReaderDeduplicatesStrings() throws IOException {
+        StringCache cache = StringCache.create(64);
+        try (IonReader reader = IonReaderBuilder.standard()
+            .withStringCache(cache)
+            .withIncrementalReadingEnabled(true)
+            .build(new ByteArrayInputStream(toBinary(TEXT)))) {
+            assertDeduplicated(reader);
+        }
+    }
+
+    @Test
+    public void textReaderDeduplicatesStrings() throws IOException {
+        StringCache cache = StringCache.create(64);
+        try (IonReader reader = IonReaderBuilder.standard().withStringCache(cache).build(TEXT)) {
+            assertDeduplicated(reader);
+        }
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void cacheIsSharedAcrossReaders() throws IOException {
+        StringCache cache = StringCache.create(64);
+        String fromText;
+        try (IonReader reader = IonReaderBuilder.standard().withStringCache(cache).build("\"us-east-1\"")) {
+            reader.next();
+            fromText = reader.stringValue();
+        }
+        try (IonReader reader = IonReaderBuilder.standard().withStringCache(cache).build(toBinary("\"us-east-1\""))) {
+            reader.next();
+            assertSame(fromText, reader.stringValue());
+        }
+    }
+
+    @Test
+    public void loadedValuesShareInstances() throws IOException {
+        StringCache cache = StringCache.create(64);
+        IonSystem system = IonSystemBuilder.standard()
+            .withReaderBuilder(IonReaderBuilder.standard().withStringCache(cache))
+            .build();
+        IonDatagram datagram = system.getLoader().load(toBinary("{region:\"us-east-1\"} {region:\"us-east-1\"}"));
+        IonString first = (IonString) ((IonStruct) datagram.get(0)).get("region");
+        IonString second = (IonString) ((IonStruct) datagram.get(1)).get("region");
+        assertSame(first.stringValue(), second.stringValue());
+    }
+
+    @Test
+    public void collidingValuesReplaceEachOther() {
+        StringCache cache = StringCache.create(1);
+        byte[] a = "a".getBytes(StandardCharsets.UTF_8);
+        byte[] b = "b".getBytes(StandardCharsets.UTF_8);
+        assertNull(cache.get(a, 0, 1));
+        cache.put(a, 0, 1, "a");
+        assertEquals("a", cache.get(a, 0, 1));
+        assertNull(cache.get(b, 0, 1));
+        cache.put(b, 0, 1, "b");
+        assertNull(cache.get(a, 0, 1));
+    }
+
+    @Test
+    public void invalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> StringCache.create(0));
+        assertThrows(IllegalArgumentException.class, () -> StringCache.create((1 << 30) + 1));
+        assertThrows(IllegalArgumentException.class, () -> StringCache.create(16, -1));
+    }
+}
@@ -0,0 +1,203 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion;
+
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.SimpleCatalog;
+import com.amazon.ion.util.Printer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs many concurrent readers and writers that share a catalog, a read-only local symbol table and a printer. On
+ * JDK 21+ the tasks run on virtual threads and the test asserts that JFR records no {@code jdk.VirtualThreadPinned}
+ * events; on older JDKs they run on a pool of platform threads, which still exercises the shared state for
+ * correctness. Virtual threads and JFR are accessed reflectively because the tests are compiled for Java 8.
+ */
+public class VirtualThreadConcurrencyTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int NUMBER_OF_VIRTUAL_TASKS = 10_000;
+    private static final int NUMBER_OF_PLATFORM_TASKS = 1_000;
+
+    private final SimpleCatalog catalog = new SimpleCatalog();
+    private final IonSystem system = IonSystemBuilder.standard().withCatalog(catalog).build();
+    private final SymbolTable sharedTable =
+        system.newSharedSymbolTable("shared", 1, Arrays.asList("alpha", "beta", "gamma").iterator());
+    private final SymbolTable readOnlyLocalTable = system.newLocalSymbolTable(sharedTable);
+    // Printer is deprecated, but still supported, and its lazily-initialized state is shared between threads.
+    @SuppressWarnings("deprecation")
+    private final Printer printer = new Printer();
+
+    {
+        catalog.putTable(sharedTable);
+        readOnlyLocalTable.intern("delta");
+        readOnlyLocalTable.makeReadOnly();
+    }
+
+    /**
+     * @return an executor that runs each task on a new virtual thread, or null if the JDK does not support them.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes a stream that imports the shared table using asynchronous flushing on the given executor, then reads it
+     * back with both a reader and the loader and prints it.
+     */
+    private void runTask(int id, ExecutorService flushExecutor) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = IonBinaryWriterBuilder.standard()
+            .withImports(sharedTable)
+            .withAsyncFlushing(flushExecutor, 1024)
+            .build(out)) {
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("alpha");
+            writer.writeInt(id);
+            writer.setFieldName("local" + (id % 10));
+            writer.writeSymbol("gamma");
+            writer.stepOut();
+        }
+        byte[] data = out.toByteArray();
+
+        try (IonReader reader = IonReaderBuilder.standard().withCatalog(catalog).build(data)) {
+            assertEquals(IonType.STRUCT, reader.next());
+            reader.stepIn();
+            assertEquals(IonType.INT, reader.next());
+            assertEquals("alpha", reader.getFieldName());
+            assertEquals(id, reader.intValue());
+        }
+
+        IonDatagram datagram = system.getLoader().load(data);
+        StringBuilder printed = new StringBuilder();
+        printer.print(datagram.get(0), printed);
+        assertEquals("{alpha:" + id + ",local" + (id % 10) + ":gamma}", printed.toString());
+
+        assertEquals(readOnlyLocalTable.getImportedMaxId() + 1, readOnlyLocalTable.findSymbol("delta"));
+        assertEquals("beta", readOnlyLocalTable.findKnownSymbol(readOnlyLocalTable.findSymbol("beta")));
+        assertSame(sharedTable, catalog.getTable("shared", 1));
+    }
+
+    private void runTasks(ExecutorService executor, ExecutorService flushExecutor, int numberOfTasks)
+        throws Exception {
+        List<Future<?>> futures = new ArrayList<>(numberOfTasks);
+        for (int i = 0; i < numberOfTasks; i++) {
+            final int id = i;
+            futures.add(executor.submit(() -> {
+                runTask(id, flushExecutor);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+    }
+
+    @Test
+    public void sharedStateIsUsableFromManyThreads() throws Exception {
+        ExecutorService virtualExecutor = newVirtualThreadExecutor();
+        boolean isVirtual = virtualExecutor != null;
+        ExecutorService executor = isVirtual ? virtualExecutor : Executors.newFixedThreadPool(16);
+        // Platform tasks block while their output is flushed, so flushing cannot share their bounded pool.
+        ExecutorService flushExecutor = isVirtual ? virtualExecutor : Executors.newCachedThreadPool();
+        // Warm up on the test thread so that class initialization does not contribute pinning events.
+        runTask(0, flushExecutor);
+        PinnedEventRecorder recorder = PinnedEventRecorder.startIfAvailable();
+        try {
+            runTasks(executor, flushExecutor, isVirtual ? NUMBER_OF_VIRTUAL_TASKS : NUMBER_OF_PLATFORM_TASKS);
+            if (recorder != null) {
+                // The event does not exist before JDK 21, so none are recorded there.
+                List<String> events = recorder.stopAndDescribeEvents();
+                assertTrue(events.isEmpty(), () -> "Carrier threads were pinned: " + events);
+            }
+        } finally {
+            if (recorder != null) {
+                recorder.close();
+            }
+            executor.shutdown();
+            flushExecutor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+            assertTrue(flushExecutor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+    }
+
+    /**
+     * Records every {@value #PINNED_EVENT} event, however short, using JFR, accessed reflectively. The event's default
+     * threshold of 20 ms would hide brief pinning, which still blocks a carrier thread.
+     */
+    private static final class PinnedEventRecorder implements AutoCloseable {
+
+        private final Object recording;
+        private final File file;
+
+        private PinnedEventRecorder(Class<?> recordingClass) throws ReflectiveOperationException, IOException {
+            recording = recordingClass.getConstructor().newInstance();
+            Object settings = recordingClass.getMethod("enable", String.class).invoke(recording, PINNED_EVENT);
+            Class.forName("jdk.jfr.EventSettings")
+                .getMethod("withThreshold", Duration.class)
+                .invoke(settings, Duration.ZERO);
+            recordingClass.getMethod("start").invoke(recording);
+            file = File.createTempFile("pinning", ".jfr");
+        }
+
+        /**
+         * @return a started recorder, or null if JFR is not available.
+         */
+        static PinnedEventRecorder startIfAvailable() throws ReflectiveOperationException, IOException {
+            Class<?> recordingClass;
+            try {
+                recordingClass = Class.forName("jdk.jfr.Recording");
+            } catch (ClassNotFoundException e) {
+                return null;
+            }
+            return new PinnedEventRecorder(recordingClass);
+        }
+
+        /**
+         * Stops the recording and describes the events it captured.
+         */
+        List<String> stopAndDescribeEvents() throws ReflectiveOperationException {
+            Class<?> recordingClass = recording.getClass();
+            recordingClass.getMethod("stop").invoke(recording);
+            recordingClass.getMethod("dump", java.nio.file.Path.class).invoke(recording, file.toPath());
+            List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                .getMethod("readAllEvents", java.nio.file.Path.class)
+                .invoke(null, file.toPath());
+            List<String> descriptions = new ArrayList<>(events.size());
+            for (Object event : events) {
+                descriptions.add(event.toString());
+            }
+            return descriptions;
+        }
+
+        @Override
+        public void close() throws ReflectiveOperationException {
+            recording.getClass().getMethod("close").invoke(recording);
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl;
+
+import com.amazon.ion.BufferBudget;
+import com.amazon.ion.IonBufferConfiguration;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests readers and writers that share a {@link BufferBudget}.
+ */
+public class BufferBudgetTest {
+
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int LARGE_VALUE_SIZE = 100_000;
+
+    /**
+     * Writes a small value, a large blob, and another small value.
+     */
+    private static byte[] data() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = IonBinaryWriterBuilder.standard().build(out)) {
+            writer.writeSymbol("first");
+            writer.writeBlob(new byte[LARGE_VALUE_SIZE]);
+            for (int i = 0; i < 10; i++) {
+                writer.writeInt(i);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Creates an incremental reader, which skips values that cannot be buffered rather than failing when they are
+     * accessed.
+     */
+    private static IonReader newReader(IonBufferConfiguration.Builder configuration, byte[] data) {
+        return IonReaderBuilder.standard()
+            .withIncrementalReadingEnabled(true)
+            .withBufferConfiguration(configuration.withInitialBufferSize(INITIAL_BUFFER_SIZE).build())
+            .build(new ByteArrayInputStream(data));
+    }
+
+    @Test
+    public void readerShrinksAfterLargeValues() throws IOException {
+        BufferBudget budget = BufferBudget.create(1 << 20);
+        IonReader reader = newReader(IonBufferConfiguration.Builder.standard().withBufferBudget(budget), data());
+        assertEquals(INITIAL_BUFFER_SIZE, budget.getUsedSize());
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertEquals(IonType.BLOB, reader.next());
+        assertEquals(LARGE_VALUE_SIZE, reader.newBytes().length);
+        assertTrue(budget.getUsedSize() > LARGE_VALUE_SIZE);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(IonType.INT, reader.next());
+            assertEquals(i, reader.intValue());
+            assertEquals(INITIAL_BUFFER_SIZE, budget.getUsedSize());
+        }
+        assertNull(reader.next());
+        reader.close();
+        assertEquals(0, budget.getUsedSize());
+    }
+
+    @Test
+    public void exhaustedBudgetSkipsValues() throws IOException {
+        BufferBudget budget = BufferBudget.create(4 * INITIAL_BUFFER_SIZE);
+        AtomicInteger exhaustedCount = new AtomicInteger();
+        IonReader reader = newReader(
+            IonBufferConfiguration.Builder.standard()
+                .withBufferBudget(budget)
+                .onBudgetExhausted(exhaustedCount::incrementAndGet)
+                .onOversizedValue(() -> { throw new AssertionError("Not oversized."); }),
+            data()
+        );
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertEquals("first", reader.stringValue());
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(0, reader.intValue());
+        assertEquals(1, exhaustedCount.get());
+        reader.close();
+        assertEquals(0, budget.getUsedSize());
+    }
+
+    @Test
+    public void oversizedValueHandlerIsNotifiedByDefault() throws IOException {
+        BufferBudget budget = BufferBudget.create(4 * INITIAL_BUFFER_SIZE);
+        AtomicInteger oversizedCount = new AtomicInteger();
+        try (IonReader reader = newReader(
+            IonBufferConfiguration.Builder.standard()
+                .withBufferBudget(budget)
+                .onOversizedValue(oversizedCount::incrementAndGet),
+            data()
+        )) {
+            assertEquals(IonType.SYMBOL, reader.next());
+            assertEquals(IonType.INT, reader.next());
+            assertEquals(1, oversizedCount.get());
+        }
+    }
+
+    @Test
+    public void symbolTablesThatExhaustTheBudgetAreFatal() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StringBuilder symbol = new StringBuilder();
+        for (int i = 0; i < LARGE_VALUE_SIZE; i++) {
+            symbol.append('a');
+        }
+        try (IonWriter writer = IonBinaryWriterBuilder.standard().build(out)) {
+            writer.writeSymbol(symbol.toString());
+        }
+        BufferBudget budget = BufferBudget.create(4 * INITIAL_BUFFER_SIZE);
+        try (IonReader reader = newReader(
+            IonBufferConfiguration.Builder.standard()
+                .withBufferBudget(budget)
+                .onBudgetExhausted(() -> { throw new AssertionError("Not a user value."); })
+                .onOversizedSymbolTable(() -> { throw new IllegalStateException("oversized symbol table"); }),
+            out.toByteArray()
+        )) {
+            assertThrows(IllegalStateException.class, reader::next);
+        }
+    }
+
+    @Test
+    public void readerReleasesItsReservationWhenTheInputStreamFailsToClose() throws IOException {
+        BufferBudget budget = BufferBudget.create(1 << 20);
+        IonReader reader = IonReaderBuilder.standard()
+            .withIncrementalReadingEnabled(true)
+            .withBufferConfiguration(
+                IonBufferConfiguration.Builder.standard()
+                    .withInitialBufferSize(INITIAL_BUFFER_SIZE)
+                    .withBufferBudget(budget)
+                    .build()
+            )
+            .build(new ByteArrayInputStream(data()) {
+                @Override
+                public void close() throws IOException {
+                    throw new IOException("close failed");
+                }
+            });
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertEquals(INITIAL_BUFFER_SIZE, budget.getUsedSize());
+        assertThrows(IonException.class, reader::close);
+        assertEquals(0, budget.getUsedSize());
+    }
+
+    @Test
+    public void readerReleasesItsReservationWhenTheStreamEndsWithinAValue() throws IOException {
+        BufferBudget budget = BufferBudget.create(1 << 20);
+        byte[] data = data();
+        byte[] truncated = Arrays.copyOf(data, data.length - 1);
+        IonReader reader = newReader(IonBufferConfiguration.Builder.standard().withBufferBudget(budget), truncated);
+        while (reader.next() != null) {
+        }
+        assertThrows(IonException.class, reader::close);
+        assertEquals(0, budget.getUsedSize());
+    }
+
+    @Test
+    public void writerBuffersCountAgainstTheBudget() throws IOException {
+        BufferBudget budget = BufferBudget.create(1024);
+        IonWriter writer = IonBinaryWriterBuilder.standard()
+            .withBlockSize(1024)
+            .withBufferBudget(budget)
+            .build(new ByteArrayOutputStream());
+        writer.stepIn(IonType.LIST);
+        for (int i = 0; i < 10_000; i++) {
+            writer.writeInt(i);
+        }
+        assertTrue(budget.getUsedSize() > 10_000);
+        writer.stepOut();
+        writer.finish();
+        writer.close();
+        assertEquals(0, budget.getUsedSize());
+    }
+}
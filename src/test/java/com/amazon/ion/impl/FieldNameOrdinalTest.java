@@ -0,0 +1,146 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl;
+
+import com.amazon.ion.FieldNameOrdinalReader;
+import com.amazon.ion.FieldNameResolver;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static com.amazon.ion.FieldNameResolver.UNKNOWN_ORDINAL;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the {@link FieldNameOrdinalReader} facet.
+ */
+public class FieldNameOrdinalTest {
+
+    private static final FieldNameResolver RESOLVER = FieldNameResolver.create("id", "name", "price");
+
+    private static byte[] toBinary(IonBinaryWriterBuilder builder, String... fieldNamesPerStruct) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = builder.build(out)) {
+            for (String fieldName : fieldNamesPerStruct) {
+                writer.stepIn(IonType.STRUCT);
+                writer.setFieldName(fieldName);
+                writer.writeInt(0);
+                writer.stepOut();
+                // Flushing lets the next struct's new symbols be appended to, or replace, the symbol table.
+                writer.flush();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] concatenate(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    /**
+     * Reads a stream of single-field structs and returns the ordinal of each field.
+     */
+    private static int[] readOrdinals(IonReader reader, int numberOfStructs, FieldNameResolver resolver) {
+        FieldNameOrdinalReader ordinals = reader.asFacet(FieldNameOrdinalReader.class);
+        assertNotNull(ordinals);
+        int[] result = new int[numberOfStructs];
+        for (int i = 0; i < numberOfStructs; i++) {
+            assertEquals(IonType.STRUCT, reader.next());
+            assertEquals(UNKNOWN_ORDINAL, ordinals.getFieldNameOrdinal(resolver));
+            reader.stepIn();
+            reader.next();
+            result[i] = ordinals.getFieldNameOrdinal(resolver);
+            // A second lookup uses the resolved ordinal.
+            assertEquals(result[i], ordinals.getFieldNameOrdinal(resolver));
+            reader.stepOut();
+        }
+        return result;
+    }
+
+    @Test
+    public void binaryReaderResolvesOrdinals() throws IOException {
+        byte[] data = toBinary(IonBinaryWriterBuilder.standard(), "price", "other", "id", "price");
+        try (IonReader reader = IonReaderBuilder.standard().build(data)) {
+            assertArrayEquals(new int[] {2, UNKNOWN_ORDINAL, 0, 2}, readOrdinals(reader, 4, RESOLVER));
+        }
+    }
+
+    @Test
+    public void incrementalBinaryReaderResolvesOrdinals() throws IOException {
+        byte[] data = toBinary(IonBinaryWriterBuilder.standard(), "name", "id");
+        try (IonReader reader = IonReaderBuilder.standard()
+            .withIncrementalReadingEnabled(true)
+            .build(new ByteArrayInputStream(data))) {
+            assertArrayEquals(new int[] {1, 0}, readOrdinals(reader, 2, RESOLVER));
+        }
+    }
+
+    @Test
+    public void textReaderResolvesOrdinals() throws IOException {
+        try (IonReader reader = IonReaderBuilder.standard().build("{price:1} {other:2} {id:3} {'$0':4}")) {
+            assertArrayEquals(new int[] {2, UNKNOWN_ORDINAL, 0, UNKNOWN_ORDINAL}, readOrdinals(reader, 4, RESOLVER));
+        }
+    }
+
+    @Test
+    public void newSymbolTableInvalidatesOrdinals() throws IOException {
+        // Both streams assign their first local symbol ID to a different field name.
+        byte[] data = concatenate(
+            toBinary(IonBinaryWriterBuilder.standard(), "id", "name"),
+            toBinary(IonBinaryWriterBuilder.standard(), "name", "id")
+        );
+        try (IonReader reader = IonReaderBuilder.standard().build(data)) {
+            assertArrayEquals(new int[] {0, 1, 1, 0}, readOrdinals(reader, 4, RESOLVER));
+        }
+    }
+
+    @Test
+    public void appendedSymbolsAreResolved() throws IOException {
+        byte[] data = toBinary(IonBinaryWriterBuilder.standard().withLocalSymbolTableAppendEnabled(), "id", "price", "id");
+        try (IonReader reader = IonReaderBuilder.standard().build(data)) {
+            assertArrayEquals(new int[] {0, 2, 0}, readOrdinals(reader, 3, RESOLVER));
+        }
+    }
+
+    @Test
+    public void changingResolverRecomputesOrdinals() throws IOException {
+        FieldNameResolver other = FieldNameResolver.create("price", "id");
+        byte[] data = toBinary(IonBinaryWriterBuilder.standard(), "id", "price");
+        try (IonReader reader = IonReaderBuilder.standard().build(data)) {
+            FieldNameOrdinalReader ordinals = reader.asFacet(FieldNameOrdinalReader.class);
+            reader.next();
+            reader.stepIn();
+            reader.next();
+            assertEquals(0, ordinals.getFieldNameOrdinal(RESOLVER));
+            assertEquals(1, ordinals.getFieldNameOrdinal(other));
+            reader.stepOut();
+            reader.next();
+            reader.stepIn();
+            reader.next();
+            assertEquals(0, ordinals.getFieldNameOrdinal(other));
+            assertEquals(2, ordinals.getFieldNameOrdinal(RESOLVER));
+        }
+    }
+
+    @Test
+    public void resolverRejectsInvalidFieldNames() {
+        assertThrows(IllegalArgumentException.class, () -> FieldNameResolver.create("id", "id"));
+        assertThrows(IllegalArgumentException.class, () -> FieldNameResolver.create("id", null));
+        assertEquals(UNKNOWN_ORDINAL, RESOLVER.ordinalOf(null));
+        assertEquals("name", RESOLVER.getFieldName(RESOLVER.ordinalOf("name")));
+        assertEquals(3, RESOLVER.size());
+    }
+}
@@ -0,0 +1,281 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl;
+
+import com.amazon.ion.IonBufferConfiguration;
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.LobStreamReader;
+import com.amazon.ion.LobStreamWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.IonTextWriterBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the {@link LobStreamWriter} and {@link LobStreamReader} facets.
+ */
+public class LobStreamingTest {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+    private static final int LARGE_LOB_SIZE = 100_000;
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (i * 31 + (i >> 8));
+        }
+        return content;
+    }
+
+    /**
+     * An InputStream that returns at most a few bytes from each read, to exercise partial reads.
+     */
+    private static InputStream trickle(byte[] data) {
+        return new FilterInputStream(new ByteArrayInputStream(data)) {
+            private int readCount = 0;
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 1 + (readCount++ % 7)));
+            }
+        };
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[1000];
+        int n;
+        while ((n = in.read(chunk)) >= 0) {
+            out.write(chunk, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the same data using either the streaming or the byte array LOB APIs.
+     */
+    private static void writeData(IonWriter writer, byte[] large, byte[] small, boolean stream) throws IOException {
+        LobStreamWriter lobWriter = writer.asFacet(LobStreamWriter.class);
+        assertNotNull(lobWriter);
+        writer.writeSymbol("before");
+        writer.setTypeAnnotations("large");
+        if (stream) {
+            lobWriter.writeBlob(trickle(large), large.length);
+        } else {
+            writer.writeBlob(large);
+        }
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName("nested");
+        writer.setTypeAnnotations("annotated");
+        if (stream) {
+            lobWriter.writeBlob(trickle(large), large.length);
+        } else {
+            writer.writeBlob(large);
+        }
+        writer.setFieldName("small");
+        if (stream) {
+            lobWriter.writeClob(trickle(small), small.length);
+        } else {
+            writer.writeClob(small);
+        }
+        writer.stepOut();
+        if (stream) {
+            lobWriter.writeClob(trickle(large), large.length);
+            lobWriter.writeBlob(new ByteArrayInputStream(new byte[0]), 0);
+        } else {
+            writer.writeClob(large);
+            writer.writeBlob(new byte[0]);
+        }
+        writer.writeSymbol("after");
+    }
+
+    private static IonDatagram writeBinary(IonBinaryWriterBuilder builder, boolean stream) throws IOException {
+        byte[] large = content(LARGE_LOB_SIZE);
+        byte[] small = "small clob".getBytes("US-ASCII");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = builder.build(out)) {
+            writeData(writer, large, small, stream);
+        }
+        return SYSTEM.getLoader().load(out.toByteArray());
+    }
+
+    @Test
+    public void binaryWriterStreamsLobs() throws IOException {
+        IonBinaryWriterBuilder builder = IonBinaryWriterBuilder.standard();
+        assertEquals(writeBinary(builder, false), writeBinary(builder, true));
+    }
+
+    @Test
+    public void binaryWriterStreamsLobsWithLocalSymbolTableAppend() throws IOException {
+        IonBinaryWriterBuilder builder = IonBinaryWriterBuilder.standard().withLocalSymbolTableAppendEnabled();
+        assertEquals(writeBinary(builder, false), writeBinary(builder, true));
+    }
+
+    @Test
+    public void textWriterStreamsLobs() throws IOException {
+        byte[] large = content(LARGE_LOB_SIZE);
+        byte[] small = "small 'clob'\n".getBytes("US-ASCII");
+        for (IonTextWriterBuilder builder : new IonTextWriterBuilder[] {
+            IonTextWriterBuilder.standard(),
+            IonTextWriterBuilder.pretty(),
+            IonTextWriterBuilder.json(),
+            IonTextWriterBuilder.standard().withLongStringThreshold(5)
+        }) {
+            StringBuilder expected = new StringBuilder();
+            try (IonWriter writer = builder.build(expected)) {
+                writeData(writer, large, small, false);
+            }
+            StringBuilder actual = new StringBuilder();
+            try (IonWriter writer = builder.build(actual)) {
+                writeData(writer, large, small, true);
+            }
+            assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    public void truncatedLobContentFails() {
+        byte[] large = content(LARGE_LOB_SIZE);
+        assertThrows(IonException.class, () -> {
+            IonWriter writer = IonBinaryWriterBuilder.standard().build(new ByteArrayOutputStream());
+            writer.asFacet(LobStreamWriter.class).writeBlob(new ByteArrayInputStream(large), large.length + 1);
+        });
+        assertThrows(IonException.class, () -> {
+            IonWriter writer = IonBinaryWriterBuilder.standard().build(new ByteArrayOutputStream());
+            writer.stepIn(IonType.LIST);
+            writer.asFacet(LobStreamWriter.class).writeClob(new ByteArrayInputStream(large), large.length + 1);
+        });
+        assertThrows(IonException.class, () -> {
+            IonWriter writer = IonTextWriterBuilder.standard().build(new StringBuilder());
+            writer.asFacet(LobStreamWriter.class).writeBlob(new ByteArrayInputStream(large), large.length + 1);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            IonWriter writer = IonBinaryWriterBuilder.standard().build(new ByteArrayOutputStream());
+            writer.asFacet(LobStreamWriter.class).writeBlob(new ByteArrayInputStream(large), -1);
+        });
+    }
+
+    private static byte[] binaryData(byte[] large) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = IonBinaryWriterBuilder.standard().build(out)) {
+            writeData(writer, large, "small clob".getBytes("US-ASCII"), false);
+        }
+        return out.toByteArray();
+    }
+
+    private static void assertStreamedContentMatches(IonReader reader, byte[] large) throws IOException {
+        LobStreamReader lobReader = reader.asFacet(LobStreamReader.class);
+        assertNotNull(lobReader);
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertThrows(IonException.class, lobReader::newLobInputStream);
+        assertEquals(IonType.BLOB, reader.next());
+        assertArrayEquals(large, readFully(lobReader.newLobInputStream()));
+        assertEquals(IonType.STRUCT, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.BLOB, reader.next());
+        // Consume only part of the nested value before advancing.
+        InputStream partial = lobReader.newLobInputStream();
+        byte[] prefix = new byte[10];
+        new DataInputStream(partial).readFully(prefix);
+        assertEquals(large[9], prefix[9]);
+        assertEquals(IonType.CLOB, reader.next());
+        assertThrows(IllegalStateException.class, () -> partial.read(prefix));
+        assertEquals("small clob", new String(readFully(lobReader.newLobInputStream()), "US-ASCII"));
+        assertNull(reader.next());
+        reader.stepOut();
+        assertEquals(IonType.CLOB, reader.next());
+        InputStream in = lobReader.newLobInputStream();
+        assertEquals(large[0], (byte) in.read());
+        byte[] rest = readFully(in);
+        assertEquals(large.length - 1, rest.length);
+        assertEquals(large[large.length - 1], rest[rest.length - 1]);
+        assertEquals(IonType.BLOB, reader.next());
+        assertEquals(-1, lobReader.newLobInputStream().read());
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertEquals("after", reader.stringValue());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void readerStreamsLobsFromByteArray() throws IOException {
+        byte[] large = content(LARGE_LOB_SIZE);
+        try (IonReader reader = IonReaderBuilder.standard().build(binaryData(large))) {
+            assertStreamedContentMatches(reader, large);
+        }
+    }
+
+    @Test
+    public void readerStreamsLobsFromInputStream() throws IOException {
+        byte[] large = content(LARGE_LOB_SIZE);
+        try (IonReader reader = IonReaderBuilder.standard().build(trickle(binaryData(large)))) {
+            assertStreamedContentMatches(reader, large);
+        }
+    }
+
+    @Test
+    public void incrementalReaderStreamsLobs() throws IOException {
+        byte[] large = content(LARGE_LOB_SIZE);
+        IonReaderBuilder builder = IonReaderBuilder.standard().withIncrementalReadingEnabled(true);
+        try (IonReader reader = builder.build(new ByteArrayInputStream(binaryData(large)))) {
+            assertStreamedContentMatches(reader, large);
+        }
+    }
+
+    @Test
+    public void streamedLobsNeedNotFitInTheReaderBuffer() throws IOException {
+        byte[] large = content(LARGE_LOB_SIZE);
+        IonReaderBuilder builder = IonReaderBuilder.standard().withBufferConfiguration(
+            IonBufferConfiguration.Builder.standard()
+                .withInitialBufferSize(1024)
+                .withMaximumBufferSize(1024)
+                .onOversizedValue(() -> { throw new IllegalStateException("oversized"); })
+                .onOversizedSymbolTable(() -> { throw new IllegalStateException("oversized"); })
+                .onData(bytes -> { })
+                .build()
+        );
+        try (IonReader reader = builder.build(trickle(binaryData(large)))) {
+            assertStreamedContentMatches(reader, large);
+        }
+    }
+
+    @Test
+    public void bufferedAccessorsFailAfterContentIsStreamed() throws IOException {
+        byte[] large = content(LARGE_LOB_SIZE);
+        try (IonReader reader = IonReaderBuilder.standard().build(new ByteArrayInputStream(binaryData(large)))) {
+            reader.next();
+            assertEquals(IonType.BLOB, reader.next());
+            InputStream in = reader.asFacet(LobStreamReader.class).newLobInputStream();
+            assertEquals(LARGE_LOB_SIZE, readFully(in).length);
+            assertThrows(IllegalStateException.class, reader::newBytes);
+            assertEquals(IonType.STRUCT, reader.next());
+        }
+    }
+
+    @Test
+    public void textReaderDoesNotProvideTheFacet() {
+        try (IonReader reader = IonReaderBuilder.standard().build("{{aGVsbG8=}}")) {
+            assertNull(reader.asFacet(LobStreamReader.class));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
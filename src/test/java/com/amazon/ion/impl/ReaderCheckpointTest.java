@@ -0,0 +1,225 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl;
+
+import com.amazon.ion.CheckpointableReader;
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.OffsetSpan;
+import com.amazon.ion.ReaderCheckpoint;
+import com.amazon.ion.SpanProvider;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.IonTextWriterBuilder;
+import com.amazon.ion.system.SimpleCatalog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the {@link CheckpointableReader} facet and resuming readers from its checkpoints.
+ */
+public class ReaderCheckpointTest {
+
+    private static final SimpleCatalog CATALOG = new SimpleCatalog();
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().withCatalog(CATALOG).build();
+    private static final SymbolTable SHARED = SYSTEM.newSharedSymbolTable(
+        "shared", 1, Arrays.asList("alpha", "beta", "gamma").iterator()
+    );
+    private static final IonReaderBuilder READER_BUILDER = IonReaderBuilder.standard().withCatalog(CATALOG);
+
+    static {
+        CATALOG.putTable(SHARED);
+    }
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes several concatenated streams whose symbol tables import a shared table, are appended to, and are
+     * replaced.
+     */
+    private static byte[] records() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonBinaryWriterBuilder[] builders = {
+            IonBinaryWriterBuilder.standard().withCatalog(CATALOG).withImports(SHARED),
+            IonBinaryWriterBuilder.standard().withLocalSymbolTableAppendEnabled(),
+            IonBinaryWriterBuilder.standard()
+        };
+        int id = 0;
+        for (IonBinaryWriterBuilder builder : builders) {
+            try (IonWriter writer = builder.build(out)) {
+                for (int i = 0; i < 20; i++, id++) {
+                    writer.stepIn(IonType.STRUCT);
+                    writer.setFieldName(i % 2 == 0 ? "alpha" : "field" + id);
+                    writer.writeSymbol("beta");
+                    writer.setFieldName("id");
+                    writer.writeInt(id);
+                    writer.stepOut();
+                    if (i % 5 == 4) {
+                        writer.flush();
+                    }
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void assertRemainingValues(IonDatagram expected, int firstIndex, IonReader reader) {
+        for (int i = firstIndex; i < expected.size(); i++) {
+            assertEquals(IonType.STRUCT, reader.next());
+            assertEquals(expected.get(i), SYSTEM.newValue(reader));
+        }
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void resumesAfterEveryValue() throws IOException {
+        byte[] data = records();
+        IonDatagram expected = SYSTEM.getLoader().load(data);
+        Path file = directory.resolve("data.10n");
+        Files.write(file, data);
+        try (IonReader reader = READER_BUILDER.build(new ByteArrayInputStream(data))) {
+            CheckpointableReader checkpoints = reader.asFacet(CheckpointableReader.class);
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(IonType.STRUCT, reader.next());
+                ReaderCheckpoint checkpoint = checkpoints.checkpoint();
+                // Closing the resumed reader closes the channel.
+                try (IonReader resumed = READER_BUILDER.build(FileChannel.open(file), checkpoint)) {
+                    assertRemainingValues(expected, i + 1, resumed);
+                }
+            }
+            assertNull(reader.next());
+            assertEquals(data.length, checkpoints.checkpoint().getOffset());
+        }
+    }
+
+    @Test
+    public void checkpointBeforeTheFirstValueResumesFromTheStart() throws IOException {
+        byte[] data = records();
+        IonDatagram expected = SYSTEM.getLoader().load(data);
+        try (IonReader reader = READER_BUILDER.build(data)) {
+            ReaderCheckpoint checkpoint = reader.asFacet(CheckpointableReader.class).checkpoint();
+            assertEquals(0, checkpoint.getOffset());
+            assertEquals(0, checkpoint.getLocalSymbols().size());
+            try (IonReader resumed = READER_BUILDER.build(new ByteArrayInputStream(data), checkpoint)) {
+                assertRemainingValues(expected, 0, resumed);
+            }
+        }
+    }
+
+    @Test
+    public void resumedReadersReportOffsetsFromTheStartOfTheStream() throws IOException {
+        byte[] data = records();
+        try (IonReader reader = READER_BUILDER.build(data)) {
+            for (int i = 0; i < 25; i++) {
+                reader.next();
+            }
+            ReaderCheckpoint checkpoint = reader.asFacet(CheckpointableReader.class).checkpoint();
+            reader.next();
+            long expectedStart = reader.asFacet(SpanProvider.class).currentSpan().asFacet(OffsetSpan.class).getStartOffset();
+            ReaderCheckpoint expectedCheckpoint = reader.asFacet(CheckpointableReader.class).checkpoint();
+            ByteArrayInputStream remaining = new ByteArrayInputStream(
+                data, (int) checkpoint.getOffset(), data.length - (int) checkpoint.getOffset()
+            );
+            try (IonReader resumed = READER_BUILDER.build(remaining, checkpoint)) {
+                resumed.next();
+                OffsetSpan span = resumed.asFacet(SpanProvider.class).currentSpan().asFacet(OffsetSpan.class);
+                assertEquals(expectedStart, span.getStartOffset());
+                ReaderCheckpoint actualCheckpoint = resumed.asFacet(CheckpointableReader.class).checkpoint();
+                assertEquals(expectedCheckpoint.getOffset(), actualCheckpoint.getOffset());
+                assertEquals(expectedCheckpoint.getLocalSymbols(), actualCheckpoint.getLocalSymbols());
+            }
+        }
+    }
+
+    @Test
+    public void checkpointAfterSteppingOutOfATopLevelValue() throws IOException {
+        byte[] data = records();
+        IonDatagram expected = SYSTEM.getLoader().load(data);
+        try (IonReader reader = READER_BUILDER.build(data)) {
+            reader.next();
+            reader.stepIn();
+            reader.next();
+            assertThrows(IllegalStateException.class, () -> reader.asFacet(CheckpointableReader.class).checkpoint());
+            reader.stepOut();
+            ReaderCheckpoint checkpoint = reader.asFacet(CheckpointableReader.class).checkpoint();
+            ByteArrayInputStream remaining = new ByteArrayInputStream(
+                data, (int) checkpoint.getOffset(), data.length - (int) checkpoint.getOffset()
+            );
+            try (IonReader resumed = READER_BUILDER.build(remaining, checkpoint)) {
+                assertRemainingValues(expected, 1, resumed);
+            }
+        }
+    }
+
+    @Test
+    public void checkpointsCanBePersisted() throws Exception {
+        byte[] data = records();
+        ReaderCheckpoint checkpoint;
+        try (IonReader reader = READER_BUILDER.build(data)) {
+            for (int i = 0; i < 3; i++) {
+                reader.next();
+            }
+            checkpoint = reader.asFacet(CheckpointableReader.class).checkpoint();
+        }
+        assertEquals(1, checkpoint.getImports().size());
+        assertEquals("shared", checkpoint.getImports().get(0).getName());
+
+        StringBuilder text = new StringBuilder();
+        try (IonWriter writer = IonTextWriterBuilder.standard().build(text)) {
+            checkpoint.writeTo(writer);
+        }
+        ReaderCheckpoint fromIon;
+        try (IonReader reader = IonReaderBuilder.standard().build(text.toString())) {
+            reader.next();
+            fromIon = ReaderCheckpoint.readFrom(reader);
+        }
+        assertSameCheckpoint(checkpoint, fromIon);
+
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(checkpoint);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized.toByteArray()))) {
+            assertSameCheckpoint(checkpoint, (ReaderCheckpoint) in.readObject());
+        }
+    }
+
+    private static void assertSameCheckpoint(ReaderCheckpoint expected, ReaderCheckpoint actual) {
+        assertEquals(expected.getOffset(), actual.getOffset());
+        assertEquals(expected.getIonVersionId(), actual.getIonVersionId());
+        assertEquals(expected.getImports().size(), actual.getImports().size());
+        for (int i = 0; i < expected.getImports().size(); i++) {
+            assertEquals(expected.getImports().get(i).getName(), actual.getImports().get(i).getName());
+            assertEquals(expected.getImports().get(i).getVersion(), actual.getImports().get(i).getVersion());
+            assertEquals(expected.getImports().get(i).getMaxId(), actual.getImports().get(i).getMaxId());
+        }
+        assertEquals(expected.getLocalSymbols(), actual.getLocalSymbols());
+    }
+
+    @Test
+    public void textReadersDoNotProvideCheckpoints() throws IOException {
+        try (IonReader reader = IonReaderBuilder.standard().build("{a:1}")) {
+            assertNull(reader.asFacet(CheckpointableReader.class));
+        }
+    }
+}
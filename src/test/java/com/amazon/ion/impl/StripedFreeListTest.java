@@ -0,0 +1,101 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedFreeListTest {
+
+    @Test
+    public void objectsAreReusedOnTheSameThread() {
+        StripedFreeList<Object> list = new StripedFreeList<>(16, 4);
+        assertNull(list.poll());
+        Object object = new Object();
+        assertTrue(list.offer(object));
+        assertSame(object, list.poll());
+        assertEquals(1, list.getStatistics().getHitCount());
+        assertEquals(1, list.getStatistics().getMissCount());
+    }
+
+    @Test
+    public void objectsReturnedOnAnotherThreadAreAvailable() throws InterruptedException {
+        StripedFreeList<Object> list = new StripedFreeList<>(16, 4);
+        Object object = new Object();
+        Thread other = new Thread(() -> list.offer(object));
+        other.start();
+        other.join();
+        assertSame(object, list.poll());
+    }
+
+    @Test
+    public void capacityIsSharedByAllStripes() {
+        StripedFreeList<Object> list = new StripedFreeList<>(8, 4);
+        Set<Object> offered = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < 8; i++) {
+            Object object = new Object();
+            assertTrue(list.offer(object));
+            offered.add(object);
+        }
+        assertFalse(list.offer(new Object()));
+        List<Object> polled = new ArrayList<>();
+        Object object;
+        while ((object = list.poll()) != null) {
+            polled.add(object);
+        }
+        assertEquals(8, polled.size());
+        assertTrue(offered.containsAll(polled));
+    }
+
+    @Test
+    public void concurrentUseNeitherLosesNorDuplicatesObjects() throws InterruptedException {
+        StripedFreeList<Object> list = new StripedFreeList<>(1024);
+        int numberOfThreads = 8;
+        Set<Object> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        for (int t = 0; t < numberOfThreads; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 10_000; i++) {
+                        Object object = list.poll();
+                        if (object == null) {
+                            object = new Object();
+                        }
+                        assertTrue(inUse.add(object), "An object was vended twice.");
+                        inUse.remove(object);
+                        list.offer(object);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(Collections.emptyList(), failures);
+        PoolStatistics statistics = list.getStatistics();
+        assertEquals(numberOfThreads * 10_000L, statistics.getHitCount() + statistics.getMissCount());
+        assertTrue(statistics.getMissCount() < numberOfThreads * 1_000L, statistics.toString());
+    }
+
+    @Test
+    public void numberOfStripesMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedFreeList<>(16, 3));
+    }
+}
@@ -0,0 +1,169 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl.bin;
+
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests writing the output of the binary writer on an executor.
+ */
+public class AsyncFlushingTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static void writeData(IonWriter writer) throws IOException {
+        for (int i = 0; i < 5000; i++) {
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("name" + (i % 500));
+            writer.writeString("value " + i);
+            if (i % 1000 == 0) {
+                writer.setFieldName("large");
+                writer.stepIn(IonType.LIST);
+                for (int j = 0; j < 5000; j++) {
+                    writer.writeInt(j);
+                }
+                writer.stepOut();
+            }
+            writer.stepOut();
+            if (i % 700 == 0) {
+                writer.flush();
+            }
+            if (i % 2100 == 0) {
+                writer.finish();
+            }
+        }
+    }
+
+    private static byte[] write(IonBinaryWriterBuilder builder) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = builder.build(out)) {
+            writeData(writer);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void asyncOutputMatchesSynchronousOutput() throws IOException {
+        for (IonBinaryWriterBuilder builder : new IonBinaryWriterBuilder[] {
+            IonBinaryWriterBuilder.standard(),
+            IonBinaryWriterBuilder.standard().withLocalSymbolTableAppendEnabled(),
+            IonBinaryWriterBuilder.standard().withAutoFlushEnabled(true).withBlockSize(1024),
+            IonBinaryWriterBuilder.standard().withContainerSpillThreshold(4096),
+        }) {
+            byte[] expected = write(builder);
+            assertArrayEquals(expected, write(builder.withAsyncFlushing(executor, 1)));
+            assertArrayEquals(expected, write(builder.withAsyncFlushing(executor, 1 << 20)));
+        }
+    }
+
+    @Test
+    public void outputFailureIsReportedByLaterCalls() throws IOException {
+        AtomicInteger writes = new AtomicInteger();
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                writes.incrementAndGet();
+                throw new IOException("disk full");
+            }
+        };
+        IonWriter writer = IonBinaryWriterBuilder.standard()
+            .withLocalSymbolTableAppendEnabled()
+            .withAsyncFlushing(executor, 1 << 20)
+            .build(failing);
+        writer.writeInt(1);
+        IOException e = assertThrows(IOException.class, () -> {
+            // The flush submits more than one buffer, so the failure of the first may already be reported here.
+            writer.flush();
+            for (int i = 0; i < 1000; i++) {
+                Thread.sleep(1);
+                writer.writeInt(i);
+            }
+        });
+        assertEquals("disk full", e.getCause().getMessage());
+        IOException closeFailure = assertThrows(IOException.class, writer::close);
+        assertEquals("disk full", closeFailure.getCause().getMessage());
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    public void submissionWaitsForTheInFlightBudget() throws Exception {
+        List<Runnable> scheduled = new ArrayList<>();
+        AsyncFlusher flusher = new AsyncFlusher(command -> {
+            synchronized (scheduled) {
+                scheduled.add(command);
+            }
+        }, 15);
+        List<String> written = new ArrayList<>();
+        flusher.submit(task(10, "a", written));
+        Thread submitter = new Thread(() -> {
+            try {
+                flusher.submit(task(10, "b", written));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+        submitter.start();
+        submitter.join(200);
+        assertTrue(submitter.isAlive());
+        runScheduled(scheduled);
+        submitter.join(10_000);
+        assertFalse(submitter.isAlive());
+        runScheduled(scheduled);
+        flusher.close();
+        assertEquals(2, written.size());
+        assertEquals("a", written.get(0));
+        assertEquals("b", written.get(1));
+    }
+
+    private static void runScheduled(List<Runnable> scheduled) {
+        List<Runnable> commands;
+        synchronized (scheduled) {
+            commands = new ArrayList<>(scheduled);
+            scheduled.clear();
+        }
+        commands.forEach(Runnable::run);
+    }
+
+    private static AsyncFlusher.Task task(long size, String name, List<String> written) {
+        return new AsyncFlusher.Task(size) {
+            @Override
+            void write() {
+                written.add(name);
+            }
+
+            @Override
+            void release() {}
+        };
+    }
+}
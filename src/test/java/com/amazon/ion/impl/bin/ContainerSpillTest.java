@@ -0,0 +1,135 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl.bin;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.impl.bin._Private_IonManagedBinaryWriterBuilder.AllocatorMode;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests writing containers whose finished values are spilled to a temporary file.
+ */
+public class ContainerSpillTest {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+
+    /**
+     * Writes a top-level list containing structs of various sizes, nested containers that require patch points,
+     * annotated containers, and values with symbols that are added to the local symbol table as writing progresses.
+     */
+    private static void writeData(IonWriter writer) throws IOException {
+        writer.writeSymbol("before");
+        writer.setTypeAnnotations("outer");
+        writer.stepIn(IonType.LIST);
+        for (int i = 0; i < 2000; i++) {
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("id");
+            writer.writeInt(i);
+            writer.setFieldName("name" + (i % 300));
+            writer.writeString("value " + i);
+            if (i % 100 == 0) {
+                writer.setFieldName("large");
+                writer.setTypeAnnotations("annotated");
+                writer.stepIn(IonType.SEXP);
+                for (int j = 0; j < 2000; j++) {
+                    writer.writeInt(j);
+                }
+                writer.stepOut();
+            }
+            writer.setFieldName("empty");
+            writer.stepIn(IonType.LIST);
+            writer.stepOut();
+            writer.stepOut();
+        }
+        writer.stepOut();
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName("small");
+        writer.writeBool(true);
+        writer.stepOut();
+        writer.writeSymbol("after");
+    }
+
+    private static byte[] write(_Private_IonManagedBinaryWriterBuilder builder) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = builder.newWriter(out)) {
+            writeData(writer);
+        }
+        return out.toByteArray();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2})
+    public void spilledContainersMatchBufferedContainers(int pad) throws IOException {
+        _Private_IonManagedBinaryWriterBuilder builder = _Private_IonManagedBinaryWriterBuilder
+            .create(AllocatorMode.BASIC)
+            .withPaddedLengthPreallocation(pad)
+            .withUserBlockSize(1024);
+        IonDatagram expected = SYSTEM.getLoader().load(write(builder));
+        for (int threshold : new int[] {1, 100, 4096}) {
+            IonDatagram actual = SYSTEM.getLoader().load(write(builder.copy().withContainerSpillThreshold(threshold)));
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void spillingAcrossFlushes() throws IOException {
+        IonBinaryWriterBuilder builder = IonBinaryWriterBuilder.standard().withLocalSymbolTableAppendEnabled();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        try (
+            IonWriter expectedWriter = builder.build(expected);
+            IonWriter actualWriter = builder.withContainerSpillThreshold(512).build(actual)
+        ) {
+            for (IonWriter writer : new IonWriter[] {expectedWriter, actualWriter}) {
+                writeData(writer);
+                writer.flush();
+                writeData(writer);
+                writer.finish();
+                writeData(writer);
+            }
+        }
+        assertEquals(SYSTEM.getLoader().load(expected.toByteArray()), SYSTEM.getLoader().load(actual.toByteArray()));
+    }
+
+    @Test
+    public void userSymbolTablesAreNotSpilled() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = IonBinaryWriterBuilder.standard().withContainerSpillThreshold(1).build(out)) {
+            writer.setTypeAnnotations("$ion_symbol_table");
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("symbols");
+            writer.stepIn(IonType.LIST);
+            for (int i = 0; i < 1000; i++) {
+                writer.writeString("symbol" + i);
+            }
+            writer.stepOut();
+            writer.stepOut();
+            writer.stepIn(IonType.LIST);
+            writer.writeSymbol("symbol999");
+            writer.stepOut();
+        }
+        IonDatagram datagram = SYSTEM.getLoader().load(out.toByteArray());
+        assertEquals(SYSTEM.singleValue("[symbol999]"), datagram.get(0));
+    }
+
+    @Test
+    public void negativeThresholdFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> IonBinaryWriterBuilder.standard().withContainerSpillThreshold(-1)
+        );
+    }
+}
@@ -0,0 +1,183 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl.bin;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.ResettableWriter;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.IonTextWriterBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link ResettableWriter} facet of the binary writer.
+ */
+public class WriterResetTest {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+
+    private static void writeMessage(IonWriter writer, int id) throws IOException {
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName("id");
+        writer.writeInt(id);
+        writer.setFieldName("kind" + (id % 3));
+        writer.writeSymbol("value" + (id % 4));
+        writer.setFieldName("payload");
+        writer.stepIn(IonType.LIST);
+        for (int i = 0; i < id % 10; i++) {
+            writer.writeString("element " + i);
+        }
+        writer.stepOut();
+        writer.stepOut();
+    }
+
+    private static byte[] writeWithNewWriter(IonBinaryWriterBuilder builder, int id) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = builder.build(out)) {
+            writeMessage(writer, id);
+        }
+        return out.toByteArray();
+    }
+
+    private static IonDatagram expectedMessage(int id) throws IOException {
+        IonDatagram datagram = SYSTEM.newDatagram();
+        try (IonWriter writer = SYSTEM.newWriter(datagram)) {
+            writeMessage(writer, id);
+        }
+        return datagram;
+    }
+
+    @Test
+    public void resetOutputMatchesNewWriterOutput() throws IOException {
+        for (IonBinaryWriterBuilder builder : new IonBinaryWriterBuilder[] {
+            IonBinaryWriterBuilder.standard(),
+            IonBinaryWriterBuilder.standard().withLocalSymbolTableAppendEnabled(),
+            IonBinaryWriterBuilder.standard().withBlockSize(64),
+        }) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            IonWriter writer = builder.build(out);
+            ResettableWriter resettable = writer.asFacet(ResettableWriter.class);
+            for (int i = 0; i < 20; i++) {
+                writeMessage(writer, i);
+                ByteArrayOutputStream next = new ByteArrayOutputStream();
+                resettable.reset(next);
+                assertArrayEquals(writeWithNewWriter(builder, i), out.toByteArray());
+                out = next;
+            }
+            writer.close();
+            assertEquals(0, out.size());
+        }
+    }
+
+    @Test
+    public void retainedSymbolTableIsRepeatedAndAppended() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = IonBinaryWriterBuilder.standard().build(out);
+        ResettableWriter resettable = writer.asFacet(ResettableWriter.class);
+        writeMessage(writer, 0);
+        resettable.reset(new ByteArrayOutputStream(), true);
+        byte[] previous = null;
+        for (int i = 0; i < 12; i++) {
+            ByteArrayOutputStream next = new ByteArrayOutputStream();
+            writeMessage(writer, i);
+            resettable.reset(next, true);
+            byte[] message = out.toByteArray();
+            assertEquals(expectedMessage(i), SYSTEM.getLoader().load(message));
+            if (previous != null && i >= 4) {
+                // Once all of the symbols are known, each stream is the retained symbol table followed by the value.
+                int shared = 0;
+                while (shared < message.length && message[shared] == previous[shared]) {
+                    shared++;
+                }
+                assertTrue(shared > 4);
+            }
+            previous = message;
+            out = next;
+        }
+        writer.close();
+        // The stream that follows the last reset contains only the retained symbol table.
+        assertEquals(0, SYSTEM.getLoader().load(out.toByteArray()).size());
+    }
+
+    @Test
+    public void resetRestoresTheInitialSymbolTable() throws IOException {
+        SymbolTable initial = SYSTEM.newLocalSymbolTable();
+        for (String symbol : Arrays.asList("id", "kind0", "kind1", "kind2", "payload")) {
+            initial.intern(symbol);
+        }
+        IonBinaryWriterBuilder builder = IonBinaryWriterBuilder.standard().withInitialSymbolTable(initial);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = builder.build(out);
+        ResettableWriter resettable = writer.asFacet(ResettableWriter.class);
+        for (int i = 0; i < 10; i++) {
+            writeMessage(writer, i);
+            ByteArrayOutputStream next = new ByteArrayOutputStream();
+            resettable.reset(next);
+            IonDatagram message = SYSTEM.getLoader().load(out.toByteArray());
+            assertEquals(expectedMessage(i), message);
+            SymbolTable symbolTable = message.get(0).getSymbolTable();
+            for (String symbol : Arrays.asList("id", "kind0", "kind1", "kind2", "payload")) {
+                assertEquals(initial.findSymbol(symbol), symbolTable.findSymbol(symbol));
+            }
+            out = next;
+        }
+        writer.close();
+    }
+
+    @Test
+    public void previousOutputIsCompleteWhenFlushingAsynchronously() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            IonBinaryWriterBuilder builder = IonBinaryWriterBuilder.standard();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            IonWriter writer = builder.copy().withAsyncFlushing(executor, 1).build(out);
+            ResettableWriter resettable = writer.asFacet(ResettableWriter.class);
+            for (int i = 0; i < 20; i++) {
+                writeMessage(writer, i);
+                ByteArrayOutputStream next = new ByteArrayOutputStream();
+                resettable.reset(next, i % 2 == 0);
+                assertEquals(expectedMessage(i), SYSTEM.getLoader().load(out.toByteArray()));
+                out = next;
+            }
+            writer.close();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void resetRequiresTopLevel() throws IOException {
+        IonWriter writer = IonBinaryWriterBuilder.standard().build(new ByteArrayOutputStream());
+        ResettableWriter resettable = writer.asFacet(ResettableWriter.class);
+        writer.stepIn(IonType.LIST);
+        assertThrows(IllegalStateException.class, () -> resettable.reset(new ByteArrayOutputStream()));
+        writer.stepOut();
+        writer.close();
+        assertThrows(IllegalStateException.class, () -> resettable.reset(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void textWritersAreNotResettable() throws IOException {
+        try (IonWriter writer = IonTextWriterBuilder.standard().build(new StringBuilder())) {
+            assertNull(writer.asFacet(ResettableWriter.class));
+        }
+    }
+}
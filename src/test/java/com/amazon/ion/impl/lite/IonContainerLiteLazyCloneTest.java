@@ -0,0 +1,161 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl.lite;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonList;
+import com.amazon.ion.IonStruct;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.system.IonSystemBuilder;
+import org.junit.jupiter.api.Test;
+
+import static com.amazon.ion.junit.IonAssert.assertIonEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that clones of read-only containers copy their children lazily, only along the paths that are accessed.
+ */
+public class IonContainerLiteLazyCloneTest {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+
+    private static IonStruct readOnlyStruct() {
+        IonStruct struct = (IonStruct) SYSTEM.singleValue(
+            "annot::{a:1, b:{c:[1, 2, {d:3}], e:\"f\"}, g:(h i), j:[], k:null.list}"
+        );
+        struct.makeReadOnly();
+        return struct;
+    }
+
+    @Test
+    public void cloneOfReadOnlyContainerIsLazy() {
+        IonStruct original = readOnlyStruct();
+        IonStructLite clone = (IonStructLite) original.clone();
+        assertTrue(clone.isLazyClone());
+        assertFalse(clone.isReadOnly());
+        assertEquals(original.size(), clone.size());
+        // Computing the size does not require the children to be copied.
+        assertTrue(clone.isLazyClone());
+        assertIonEquals(original, clone);
+        assertFalse(clone.isLazyClone());
+    }
+
+    @Test
+    public void onlyTheAccessedPathIsMaterialized() {
+        IonStruct original = readOnlyStruct();
+        IonStructLite clone = (IonStructLite) original.clone();
+        IonStructLite b = (IonStructLite) clone.get("b");
+        assertFalse(clone.isLazyClone());
+        assertTrue(b.isLazyClone());
+        assertTrue(((IonContainerLite) clone.get("g")).isLazyClone());
+        // Empty and null containers have nothing to share.
+        assertFalse(((IonContainerLite) clone.get("j")).isLazyClone());
+        assertFalse(((IonContainerLite) clone.get("k")).isLazyClone());
+
+        IonListLite c = (IonListLite) b.get("c");
+        assertFalse(b.isLazyClone());
+        assertTrue(c.isLazyClone());
+        assertSame(clone, b.getContainer());
+        assertEquals("b", b.getFieldName());
+        assertSame(b, c.getContainer());
+        assertEquals("c", c.getFieldName());
+    }
+
+    @Test
+    public void modifyingLazyCloneDoesNotModifyOriginal() {
+        IonStruct original = readOnlyStruct();
+        IonStruct expected = original.clone();
+        IonStruct clone = original.clone();
+
+        IonList c = (IonList) ((IonStruct) clone.get("b")).get("c");
+        c.add(SYSTEM.newInt(4));
+        ((IonStruct) c.get(2)).put("d", SYSTEM.newString("replaced"));
+        clone.put("a", SYSTEM.newInt(2));
+        clone.remove("g");
+
+        assertIonEquals(expected, original);
+        assertNotEquals(original, clone);
+        assertIonEquals(
+            SYSTEM.singleValue("annot::{b:{c:[1, 2, {d:\"replaced\"}, 4], e:\"f\"}, j:[], k:null.list, a:2}"),
+            clone
+        );
+    }
+
+    @Test
+    public void cloneOfLazyCloneSharesTheSameSource() {
+        IonStruct original = readOnlyStruct();
+        IonStructLite clone = (IonStructLite) original.clone();
+        IonStructLite cloneOfClone = clone.clone();
+        assertTrue(cloneOfClone.isLazyClone());
+        assertIonEquals(original, cloneOfClone);
+    }
+
+    @Test
+    public void lazyCloneNestedInMutableTreeIsClonedCorrectly() {
+        IonStruct original = readOnlyStruct();
+        IonList outer = SYSTEM.newEmptyList();
+        outer.add(original.clone());
+        outer.add(original.clone());
+        IonList copy = outer.clone();
+        assertTrue(((IonContainerLite) copy.get(0)).isLazyClone());
+        assertIonEquals(outer, copy);
+    }
+
+    @Test
+    public void clearingLazyCloneDoesNotCopyChildren() {
+        IonStruct original = readOnlyStruct();
+        IonStructLite clone = (IonStructLite) original.clone();
+        clone.clear();
+        assertFalse(clone.isLazyClone());
+        assertTrue(clone.isEmpty());
+        assertEquals(5, original.size());
+    }
+
+    @Test
+    public void makingLazyCloneReadOnlyMaterializesIt() {
+        IonStruct original = readOnlyStruct();
+        IonStructLite clone = (IonStructLite) original.clone();
+        clone.makeReadOnly();
+        assertFalse(clone.isLazyClone());
+        assertTrue(clone.get("b").isReadOnly());
+        assertIonEquals(original, clone);
+    }
+
+    @Test
+    public void hashCodeOfLazyCloneMatchesOriginal() {
+        IonStruct original = readOnlyStruct();
+        assertEquals(original.hashCode(), original.clone().hashCode());
+    }
+
+    @Test
+    public void lazyCloneIteratesAndWritesLikeOriginal() {
+        IonStruct original = readOnlyStruct();
+        IonStruct clone = original.clone();
+        int count = 0;
+        for (IonValue child : clone) {
+            assertSame(clone, child.getContainer());
+            assertNotSame(original.get(child.getFieldName()), child);
+            count++;
+        }
+        assertEquals(original.size(), count);
+        assertEquals(original.toString(), original.clone().toString());
+    }
+
+    @Test
+    public void cloneOfReadOnlyDatagramSharesChildrenOfTopLevelContainers() {
+        IonDatagram original = SYSTEM.getLoader().load("{a:1} [2, 3] 4");
+        original.makeReadOnly();
+        IonDatagram clone = original.clone();
+        assertTrue(((IonContainerLite) clone.get(0)).isLazyClone());
+        assertTrue(((IonContainerLite) clone.get(1)).isLazyClone());
+        assertIonEquals(original, clone);
+        ((IonList) clone.get(1)).add(SYSTEM.newInt(5));
+        assertEquals(2, ((IonList) original.get(1)).size());
+    }
+}
@@ -0,0 +1,116 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl.lite;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.util.IonDatagramEncoding;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.amazon.ion.junit.IonAssert.assertIonEquals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IonDatagramLiteEncodingTest {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+
+    private static IonDatagram datagramOfSize(int approximateSize) {
+        IonDatagram datagram = SYSTEM.newDatagram();
+        char[] chars = new char[1000];
+        Arrays.fill(chars, 'x');
+        String text = new String(chars);
+        for (int i = 0; i < approximateSize / 1000; i++) {
+            datagram.add(SYSTEM.newSymbol("sym" + i));
+            datagram.add(SYSTEM.newString(text));
+        }
+        return datagram;
+    }
+
+    private static void assertEncodingMatches(IonDatagram datagram) throws IOException {
+        byte[] expected = datagram.getBytes();
+        IonDatagramEncoding encoding = IonDatagramEncoding.of(datagram);
+        assertEquals(expected.length, encoding.size());
+        assertEquals(expected.length, datagram.byteSize());
+        assertArrayEquals(expected, encoding.getBytes());
+
+        byte[] dst = new byte[expected.length + 3];
+        assertEquals(expected.length, encoding.getBytes(dst, 3));
+        assertArrayEquals(expected, Arrays.copyOfRange(dst, 3, dst.length));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(expected.length, encoding.writeTo(out));
+        assertEquals(expected.length, encoding.writeTo(out));
+        byte[] written = out.toByteArray();
+        assertArrayEquals(expected, Arrays.copyOfRange(written, 0, expected.length));
+        assertArrayEquals(expected, Arrays.copyOfRange(written, expected.length, written.length));
+
+        ByteBuffer buffer = ByteBuffer.allocate(expected.length + 1);
+        buffer.put((byte) 0);
+        assertEquals(expected.length, encoding.writeTo(buffer));
+        assertArrayEquals(expected, Arrays.copyOfRange(buffer.array(), 1, buffer.capacity()));
+
+        out.reset();
+        assertEquals(expected.length, datagram.getBytes(out));
+        assertArrayEquals(expected, out.toByteArray());
+        assertIonEquals(datagram, SYSTEM.getLoader().load(encoding.getBytes()));
+    }
+
+    @Test
+    public void encodingMatchesGetBytes() throws IOException {
+        assertEncodingMatches(SYSTEM.getLoader().load("a::{b:c, d:[1, 2.5, \"e\"]} f::g (h i)"));
+        assertEncodingMatches(SYSTEM.newDatagram());
+    }
+
+    @Test
+    public void encodingLargerThanPooledBufferMatchesGetBytes() throws IOException {
+        IonDatagram datagram = datagramOfSize(2 * ReverseBinaryEncoder.MAX_POOLED_BUFFER_SIZE);
+        assertTrue(datagram.byteSize() > ReverseBinaryEncoder.MAX_POOLED_BUFFER_SIZE);
+        assertEncodingMatches(datagram);
+    }
+
+    @Test
+    public void pooledBuffersDoNotLeakBytesBetweenEncodings() throws IOException {
+        // Encoding a larger datagram first leaves stale bytes in the pooled buffer.
+        for (int i = 0; i < 3; i++) {
+            assertEncodingMatches(datagramOfSize(100_000));
+            assertEncodingMatches(SYSTEM.getLoader().load("small"));
+        }
+    }
+
+    @Test
+    public void encodingIsASnapshot() {
+        IonDatagram datagram = SYSTEM.getLoader().load("1 2");
+        IonDatagramEncoding encoding = IonDatagramEncoding.of(datagram);
+        byte[] before = encoding.getBytes();
+        datagram.add(SYSTEM.newInt(3));
+        assertArrayEquals(before, encoding.getBytes());
+        assertEquals(2, SYSTEM.getLoader().load(encoding.getBytes()).size());
+    }
+
+    @Test
+    public void encodingOfReadOnlyDatagramIsReused() throws IOException {
+        IonDatagram datagram = SYSTEM.getLoader().load("{a:1} [b, c]");
+        datagram.makeReadOnly();
+        assertEncodingMatches(datagram);
+        ByteBuffer retained = ((IonDatagramLite) datagram).encode();
+        assertSame(retained.array(), ((IonDatagramLite) datagram).encode().array());
+        assertArrayEquals(datagram.getBytes(), IonDatagramEncoding.of(datagram).getBytes());
+    }
+
+    @Test
+    public void writeToFullBufferFails() {
+        IonDatagramEncoding encoding = IonDatagramEncoding.of(SYSTEM.getLoader().load("123"));
+        assertThrows(BufferOverflowException.class, () -> encoding.writeTo(ByteBuffer.allocate(encoding.size() - 1)));
+    }
+}
@@ -0,0 +1,137 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl.lite;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonList;
+import com.amazon.ion.IonLoader;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonStruct;
+import com.amazon.ion.IonSymbol;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.impl._Private_IonWriterFactory;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.amazon.ion.junit.IonAssert.assertIonEquals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests that datagrams loaded directly from binary readers match datagrams built by an IonWriter over the datagram.
+ */
+public class IonLoaderLiteBinaryTest {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+
+    /**
+     * Encodes two segments with different local symbol tables, separated by an IVM, followed by a value that uses
+     * only system symbols.
+     */
+    private static byte[] multiSegmentBinary() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = IonBinaryWriterBuilder.standard().build(out)) {
+            writer.writeValues(SYSTEM.newReader("a::b::{c:d, e:[f, 'g'::1, $0], h:{i:2.5, j:2020-01-01T}} x::y"));
+            writer.finish();
+            writer.writeValues(SYSTEM.newReader("{k:\"l\", m:[n, o]} null.struct 1e0"));
+        }
+        out.write(SYSTEM.getLoader().load("name").getBytes());
+        return out.toByteArray();
+    }
+
+    private static IonDatagramLite loadWithWriter(byte[] data) throws IOException {
+        IonDatagramLite datagram = new IonDatagramLite((IonSystemLite) SYSTEM, SYSTEM.getCatalog());
+        _Private_IonWriterFactory.makeWriter(datagram).writeValues(SYSTEM.newReader(data));
+        return datagram;
+    }
+
+    @Test
+    public void loadedDatagramMatchesDatagramBuiltByWriter() throws IOException {
+        byte[] data = multiSegmentBinary();
+        IonDatagram expected = loadWithWriter(data);
+        IonDatagram actual = SYSTEM.getLoader().load(data);
+
+        assertIonEquals(expected, actual);
+        assertEquals(expected.systemSize(), actual.systemSize());
+        assertArrayEquals(expected.getBytes(), actual.getBytes());
+        assertEquals(expected.toString(), actual.toString());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(
+                expected.get(i).getSymbolTable().getImportedTables(),
+                actual.get(i).getSymbolTable().getImportedTables()
+            );
+            assertEquals(expected.get(i).getSymbolTable().getMaxId(), actual.get(i).getSymbolTable().getMaxId());
+        }
+    }
+
+    @Test
+    public void valuesInTheSameSegmentShareTheirContext() throws IOException {
+        IonDatagramLite datagram = (IonDatagramLite) SYSTEM.getLoader().load(multiSegmentBinary());
+        assertSame(datagram.get_child(0)._context, datagram.get_child(1)._context);
+        assertSame(datagram.get_child(2)._context, datagram.get_child(3)._context);
+        assertFalse(datagram.get_child(1)._context == datagram.get_child(2)._context);
+    }
+
+    @Test
+    public void symbolIdsOfKnownSymbolsAreNotRetained() throws IOException {
+        IonDatagram datagram = SYSTEM.getLoader().load(multiSegmentBinary());
+        IonStruct struct = (IonStruct) datagram.get(0);
+        assertFalse(((IonValueLite) struct.get("h"))._isSymbolIdPresent());
+        IonValue c = struct.get("c");
+        assertEquals("c", c.getFieldNameSymbol().getText());
+        assertEquals("d", ((IonSymbol) c).symbolValue().getText());
+        // The text of symbol zero is unknown, so its ID is retained.
+        IonSymbol zero = (IonSymbol) ((IonList) struct.get("e")).get(2);
+        assertNull(zero.symbolValue().getText());
+        assertEquals(0, zero.symbolValue().getSid());
+    }
+
+    @Test
+    public void loadedDatagramIsMutable() throws IOException {
+        IonDatagram datagram = SYSTEM.getLoader().load(multiSegmentBinary());
+        ((IonStruct) datagram.get(0)).put("new", SYSTEM.newSymbol("symbol"));
+        datagram.add(SYSTEM.newSymbol("another"));
+        IonDatagram roundTripped = SYSTEM.getLoader().load(datagram.getBytes());
+        assertIonEquals(datagram, roundTripped);
+    }
+
+    @Test
+    public void loadFromIncrementalStreamReader() throws IOException {
+        byte[] data = multiSegmentBinary();
+        IonReaderBuilder readerBuilder = IonReaderBuilder.standard().withIncrementalReadingEnabled(true);
+        IonLoader loader = IonSystemBuilder.standard()
+            .withReaderBuilder(readerBuilder)
+            .build()
+            .getLoader();
+        try (IonReader reader = readerBuilder.build(new ByteArrayInputStream(data))) {
+            assertIonEquals(SYSTEM.getLoader().load(data), loader.load(reader));
+        }
+        byte[] truncated = Arrays.copyOf(data, data.length - 1);
+        // Not closed, because closing an incremental reader that ends within a value raises the same error.
+        IonReader truncatedReader = readerBuilder.build(new ByteArrayInputStream(truncated));
+        assertThrows(IonException.class, () -> loader.load(truncatedReader));
+    }
+
+    @Test
+    public void loadFromReaderPositionedOnValue() throws IOException {
+        byte[] data = multiSegmentBinary();
+        IonReader reader = SYSTEM.newReader(data);
+        reader.next();
+        IonDatagram datagram = SYSTEM.getLoader().load(reader);
+        assertIonEquals(loadWithWriter(data), datagram);
+    }
+}
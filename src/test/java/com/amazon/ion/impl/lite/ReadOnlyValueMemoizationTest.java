@@ -0,0 +1,131 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl.lite;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonList;
+import com.amazon.ion.IonStruct;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.system.IonSystemBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the memoization of hash codes and binary encodings of read-only values.
+ */
+public class ReadOnlyValueMemoizationTest {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+    private static final String DATA = "a::{b:[1, 2, {c:d}], e:(f g), h:\"i\"} [j, k] 123";
+
+    @Test
+    public void hashCodeOfReadOnlyContainerIsMemoized() {
+        IonStruct mutable = (IonStruct) SYSTEM.singleValue("a::{b:[1, 2, {c:d}], e:(f g)}");
+        IonStruct frozen = mutable.clone();
+        frozen.makeReadOnly();
+        IonContainerLite nested = (IonContainerLite) frozen.get("b");
+        assertEquals(0, nested.getCachedContentHashCode());
+        assertEquals(mutable.hashCode(), frozen.hashCode());
+        assertNotEquals(0, ((IonContainerLite) frozen).getCachedContentHashCode());
+        assertNotEquals(0, nested.getCachedContentHashCode());
+        // Annotations are applied on top of the memoized content hash.
+        assertEquals(mutable.hashCode(), frozen.hashCode());
+        assertEquals(mutable.get("b").hashCode(), nested.hashCode());
+    }
+
+    @Test
+    public void hashCodeOfMutableContainerIsNotMemoized() {
+        IonList list = (IonList) SYSTEM.singleValue("[1, 2]");
+        int before = list.hashCode();
+        assertEquals(0, ((IonContainerLite) list).getCachedContentHashCode());
+        list.add(SYSTEM.newInt(3));
+        assertNotEquals(before, list.hashCode());
+    }
+
+    @Test
+    public void hashCodeOfMutableContainerReusesMemoizedHashOfReadOnlyChild() {
+        IonList child = (IonList) SYSTEM.singleValue("[1, [2, 3]]");
+        IonList expected = SYSTEM.newEmptyList();
+        expected.add(child.clone());
+        child.makeReadOnly();
+        IonList parent = SYSTEM.newEmptyList();
+        parent.add(child.clone());
+        parent.get(0).makeReadOnly();
+        assertEquals(expected.hashCode(), parent.hashCode());
+        assertEquals(expected.hashCode(), parent.hashCode());
+    }
+
+    @Test
+    public void hashCodeOfLazyCloneUsesSourceWithoutMaterializing() {
+        IonStruct frozen = (IonStruct) SYSTEM.singleValue("{b:[1, 2, {c:d}], e:(f g)}");
+        frozen.makeReadOnly();
+        IonStructLite clone = (IonStructLite) frozen.clone();
+        clone.addTypeAnnotation("annotated");
+        IonStruct expected = (IonStruct) SYSTEM.singleValue("annotated::{b:[1, 2, {c:d}], e:(f g)}");
+        assertEquals(expected.hashCode(), clone.hashCode());
+        assertTrue(clone.isLazyClone());
+    }
+
+    @Test
+    public void hashCodeOfReadOnlyDatagramIsMemoized() {
+        IonDatagram datagram = SYSTEM.getLoader().load(DATA);
+        int expected = datagram.hashCode();
+        datagram.makeReadOnly();
+        assertEquals(expected, datagram.hashCode());
+        assertEquals(expected, ((IonContainerLite) datagram).getCachedContentHashCode());
+        assertEquals(expected, datagram.hashCode());
+    }
+
+    // getBytes(byte[], int) is deprecated, but still reuses the retained encoding.
+    @SuppressWarnings("deprecation")
+    @Test
+    public void encodingOfReadOnlyDatagramIsReused() throws IOException {
+        IonDatagram datagram = SYSTEM.getLoader().load(DATA);
+        byte[] expected = datagram.getBytes();
+        datagram.makeReadOnly();
+
+        byte[] first = datagram.getBytes();
+        assertArrayEquals(expected, first);
+        // Callers may modify the returned array, so each call must return a copy.
+        first[first.length - 1] = 0;
+        byte[] second = datagram.getBytes();
+        assertNotSame(first, second);
+        assertArrayEquals(expected, second);
+
+        assertEquals(expected.length, datagram.byteSize());
+        byte[] dst = new byte[expected.length + 2];
+        assertEquals(expected.length, datagram.getBytes(dst, 2));
+        byte[] copied = new byte[expected.length];
+        System.arraycopy(dst, 2, copied, 0, expected.length);
+        assertArrayEquals(expected, copied);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(expected.length, datagram.getBytes(out));
+        assertArrayEquals(expected, out.toByteArray());
+        assertEquals(SYSTEM.getLoader().load(expected), SYSTEM.getLoader().load(out.toByteArray()));
+    }
+
+    @Test
+    public void encodingOfLargeReadOnlyDatagramIsCorrect() {
+        IonDatagram datagram = SYSTEM.newDatagram();
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 1024; i++) {
+            value.append("0123456789abcdef");
+        }
+        for (int i = 0; i < 8; i++) {
+            datagram.add(SYSTEM.newString(value.toString() + i));
+        }
+        byte[] expected = datagram.getBytes();
+        assertTrue(expected.length > IonDatagramLite.MAX_CACHED_ENCODING_SIZE);
+        datagram.makeReadOnly();
+        assertArrayEquals(expected, datagram.getBytes());
+        assertEquals(expected.length, datagram.byteSize());
+    }
+}
@@ -0,0 +1,129 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl.lite;
+
+import com.amazon.ion.IonInt;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.system.IonSystemBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class StructFieldIndexTest {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+
+    private static IonValueLite child(int index) {
+        IonValueLite child = (IonValueLite) SYSTEM.newInt(index);
+        child._elementid(index);
+        return child;
+    }
+
+    @Test
+    public void putGetAndRemove() {
+        StructFieldIndex index = new StructFieldIndex(0);
+        assertEquals(StructFieldIndex.NOT_FOUND, index.get("a"));
+        index.put("a", child(0));
+        index.put("b", child(1));
+        index.put(null, child(2));
+        index.put("a", child(3));
+        assertEquals(3, index.size());
+        assertEquals(3, index.get("a"));
+        assertEquals(1, index.get("b"));
+        assertEquals(2, index.get(null));
+        index.remove(null);
+        index.remove("c");
+        assertEquals(StructFieldIndex.NOT_FOUND, index.get(null));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void indicesFollowElementIds() {
+        StructFieldIndex index = new StructFieldIndex(4);
+        IonValueLite[] children = {child(0), child(1), child(2), child(3)};
+        index.put("a", children[0]);
+        index.put("b", children[1]);
+        index.put("c", children[2]);
+        index.put("d", children[3]);
+        index.remove("b");
+        // The container renumbers the children that follow a removed child; the index needs no update.
+        children[2]._elementid(1);
+        children[3]._elementid(2);
+        assertEquals(0, index.get("a"));
+        assertEquals(1, index.get("c"));
+        assertEquals(2, index.get("d"));
+    }
+
+    @Test
+    public void matchesHashMapUnderRandomOperations() {
+        // Colliding keys exercise the backward-shift deletion.
+        Random random = new Random(42);
+        StructFieldIndex index = new StructFieldIndex(1);
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            String key = random.nextInt(50) == 0 ? null : "k" + random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                index.remove(key);
+                expected.remove(key);
+            } else {
+                index.put(key, child(i));
+                expected.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        for (int i = 0; i < 2000; i++) {
+            String key = "k" + i;
+            assertEquals(expected.getOrDefault(key, StructFieldIndex.NOT_FOUND).intValue(), index.get(key));
+        }
+        assertEquals(expected.getOrDefault(null, StructFieldIndex.NOT_FOUND).intValue(), index.get(null));
+        final int[] visited = {0};
+        index.forEach((fieldName, child) -> {
+            assertEquals(expected.get(fieldName).intValue(), child._elementid());
+            visited[0]++;
+        });
+        assertEquals(expected.size(), visited[0]);
+    }
+
+    @Test
+    public void largeStructFieldIndexStaysConsistentUnderRemoval() {
+        IonStructLite struct = (IonStructLite) SYSTEM.newEmptyStruct();
+        for (int i = 0; i < 1000; i++) {
+            struct.add("f" + (i % 300), SYSTEM.newInt(i));
+        }
+        struct.remove("f7");
+        struct.put("f8", SYSTEM.newInt(-1));
+        assertNull(struct.validate());
+        struct.removeAll("f1", "f2", "f3");
+        assertNull(struct.validate());
+        struct.retainAll("f8", "f9", "f299");
+        assertNull(struct.validate());
+        assertEquals(1 + 4 + 3, struct.size());
+        assertEquals(-1, ((IonInt) struct.get("f8")).intValue());
+    }
+
+    @Test
+    public void largeStructWithoutDuplicatesStaysConsistentUnderRemoval() {
+        IonStructLite struct = (IonStructLite) SYSTEM.newEmptyStruct();
+        for (int i = 0; i < 100; i++) {
+            struct.add("f" + i, SYSTEM.newInt(i));
+        }
+        struct.remove("f0");
+        struct.remove(struct.get("f50"));
+        struct.put("f10", SYSTEM.newInt(-1));
+        Iterator<IonValue> iterator = struct.iterator();
+        iterator.next();
+        iterator.remove();
+        assertNull(struct.validate());
+        assertEquals(97, struct.size());
+        assertEquals(-1, ((IonInt) struct.get("f10")).intValue());
+        assertEquals(99, ((IonInt) struct.get("f99")).intValue());
+        assertNull(struct.get("f1"));
+    }
+}
@@ -0,0 +1,214 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonStruct;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonText;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.SimpleCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BinaryScannerTest {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+    private static final String[] STATUSES = {"OK", "FAILED", "PENDING"};
+
+    /**
+     * Writes records whose status is a string, a symbol, or an annotated string, in several independent streams
+     * with different symbol tables, some of which are appended to.
+     */
+    private static byte[] records(int numberOfRecords) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonBinaryWriterBuilder[] builders = {
+            IonBinaryWriterBuilder.standard(),
+            IonBinaryWriterBuilder.standard().withLocalSymbolTableAppendEnabled()
+        };
+        int id = 0;
+        for (int stream = 0; stream < 4; stream++) {
+            try (IonWriter writer = builders[stream % 2].build(out)) {
+                for (int i = 0; i < numberOfRecords / 4; i++, id++) {
+                    writer.stepIn(IonType.STRUCT);
+                    // Field names that are introduced part way through a stream cause symbol table appends.
+                    writer.setFieldName("field" + (id % 7));
+                    writer.writeInt(id);
+                    writer.setFieldName("region");
+                    writer.writeString(id % 3 == 0 ? "us-east-1" : "eu-west-1");
+                    writer.setFieldName("status");
+                    String status = STATUSES[id % STATUSES.length];
+                    if (id % 5 == 0) {
+                        writer.writeSymbol(status);
+                    } else if (id % 11 == 0) {
+                        writer.setTypeAnnotations("annotated");
+                        writer.writeString(status);
+                    } else {
+                        writer.writeString(status);
+                    }
+                    writer.setFieldName("message");
+                    writer.writeString(id % 13 == 0 ? "FAILED" : "a message that is long enough to have a VarUInt length");
+                    writer.stepOut();
+                    writer.writeInt(id);
+                    if (i % 10 == 9) {
+                        writer.flush();
+                    }
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Computes the expected matches by loading every record.
+     */
+    private static List<IonValue> expectedMatches(byte[] data, String status, String region) {
+        List<IonValue> expected = new ArrayList<>();
+        for (IonValue value : SYSTEM.getLoader().load(data)) {
+            if (!(value instanceof IonStruct)) {
+                continue;
+            }
+            IonStruct struct = (IonStruct) value;
+            IonValue actualStatus = struct.get("status");
+            IonValue actualRegion = struct.get("region");
+            if (actualStatus != null && status.equals(((IonText) actualStatus).stringValue())
+                && (region == null || region.equals(((IonText) actualRegion).stringValue()))) {
+                expected.add(value);
+            }
+        }
+        return expected;
+    }
+
+    private static List<IonValue> scan(BinaryScanner scanner, byte[] data) throws IOException {
+        List<IonValue> matches = new ArrayList<>();
+        long count = scanner.scan(new ByteArrayInputStream(data), reader -> matches.add(SYSTEM.newValue(reader)));
+        assertEquals(matches.size(), count);
+        return matches;
+    }
+
+    private static void assertSameValues(List<IonValue> expected, List<IonValue> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+
+    @Test
+    public void findsMatchingRecords() throws IOException {
+        byte[] data = records(400);
+        List<IonValue> expected = expectedMatches(data, "FAILED", null);
+        assertEquals(133, expected.size());
+        BinaryScanner scanner = new BinaryScanner.Builder().withFieldEquals("status", "FAILED").build();
+        assertSameValues(expected, scan(scanner, data));
+    }
+
+    @Test
+    public void allPredicatesMustBeSatisfied() throws IOException {
+        byte[] data = records(400);
+        BinaryScanner scanner = new BinaryScanner.Builder()
+            .withFieldEquals("status", "FAILED")
+            .withFieldEquals("region", "us-east-1")
+            .build();
+        assertSameValues(expectedMatches(data, "FAILED", "us-east-1"), scan(scanner, data));
+    }
+
+    @Test
+    public void smallSplitsCarryTheirSymbolTables() throws IOException {
+        byte[] data = records(400);
+        BinaryScanner scanner = new BinaryScanner.Builder()
+            .withFieldEquals("status", "FAILED")
+            .withSplitSize(100)
+            .build();
+        assertSameValues(expectedMatches(data, "FAILED", null), scan(scanner, data));
+    }
+
+    @Test
+    public void appendsToSymbolTablesWithImportsAreCarriedBySmallSplits() throws IOException {
+        SymbolTable shared = SYSTEM.newSharedSymbolTable("shared", 1, Arrays.asList("status", "FAILED").iterator());
+        SimpleCatalog catalog = new SimpleCatalog();
+        catalog.putTable(shared);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = IonBinaryWriterBuilder.standard()
+            .withImports(shared)
+            .withLocalSymbolTableAppendEnabled()
+            .build(out)) {
+            for (int i = 0; i < 200; i++) {
+                // Each record introduces a field name, and each flush appends it to the symbol table.
+                writer.stepIn(IonType.STRUCT);
+                writer.setFieldName("field" + i);
+                writer.writeInt(i);
+                writer.setFieldName("status");
+                writer.writeSymbol(STATUSES[i % STATUSES.length]);
+                writer.stepOut();
+                writer.flush();
+            }
+        }
+        byte[] data = out.toByteArray();
+        List<IonValue> expected = new ArrayList<>();
+        for (IonValue value : IonSystemBuilder.standard().withCatalog(catalog).build().getLoader().load(data)) {
+            if ("FAILED".equals(((IonText) ((IonStruct) value).get("status")).stringValue())) {
+                expected.add(value);
+            }
+        }
+        assertEquals(67, expected.size());
+        BinaryScanner scanner = new BinaryScanner.Builder()
+            .withFieldEquals("status", "FAILED")
+            .withCatalog(catalog)
+            .withSplitSize(64)
+            .build();
+        assertSameValues(expected, scan(scanner, data));
+    }
+
+    @Test
+    public void parallelScanningReportsMatchesInStreamOrder() throws IOException {
+        byte[] data = records(2000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            BinaryScanner scanner = new BinaryScanner.Builder()
+                .withFieldEquals("status", "FAILED")
+                .withSplitSize(1024)
+                .withParallelScanning(executor, 8)
+                .build();
+            assertSameValues(expectedMatches(data, "FAILED", null), scan(scanner, data));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void recordsWithoutMatchingFieldsAreSkipped() throws IOException {
+        byte[] data = records(40);
+        BinaryScanner scanner = new BinaryScanner.Builder().withFieldEquals("absent", "FAILED").build();
+        assertEquals(0, scan(scanner, data).size());
+    }
+
+    @Test
+    public void textInputIsRejected() {
+        BinaryScanner scanner = new BinaryScanner.Builder().withFieldEquals("status", "FAILED").build();
+        byte[] text = "{status:\"FAILED\"}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(IonException.class, () -> scanner.scan(new ByteArrayInputStream(text), IonReader::getType));
+    }
+
+    @Test
+    public void predicatesAreRequired() {
+        assertThrows(IllegalStateException.class, () -> new BinaryScanner.Builder().build());
+    }
+}
@@ -0,0 +1,157 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonBufferConfiguration;
+import com.amazon.ion.IonMetricsListener;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IonMetricsCounterTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    public void shutDown() {
+        scheduler.shutdownNow();
+    }
+
+    private static byte[] writeRecords(IonBinaryWriterBuilder builder, int count) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = builder.build(out)) {
+            for (int i = 0; i < count; i++) {
+                writer.stepIn(IonType.STRUCT);
+                writer.setFieldName("id");
+                writer.writeInt(i);
+                writer.setFieldName("name");
+                writer.writeString("record " + i);
+                writer.setFieldName("payload");
+                writer.writeBlob(new byte[200]);
+                writer.stepOut();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void writerReportsValuesPatchPointsAndFlushes() throws IOException {
+        IonMetricsCounter counter = new IonMetricsCounter();
+        byte[] data = writeRecords(IonBinaryWriterBuilder.standard().withMetricsListener(counter), 100);
+        IonMetricsCounter.Snapshot snapshot = counter.snapshot();
+
+        assertEquals(100, snapshot.getValuesWritten(IonType.STRUCT));
+        assertEquals(100, snapshot.getValuesWritten(IonType.INT));
+        assertEquals(100, snapshot.getValuesWritten(IonType.STRING));
+        assertEquals(100, snapshot.getValuesWritten(IonType.BLOB));
+        assertEquals(0, snapshot.getValuesWritten(IonType.SYMBOL));
+        // Each blob has a three-byte header: a type descriptor and a two-byte VarUInt length.
+        assertEquals(100 * 203, snapshot.getBytesWritten(IonType.BLOB));
+        // The structs exceed the space reserved for their lengths.
+        assertEquals(100, snapshot.getPatchPoints());
+        assertEquals(1, snapshot.getFlushes());
+        // Everything but the IVM and the local symbol table is a user value.
+        assertEquals(snapshot.getBytesWritten(IonType.STRUCT), snapshot.getBytesFlushed());
+        assertTrue(snapshot.getBytesFlushed() < data.length);
+
+        // Readers measure the same encodings.
+        IonMetricsCounter readCounter = new IonMetricsCounter();
+        try (IonReader reader = IonReaderBuilder.standard().withMetricsListener(readCounter).build(data)) {
+            while (reader.next() != null) {
+            }
+        }
+        assertEquals(snapshot.getBytesWritten(IonType.STRUCT), readCounter.snapshot().getBytesRead(IonType.STRUCT));
+    }
+
+    @Test
+    public void readerReportsValuesRefillsAndSymbolTables() throws IOException {
+        byte[] data = writeRecords(IonBinaryWriterBuilder.standard(), 100);
+        IonMetricsCounter counter = new IonMetricsCounter();
+        IonReaderBuilder builder = IonReaderBuilder.standard()
+            .withMetricsListener(counter)
+            .withBufferConfiguration(IonBufferConfiguration.Builder.standard().withInitialBufferSize(32).build());
+        assertSame(counter, builder.getMetricsListener());
+        try (IonReader reader = builder.build(new ByteArrayInputStream(data))) {
+            int i = 0;
+            while (reader.next() != null) {
+                reader.stepIn();
+                reader.next();
+                assertEquals(i, reader.intValue());
+                reader.next();
+                reader.next();
+                // Half of the blobs are skipped without being read.
+                if (i++ % 2 == 0) {
+                    assertEquals(200, reader.newBytes().length);
+                }
+                reader.stepOut();
+            }
+        }
+        IonMetricsCounter.Snapshot snapshot = counter.snapshot();
+        assertEquals(100, snapshot.getValuesRead(IonType.STRUCT));
+        assertEquals(100, snapshot.getValuesRead(IonType.INT));
+        assertEquals(100, snapshot.getValuesRead(IonType.STRING));
+        assertEquals(100, snapshot.getValuesRead(IonType.BLOB));
+        assertEquals(100 * 203, snapshot.getBytesRead(IonType.BLOB));
+        assertEquals(1, snapshot.getSymbolTableResets());
+        assertEquals(0, snapshot.getSymbolTableAppends());
+        // "name" is a system symbol; only "id" and "payload" are declared.
+        assertEquals(2, snapshot.getSymbolsDeclared());
+        assertTrue(snapshot.getRefills() > 0);
+        // The skipped blobs are not buffered, and the IVM is read by the builder to detect the format.
+        assertTrue(snapshot.getBytesSkipped() > 0);
+        assertEquals(data.length - 4, snapshot.getBytesRefilled() + snapshot.getBytesSkipped());
+        assertTrue(snapshot.getBufferGrowths() > 0);
+        assertTrue(snapshot.getMaximumBufferSize() > 32);
+    }
+
+    @Test
+    public void noOpIsTheDefault() {
+        assertSame(IonMetricsListener.NO_OP, IonReaderBuilder.standard().getMetricsListener());
+        assertSame(IonMetricsListener.NO_OP, IonReaderBuilder.standard().withMetricsListener(null).getMetricsListener());
+        assertTrue(new IonMetricsCounter().snapshot().isEmpty());
+        assertEquals("IonMetrics{}", new IonMetricsCounter().snapshot().toString());
+    }
+
+    @Test
+    public void loggerReportsIntervalsAndTheRemainderOnClose() throws Exception {
+        IonMetricsCounter counter = new IonMetricsCounter();
+        counter.onFlush(10, 1000);
+        List<IonMetricsCounter.Snapshot> reports = new ArrayList<>();
+        PeriodicMetricsLogger logger = PeriodicMetricsLogger.start(counter, scheduler, 1, TimeUnit.HOURS, reports::add);
+        counter.onValueWritten(IonType.INT, 2);
+        counter.onValueWritten(IonType.INT, 3);
+        logger.close();
+        logger.close();
+
+        assertEquals(1, reports.size());
+        IonMetricsCounter.Snapshot interval = reports.get(0);
+        // Measurements made before the logger started are excluded.
+        assertEquals(0, interval.getFlushes());
+        assertEquals(2, interval.getValuesWritten(IonType.INT));
+        assertEquals(5, interval.getBytesWritten(IonType.INT));
+        assertEquals("IonMetrics{written=[INT: 2 values/5 bytes]}", interval.toString());
+        assertFalse(interval.isEmpty());
+
+        // Empty periods are not reported.
+        PeriodicMetricsLogger.start(counter, scheduler, 1, TimeUnit.HOURS, reports::add).close();
+        assertEquals(1, reports.size());
+    }
+}
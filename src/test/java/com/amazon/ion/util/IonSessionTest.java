@@ -0,0 +1,155 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IonSessionTest {
+
+    private static final int NUMBER_OF_FRAMES = 50;
+
+    private static void writeMessage(IonWriter writer, int id) throws IOException {
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName("request_id");
+        writer.writeInt(id);
+        writer.setFieldName("operation");
+        writer.writeSymbol(id % 2 == 0 ? "GetItem" : "PutItem");
+        writer.setFieldName("attribute" + (id % 5));
+        writer.writeString("value" + id);
+        writer.stepOut();
+    }
+
+    private static void assertMessage(IonReader reader, int id) {
+        assertEquals(IonType.STRUCT, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.INT, reader.next());
+        assertEquals("request_id", reader.getFieldName());
+        assertEquals(id, reader.intValue());
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertEquals(id % 2 == 0 ? "GetItem" : "PutItem", reader.stringValue());
+        assertEquals(IonType.STRING, reader.next());
+        assertEquals("attribute" + (id % 5), reader.getFieldName());
+        assertEquals("value" + id, reader.stringValue());
+        reader.stepOut();
+    }
+
+    private static boolean startsWithVersionMarker(byte[] frame) {
+        return frame.length >= 4 && (frame[0] & 0xFF) == 0xE0;
+    }
+
+    private static List<byte[]> writeFrames(IonSessionWriter session) throws IOException {
+        List<byte[]> frames = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_FRAMES; i++) {
+            writeMessage(session.getWriter(), i);
+            frames.add(session.finishFrame());
+        }
+        return frames;
+    }
+
+    @Test
+    public void framesShareTheSymbolTable() throws IOException {
+        List<byte[]> frames;
+        try (IonSessionWriter session = new IonSessionWriter(IonBinaryWriterBuilder.standard())) {
+            frames = writeFrames(session);
+        }
+        int sessionSize = 0;
+        int independentSize = 0;
+        for (int i = 0; i < frames.size(); i++) {
+            assertEquals(i == 0, startsWithVersionMarker(frames.get(i)));
+            sessionSize += frames.get(i).length;
+            ByteArrayOutputStream independent = new ByteArrayOutputStream();
+            try (IonWriter writer = IonBinaryWriterBuilder.standard().build(independent)) {
+                writeMessage(writer, i);
+            }
+            independentSize += independent.size();
+        }
+        assertTrue(sessionSize * 2 < independentSize, sessionSize + " vs. " + independentSize);
+
+        try (IonSessionReader session = new IonSessionReader(IonReaderBuilder.standard())) {
+            for (int i = 0; i < frames.size(); i++) {
+                IonReader reader = session.readFrame(frames.get(i));
+                assertMessage(reader, i);
+                assertNull(reader.next());
+            }
+        }
+    }
+
+    @Test
+    public void symbolTableIsResetAfterTheLimit() throws IOException {
+        List<byte[]> frames;
+        try (IonSessionWriter session = new IonSessionWriter(IonBinaryWriterBuilder.standard(), 8)) {
+            frames = writeFrames(session);
+        }
+        int numberOfResets = 0;
+        for (int i = 1; i < frames.size(); i++) {
+            if (startsWithVersionMarker(frames.get(i))) {
+                numberOfResets++;
+            }
+        }
+        assertTrue(numberOfResets > 0);
+        try (IonSessionReader session = new IonSessionReader(IonReaderBuilder.standard())) {
+            for (int i = 0; i < frames.size(); i++) {
+                IonReader reader = session.readFrame(frames.get(i));
+                assertMessage(reader, i);
+                assertNull(reader.next());
+            }
+        }
+    }
+
+    @Test
+    public void unreadValuesAreSkipped() throws IOException {
+        List<byte[]> frames = new ArrayList<>();
+        try (IonSessionWriter session = new IonSessionWriter(IonBinaryWriterBuilder.standard())) {
+            for (int i = 0; i < 6; i += 2) {
+                writeMessage(session.getWriter(), i);
+                writeMessage(session.getWriter(), i + 1);
+                frames.add(session.finishFrame());
+            }
+        }
+        try (IonSessionReader session = new IonSessionReader(IonReaderBuilder.standard())) {
+            assertMessage(session.readFrame(frames.get(0)), 0);
+            IonReader reader = session.readFrame(frames.get(1));
+            assertEquals(IonType.STRUCT, reader.next());
+            reader.stepIn();
+            reader.next();
+            reader = session.readFrame(frames.get(2));
+            assertMessage(reader, 4);
+            assertMessage(reader, 5);
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void framesMustEndAtTopLevel() throws IOException {
+        try (IonSessionWriter session = new IonSessionWriter(IonBinaryWriterBuilder.standard())) {
+            session.getWriter().stepIn(IonType.LIST);
+            assertThrows(IllegalStateException.class, session::finishFrame);
+            session.getWriter().stepOut();
+            assertTrue(startsWithVersionMarker(session.finishFrame()));
+        }
+    }
+
+    @Test
+    public void textFramesAreRejected() throws IOException {
+        try (IonSessionReader session = new IonSessionReader(IonReaderBuilder.standard())) {
+            assertThrows(IonException.class, () -> session.readFrame("{a:1}".getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OffsetIndexTest {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+    private static final int NUMBER_OF_RECORDS = 300;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes records in several concatenated streams, alternating between writers that start new symbol tables and
+     * writers that append to them, keying every record except every seventh.
+     */
+    private static void writeRecords(OffsetIndexingOutputStream out) throws IOException {
+        IonBinaryWriterBuilder[] builders = {
+            IonBinaryWriterBuilder.standard(),
+            IonBinaryWriterBuilder.standard().withLocalSymbolTableAppendEnabled()
+        };
+        int id = 0;
+        for (int stream = 0; stream < 4; stream++) {
+            IonWriter writer = builders[stream % 2].build(out);
+            for (int i = 0; i < NUMBER_OF_RECORDS / 4; i++, id++) {
+                out.addKey(id % 7 == 0 ? null : "key" + id);
+                writer.stepIn(IonType.STRUCT);
+                // Field names introduced part way through a stream cause symbol table appends.
+                writer.setFieldName("field" + (id % 11));
+                writer.writeInt(id);
+                writer.setFieldName("name");
+                writer.writeSymbol("symbol" + (id % 13));
+                writer.stepOut();
+                if (i % 10 == 9) {
+                    writer.flush();
+                }
+            }
+            // Leave the indexing stream open so that the next stream is concatenated to it.
+            writer.finish();
+        }
+    }
+
+    private OffsetIndex writeIndexedFile(Path dataFile) throws IOException {
+        Path indexFile = directory.resolve("data.idx");
+        try (OffsetIndexingOutputStream out = new OffsetIndexingOutputStream(
+            Files.newOutputStream(dataFile), Files.newOutputStream(indexFile))
+        ) {
+            writeRecords(out);
+        }
+        return OffsetIndex.read(indexFile);
+    }
+
+    private static void assertValue(IonDatagram expected, int ordinal, IonReader reader) throws IOException {
+        try {
+            assertEquals(expected.get(ordinal), SYSTEM.newValue(reader));
+            assertNull(reader.next());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void readsValuesByOrdinal() throws IOException {
+        Path dataFile = directory.resolve("data.10n");
+        OffsetIndex index = writeIndexedFile(dataFile);
+        IonDatagram expected = SYSTEM.getLoader().load(dataFile.toFile());
+        assertEquals(NUMBER_OF_RECORDS, index.size());
+        assertEquals(expected.size(), index.size());
+        try (IndexedIonFile file = IndexedIonFile.open(dataFile, index, IonReaderBuilder.standard())) {
+            // Visit the values out of order to show that no state is carried from one lookup to the next.
+            for (int i = index.size() - 1; i >= 0; i -= 3) {
+                assertValue(expected, i, file.newReader(i));
+            }
+            for (int i = 0; i < index.size(); i += 3) {
+                assertValue(expected, i, file.newReader(i));
+            }
+        }
+    }
+
+    @Test
+    public void readsValuesByKey() throws IOException {
+        Path dataFile = directory.resolve("data.10n");
+        OffsetIndex index = writeIndexedFile(dataFile);
+        IonDatagram expected = SYSTEM.getLoader().load(dataFile.toFile());
+        try (IndexedIonFile file = IndexedIonFile.open(dataFile, index, IonReaderBuilder.standard())) {
+            assertValue(expected, 1, file.newReader("key1"));
+            assertValue(expected, 250, file.newReader("key250"));
+            assertNull(index.getKey(0));
+            assertNull(file.newReader("key0"));
+            assertNull(file.newReader("absent"));
+        }
+    }
+
+    @Test
+    public void indexesExistingData() throws IOException {
+        Path dataFile = directory.resolve("data.10n");
+        OffsetIndex written = writeIndexedFile(dataFile);
+        ByteArrayOutputStream sidecar = new ByteArrayOutputStream();
+        try (InputStream in = Files.newInputStream(dataFile)) {
+            OffsetIndexingOutputStream.index(in, sidecar);
+        }
+        OffsetIndex index = OffsetIndex.read(new ByteArrayInputStream(sidecar.toByteArray()));
+        assertEquals(written.size(), index.size());
+        for (int i = 0; i < index.size(); i++) {
+            assertEquals(written.getOffset(i), index.getOffset(i));
+            assertEquals(written.getLength(i), index.getLength(i));
+            assertNull(index.getKey(i));
+        }
+    }
+
+    @Test
+    public void offsetsLocateTheEncodedValues() throws IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        ByteArrayOutputStream sidecar = new ByteArrayOutputStream();
+        try (OffsetIndexingOutputStream out = new OffsetIndexingOutputStream(data, sidecar);
+             IonWriter writer = IonBinaryWriterBuilder.standard().build(out)) {
+            writer.writeBool(true);
+            writer.writeNull();
+            writer.writeString("abc");
+        }
+        OffsetIndex index = OffsetIndex.read(new ByteArrayInputStream(sidecar.toByteArray()));
+        byte[] bytes = data.toByteArray();
+        assertEquals(3, index.size());
+        assertEquals(4, index.getOffset(0));
+        assertEquals(1, index.getLength(0));
+        assertEquals(0x11, bytes[(int) index.getOffset(0)]);
+        assertEquals(0x0F, bytes[(int) index.getOffset(1)]);
+        assertEquals(4, index.getLength(2));
+        byte[] expected = {(byte) 0x83, 'a', 'b', 'c'};
+        byte[] actual = new byte[4];
+        System.arraycopy(bytes, (int) index.getOffset(2), actual, 0, 4);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void textIsRejected() {
+        byte[] text = "{a:1}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(
+            IonException.class,
+            () -> OffsetIndexingOutputStream.index(new ByteArrayInputStream(text), new ByteArrayOutputStream())
+        );
+    }
+
+    @Test
+    public void invalidSidecarsAreRejected() {
+        byte[] notAnIndex = {1, 2, 3};
+        assertThrows(IonException.class, () -> OffsetIndex.read(new ByteArrayInputStream(notAnIndex)));
+    }
+}
@@ -0,0 +1,219 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelGzipInputStreamTest {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void shutDown() {
+        executor.shutdownNow();
+    }
+
+    private static byte[] text(int start, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = start; i < start + count; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] parallelGzip(byte[] data, int memberSize) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream out = new ParallelGzipOutputStream.Builder()
+                .withExecutor(executor)
+                .withMemberSize(memberSize)
+                .build(compressed)) {
+            // Flush after every line so that members end between lines.
+            int lineStart = 0;
+            for (int i = 0; i < data.length; i++) {
+                if (data[i] == '\n') {
+                    out.write(data, lineStart, i + 1 - lineStart);
+                    out.flush();
+                    lineStart = i + 1;
+                }
+            }
+            out.write(data, lineStart, data.length - lineStart);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static byte[] standardGzip(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(data);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1000];
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private ParallelGzipInputStream.Builder builder() {
+        return new ParallelGzipInputStream.Builder().withExecutor(executor).withReadAhead(3);
+    }
+
+    @Test
+    public void membersAreDecompressedInOrder() throws IOException {
+        byte[] data = text(0, 10000);
+        byte[] compressed = parallelGzip(data, 2048);
+        try (InputStream in = builder().build(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(data, readFully(in));
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void standardGzipMembersAreDecompressedSequentially() throws IOException {
+        byte[] first = text(0, 3000);
+        byte[] second = text(3000, 3000);
+        byte[] third = text(6000, 10);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        compressed.write(standardGzip(first));
+        compressed.write(parallelGzip(second, 1024));
+        compressed.write(standardGzip(third));
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(first);
+        expected.write(second);
+        expected.write(third);
+        try (InputStream in = builder().build(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertArrayEquals(expected.toByteArray(), readFully(in));
+        }
+    }
+
+    @Test
+    public void corruptMembersAreDetected() throws IOException {
+        byte[] data = text(0, 1000);
+        byte[] compressed = parallelGzip(data, 1024);
+        // Corrupt the CRC of the last member.
+        compressed[compressed.length - 8] ^= 1;
+        assertThrows(IOException.class, () -> readFully(builder().build(new ByteArrayInputStream(compressed))));
+
+        byte[] truncated = Arrays.copyOf(parallelGzip(data, 1024), 100);
+        assertThrows(IOException.class, () -> readFully(builder().build(new ByteArrayInputStream(truncated))));
+
+        byte[] notGzip = "not gzip".getBytes(StandardCharsets.UTF_8);
+        assertThrows(IOException.class, () -> readFully(builder().build(new ByteArrayInputStream(notGzip))));
+    }
+
+    @Test
+    public void trailerLengthsAreVerified() throws IOException {
+        byte[] data = text(0, 1000);
+        byte[] compressed = parallelGzip(data, 1 << 16);
+        // A trailer that declares nearly 2 GiB is detected without reserving that much memory.
+        byte[] tooLong = compressed.clone();
+        setTrailerLength(tooLong, Integer.MAX_VALUE - 8);
+        IOException e = assertThrows(IOException.class, () -> readFully(builder().build(new ByteArrayInputStream(tooLong))));
+        assertEquals("Corrupt GZIP trailer", e.getMessage());
+
+        byte[] tooShort = compressed.clone();
+        setTrailerLength(tooShort, data.length - 1);
+        e = assertThrows(IOException.class, () -> readFully(builder().build(new ByteArrayInputStream(tooShort))));
+        assertEquals("GZIP member longer than its trailer declares", e.getMessage());
+    }
+
+    @Test
+    public void headerLengthsAreNotTrustedBeforeTheBodyArrives() {
+        // A header that declares a member of nearly 2 GiB, followed by a short body.
+        byte[] member = new byte[GzipMemberFormat.HEADER_LENGTH + 100];
+        GzipMemberFormat.writeHeader(member, Integer.MAX_VALUE - 16);
+        IOException e = assertThrows(IOException.class, () -> readFully(builder().build(new ByteArrayInputStream(member))));
+        assertEquals("Unexpected end of GZIP member", e.getMessage());
+    }
+
+    private static void setTrailerLength(byte[] compressed, int length) {
+        for (int i = 0; i < 4; i++) {
+            compressed[compressed.length - 4 + i] = (byte) (length >>> (8 * i));
+        }
+    }
+
+    @Test
+    public void readingMayStartAtAnyOffset(@TempDir Path directory) throws IOException {
+        byte[] data = text(0, 5000);
+        Path file = directory.resolve("data.gz");
+        Files.write(file, parallelGzip(data, 4096));
+        GzipMemberIndex index = GzipMemberIndex.scan(file);
+        assertTrue(index.size() > 4, "members: " + index.size());
+        for (long offset : new long[] {0, 1, index.getUncompressedOffset(3), index.getUncompressedOffset(3) + 17, data.length - 1}) {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try (InputStream in = builder().build(channel, index, offset)) {
+                assertArrayEquals(Arrays.copyOfRange(data, (int) offset, data.length), readFully(in));
+            }
+            assertFalse(channel.isOpen());
+        }
+    }
+
+    @Test
+    public void readerOptionReplacesTheGzipInterceptor() throws IOException {
+        IonReaderBuilder readerBuilder = IonReaderBuilder.standard().withParallelGzipDecompression(executor, 2);
+        InputStreamInterceptor interceptor = readerBuilder.getInputStreamInterceptors().get(0);
+        assertTrue(interceptor instanceof ParallelGzipStreamInterceptor);
+        assertFalse(readerBuilder.copy().withGzipDecompressionEnabled(false).getInputStreamInterceptors().contains(interceptor));
+        assertTrue(readerBuilder.copy().withParallelGzipDecompression(null, 0).getInputStreamInterceptors()
+            .contains(GzipStreamInterceptor.INSTANCE));
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (IonWriter writer = IonBinaryWriterBuilder.standard()
+                .withParallelGzipCompression(executor, 1024)
+                .build(compressed)) {
+            for (int i = 0; i < 1000; i++) {
+                writer.stepIn(IonType.STRUCT);
+                writer.setFieldName("id");
+                writer.writeInt(i);
+                writer.stepOut();
+            }
+        }
+        int count = 0;
+        try (IonReader reader = readerBuilder.build(new ByteArrayInputStream(compressed.toByteArray()))) {
+            while (reader.next() != null) {
+                reader.stepIn();
+                reader.next();
+                assertEquals(count++, reader.intValue());
+                reader.stepOut();
+            }
+        }
+        assertEquals(1000, count);
+        assertEquals(1000, SYSTEM.getLoader().load(compressed.toByteArray()).size());
+    }
+}
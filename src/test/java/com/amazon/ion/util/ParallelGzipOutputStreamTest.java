@@ -0,0 +1,190 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.OffsetSpan;
+import com.amazon.ion.ResettableWriter;
+import com.amazon.ion.SpanProvider;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelGzipOutputStreamTest {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void shutDown() {
+        executor.shutdownNow();
+    }
+
+    static byte[] gunzip(byte[] compressed) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void membersEndAtFlushesAndAreStandardGzip() throws IOException {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ParallelGzipOutputStream out = new ParallelGzipOutputStream.Builder()
+            .withExecutor(executor)
+            .withMemberSize(1000)
+            .withMaxMembersInFlight(2)
+            .build(compressed);
+        for (int i = 0; i < 500; i++) {
+            byte[] record = ("record " + i + "\n").getBytes(StandardCharsets.UTF_8);
+            out.write(record);
+            expected.write(record);
+            out.flush();
+        }
+        out.close();
+        assertArrayEquals(expected.toByteArray(), gunzip(compressed.toByteArray()));
+
+        GzipMemberIndex index = out.getMemberIndex();
+        assertTrue(index.size() > 1, "members: " + index.size());
+        assertEquals(expected.size(), index.getUncompressedLength());
+        assertEquals(compressed.size(), index.getCompressedLength());
+        for (int i = 1; i < index.size(); i++) {
+            long memberStart = index.getUncompressedOffset(i);
+            assertTrue(memberStart - index.getUncompressedOffset(i - 1) >= 1000);
+            // Every member begins with a record.
+            assertEquals('r', expected.toByteArray()[(int) memberStart]);
+        }
+    }
+
+    @Test
+    public void emptyStreamIsValidGzip() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ParallelGzipOutputStream out = new ParallelGzipOutputStream.Builder().withExecutor(executor).build(compressed);
+        out.close();
+        assertEquals(0, gunzip(compressed.toByteArray()).length);
+        assertEquals(1, out.getMemberIndex().size());
+        assertThrows(IOException.class, () -> out.write(1));
+    }
+
+    @Test
+    public void scanFindsTheMembersWritten(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("data.gz");
+        ParallelGzipOutputStream out = new ParallelGzipOutputStream.Builder()
+            .withExecutor(executor)
+            .withMemberSize(100)
+            .build(Files.newOutputStream(file));
+        for (int i = 0; i < 100; i++) {
+            out.write(new byte[i]);
+            out.flush();
+        }
+        out.close();
+        GzipMemberIndex written = out.getMemberIndex();
+        GzipMemberIndex scanned = GzipMemberIndex.scan(file);
+        assertEquals(written.size(), scanned.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertEquals(written.getCompressedOffset(i), scanned.getCompressedOffset(i));
+            assertEquals(written.getUncompressedOffset(i), scanned.getUncompressedOffset(i));
+        }
+        assertEquals(Files.size(file), scanned.getCompressedLength());
+        assertEquals(99 * 100 / 2, scanned.getUncompressedLength());
+        assertEquals(0, scanned.findMember(0));
+        assertEquals(scanned.size() - 1, scanned.findMember(scanned.getUncompressedLength() - 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> scanned.findMember(scanned.getUncompressedLength()));
+    }
+
+    private static void writeRecords(IonWriter writer, int start, int count) throws IOException {
+        for (int i = start; i < start + count; i++) {
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("id");
+            writer.writeInt(i);
+            writer.setFieldName("name_" + i % 50);
+            writer.writeString("value " + i);
+            writer.stepOut();
+        }
+    }
+
+    @Test
+    public void writerOptionStartsEachMemberWithATopLevelValue(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("data.10n.gz");
+        IonBinaryWriterBuilder builder = IonBinaryWriterBuilder.standard()
+            .withBlockSize(1024)
+            .withParallelGzipCompression(executor, 4096);
+        try (IonWriter writer = builder.build(Files.newOutputStream(file))) {
+            writeRecords(writer, 0, 2000);
+        }
+        ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+        try (IonWriter writer = IonBinaryWriterBuilder.standard().build(uncompressed)) {
+            writeRecords(writer, 0, 2000);
+        }
+        byte[] compressed = Files.readAllBytes(file);
+        assertEquals(SYSTEM.getLoader().load(uncompressed.toByteArray()), SYSTEM.getLoader().load(compressed));
+
+        GzipMemberIndex index = GzipMemberIndex.scan(file);
+        assertTrue(index.size() > 2, "members: " + index.size());
+        byte[] data = gunzip(compressed);
+        Set<Long> valueStarts = new HashSet<>();
+        try (IonReader reader = IonReaderBuilder.standard().build(data)) {
+            SpanProvider spans = reader.asFacet(SpanProvider.class);
+            while (reader.next() != null) {
+                valueStarts.add(((OffsetSpan) spans.currentSpan()).getStartOffset());
+            }
+        }
+        for (int i = 1; i < index.size(); i++) {
+            long memberStart = index.getUncompressedOffset(i);
+            // A member begins with a user value or with a local symbol table, which is an annotation wrapper.
+            assertTrue(
+                valueStarts.contains(memberStart) || (data[(int) memberStart] & 0xF0) == 0xE0,
+                "member " + i + " starts at " + memberStart
+            );
+        }
+    }
+
+    @Test
+    public void resetFinishesTheCompressedStream() throws IOException {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        IonWriter writer = IonBinaryWriterBuilder.standard()
+            .withParallelGzipCompression(executor, 1024)
+            .build(first);
+        writeRecords(writer, 0, 100);
+        writer.asFacet(ResettableWriter.class).reset(second);
+        writeRecords(writer, 100, 10);
+        writer.close();
+        assertEquals(100, SYSTEM.getLoader().load(gunzip(first.toByteArray())).size());
+        IonDatagram secondValues = SYSTEM.getLoader().load(gunzip(second.toByteArray()));
+        assertEquals(10, secondValues.size());
+        assertEquals(SYSTEM.singleValue("{id: 100, name_0: \"value 100\"}"), secondValues.get(0));
+    }
+}
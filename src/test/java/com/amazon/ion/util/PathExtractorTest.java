@@ -0,0 +1,153 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PathExtractorTest {
+
+    private static final String DATA =
+        "{order:{id:1, items:[{sku:\"a\", qty:2}, {sku:\"b\"}], note:{sku:\"ignored\"}}, meta:{ts:10}}\n"
+            + "{meta:{ts:20}, order:{items:[{qty:1}, {sku:\"c\"}]}}\n"
+            + "[1, [2, 3], (4 5)]\n"
+            + "{'field.with.dots':5, order:null}";
+
+    private static IonReader newReader(String data, boolean isBinary) throws IOException {
+        if (!isBinary) {
+            return IonReaderBuilder.standard().build(data);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonReader reader = IonReaderBuilder.standard().build(data);
+             IonWriter writer = IonBinaryWriterBuilder.standard().build(out)) {
+            writer.writeValues(reader);
+        }
+        return IonReaderBuilder.standard().build(out.toByteArray());
+    }
+
+    /**
+     * Returns a callback that records the text representation of each scalar match, prefixed with the given tag.
+     */
+    private static PathExtractor.Callback recordTo(List<String> matches, String tag) {
+        return reader -> {
+            String value;
+            switch (reader.getType()) {
+                case INT:
+                    value = Long.toString(reader.longValue());
+                    break;
+                case STRING:
+                    value = reader.stringValue();
+                    break;
+                default:
+                    value = reader.getType().toString();
+            }
+            matches.add(tag + "=" + value);
+        };
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void extractsMatchingValues(boolean isBinary) throws IOException {
+        List<String> matches = new ArrayList<>();
+        PathExtractor extractor = new PathExtractor.Builder()
+            .withSearchPath("$.order.items[*].sku", recordTo(matches, "sku"))
+            .withSearchPath("$.meta.ts", recordTo(matches, "ts"))
+            .withSearchPath("$[1][0]", recordTo(matches, "nested"))
+            .withSearchPath("$[2][*]", recordTo(matches, "sexp"))
+            .withSearchPath("$['field.with.dots']", recordTo(matches, "dots"))
+            .withSearchPath("$.order", recordTo(matches, "order"))
+            .build();
+        try (IonReader reader = newReader(DATA, isBinary)) {
+            extractor.match(reader);
+        }
+        assertEquals(Arrays.asList(
+            "order=STRUCT", "sku=a", "sku=b", "ts=10",
+            "ts=20", "order=STRUCT", "sku=c",
+            "nested=2", "sexp=4", "sexp=5",
+            "dots=5", "order=NULL"
+        ), matches);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void wildcardFieldsMatchEveryField(boolean isBinary) throws IOException {
+        List<String> matches = new ArrayList<>();
+        PathExtractor extractor = new PathExtractor.Builder()
+            .withSearchPath("$.*.ts", recordTo(matches, "ts"))
+            .withSearchPath("$.meta.ts", recordTo(matches, "meta"))
+            .build();
+        try (IonReader reader = newReader(DATA, isBinary)) {
+            extractor.match(reader);
+        }
+        assertEquals(Arrays.asList("meta=10", "ts=10", "meta=20", "ts=20"), matches);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void largeAndUnorderedIndexesAreMatched(boolean isBinary) throws IOException {
+        List<String> matches = new ArrayList<>();
+        PathExtractor extractor = new PathExtractor.Builder()
+            .withSearchPath("$[2000000000]", recordTo(matches, "huge"))
+            .withSearchPath("$[1][1]", recordTo(matches, "second"))
+            .withSearchPath("$[1][0]", recordTo(matches, "first"))
+            .withSearchPath("$[2][1]", recordTo(matches, "sexp"))
+            .build();
+        try (IonReader reader = newReader(DATA, isBinary)) {
+            extractor.match(reader);
+        }
+        assertEquals(Arrays.asList("first=2", "second=3", "sexp=5"), matches);
+    }
+
+    @Test
+    public void matchCurrentValueLeavesReaderAtTheNextValue() throws IOException {
+        List<String> matches = new ArrayList<>();
+        PathExtractor extractor = new PathExtractor.Builder()
+            .withSearchPath("$.a", recordTo(matches, "a"))
+            .build();
+        try (IonReader reader = newReader("{a:1} {a:2} {a:3}", true)) {
+            assertEquals(IonType.STRUCT, reader.next());
+            extractor.matchCurrentValue(reader);
+            assertEquals(IonType.STRUCT, reader.next());
+            assertEquals(IonType.STRUCT, reader.next());
+            extractor.matchCurrentValue(reader);
+        }
+        assertEquals(Arrays.asList("a=1", "a=3"), matches);
+    }
+
+    @Test
+    public void callbacksMustNotMoveTheReader() throws IOException {
+        PathExtractor extractor = new PathExtractor.Builder()
+            .withSearchPath("$.a", IonReader::stepIn)
+            .build();
+        try (IonReader reader = newReader("{a:[1]}", true)) {
+            assertThrows(IllegalStateException.class, () -> extractor.match(reader));
+        }
+    }
+
+    @Test
+    public void invalidPathsAreRejected() {
+        PathExtractor.Builder builder = new PathExtractor.Builder();
+        PathExtractor.Callback callback = reader -> { };
+        assertThrows(IllegalArgumentException.class, () -> builder.withSearchPath("a.b", callback));
+        assertThrows(IllegalArgumentException.class, () -> builder.withSearchPath("$.", callback));
+        assertThrows(IllegalArgumentException.class, () -> builder.withSearchPath("$[1", callback));
+        assertThrows(IllegalArgumentException.class, () -> builder.withSearchPath("$[-1]", callback));
+        assertThrows(IllegalArgumentException.class, () -> builder.withSearchPath("$[x]", callback));
+        assertThrows(IllegalArgumentException.class, () -> builder.withSearchPath("$a", callback));
+    }
+}
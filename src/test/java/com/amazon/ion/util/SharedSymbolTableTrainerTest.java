@@ -0,0 +1,134 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.SimpleCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SharedSymbolTableTrainerTest {
+
+    private static final int NUMBER_OF_SAMPLES = 200;
+
+    /**
+     * Writes a sample in which every record has the fields "timestamp", "level", and "message", and some records
+     * have one of many rarely used fields.
+     */
+    private static byte[] sample(int id, IonBinaryWriterBuilder builder) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = builder.build(out)) {
+            for (int i = 0; i < 10; i++) {
+                writer.addTypeAnnotation("log_entry");
+                writer.stepIn(IonType.STRUCT);
+                writer.setFieldName("timestamp");
+                writer.writeInt(id * 10 + i);
+                writer.setFieldName("level");
+                writer.writeSymbol(i == 0 ? "ERROR" : "INFO");
+                writer.setFieldName("message");
+                writer.writeString("message " + i);
+                if (i == 5) {
+                    writer.setFieldName("rare_field_" + id);
+                    writer.writeBool(true);
+                }
+                writer.stepOut();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static SharedSymbolTableTrainer train(SharedSymbolTableTrainer.Builder builder) throws IOException {
+        SharedSymbolTableTrainer trainer = builder.build();
+        for (int i = 0; i < NUMBER_OF_SAMPLES; i++) {
+            try (IonReader reader = IonReaderBuilder.standard().build(sample(i, IonBinaryWriterBuilder.standard()))) {
+                trainer.train(reader);
+            }
+        }
+        return trainer;
+    }
+
+    @Test
+    public void symbolsAreRankedBySavings() throws IOException {
+        SharedSymbolTableTrainer trainer = train(new SharedSymbolTableTrainer.Builder());
+        assertEquals(NUMBER_OF_SAMPLES, trainer.getNumberOfSamples());
+        List<String> ranked = trainer.getRankedSymbols();
+        // Each of these is used in every sample, so the longest declaration saves the most. Ties are ordered by text.
+        assertEquals(Arrays.asList("log_entry", "timestamp", "message", "ERROR", "level", "INFO"), ranked.subList(0, 6));
+        assertEquals(NUMBER_OF_SAMPLES * 10L, trainer.getEstimatedSavings("timestamp"));
+        assertEquals(6 + NUMBER_OF_SAMPLES, ranked.size());
+        // Symbols of the system symbol table are never imported.
+        assertFalse(ranked.contains("$ion_symbol_table"));
+        assertFalse(ranked.contains("name"));
+    }
+
+    @Test
+    public void heavyHittersAreFoundWithBoundedCapacity() throws IOException {
+        SharedSymbolTableTrainer trainer = train(new SharedSymbolTableTrainer.Builder().withCapacity(10));
+        List<String> ranked = trainer.getRankedSymbols();
+        assertEquals(10, ranked.size());
+        assertEquals(
+            new HashSet<>(Arrays.asList("timestamp", "log_entry", "message", "level", "ERROR", "INFO")),
+            new HashSet<>(ranked.subList(0, 6))
+        );
+    }
+
+    @Test
+    public void trainedTableCanBeImported() throws IOException {
+        SharedSymbolTableTrainer trainer = train(new SharedSymbolTableTrainer.Builder().withMaxSymbols(6));
+        SymbolTable shared = trainer.newSharedSymbolTable("logs");
+        assertTrue(shared.isSharedTable());
+        assertEquals("logs", shared.getName());
+        assertEquals(1, shared.getVersion());
+        assertEquals(6, shared.getMaxId());
+        assertEquals(1, shared.findSymbol("log_entry"));
+
+        SimpleCatalog catalog = new SimpleCatalog();
+        catalog.putTable(shared);
+        IonSystem system = IonSystemBuilder.standard().withCatalog(catalog).build();
+        int plainSize = 0;
+        int importingSize = 0;
+        for (int i = 0; i < 10; i++) {
+            byte[] plain = sample(i, IonBinaryWriterBuilder.standard());
+            byte[] importing = sample(i, IonBinaryWriterBuilder.standard().withImports(shared));
+            IonDatagram expected = system.getLoader().load(plain);
+            assertEquals(expected, system.getLoader().load(importing));
+            plainSize += plain.length;
+            importingSize += importing.length;
+        }
+        assertTrue(importingSize < plainSize, importingSize + " vs. " + plainSize);
+    }
+
+    @Test
+    public void nextVersionRetainsTheSymbolsOfThePreviousVersion() throws IOException {
+        SymbolTable previous = IonSystemBuilder.standard().build().newSharedSymbolTable(
+            "logs", 1, Arrays.asList("level", "host").iterator()
+        );
+        SharedSymbolTableTrainer trainer = train(new SharedSymbolTableTrainer.Builder().withMaxSymbols(3));
+        SymbolTable next = trainer.newSharedSymbolTable(previous);
+        assertEquals("logs", next.getName());
+        assertEquals(2, next.getVersion());
+        assertEquals(1, next.findSymbol("level"));
+        assertEquals(2, next.findSymbol("host"));
+        assertEquals(3, next.findSymbol("log_entry"));
+        assertEquals(4, next.findSymbol("timestamp"));
+        assertEquals(5, next.findSymbol("message"));
+        assertEquals(5, next.getMaxId());
+    }
+}
@@ -0,0 +1,106 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SymbolTableOptimizerTest {
+
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+
+    /**
+     * Writes records whose frequently used field names are first used after 200 rarely used symbols, and whose
+     * symbol table declares symbols that are never used.
+     */
+    private static byte[] records() throws IOException {
+        SymbolTable initial = SYSTEM.newLocalSymbolTable();
+        for (int i = 0; i < 50; i++) {
+            initial.intern("unused" + i);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = IonBinaryWriterBuilder.standard().withInitialSymbolTable(initial).build(out)) {
+            writer.addTypeAnnotation("header");
+            writer.stepIn(IonType.STRUCT);
+            for (int i = 0; i < 200; i++) {
+                writer.setFieldName("rare" + i);
+                writer.writeSymbol("once" + i);
+            }
+            writer.stepOut();
+            for (int i = 0; i < 1000; i++) {
+                writer.stepIn(IonType.STRUCT);
+                writer.setFieldName("id");
+                writer.writeInt(i);
+                writer.setFieldName("status");
+                writer.writeSymbol(i % 10 == 0 ? "FAILED" : "OK");
+                writer.setFieldName("tags");
+                writer.stepIn(IonType.LIST);
+                writer.writeSymbol("alpha");
+                writer.writeNull(IonType.SYMBOL);
+                writer.stepOut();
+                writer.stepOut();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void symbolsAreOrderedByFrequency() throws IOException {
+        SymbolTableOptimizer optimizer = new SymbolTableOptimizer();
+        try (IonReader reader = IonReaderBuilder.standard().build(records())) {
+            optimizer.countSymbols(reader);
+        }
+        assertEquals(Arrays.asList("id", "status", "tags", "alpha", "OK"), optimizer.getSymbolsByFrequency().subList(0, 5));
+        assertEquals(7 + 400, optimizer.getSymbolsByFrequency().size());
+        assertEquals("FAILED", optimizer.getSymbolsByFrequency().get(5));
+        assertEquals("header", optimizer.getSymbolsByFrequency().get(6));
+
+        SymbolTable symbolTable = optimizer.newSymbolTable();
+        assertEquals(10, symbolTable.findSymbol("id"));
+        assertEquals(-1, symbolTable.findSymbol("unused0"));
+        // System symbols are not redeclared.
+        assertEquals(symbolTable.getImportedMaxId() + optimizer.getSymbolsByFrequency().size(), symbolTable.getMaxId());
+    }
+
+    @Test
+    public void optimizedDataIsEquivalentAndSmaller() throws IOException {
+        byte[] data = records();
+        byte[] optimized = SymbolTableOptimizer.optimize(
+            IonReaderBuilder.standard(), data, IonBinaryWriterBuilder.standard()
+        );
+        IonDatagram expected = SYSTEM.getLoader().load(data);
+        IonDatagram actual = SYSTEM.getLoader().load(optimized);
+        assertEquals(expected, actual);
+        assertTrue(optimized.length < data.length, optimized.length + " vs. " + data.length);
+        assertEquals(-1, actual.get(1).getSymbolTable().findSymbol("unused0"));
+        assertEquals(10, actual.get(1).getSymbolTable().findSymbol("id"));
+    }
+
+    @Test
+    public void systemSymbolsAreCountedButNotDeclared() throws IOException {
+        SymbolTableOptimizer optimizer = new SymbolTableOptimizer();
+        try (IonReader reader = IonReaderBuilder.standard().build("{name: version} {name: a}")) {
+            optimizer.countSymbols(reader);
+        }
+        assertEquals(Arrays.asList("name", "version", "a"), optimizer.getSymbolsByFrequency());
+        SymbolTable symbolTable = optimizer.newSymbolTable();
+        assertEquals(10, symbolTable.findSymbol("a"));
+        assertNull(symbolTable.findKnownSymbol(11));
+    }
+}
@@ -0,0 +1,157 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+package com.amazon.ion.impl;
+
+import com.amazon.ion.IonBufferConfiguration;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IonFlightRecorderTest {
+
+    private static final String[] EVENT_NAMES = {
+        "com.amazon.ion.IonStreamRead",
+        "com.amazon.ion.IonSymbolTableResolved",
+        "com.amazon.ion.IonBufferGrown",
+        "com.amazon.ion.IonOversizedValueSkipped",
+        "com.amazon.ion.IonWriterFlush",
+    };
+
+    private static byte[] writeRecords(int count) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IonWriter writer = IonBinaryWriterBuilder.standard().build(out)) {
+            for (int i = 0; i < count; i++) {
+                writer.stepIn(IonType.STRUCT);
+                writer.setFieldName("id");
+                writer.writeInt(i);
+                writer.setFieldName("payload");
+                writer.writeBlob(new byte[i % 2 == 0 ? 60 : 200]);
+                writer.stepOut();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static int readRecords(byte[] data) throws IOException {
+        IonReaderBuilder builder = IonReaderBuilder.standard().withIncrementalReadingEnabled(true).withBufferConfiguration(
+            IonBufferConfiguration.Builder.standard()
+                .withInitialBufferSize(32)
+                .withMaximumBufferSize(128)
+                .onOversizedValue(() -> {})
+                .onOversizedSymbolTable(() -> {
+                    throw new IllegalStateException("Oversized symbol table not expected.");
+                })
+                .build()
+        );
+        int count = 0;
+        try (IonReader reader = builder.build(new ByteArrayInputStream(data))) {
+            while (reader.next() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static List<RecordedEvent> record(Path directory, boolean isEnabled, IonOperation operation) throws IOException {
+        Path file = directory.resolve("ion.jfr");
+        try (Recording recording = new Recording()) {
+            if (isEnabled) {
+                for (String name : EVENT_NAMES) {
+                    recording.enable(name);
+                }
+            }
+            recording.start();
+            operation.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().startsWith("com.amazon.ion."))
+            .collect(Collectors.toList());
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+            .filter(event -> event.getEventType().getName().equals("com.amazon.ion." + name))
+            .collect(Collectors.toList());
+    }
+
+    private interface IonOperation {
+        void run() throws IOException;
+    }
+
+    @Test
+    public void eventsAreEmittedWhenEnabled(@TempDir Path directory) throws IOException {
+        byte[][] data = new byte[1][];
+        int[] count = new int[1];
+        List<RecordedEvent> events = record(directory, true, () -> {
+            data[0] = writeRecords(100);
+            count[0] = readRecords(data[0]);
+        });
+        // The odd records contain blobs too large for the reader's buffer, so the whole record is skipped.
+        assertEquals(50, count[0]);
+
+        List<RecordedEvent> flushes = named(events, "IonWriterFlush");
+        assertEquals(1, flushes.size());
+        assertEquals(data[0].length, flushes.get(0).getLong("bytesWritten"));
+        long writerStreamId = flushes.get(0).getLong("streamId");
+
+        List<RecordedEvent> symbolTables = named(events, "IonSymbolTableResolved");
+        assertEquals(1, symbolTables.size());
+        assertFalse(symbolTables.get(0).getBoolean("append"));
+        assertEquals(0, symbolTables.get(0).getInt("imports"));
+        assertEquals(2, symbolTables.get(0).getInt("symbols"));
+        assertTrue(symbolTables.get(0).getLong("bytes") > 0);
+        long readerStreamId = symbolTables.get(0).getLong("streamId");
+        assertNotEquals(writerStreamId, readerStreamId);
+
+        List<RecordedEvent> reads = named(events, "IonStreamRead");
+        assertTrue(reads.stream().anyMatch(event -> event.getBoolean("endOfStream")));
+        List<RecordedEvent> skips = named(events, "IonOversizedValueSkipped");
+        assertEquals(50, skips.size());
+        long bytesRead = reads.stream().mapToLong(event -> event.getLong("bytesRead")).sum();
+        long bytesSkipped = skips.stream().mapToLong(event -> event.getLong("bytesSkipped")).sum();
+        // The IVM is read by the builder to detect the format, and the oversized values are partly buffered.
+        assertTrue(bytesRead < data[0].length - 4);
+        assertTrue(bytesRead + bytesSkipped >= data[0].length - 4);
+
+        List<RecordedEvent> growths = named(events, "IonBufferGrown");
+        assertFalse(growths.isEmpty());
+        for (RecordedEvent growth : growths) {
+            assertTrue(growth.getLong("newSize") > growth.getLong("previousSize"));
+            assertTrue(growth.getLong("newSize") <= 128);
+        }
+
+        Set<Long> readerStreamIds = events.stream()
+            .filter(event -> !event.getEventType().getName().endsWith("IonWriterFlush"))
+            .map(event -> event.getLong("streamId"))
+            .collect(Collectors.toSet());
+        assertEquals(Set.of(readerStreamId), readerStreamIds);
+    }
+
+    @Test
+    public void eventsAreNotEmittedWhenDisabled(@TempDir Path directory) throws IOException {
+        List<RecordedEvent> events = record(directory, false, () -> readRecords(writeRecords(100)));
+        assertTrue(events.isEmpty());
+    }
+}